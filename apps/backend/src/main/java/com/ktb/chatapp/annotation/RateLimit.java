@@ -27,9 +27,25 @@ public @interface RateLimit {
      */
     LimitScope scope() default LimitScope.IP;
 
+    /**
+     * Rate Limit 엔진
+     * DEFAULT: chat.ratelimit.default-backend 설정값 사용
+     * LOCAL: 노드 내 메모리 (노드별 제한)
+     * REDIS: Redis Lua GCRA (클러스터 전체 제한, 요청당 1회 왕복)
+     * HYBRID: Redis에서 쿼터 일부를 lease 받아 로컬에서 차감 (요청량 많은 대상용)
+     */
+    Backend backend() default Backend.DEFAULT;
+
     enum LimitScope {
         IP,
         USER,
         IP_AND_USER
     }
+
+    enum Backend {
+        DEFAULT,
+        LOCAL,
+        REDIS,
+        HYBRID
+    }
 }
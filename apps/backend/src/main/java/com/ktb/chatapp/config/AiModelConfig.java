@@ -0,0 +1,37 @@
+package com.ktb.chatapp.config;
+
+import com.ktb.chatapp.websocket.socketio.ai.StubChatModel;
+import java.time.Duration;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+/**
+ * AI 모델 백엔드 선택.
+ *
+ * - chat.ai.provider=openai (기본): Spring AI OpenAI 자동 설정의 ChatModel 사용
+ * - chat.ai.provider=stub: 부하 측정용 StubChatModel을 @Primary로 등록
+ *   → ChatClient.Builder가 이 모델로 만들어지므로 AiService 이하 경로는 그대로
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "chat.ai.provider", havingValue = "stub")
+public class AiModelConfig {
+
+    @Bean
+    @Primary
+    public ChatModel stubChatModel(
+            @Value("${chat.ai.stub.answer-tokens:200}") int answerTokens,
+            @Value("${chat.ai.stub.tokens-per-second:50}") double tokensPerSecond,
+            @Value("${chat.ai.stub.first-token-latency:300ms}") Duration firstTokenLatency,
+            @Value("${chat.ai.stub.jitter:0.2}") double jitter,
+            @Value("${chat.ai.stub.error-rate:0}") double errorRate) {
+        log.warn("Stub AI model enabled - tokens: {}, tokens/s: {}, first token: {}, jitter: {}, error rate: {}",
+                answerTokens, tokensPerSecond, firstTokenLatency, jitter, errorRate);
+        return new StubChatModel(answerTokens, tokensPerSecond, firstTokenLatency, jitter, errorRate);
+    }
+}
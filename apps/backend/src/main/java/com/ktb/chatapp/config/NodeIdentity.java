@@ -0,0 +1,33 @@
+package com.ktb.chatapp.config;
+
+import java.util.UUID;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 클러스터 내 이 서버 인스턴스의 식별자.
+ *
+ * - chat.node-id가 지정되면 그대로 사용 (노드마다 달라야 함)
+ * - 지정하지 않으면 HOSTNAME + 임의 접미사 (같은 호스트에서 여러 프로세스를 띄워도 겹치지 않도록)
+ *
+ * Redis 버스 이벤트에 발행 노드를 표시해 자기 자신이 보낸 이벤트를 구분하는 데 사용한다.
+ */
+@Slf4j
+@Getter
+@Component
+public class NodeIdentity {
+
+    private final String id;
+
+    public NodeIdentity(@Value("${chat.node-id:}") String configuredId) {
+        if (configuredId != null && !configuredId.isBlank()) {
+            this.id = configuredId.trim();
+        } else {
+            String host = System.getenv().getOrDefault("HOSTNAME", "node");
+            this.id = host + "-" + UUID.randomUUID().toString().substring(0, 8);
+        }
+        log.info("Node identity: {}", id);
+    }
+}
@@ -1,9 +1,13 @@
 package com.ktb.chatapp.config;
 
+import com.ktb.chatapp.service.moderation.BannedWordDictionaryService;
+import com.ktb.chatapp.service.session.SessionNearCache;
 import com.ktb.chatapp.websocket.socketio.pubsub.RedisMessageSubscriber;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SyncTaskExecutor;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.listener.ChannelTopic;
 import org.springframework.data.redis.listener.RedisMessageListenerContainer;
@@ -54,6 +58,28 @@ public class RedisPubSubConfig {
      */
     public static final String CHAT_CHANNEL = "chat:messages";
 
+    /**
+     * 채팅방별 Redis 채널 접두사
+     * - 채팅방 이벤트는 chat:room:{roomId}로 발행
+     * - 각 서버는 로컬 소켓이 있는 방의 채널만 구독 (RoomChannelSubscriptions)
+     */
+    public static final String ROOM_CHANNEL_PREFIX = "chat:room:";
+
+    /**
+     * 방 단위 채널을 쓰는 대상인지 확인
+     * - room-list, user:{id}는 모든 서버가 관심을 가지므로 전역 채널 사용
+     */
+    public static boolean isRoomScoped(String roomId) {
+        return roomId != null && !roomId.equals("room-list") && !roomId.startsWith("user:");
+    }
+
+    /**
+     * 대상 Room에 해당하는 발행 채널
+     */
+    public static String channelFor(String roomId) {
+        return isRoomScoped(roomId) ? ROOM_CHANNEL_PREFIX + roomId : CHAT_CHANNEL;
+    }
+
     /**
      * Redis 메시지 리스너 컨테이너
      * - Spring이 Redis 구독을 관리하는 컨테이너
@@ -61,19 +87,45 @@ public class RedisPubSubConfig {
      *
      * @param connectionFactory Redis 연결 팩토리
      * @param listenerAdapter   메시지 수신 시 호출될 어댑터
+     * @param sessionNearCache  세션 near-cache 무효화 리스너
+     * @param bannedWordDictionaryService 금칙어 사전 재로딩 리스너
+     * @param dispatchEnabled   SubscriberDispatchPool 사용 여부
+     *
+     * [리스너 실행 스레드]
+     * - 기본 executor(SimpleAsyncTaskExecutor)는 메시지마다 새 스레드 → 순서 보장 없음
+     * - dispatch 사용 시 수신 스레드에서 바로 호출(SyncTaskExecutor)하고,
+     *   각 리스너는 가벼운 작업만 하거나 자체 executor로 넘긴다
+     *   (채팅 이벤트 → SubscriberDispatchPool, 사전 재로딩 → 전용 스레드, near-cache 무효화는 즉시 처리)
+     * - 수신 스레드는 Lettuce I/O 스레드이므로 리스너는 디코딩도, 블로킹도 하지 않는다
+     *   (SubscriberDispatchPool은 stripe가 가득 차면 기다리지 않고 버림)
      */
     @Bean
     public RedisMessageListenerContainer redisMessageListenerContainer(
             RedisConnectionFactory connectionFactory,
-            MessageListenerAdapter listenerAdapter) {
+            MessageListenerAdapter listenerAdapter,
+            SessionNearCache sessionNearCache,
+            BannedWordDictionaryService bannedWordDictionaryService,
+            @Value("${chat.pubsub.dispatch.enabled:true}") boolean dispatchEnabled) {
 
         RedisMessageListenerContainer container = new RedisMessageListenerContainer();
         container.setConnectionFactory(connectionFactory);
+        if (dispatchEnabled) {
+            container.setTaskExecutor(new SyncTaskExecutor());
+        }
 
-        // "chat:messages" 채널 구독 등록
+        // "chat:messages" 채널 구독 등록 (전역 대상 이벤트)
+        // 채팅방 채널(chat:room:{roomId})은 RoomChannelSubscriptions가 입장/퇴장에 맞춰 동적으로 구독
         container.addMessageListener(listenerAdapter, new ChannelTopic(CHAT_CHANNEL));
 
-        log.info("Redis Pub/Sub 리스너 등록 완료 - 채널: {}", CHAT_CHANNEL);
+        // 세션 삭제 시 다른 서버의 near-cache 무효화
+        container.addMessageListener(sessionNearCache, new ChannelTopic(SessionNearCache.INVALIDATION_CHANNEL));
+
+        // 금칙어 사전 변경 시 다른 서버도 재로딩
+        container.addMessageListener(bannedWordDictionaryService,
+                new ChannelTopic(BannedWordDictionaryService.RELOAD_CHANNEL));
+
+        log.info("Redis Pub/Sub 리스너 등록 완료 - 채널: {}, {}, {}", CHAT_CHANNEL,
+                SessionNearCache.INVALIDATION_CHANNEL, BannedWordDictionaryService.RELOAD_CHANNEL);
         return container;
     }
 
@@ -85,7 +137,7 @@ public class RedisPubSubConfig {
      */
     @Bean
     public MessageListenerAdapter listenerAdapter(RedisMessageSubscriber subscriber) {
-        // "onMessage" 메서드가 호출됨
-        return new MessageListenerAdapter(subscriber, "onMessage");
+        // subscriber가 MessageListener이므로 문자열 변환 없이 원본 바이트(envelope)가 그대로 전달됨
+        return new MessageListenerAdapter(subscriber);
     }
 }
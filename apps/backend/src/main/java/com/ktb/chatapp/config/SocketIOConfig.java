@@ -6,6 +6,7 @@ import com.corundumstudio.socketio.SocketIOServer;
 import com.corundumstudio.socketio.Transport;
 import com.corundumstudio.socketio.namespace.Namespace;
 import com.corundumstudio.socketio.protocol.JacksonJsonSupport;
+import com.corundumstudio.socketio.protocol.JsonSupport;
 import com.corundumstudio.socketio.store.RedissonStoreFactory;
 import com.corundumstudio.socketio.store.StoreFactory;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
@@ -57,8 +58,18 @@ public class SocketIOConfig {
         return new RedissonStoreFactory(redissonClient);
     }
 
+    /**
+     * Socket.IO 패킷 JSON 인코더.
+     * RoomFanout이 payload를 미리 인코딩할 때도 같은 인스턴스를 사용해 출력이 동일하도록 Bean으로 공유.
+     */
+    @Bean
+    public JsonSupport socketIOJsonSupport() {
+        return new JacksonJsonSupport(new JavaTimeModule());
+    }
+
     @Bean(destroyMethod = "stop")
-    public SocketIOServer socketIOServer(AuthTokenListener authTokenListener, StoreFactory storeFactory) {
+    public SocketIOServer socketIOServer(
+            AuthTokenListener authTokenListener, StoreFactory storeFactory, JsonSupport socketIOJsonSupport) {
         com.corundumstudio.socketio.Configuration config = new com.corundumstudio.socketio.Configuration();
         int cores = Runtime.getRuntime().availableProcessors();
 
@@ -91,7 +102,7 @@ public class SocketIOConfig {
 
         config.setSocketConfig(socketConfig);
 
-        config.setJsonSupport(new JacksonJsonSupport(new JavaTimeModule()));
+        config.setJsonSupport(socketIOJsonSupport);
         config.setStoreFactory(storeFactory); // Redis 기반 멀티서버 세션 공유
 
         // ✅ 서버는 여기서 단 한 번만 생성
@@ -52,6 +52,7 @@ public class SocketIOEventRegistrar {
     private final MessageFetchHandler messageFetchHandler;
     private final MessageReactionHandler messageReactionHandler;
     private final MessageReadHandler messageReadHandler;
+    private final RoomResumeHandler roomResumeHandler;
 
     /**
      * 애플리케이션 시작 완료 후 Socket.IO 이벤트 핸들러 등록 및 서버 시작.
@@ -76,8 +77,9 @@ public class SocketIOEventRegistrar {
         socketIOServer.addListeners(messageFetchHandler);
         socketIOServer.addListeners(messageReactionHandler);
         socketIOServer.addListeners(messageReadHandler);
+        socketIOServer.addListeners(roomResumeHandler);
 
-        log.info("Socket.IO 이벤트 핸들러 등록 완료 - 총 6개 핸들러");
+        log.info("Socket.IO 이벤트 핸들러 등록 완료 - 총 7개 핸들러");
 
         // 핸들러 등록 완료 후 서버 시작
         socketIOServer.start();
@@ -0,0 +1,64 @@
+package com.ktb.chatapp.controller;
+
+import com.ktb.chatapp.dto.StandardResponse;
+import com.ktb.chatapp.service.moderation.BannedWordDictionaryService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.Principal;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * 금칙어 사전 관리 API
+ *
+ * - POST /api/admin/banned-words/reload → 사전 재로딩 (전체 노드로 전파)
+ * - 로그인 + X-Admin-Token 헤더(chatapp.banned-word.admin-token) 필요
+ * - admin-token이 설정되지 않으면 비활성화 (404)
+ */
+@Tag(name = "관리자 (Admin)", description = "운영 관리 API")
+@Slf4j
+@RestController
+@RequestMapping("/api/admin/banned-words")
+public class BannedWordAdminController {
+
+    private final BannedWordDictionaryService dictionaryService;
+    private final String adminToken;
+
+    public BannedWordAdminController(
+            BannedWordDictionaryService dictionaryService,
+            @Value("${chatapp.banned-word.admin-token:}") String adminToken) {
+        this.dictionaryService = dictionaryService;
+        this.adminToken = adminToken;
+    }
+
+    @Operation(summary = "금칙어 사전 재로딩", description = "백그라운드에서 사전을 다시 읽어 교체하고 다른 서버에도 전파합니다.")
+    @PostMapping("/reload")
+    public ResponseEntity<?> reload(
+            @RequestHeader(value = "X-Admin-Token", required = false) String token,
+            Principal principal) {
+        if (adminToken == null || adminToken.isBlank()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+        if (token == null || !MessageDigest.isEqual(
+                adminToken.getBytes(StandardCharsets.UTF_8), token.getBytes(StandardCharsets.UTF_8))) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(StandardResponse.error("관리자 권한이 필요합니다."));
+        }
+
+        String requester = principal != null ? principal.getName() : "unknown";
+        log.info("Banned word dictionary reload requested by {}", requester);
+        dictionaryService.reloadAndBroadcast("admin:" + requester);
+
+        return ResponseEntity.accepted()
+                .body(StandardResponse.success("금칙어 사전 재로딩을 시작했습니다.", Map.of("status", "reloading")));
+    }
+}
@@ -0,0 +1,32 @@
+package com.ktb.chatapp.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * aiMessageChunk payload (delta 청크)
+ * - fullContent는 스냅샷 청크에만 포함 (null이면 필드 자체를 생략)
+ * - timestamp: 청크를 보낸 서버 시각 (클라이언트는 수신 시각과 비교해 전달 지연 측정)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class AiMessageChunkResponse {
+    private String messageId;
+    private String currentChunk;
+    private long sequence;
+    private int offset;
+    @JsonProperty("isCodeBlock")
+    private boolean codeBlock;
+    @JsonProperty("isComplete")
+    private boolean complete;
+    private String fullContent;
+    /** 서버 전송 시각 (epoch millis, 클라이언트 측 지연 측정용) */
+    private long timestamp;
+}
@@ -22,7 +22,7 @@ public class ChatMessageRequest {
      * Content 필드가 비어있으면 msg 필드를 반환하는 정규화된 content를 제공
      */
     public String getNormalizedContent() {
-        if (content != null && !content.trim().isEmpty()) {
+        if (content != null && !content.isBlank()) {
             return content;
         }
         return msg != null ? msg : "";
@@ -1,61 +1,179 @@
 package com.ktb.chatapp.dto;
 
 import java.util.*;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 import lombok.Getter;
 
 /**
  * 메시지 내용과 AI 멘션을 처리하는 클래스
+ *
+ * [단일 패스 전처리]
+ * 생성 시 원문을 한 번만 훑으면서 다음을 함께 계산한다.
+ * - trim 경계 (String.trim()과 동일한 기준: U+0020 이하 문자)
+ * - AI 멘션 위치와 종류 (@wayneAI, @consultingAI + 단어 경계)
+ *
+ * 이후 조회는 계산된 결과만 사용한다.
+ * - aiMentions(): 정규식 없이 기록된 멘션에서 바로 반환
+ * - getQueryWithoutMention(): 멘션 위치를 건너뛰며 복사 (멘션마다 정규식 컴파일하던 방식 대체)
+ * - 금칙어 검사는 getTrimmedContent()를 그대로 사용 (소문자화/정규화는 automaton이 스캔 중에 처리)
  */
-@Getter
 public class MessageContent {
-    private static final Pattern AI_MENTION_PATTERN = Pattern.compile("@(wayneAI|consultingAI)\\b");
-    
+
+    /** Message.content의 @Size(max)와 동일 */
+    public static final int MAX_LENGTH = 10000;
+
+    private static final String[] AI_TYPES = {"wayneAI", "consultingAI"};
+    private static final int[] NO_SPANS = new int[0];
+
+    @Getter
     private final String rawContent;
+    @Getter
     private final String trimmedContent;
-    
+
+    /** 멘션 정보 (start, end, aiType 인덱스)를 3개씩 나열 */
+    private final int[] mentionSpans;
+    private final int mentionCount;
+
     private MessageContent(String content) {
         this.rawContent = content != null ? content : "";
-        this.trimmedContent = this.rawContent.trim();
+
+        String raw = this.rawContent;
+        int length = raw.length();
+        int start = 0;
+        int end = length;
+        int[] spans = NO_SPANS;
+        int count = 0;
+
+        boolean leading = true;
+        for (int i = 0; i < length; i++) {
+            char c = raw.charAt(i);
+            if (c > ' ') {
+                if (leading) {
+                    start = i;
+                    leading = false;
+                }
+                end = i + 1;
+            }
+            if (c == '@') {
+                int type = matchAiType(raw, i + 1);
+                if (type >= 0) {
+                    if (spans.length < (count + 1) * 3) {
+                        spans = Arrays.copyOf(spans, Math.max(6, spans.length * 2));
+                    }
+                    int mentionEnd = i + 1 + AI_TYPES[type].length();
+                    spans[count * 3] = i;
+                    spans[count * 3 + 1] = mentionEnd;
+                    spans[count * 3 + 2] = type;
+                    count++;
+                    // 멘션 본문은 모두 공백이 아닌 문자
+                    end = mentionEnd;
+                    i = mentionEnd - 1;
+                }
+            }
+        }
+        if (leading) {
+            start = length;
+            end = length;
+        }
+
+        this.trimmedContent = (start == 0 && end == length) ? raw : raw.substring(start, end);
+        this.mentionSpans = spans;
+        this.mentionCount = count;
     }
-    
+
     /**
      * 메시지 내용으로부터 MessageContent 객체 생성
      */
     public static MessageContent from(String content) {
         return new MessageContent(content);
     }
-    
+
     /**
      * 내용이 비어있는지 확인
      */
     public boolean isEmpty() {
         return trimmedContent.isEmpty();
     }
-    
+
+    /**
+     * 최대 길이 초과 여부 (trim 후 기준)
+     */
+    public boolean exceedsMaxLength() {
+        return trimmedContent.length() > MAX_LENGTH;
+    }
+
     /**
      * 특정 AI 타입의 멘션을 제거한 쿼리 문자열 반환
      */
     public String getQueryWithoutMention(String aiType) {
-        return trimmedContent.replaceAll("@" + aiType + "\\b", "").trim();
+        int type = indexOfAiType(aiType);
+        if (type < 0 || !hasMention(type)) {
+            return trimmedContent;
+        }
+
+        StringBuilder query = new StringBuilder(rawContent.length());
+        int cursor = 0;
+        for (int m = 0; m < mentionCount; m++) {
+            if (mentionSpans[m * 3 + 2] != type) {
+                continue;
+            }
+            query.append(rawContent, cursor, mentionSpans[m * 3]);
+            cursor = mentionSpans[m * 3 + 1];
+        }
+        query.append(rawContent, cursor, rawContent.length());
+        return query.toString().trim();
     }
-    
+
     /**
-     * AI 멘션 추출
+     * AI 멘션 추출 (등장 순서, 중복 제거)
      */
     public List<String> aiMentions() {
-        if (this.rawContent.isBlank()) {
+        if (mentionCount == 0) {
             return Collections.emptyList();
         }
-        
-        Matcher matcher = AI_MENTION_PATTERN.matcher(this.rawContent);
-        Set<String> mentions = new LinkedHashSet<>();
-        
-        while (matcher.find()) {
-            mentions.add(matcher.group(1));
+
+        List<String> mentions = new ArrayList<>(AI_TYPES.length);
+        for (int m = 0; m < mentionCount; m++) {
+            String aiType = AI_TYPES[mentionSpans[m * 3 + 2]];
+            if (!mentions.contains(aiType)) {
+                mentions.add(aiType);
+            }
         }
-        
-        return new ArrayList<>(mentions);
+        return mentions;
+    }
+
+    private boolean hasMention(int type) {
+        for (int m = 0; m < mentionCount; m++) {
+            if (mentionSpans[m * 3 + 2] == type) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * '@' 다음 위치에서 AI 이름 + 단어 경계가 오는지 확인 (정규식 "@(wayneAI|consultingAI)\\b"와 동일)
+     */
+    private static int matchAiType(String text, int from) {
+        for (int type = 0; type < AI_TYPES.length; type++) {
+            String name = AI_TYPES[type];
+            int end = from + name.length();
+            if (text.startsWith(name, from) && (end == text.length() || !isWordChar(text.charAt(end)))) {
+                return type;
+            }
+        }
+        return -1;
+    }
+
+    private static int indexOfAiType(String aiType) {
+        for (int type = 0; type < AI_TYPES.length; type++) {
+            if (AI_TYPES[type].equals(aiType)) {
+                return type;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isWordChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_';
     }
 }
@@ -6,10 +6,17 @@ import lombok.NoArgsConstructor;
 
 import java.util.List;
 
+/**
+ * messagesRead payload
+ * - userId: 읽은 사용자 ("ALL"이면 참여자 전원)
+ * - messageIds: 이번에 읽음 처리된 메시지 (기존 클라이언트 호환용)
+ * - lastReadMessageId: 갱신된 읽음 위치, 이 id 이하의 메시지는 모두 읽음
+ */
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class MessagesReadResponse {
     private String userId;
     private List<String> messageIds;
+    private String lastReadMessageId;
 }
@@ -0,0 +1,8 @@
+package com.ktb.chatapp.dto;
+
+/**
+ * 재접속 시 놓친 이벤트 재전송 요청.
+ * lastEventId: 이 방에서 마지막으로 받은 이벤트의 두 번째 인자 { eventId } 값
+ */
+public record ResumeRoomRequest(String roomId, String lastEventId) {
+}
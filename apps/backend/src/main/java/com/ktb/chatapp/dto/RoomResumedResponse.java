@@ -0,0 +1,8 @@
+package com.ktb.chatapp.dto;
+
+/**
+ * 재전송 결과.
+ * complete=false면 보존 기간이 지나 일부 이벤트가 없으므로 fetchPreviousMessages로 다시 로드해야 한다.
+ */
+public record RoomResumedResponse(String roomId, int replayed, boolean complete, String lastEventId) {
+}
@@ -5,21 +5,37 @@ import org.springframework.context.ApplicationEvent;
 
 /**
  * AI 메시지 청크 이벤트
+ *
+ * - delta: 이번 청크에서 새로 생성된 텍스트
+ * - sequence: 청크 순번 (1부터)
+ * - offset: delta가 시작하는 위치 (이전까지 누적된 길이)
+ * - fullContent: 스냅샷 청크에만 누적 전체 내용, 그 외에는 null
  */
 @Getter
 public class AiMessageChunkEvent extends ApplicationEvent {
-    
+
     private final String roomId;
     private final String messageId;
+    private final String delta;
+    private final long sequence;
+    private final int offset;
     private final String fullContent;
     private final boolean isCodeBlock;
-    
+
     public AiMessageChunkEvent(Object source, String roomId, String messageId,
+                               String delta, long sequence, int offset,
                                String fullContent, boolean isCodeBlock) {
         super(source);
         this.roomId = roomId;
         this.messageId = messageId;
+        this.delta = delta;
+        this.sequence = sequence;
+        this.offset = offset;
         this.fullContent = fullContent;
         this.isCodeBlock = isCodeBlock;
     }
+
+    public boolean isSnapshot() {
+        return fullContent != null;
+    }
 }
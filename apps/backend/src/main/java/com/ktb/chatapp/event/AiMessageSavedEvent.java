@@ -11,6 +11,7 @@ import org.springframework.context.ApplicationEvent;
 public class AiMessageSavedEvent extends ApplicationEvent {
     
     private final String roomId;
+    private final String messageId;
     private final String content;
     private final AiType aiType;
     private final long startTime;
@@ -19,6 +20,7 @@ public class AiMessageSavedEvent extends ApplicationEvent {
     public AiMessageSavedEvent(Object source, AiMessageCompleteEvent event, String savedMessageId) {
         super(source);
         this.roomId = event.getRoomId();
+        this.messageId = event.getMessageId();
         this.content = event.getContent();
         this.aiType = event.getAiType();
         this.startTime = event.getStartTime();
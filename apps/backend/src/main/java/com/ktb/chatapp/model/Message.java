@@ -30,7 +30,6 @@ import java.util.Set;
 @AllArgsConstructor
 @Document(collection = "messages")
 @CompoundIndexes({
-    @CompoundIndex(name = "readers_userId_idx", def = "{'readers.userId': 1}"),
     @CompoundIndex(name = "room_isDeleted_timestamp_idx", def = "{'room': 1, 'isDeleted': 1, 'timestamp': -1}")
 })
 public class Message {
@@ -67,10 +66,6 @@ public class Message {
     @Builder.Default
     private Map<String, Set<String>> reactions = new HashMap<>();
 
-    // 메시지 읽음 상태 관리
-    @Builder.Default
-    private List<MessageReader> readers = new ArrayList<>();
-
     // 자유 형식 metadata 저장 필드
     @Builder.Default
     private Map<String, Object> metadata = new HashMap<>();
@@ -80,6 +75,7 @@ public class Message {
     private Boolean isDeleted = false;
 
     // 메시지 읽음 상태를 나타내는 내부 클래스
+    // 문서에는 저장하지 않고 room_read_states의 읽음 위치로 계산해 응답에만 포함 (RoomReadState 참고)
     @Data
     @Builder
     @NoArgsConstructor
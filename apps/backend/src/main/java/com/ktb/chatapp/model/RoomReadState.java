@@ -0,0 +1,100 @@
+package com.ktb.chatapp.model;
+
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.bson.types.ObjectId;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+/**
+ * (방, 사용자)별 읽음 위치 문서.
+ * 메시지마다 readers를 쌓는 대신 사용자가 읽은 마지막 메시지의 정렬 키 하나만 보관한다.
+ * lastReadKey = "<timestamp 밀리초 13자리>:<id>" (readKey) → 문자열 비교 = 방 안 순서 ($max로만 전진).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "room_read_states")
+@CompoundIndexes({
+    @CompoundIndex(name = "room_user_idx", def = "{'room': 1, 'user': 1}", unique = true)
+})
+public class RoomReadState {
+
+    @Id
+    private String id;
+
+    @Field("room")
+    private String roomId;
+
+    @Field("user")
+    private String userId;
+
+    private String lastReadKey;
+
+    /** 정렬 키 도입 전 형식 (ObjectId hex), lastReadKey가 없는 문서에서만 사용 */
+    private String lastReadMessageId;
+
+    private LocalDateTime lastReadAt;
+
+    /**
+     * 비교에 쓸 읽음 위치 (정렬 키)
+     * - 이전 형식 문서는 id의 생성 초 끝으로 환산 (같은 초 메시지는 읽은 것으로 보던 이전 동작과 같음)
+     */
+    public String watermark() {
+        if (lastReadKey != null) {
+            return lastReadKey;
+        }
+        if (lastReadMessageId == null || !ObjectId.isValid(lastReadMessageId)) {
+            return null;
+        }
+        long secondEnd = new ObjectId(lastReadMessageId).getDate().getTime() + 999;
+        return readKey(secondEnd, lastReadMessageId);
+    }
+
+    /**
+     * 이 사용자가 해당 메시지까지 읽었는지 여부
+     */
+    public boolean hasRead(Message message) {
+        return hasRead(readKey(message));
+    }
+
+    /**
+     * @param readKey 메시지의 정렬 키 (readKey(Message))
+     */
+    public boolean hasRead(String readKey) {
+        String watermark = watermark();
+        return watermark != null && readKey != null && watermark.compareTo(readKey) >= 0;
+    }
+
+    /**
+     * 메시지의 방 안 정렬 키 (메시지 목록과 같은 timestamp 순서, 같은 밀리초면 id 순서)
+     */
+    public static String readKey(Message message) {
+        long millis = message.getTimestamp() != null
+                ? message.toTimestampMillis()
+                : new ObjectId(message.getId()).getDate().getTime();
+        return readKey(millis, message.getId());
+    }
+
+    public static String readKey(long epochMillis, String messageId) {
+        return String.format("%013d:%s", epochMillis, messageId);
+    }
+
+    /**
+     * 정렬 키에서 메시지 id 부분
+     */
+    public static String messageIdOf(String readKey) {
+        if (readKey == null) {
+            return null;
+        }
+        int separator = readKey.indexOf(':');
+        return separator >= 0 ? readKey.substring(separator + 1) : readKey;
+    }
+}
@@ -12,7 +12,7 @@ import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface MessageRepository extends MongoRepository<Message, String>, MessageRepositoryCustom {
+public interface MessageRepository extends MongoRepository<Message, String> {
 
     /**
      * 단일 roomId에 대해 최근 메시지 수를 카운트
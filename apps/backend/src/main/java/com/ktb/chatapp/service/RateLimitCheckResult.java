@@ -1,5 +1,7 @@
 package com.ktb.chatapp.service;
 
+import java.time.Instant;
+
 public record RateLimitCheckResult(
         boolean allowed,
         int limit,
@@ -23,4 +25,27 @@ public record RateLimitCheckResult(
         return new RateLimitCheckResult(
                 false, limit, 0, windowSeconds, resetEpochSeconds, retryAfterSeconds);
     }
+
+    /**
+     * 엔진이 계산한 밀리초 단위 값으로 결과를 만든다.
+     * - 허용: retryAfter = 윈도우가 완전히 비워질 때까지 남은 시간
+     * - 거부: retryAfter = 다음 요청이 허용될 때까지 남은 시간
+     * 초 단위 값은 최소 1초로 올림 처리한다.
+     */
+    public static RateLimitCheckResult fromMillis(
+            boolean allowed,
+            int limit,
+            long remaining,
+            long windowSeconds,
+            long retryAfterMillis,
+            long resetAfterMillis) {
+        long waitMillis = allowed ? resetAfterMillis : retryAfterMillis;
+        long retryAfterSeconds = Math.max(1, (waitMillis + 999) / 1000);
+        long resetEpochSeconds = Instant.now().getEpochSecond() + retryAfterSeconds;
+        if (allowed) {
+            return allowed(limit, (int) Math.max(0, Math.min(limit, remaining)),
+                    windowSeconds, resetEpochSeconds, retryAfterSeconds);
+        }
+        return rejected(limit, windowSeconds, resetEpochSeconds, retryAfterSeconds);
+    }
 }
@@ -1,88 +1,104 @@
 package com.ktb.chatapp.service;
 
-import jakarta.annotation.PostConstruct;
+import com.ktb.chatapp.annotation.RateLimit;
+import com.ktb.chatapp.annotation.RateLimit.Backend;
+import com.ktb.chatapp.service.ratelimit.HybridRateLimiter;
+import com.ktb.chatapp.service.ratelimit.LocalRateLimiter;
+import com.ktb.chatapp.service.ratelimit.RateLimiter;
+import com.ktb.chatapp.service.ratelimit.RedisRateLimiter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.lang.reflect.Method;
 import java.time.Duration;
-import java.time.Instant;
-import lombok.RequiredArgsConstructor;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.redis.core.RedisCallback;
-import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Service;
 
-import static java.net.InetAddress.*;
-
+/**
+ * Rate limit 진입점.
+ *
+ * - REST: RateLimitInterceptor가 @RateLimit 설정으로 호출
+ * - Socket.IO: 핸들러가 자신의 @RateLimit 설정으로 호출
+ * - backend 설정에 따라 LOCAL / REDIS / HYBRID 엔진 중 하나로 위임
+ *
+ * 엔진 장애(Redis 연결 실패 등) 시에는 요청을 허용(fail-open)하고 메트릭으로 남긴다.
+ */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class RateLimitService {
 
-    private final RedisTemplate<String, String> redis;
+    private final Map<Backend, RateLimiter> limiters = new EnumMap<>(Backend.class);
+    private final Backend defaultBackend;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    public RateLimitService(
+            LocalRateLimiter localRateLimiter,
+            RedisRateLimiter redisRateLimiter,
+            HybridRateLimiter hybridRateLimiter,
+            MeterRegistry meterRegistry,
+            @Value("${chat.ratelimit.default-backend:REDIS}") Backend defaultBackend) {
+        this.limiters.put(Backend.LOCAL, localRateLimiter);
+        this.limiters.put(Backend.REDIS, redisRateLimiter);
+        this.limiters.put(Backend.HYBRID, hybridRateLimiter);
+        this.meterRegistry = meterRegistry;
+        this.defaultBackend = defaultBackend == Backend.DEFAULT ? Backend.REDIS : defaultBackend;
+    }
 
-    @Value("${HOSTNAME:''}")
-    private String hostName;
-    
-    @PostConstruct
-    public void init() {
-        if (!hostName.isEmpty()) {
-            return;
-        }
-        hostName = generateHostname();
+    public RateLimitCheckResult checkRateLimit(String clientId, int maxRequests, Duration window) {
+        return checkRateLimit(clientId, maxRequests, window, Backend.DEFAULT);
+    }
+
+    public RateLimitCheckResult checkRateLimit(String clientId, RateLimit rateLimit) {
+        return checkRateLimit(clientId, rateLimit.maxRequests(),
+                Duration.ofSeconds(rateLimit.windowSeconds()), rateLimit.backend());
     }
-    
-    private String generateHostname() {
+
+    public RateLimitCheckResult checkRateLimit(
+            String clientId, int maxRequests, Duration window, Backend backend) {
+        Backend resolved = backend == Backend.DEFAULT ? defaultBackend : backend;
         try {
-            return getLocalHost().getHostName();
+            RateLimitCheckResult result =
+                    limiters.get(resolved).tryAcquire(clientId, maxRequests, window);
+            count(resolved, result.allowed() ? "allowed" : "rejected");
+            return result;
         } catch (Exception e) {
-            return "unknown-" + java.util.UUID.randomUUID().toString().substring(0, 8);
+            log.warn("Rate limit check failed, allowing request - backend: {}, clientId: {}",
+                    resolved, clientId, e);
+            count(resolved, "error");
+            long windowSeconds = Math.max(window.getSeconds(), 1);
+            return RateLimitCheckResult.fromMillis(true, maxRequests, maxRequests,
+                    windowSeconds, 0, windowSeconds * 1000);
         }
     }
 
-
-    public RateLimitCheckResult checkRateLimit(String clientId, int maxRequests, Duration window) {
-        String key = "rate:" + hostName + ":" + clientId;
-
-        // 윈도우(seconds)
-        long windowSeconds = Math.max(window.getSeconds(), 1);
-
-        return this.redis.execute((RedisCallback<RateLimitCheckResult>) conn -> {
-
-            byte[] rawKey = key.getBytes();
-
-            // 1) INCR (원자적 증가)
-            Long count = conn.stringCommands().incr(rawKey);
-
-            // 2) 처음 생성된 키라면 TTL 설정
-            if (count != null && count == 1L) {
-                conn.keyCommands().expire(rawKey, windowSeconds);
-            }
-
-            // 3) 제한 초과 여부 판단
-            if (count != null && count > maxRequests) {
-
-                Long ttl = conn.keyCommands().ttl(rawKey);
-                long resetSeconds = (ttl != null && ttl > 0) ? ttl : windowSeconds;
-
-                return RateLimitCheckResult.rejected(
-                        maxRequests,
-                        windowSeconds,
-                        Instant.now().plusSeconds(resetSeconds).getEpochSecond(),
-                        resetSeconds
-                );
+    /**
+     * 메서드(우선) 또는 클래스에 선언된 @RateLimit 조회.
+     * Socket.IO 핸들러처럼 인터셉터를 거치지 않는 곳에서 설정을 읽을 때 사용.
+     */
+    public static RateLimit findRateLimit(Class<?> type, String methodName) {
+        for (Method method : type.getDeclaredMethods()) {
+            if (method.getName().equals(methodName) && method.isAnnotationPresent(RateLimit.class)) {
+                return method.getAnnotation(RateLimit.class);
             }
+        }
+        RateLimit classLevel = type.getAnnotation(RateLimit.class);
+        if (classLevel == null) {
+            throw new IllegalStateException("@RateLimit not found on " + type.getName() + "#" + methodName);
+        }
+        return classLevel;
+    }
 
-            Long ttl = conn.keyCommands().ttl(rawKey);
-            long remainingTtl = (ttl != null && ttl > 0) ? ttl : windowSeconds;
-
-            int remaining = (int) Math.max(0, maxRequests - (count != null ? count : 1));
-
-            return RateLimitCheckResult.allowed(
-                    maxRequests,
-                    remaining,
-                    windowSeconds,
-                    Instant.now().plusSeconds(remainingTtl).getEpochSecond(),
-                    remainingTtl
-            );
-        });
+    private void count(Backend backend, String result) {
+        counters.computeIfAbsent(backend.name() + ":" + result, key ->
+                        Counter.builder("ratelimit.checks")
+                                .description("Rate limit checks by backend and result")
+                                .tag("backend", backend.name().toLowerCase())
+                                .tag("result", result)
+                                .register(meterRegistry))
+                .increment();
     }
 }
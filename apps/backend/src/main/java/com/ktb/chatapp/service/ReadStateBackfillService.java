@@ -0,0 +1,143 @@
+package com.ktb.chatapp.service;
+
+import com.ktb.chatapp.model.RoomReadState;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationExpression;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+/**
+ * 메시지별 readers 배열 → room_read_states 일회성 이관.
+ *
+ * [왜 필요한가?]
+ * - 읽음 상태를 room_read_states로 옮기면서 messages.readers는 더 이상 읽지 않는다
+ * - 이관 없이 배포하면 기존 사용자의 읽음 위치가 모두 "안 읽음"으로 초기화됨
+ *
+ * [동작 방식]
+ * 1. migrations 컬렉션에 완료 표시가 있으면 건너뜀
+ * 2. readers가 있는 메시지를 (방, 사용자)로 묶어 사용자가 reader로 남은 가장 뒤의 메시지 정렬 키를 구함
+ *    (RoomReadState.readKey와 같은 "<timestamp 밀리초>:<id>" 형식을 Mongo에서 계산)
+ * 3. room_read_states에 $max로 upsert → 여러 노드가 동시에 돌거나 재실행돼도 결과가 같고,
+ *    이관 중 새로 읽은 위치를 되돌리지 않음
+ * 4. 완료 표시를 남긴다 (readers 필드 자체는 지우지 않음 → 롤백 가능)
+ *
+ * 시작을 막지 않도록 ApplicationReadyEvent 이후 Virtual Thread에서 실행한다.
+ */
+@Slf4j
+@Service
+public class ReadStateBackfillService {
+
+    static final String MIGRATIONS_COLLECTION = "migrations";
+    static final String MIGRATION_ID = "room_read_states_backfill";
+    private static final int BATCH_SIZE = 1000;
+
+    private final MongoTemplate mongoTemplate;
+    private final boolean enabled;
+
+    public ReadStateBackfillService(
+            MongoTemplate mongoTemplate,
+            @Value("${chat.read-state.backfill.enabled:true}") boolean enabled) {
+        this.mongoTemplate = mongoTemplate;
+        this.enabled = enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        if (!enabled) {
+            return;
+        }
+        Thread.ofVirtual().name("read-state-backfill").start(() -> {
+            try {
+                backfill();
+            } catch (Exception e) {
+                log.error("Read state backfill failed - will retry on next startup", e);
+            }
+        });
+    }
+
+    /**
+     * @return upsert한 (방, 사용자) 수 (이미 완료됐으면 0)
+     */
+    long backfill() {
+        if (mongoTemplate.exists(Query.query(Criteria.where("_id").is(MIGRATION_ID)), MIGRATIONS_COLLECTION)) {
+            return 0;
+        }
+
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("readers.0").exists(true)),
+                Aggregation.project("room", "readers").and(readKeyExpression()).as("readKey"),
+                Aggregation.unwind("readers"),
+                Aggregation.group(Aggregation.fields().and("room", "room").and("user", "readers.userId"))
+                        .max("readKey").as("lastReadKey")
+                        .max("readers.readAt").as("lastReadAt")
+        ).withOptions(AggregationOptions.builder().allowDiskUse(true).build());
+
+        long upserted = 0;
+        BulkOperations bulk = null;
+        int pending = 0;
+        try (Stream<Document> groups = mongoTemplate.aggregateStream(aggregation, "messages", Document.class)) {
+            for (Document group : (Iterable<Document>) groups::iterator) {
+                Document key = group.get("_id", Document.class);
+                String roomId = key.getString("room");
+                String userId = key.getString("user");
+                String lastReadKey = group.getString("lastReadKey");
+                if (roomId == null || userId == null || lastReadKey == null) {
+                    continue;
+                }
+
+                Update update = new Update().max("lastReadKey", lastReadKey);
+                if (group.get("lastReadAt") instanceof Date readAt) {
+                    update.max("lastReadAt", LocalDateTime.ofInstant(readAt.toInstant(), ZoneId.systemDefault()));
+                }
+
+                if (bulk == null) {
+                    bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, RoomReadState.class);
+                }
+                bulk.upsert(Query.query(Criteria.where("room").is(roomId).and("user").is(userId)), update);
+                if (++pending >= BATCH_SIZE) {
+                    bulk.execute();
+                    upserted += pending;
+                    bulk = null;
+                    pending = 0;
+                }
+            }
+        }
+        if (bulk != null) {
+            bulk.execute();
+            upserted += pending;
+        }
+
+        mongoTemplate.upsert(Query.query(Criteria.where("_id").is(MIGRATION_ID)),
+                new Update().setOnInsert("completedAt", new Date()).setOnInsert("states", upserted),
+                MIGRATIONS_COLLECTION);
+        log.info("Read state backfill completed - states: {}", upserted);
+        return upserted;
+    }
+
+    /**
+     * { $concat: [ timestamp 밀리초, ":", id hex ] }
+     * - 2001-09-09 이후 밀리초는 13자리라 RoomReadState.readKey의 %013d와 같은 형식
+     * - timestamp가 없는 메시지는 ObjectId 생성 시각 사용
+     */
+    private static AggregationExpression readKeyExpression() {
+        Document millis = new Document("$toLong", new Document("$ifNull", List.of("$timestamp",
+                new Document("$toDate", "$_id"))));
+        return context -> new Document("$concat", List.of(
+                new Document("$toString", millis), ":", new Document("$toString", "$_id")));
+    }
+}
@@ -0,0 +1,170 @@
+package com.ktb.chatapp.service;
+
+import com.ktb.chatapp.model.Message;
+import com.ktb.chatapp.model.RoomReadState;
+import com.ktb.chatapp.service.command.MessageWriteBehindService;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+/**
+ * 방별 읽음 위치(watermark) 관리 서비스.
+ *
+ * [왜 필요한가?]
+ * - 기존: 메시지 문서마다 readers 배열에 $addToSet → 쓰기량 O(메시지 × 읽은 사람), 문서가 계속 커짐
+ * - 변경: (방, 사용자)당 문서 하나에 마지막으로 읽은 메시지 id만 $max로 갱신
+ *
+ * [계산 규칙]
+ * - watermark는 메시지 id가 아니라 방 안의 정렬 키 "<timestamp 밀리초 13자리>:<id>"로 비교 (RoomReadState.readKey)
+ *   (ObjectId hex 순서는 초 단위까지만 생성 순서이고, 같은 초 안에서는 노드마다 다른 랜덤 바이트 순서라
+ *    메시지 목록 순서(timestamp)와 어긋날 수 있음)
+ * - 사용자 U가 메시지 M을 읽었다 = U의 watermark >= M의 정렬 키
+ * - 방 전체가 읽은 위치 = 참여자 watermark의 최솟값 (아직 읽은 적 없는 참여자가 있으면 없음)
+ * - 클라이언트가 보낸 id는 그 방의 메시지인지 확인한 뒤에만 watermark로 사용
+ *   (아직 write-behind 큐에 있는 메시지도 포함, 다른 방/없는 id는 무시)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RoomReadStateService {
+
+    /** 클라이언트가 보낸 id의 생성 시각 허용 오차 (미래 id로 watermark를 밀어 올리는 것 방지) */
+    private static final Duration MAX_CLOCK_SKEW = Duration.ofMinutes(1);
+
+    private final MongoTemplate mongoTemplate;
+    private final MessageWriteBehindService messageWriteBehindService;
+
+    /**
+     * watermark 갱신 결과 (정렬 키)
+     *
+     * @param previous 갱신 전 위치 (처음 읽으면 null)
+     * @param current  갱신 후 위치
+     */
+    public record Advance(String previous, String current) {
+        public boolean advanced() {
+            return previous == null || previous.compareTo(current) < 0;
+        }
+    }
+
+    /**
+     * 사용자의 읽음 위치를 readKey까지 전진 (이미 더 뒤까지 읽었으면 변화 없음)
+     *
+     * @param readKey readKeys()로 확인한 메시지의 정렬 키 (RoomReadState.readKey)
+     */
+    public Advance advance(String roomId, String userId, String readKey) {
+        Query query = Query.query(Criteria.where("room").is(roomId).and("user").is(userId));
+        Update update = new Update()
+                .max("lastReadKey", readKey)
+                .max("lastReadAt", LocalDateTime.now());
+
+        RoomReadState before = mongoTemplate.findAndModify(query, update,
+                FindAndModifyOptions.options().upsert(true).returnNew(false), RoomReadState.class);
+
+        String previous = before != null ? before.watermark() : null;
+        String current = previous != null && previous.compareTo(readKey) > 0 ? previous : readKey;
+        log.debug("Read watermark - room: {}, user: {}, {} -> {}", roomId, userId, previous, current);
+        return new Advance(previous, current);
+    }
+
+    /**
+     * 이 방의 메시지인 id만 골라 정렬 키를 구한다.
+     * - 아직 저장 중인 메시지는 write-behind에서, 나머지는 (roomId, id)로 한 번에 조회
+     *
+     * @return id → 정렬 키 (방에 없는 id는 빠짐)
+     */
+    public Map<String, String> readKeys(String roomId, Collection<String> messageIds) {
+        Map<String, String> keys = new HashMap<>();
+        List<String> stored = new ArrayList<>();
+        for (String messageId : messageIds) {
+            Message pending = messageWriteBehindService.findPending(messageId);
+            if (pending == null) {
+                stored.add(messageId);
+            } else if (roomId.equals(pending.getRoomId())) {
+                keys.put(messageId, RoomReadState.readKey(pending));
+            }
+        }
+        if (!stored.isEmpty()) {
+            Query query = Query.query(Criteria.where("_id").in(stored).and("room").is(roomId));
+            query.fields().include("_id", "timestamp");
+            for (Message message : mongoTemplate.find(query, Message.class)) {
+                keys.put(message.getId(), RoomReadState.readKey(message));
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * 방의 모든 읽음 위치 (메시지 목록 응답의 readers 계산용)
+     */
+    public List<RoomReadState> findByRoom(String roomId) {
+        return mongoTemplate.find(Query.query(Criteria.where("room").is(roomId)), RoomReadState.class);
+    }
+
+    /**
+     * 참여자 전원이 읽은 위치 (참여자 watermark의 최솟값)
+     *
+     * @return 아직 한 번도 읽지 않은 참여자가 있으면 null
+     */
+    public String allReadWatermark(String roomId, Collection<String> participantIds) {
+        if (participantIds == null || participantIds.isEmpty()) {
+            return null;
+        }
+        Query query = Query.query(Criteria.where("room").is(roomId).and("user").in(participantIds));
+        query.fields().include("lastReadKey", "lastReadMessageId");
+        List<RoomReadState> states = mongoTemplate.find(query, RoomReadState.class);
+        if (states.size() < participantIds.size()) {
+            return null;
+        }
+
+        String min = null;
+        for (RoomReadState state : states) {
+            String watermark = state.watermark();
+            if (watermark == null) {
+                return null;
+            }
+            if (min == null || watermark.compareTo(min) < 0) {
+                min = watermark;
+            }
+        }
+        return min;
+    }
+
+    /**
+     * 클라이언트가 보낸 id를 조회할 수 있는 형식(소문자 ObjectId hex)으로 정규화
+     * - ObjectId 형식이 아니거나 생성 시각이 미래인 id는 제외, 중복 제거, 입력 순서 유지
+     */
+    public static List<String> normalize(Collection<String> messageIds) {
+        if (messageIds == null) {
+            return List.of();
+        }
+        Date limit = new Date(System.currentTimeMillis() + MAX_CLOCK_SKEW.toMillis());
+        Set<String> normalized = new LinkedHashSet<>();
+        for (String messageId : messageIds) {
+            if (messageId == null || !ObjectId.isValid(messageId)) {
+                continue;
+            }
+            ObjectId objectId = new ObjectId(messageId);
+            if (objectId.getDate().after(limit)) {
+                continue;
+            }
+            normalized.add(objectId.toHexString());
+        }
+        return List.copyOf(normalized);
+    }
+}
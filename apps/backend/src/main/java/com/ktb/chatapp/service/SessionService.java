@@ -1,6 +1,7 @@
 package com.ktb.chatapp.service;
 
 import com.ktb.chatapp.model.Session;
+import com.ktb.chatapp.service.session.SessionNearCache;
 import com.ktb.chatapp.service.session.SessionStore;
 import java.time.Instant;
 import java.util.Map;
@@ -22,6 +23,8 @@ public class SessionService {
 
     private static final long HANDSHAKE_GRACE_MS = 10_000;
     private final SessionStore sessionStore;
+    // 세션 검증 near-cache (Redis GET + 역직렬화 생략)
+    private final SessionNearCache sessionNearCache;
     private final ConcurrentHashMap<String, Long> lastActivityCache = new ConcurrentHashMap<>();
     public static final long SESSION_TTL_SEC = DurationStyle.detectAndParse(SESSION_TTL).getSeconds();
     private static final long SESSION_TIMEOUT = SESSION_TTL_SEC * 1000;
@@ -80,7 +83,11 @@ public class SessionService {
                 return SessionValidationResult.invalid("INVALID_PARAMETERS", "유효하지 않은 세션 파라미터");
             }
 
-            Session session = sessionStore.findBySessionId(sessionId).orElse(null);
+            Session session = sessionNearCache.get(sessionId);
+            if (session == null) {
+                session = sessionStore.findBySessionId(sessionId).orElse(null);
+                sessionNearCache.put(session);
+            }
 
             if (session == null) {
                 log.warn("No session found for userId: {}", userId);
@@ -105,6 +112,7 @@ public class SessionService {
                 session.setLastActivity(now);
                 session.setExpiresAt(Instant.now().plusSeconds(SESSION_TTL_SEC));
                 sessionStore.save(session);
+                sessionNearCache.put(session);
             }
 
             // TODO : I/O 서버부하
@@ -200,8 +208,10 @@ public class SessionService {
         try {
             if (sessionId != null) {
                 sessionStore.delete(userId, sessionId);
+                sessionNearCache.invalidateSession(sessionId);
             } else {
                 sessionStore.deleteAll(userId);
+                sessionNearCache.invalidateUser(userId);
             }
         } catch (Exception e) {
             log.error("Session removal error for userId: {}, sessionId: {}", userId, sessionId, e);
@@ -212,6 +222,7 @@ public class SessionService {
     public void removeAllUserSessions(String userId) {
         try {
             sessionStore.deleteAll(userId);
+            sessionNearCache.invalidateUser(userId);
         } catch (Exception e) {
             log.error("Remove all sessions error for userId: {}", userId, e);
             throw new RuntimeException("모든 세션 삭제 중 오류가 발생했습니다.", e);
@@ -1,8 +1,9 @@
 package com.ktb.chatapp.service.command;
 
 import com.ktb.chatapp.model.ReadBatch;
-import com.ktb.chatapp.repository.MessageRepository;
-import com.ktb.chatapp.service.MessageReadStatusService;
+import com.ktb.chatapp.model.Room;
+import com.ktb.chatapp.model.RoomReadState;
+import com.ktb.chatapp.service.RoomReadStateService;
 import com.ktb.chatapp.service.cache.RoomCacheService;
 import com.ktb.chatapp.websocket.socketio.broadcast.BroadcastService;
 import com.ktb.chatapp.websocket.socketio.pubsub.ChatBroadcastEvent;
@@ -16,8 +17,10 @@ import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
-import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.*;
 
 import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.MESSAGES_READ;
@@ -27,9 +30,8 @@ import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.MESSAGES_READ;
 @RequiredArgsConstructor
 public class MessageReadCommandService {
 
-    private final MessageReadStatusService messageReadStatusService;
+    private final RoomReadStateService roomReadStateService;
     private final BroadcastService broadcastService;
-    private final MessageRepository messageRepository;
     private final RoomCacheService roomCacheService;
 
     // roomId:userId → batch
@@ -80,7 +82,7 @@ public class MessageReadCommandService {
         }
     }
 
-    private void flushAll() {
+    void flushAll() {
         buffer.entrySet().forEach(e -> flush(e.getKey(), e.getValue()));
     }
 
@@ -89,39 +91,57 @@ public class MessageReadCommandService {
         if (batch.size() == 0) return;
         if (!buffer.remove(key, batch)) return;
 
-        List<String> messageIds = new ArrayList<>(batch.getMessageIds());
-
-        // 1️⃣ readers bulk update
-        messageReadStatusService.updateReadStatus(
-                messageIds,
-                batch.getUserId()
-        );
-
-        // 2️⃣ 🔥 all-read 판정 (캐시 적용)
-        int participantsToRead =
-                roomCacheService.countParticipants(batch.getRoomId()) - 1;
-
-        List<String> allReadMessageIds =
-                messageRepository.findAllReadMessages(
-                        messageIds,
-                        participantsToRead
+        // 조회 가능한 형식으로 정규화한 뒤, 이 방의 메시지인 id만 정렬 키와 함께 사용
+        List<String> normalized = RoomReadStateService.normalize(batch.getMessageIds());
+        String roomId = batch.getRoomId();
+        String userId = batch.getUserId();
+        if (normalized.isEmpty()) return;
+
+        try {
+            Map<String, String> readKeys = roomReadStateService.readKeys(roomId, normalized);
+            if (readKeys.isEmpty()) return;
+            List<String> messageIds = normalized.stream().filter(readKeys::containsKey).toList();
+            String latest = Collections.max(readKeys.values());
+
+            // 1️⃣ 읽음 위치 전진 ($max, 문서 하나만 갱신)
+            RoomReadStateService.Advance advance =
+                    roomReadStateService.advance(roomId, userId, latest);
+            if (!advance.advanced()) return;
+
+            Set<String> participantIds = roomCacheService.findById(roomId)
+                    .map(Room::getParticipantIds)
+                    .orElse(Set.of());
+
+            // 2️⃣ 사용자 읽음 위치 ACK (2인 방은 handler가 이미 즉시 보냄)
+            if (participantIds.size() != 2) {
+                broadcastService.broadcastToRoom(
+                        ChatBroadcastEvent.TYPE_MESSAGES_READ,
+                        roomId,
+                        MESSAGES_READ,
+                        new MessagesReadResponse(userId, messageIds, RoomReadState.messageIdOf(advance.current()))
                 );
+            }
 
-        if (!allReadMessageIds.isEmpty()) {
-
-            // 3️⃣ 상태 고정
-            messageRepository.markAllRead(allReadMessageIds);
+            // 3️⃣ all-read 판정: 참여자 watermark 최솟값
+            //    이 사용자의 이전 위치가 최솟값보다 뒤였다면 최솟값은 움직이지 않았음
+            String allRead = roomReadStateService.allReadWatermark(roomId, participantIds);
+            if (allRead == null
+                    || (advance.previous() != null && advance.previous().compareTo(allRead) >= 0)) {
+                return;
+            }
 
             // 4️⃣ 🔥 ACK 브로드캐스트 (E2E 핵심)
+            List<String> allReadMessageIds = messageIds.stream()
+                    .filter(id -> readKeys.get(id).compareTo(allRead) <= 0)
+                    .toList();
             broadcastService.broadcastToRoom(
                     ChatBroadcastEvent.TYPE_MESSAGES_READ,
-                    batch.getRoomId(),
+                    roomId,
                     MESSAGES_READ,
-                    new MessagesReadResponse(
-                            "ALL",
-                            allReadMessageIds
-                    )
+                    new MessagesReadResponse("ALL", allReadMessageIds, RoomReadState.messageIdOf(allRead))
             );
+        } catch (Exception e) {
+            log.error("Read watermark update failed - room: {}, user: {}", roomId, userId, e);
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,392 @@
+package com.ktb.chatapp.service.command;
+
+import com.ktb.chatapp.model.Message;
+import com.mongodb.bulk.BulkWriteError;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+
+/**
+ * 채팅 메시지 write-behind 저장 서비스.
+ *
+ * [왜 필요한가?]
+ * - 기존: 소켓 워커 스레드에서 messageRepository.save() 동기 호출 → 메시지마다 Mongo 왕복
+ * - 변경: ObjectId를 서버에서 먼저 발급하고 바로 브로드캐스트, 저장은 큐에 적재
+ *
+ * [동작 방식]
+ * 1. persist() 호출 시 ObjectId 발급 후 bounded queue에 적재
+ * 2. 전용 스레드가 큐를 비우며 batch-size 또는 batch-window 중 먼저 도달한 기준으로 묶음 생성
+ * 3. BulkOperations(UNORDERED insert)로 한 번에 저장
+ * 4. 저장 결과는 메시지별 CompletableFuture로 전달 (실패 시 콜백 호출)
+ *
+ * [사용처]
+ * - 채팅/시스템 메시지 (ChatMessageHandler, RoomLeaveHandler)
+ * - AI 응답 완료 메시지 (AiService) - 스트림을 끝낸 클라이언트 스레드가 Mongo 저장을 기다리지 않도록
+ *   submitDetached()로 적재: 큐가 가득 차도 호출 스레드에서 저장하지 않고 가상 스레드로 넘김
+ * - 메시지 리액션 (MessageReactionHandler) - awaitWritten()으로 insert가 끝난 뒤 문서를 읽고 고침
+ *
+ * [모드]
+ * - wait-for-write=false (기본): 큐 적재 후 즉시 반환, 실패는 콜백으로 통지
+ * - wait-for-write=true: group commit - 자신이 포함된 batch가 저장될 때까지 대기
+ */
+@Slf4j
+@Service
+public class MessageWriteBehindService {
+
+    private static final int DUPLICATE_KEY_ERROR = 11000;
+
+    private final MongoTemplate mongoTemplate;
+    private final MeterRegistry meterRegistry;
+
+    private final int batchSize;
+    private final Duration batchWindow;
+    private final boolean waitForWrite;
+    private final Duration writeTimeout;
+    private final int maxRetries;
+
+    private final BlockingQueue<PendingWrite> queue;
+    /** 저장이 끝나지 않은 메시지 (id → 대기 항목), 아직 Mongo에 없는 메시지를 조회하거나 저장을 기다릴 때 사용 */
+    private final Map<String, PendingWrite> pendingById = new ConcurrentHashMap<>();
+
+    private final ExecutorService drainer =
+            Executors.newSingleThreadExecutor(r -> {
+                Thread t = new Thread(r, "message-write-behind");
+                t.setDaemon(true);
+                return t;
+            });
+
+    /** submitDetached()에서 큐가 가득 찼을 때 자리를 기다리거나 대신 저장하는 가상 스레드 */
+    private final ExecutorService overflowHandoff = Executors.newVirtualThreadPerTaskExecutor();
+
+    private volatile boolean running = true;
+
+    private DistributionSummary batchSizeSummary;
+    private Timer flushTimer;
+    private Counter failureCounter;
+    private Counter overflowCounter;
+    private Counter handoffCounter;
+
+    public MessageWriteBehindService(
+            MongoTemplate mongoTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${chat.message.write-behind.queue-capacity:50000}") int queueCapacity,
+            @Value("${chat.message.write-behind.batch-size:500}") int batchSize,
+            @Value("${chat.message.write-behind.batch-window:20ms}") Duration batchWindow,
+            @Value("${chat.message.write-behind.wait-for-write:false}") boolean waitForWrite,
+            @Value("${chat.message.write-behind.write-timeout:3s}") Duration writeTimeout,
+            @Value("${chat.message.write-behind.max-retries:3}") int maxRetries) {
+        this.mongoTemplate = mongoTemplate;
+        this.meterRegistry = meterRegistry;
+        this.queue = new LinkedBlockingQueue<>(queueCapacity);
+        this.batchSize = Math.max(1, batchSize);
+        this.batchWindow = batchWindow;
+        this.waitForWrite = waitForWrite;
+        this.writeTimeout = writeTimeout;
+        this.maxRetries = Math.max(0, maxRetries);
+    }
+
+    @PostConstruct
+    void init() {
+        Gauge.builder("chat.messages.write_behind.queue.depth", queue, BlockingQueue::size)
+                .description("Messages waiting to be persisted")
+                .register(meterRegistry);
+        batchSizeSummary = DistributionSummary.builder("chat.messages.write_behind.batch.size")
+                .description("Messages persisted per bulk insert")
+                .register(meterRegistry);
+        flushTimer = Timer.builder("chat.messages.write_behind.flush.time")
+                .description("Bulk insert latency")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        failureCounter = Counter.builder("chat.messages.write_behind.failures")
+                .description("Messages that could not be persisted")
+                .register(meterRegistry);
+        overflowCounter = Counter.builder("chat.messages.write_behind.overflow")
+                .description("Messages persisted inline because the queue was full")
+                .register(meterRegistry);
+        handoffCounter = Counter.builder("chat.messages.write_behind.handoff")
+                .description("Detached submissions handed to a virtual thread because the queue was full")
+                .register(meterRegistry);
+
+        drainer.execute(this::drainLoop);
+        log.info("Message write-behind started - batchSize: {}, window: {}, waitForWrite: {}",
+                batchSize, batchWindow, waitForWrite);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        running = false;
+        // 넘겨받은 메시지가 큐에 들어가거나 저장될 때까지 먼저 기다린다
+        overflowHandoff.shutdown();
+        try {
+            if (!overflowHandoff.awaitTermination(writeTimeout.toMillis() + 5_000, TimeUnit.MILLISECONDS)) {
+                log.warn("Message write-behind handoff did not finish in time");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        drainer.shutdown();
+        try {
+            if (!drainer.awaitTermination(10, TimeUnit.SECONDS)) {
+                log.warn("Message write-behind did not stop in time - remaining: {}", queue.size());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // 종료 직전 남은 메시지는 호출 스레드에서 마저 저장
+        List<PendingWrite> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            flush(remaining);
+        }
+    }
+
+    /**
+     * 메시지를 저장 파이프라인에 넣는다.
+     *
+     * @param message   저장할 메시지 (id가 없으면 ObjectId를 발급)
+     * @param onFailure 최종 저장 실패 시 호출될 콜백 (write-behind 모드에서만 사용)
+     * @return id가 채워진 메시지
+     */
+    public Message persist(Message message, Consumer<Throwable> onFailure) {
+        CompletableFuture<Message> future = submit(message);
+
+        if (!waitForWrite) {
+            if (onFailure != null) {
+                future.whenComplete((saved, error) -> {
+                    if (error != null) {
+                        onFailure.accept(error);
+                    }
+                });
+            }
+            return message;
+        }
+
+        try {
+            return future.get(writeTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("메시지 저장 대기 중 인터럽트되었습니다.", e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new IllegalStateException("메시지 저장에 실패했습니다.", e);
+        }
+    }
+
+    /**
+     * 메시지를 큐에 적재하고 저장 완료 시 완료되는 future를 반환한다.
+     * 큐가 가득 찬 경우 호출 스레드에서 바로 저장한다 (유실 방지용 backpressure).
+     */
+    public CompletableFuture<Message> submit(Message message) {
+        if (message.getId() == null) {
+            message.setId(new ObjectId().toHexString());
+        }
+
+        PendingWrite pending = track(message);
+        if (!running || !queue.offer(pending)) {
+            overflowCounter.increment();
+            flush(List.of(pending));
+        }
+        return pending.future();
+    }
+
+    /**
+     * 호출 스레드를 막지 않는 submit.
+     * - 모델 스트림을 끝낸 스레드처럼 저장을 기다리면 안 되는 호출자용
+     * - 큐에 자리가 있으면 submit()과 같고, 가득 차면 가상 스레드가 write-timeout 동안 자리를 기다렸다가
+     *   그래도 없으면 그 스레드에서 바로 저장 (재시도/backoff도 그 스레드에서)
+     */
+    public CompletableFuture<Message> submitDetached(Message message) {
+        if (message.getId() == null) {
+            message.setId(new ObjectId().toHexString());
+        }
+
+        PendingWrite pending = track(message);
+        if (running && queue.offer(pending)) {
+            return pending.future();
+        }
+
+        handoffCounter.increment();
+        try {
+            overflowHandoff.execute(() -> {
+                try {
+                    if (running && queue.offer(pending, writeTimeout.toNanos(), TimeUnit.NANOSECONDS)) {
+                        return;
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                overflowCounter.increment();
+                flush(List.of(pending));
+            });
+        } catch (RejectedExecutionException e) {
+            // 종료 중이면 넘길 곳이 없으므로 호출 스레드에서 저장
+            overflowCounter.increment();
+            flush(List.of(pending));
+        }
+        return pending.future();
+    }
+
+    /**
+     * 아직 저장이 끝나지 않은 메시지 조회 (큐에 있거나 저장 중)
+     *
+     * @return 저장이 끝났거나 없는 id면 null
+     */
+    public Message findPending(String messageId) {
+        PendingWrite pending = messageId != null ? pendingById.get(messageId) : null;
+        return pending != null ? pending.message() : null;
+    }
+
+    /**
+     * 아직 저장이 끝나지 않은 메시지면 저장될 때까지 기다린다 (최대 write-timeout).
+     * 리액션처럼 Mongo 문서를 읽고 고쳐 쓰는 쪽이 insert보다 먼저 실행되지 않도록 사용.
+     *
+     * @return 기다린 경우 true, 저장 대기 중인 메시지가 아니면 바로 false
+     * @throws IllegalStateException 저장에 실패했거나 write-timeout 안에 끝나지 않은 경우
+     */
+    public boolean awaitWritten(String messageId) {
+        PendingWrite pending = messageId != null ? pendingById.get(messageId) : null;
+        if (pending == null) {
+            return false;
+        }
+        try {
+            pending.future().get(writeTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("메시지 저장 대기 중 인터럽트되었습니다.", e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new IllegalStateException("메시지 저장에 실패했습니다.", e);
+        }
+    }
+
+    public boolean isWaitForWrite() {
+        return waitForWrite;
+    }
+
+    private PendingWrite track(Message message) {
+        PendingWrite pending = new PendingWrite(message, new CompletableFuture<>());
+        pendingById.put(message.getId(), pending);
+        return pending;
+    }
+
+    private void drainLoop() {
+        List<PendingWrite> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingWrite first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+
+                // 첫 메시지 기준 batch-window 동안 batch-size까지 모은다
+                long deadline = System.nanoTime() + batchWindow.toNanos();
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) {
+                        break;
+                    }
+                    PendingWrite next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("Message write-behind loop error", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<PendingWrite> batch) {
+        batchSizeSummary.record(batch.size());
+
+        Map<Integer, Throwable> failures = new HashMap<>();
+        Throwable lastError = null;
+        boolean written = false;
+
+        for (int attempt = 0; attempt <= maxRetries && !written; attempt++) {
+            long start = System.nanoTime();
+            try {
+                BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Message.class);
+                bulk.insert(batch.stream().map(PendingWrite::message).toList());
+                bulk.execute();
+                written = true;
+            } catch (BulkOperationException e) {
+                // 문서 단위 오류: 중복 키(재시도로 이미 저장됨)는 성공으로 간주
+                for (BulkWriteError error : e.getErrors()) {
+                    if (error.getCode() != DUPLICATE_KEY_ERROR) {
+                        failures.put(error.getIndex(), e);
+                    }
+                }
+                written = true;
+            } catch (Exception e) {
+                lastError = e;
+                log.warn("Bulk insert failed - attempt: {}/{}, size: {}",
+                        attempt + 1, maxRetries + 1, batch.size(), e);
+                backoff(attempt);
+            } finally {
+                flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        for (int i = 0; i < batch.size(); i++) {
+            PendingWrite pending = batch.get(i);
+            Throwable failure = written ? failures.get(i) : lastError;
+            pendingById.remove(pending.message().getId());
+            if (failure == null) {
+                pending.future().complete(pending.message());
+            } else {
+                failureCounter.increment();
+                log.error("Message persist failed - messageId: {}, room: {}",
+                        pending.message().getId(), pending.message().getRoomId(), failure);
+                pending.future().completeExceptionally(failure);
+            }
+        }
+    }
+
+    private void backoff(int attempt) {
+        try {
+            Thread.sleep(Math.min(1000L, 50L << attempt));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private record PendingWrite(Message message, CompletableFuture<Message> future) {
+    }
+}
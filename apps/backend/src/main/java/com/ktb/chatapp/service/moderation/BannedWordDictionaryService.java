@@ -0,0 +1,304 @@
+package com.ktb.chatapp.service.moderation;
+
+import com.ktb.chatapp.util.BannedWordAutomaton;
+import com.ktb.chatapp.util.BannedWordChecker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledFuture;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.io.Resource;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Service;
+
+/**
+ * 금칙어 사전 hot reload.
+ *
+ * [왜 필요한가?]
+ * - 기존에는 시작 시 한 번만 사전을 읽음 → 단어 추가/삭제에 재시작 필요
+ * - 재시작하면 모든 소켓이 한꺼번에 재연결 (reconnect storm)
+ *
+ * [사전 원천] (chatapp.banned-word.source)
+ * - file  : chatapp.banned-word.location (파일 경로면 수정 시각을 주기적으로 확인)
+ * - redis : Redis SET {redis-key}, 변경 후 {redis-key}:version 값을 바꾸면 주기 확인에서 감지
+ *           (SET이 비어 있거나 Redis 장애 시 파일 사전 사용)
+ * - 관리자 API : POST /api/admin/banned-words/reload
+ *
+ * [동작 방식]
+ * 1. 전용 백그라운드 스레드에서 단어 로딩 + automaton 빌드 (메시지 처리 스레드는 관여하지 않음)
+ * 2. 완성된 automaton을 BannedWordChecker에 volatile 참조로 교체
+ * 3. 이 노드에서 시작된 재로딩은 Redis 채널(banned-word:reload)로 알려 다른 노드도 재로딩
+ *    (메시지에 노드 ID를 넣어 자기 자신이 보낸 메시지는 무시)
+ *
+ * 재로딩 요청이 몰려도 빌드는 한 번에 하나씩, 대기 중인 요청은 하나로 합쳐진다.
+ * 빌드가 실패하면 기존 사전을 그대로 유지한다.
+ */
+@Slf4j
+@Service
+public class BannedWordDictionaryService implements MessageListener {
+
+    public static final String RELOAD_CHANNEL = "banned-word:reload";
+
+    private static final String SOURCE_REDIS = "redis";
+
+    private final ApplicationContext applicationContext;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final TaskScheduler taskScheduler;
+    private final MeterRegistry meterRegistry;
+
+    private final String source;
+    private final String location;
+    private final String redisKey;
+    private final Duration pollInterval;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final ExecutorService reloadExecutor;
+    private final BannedWordChecker checker;
+    private final Object reloadLock = new Object();
+
+    private final Timer buildTimer;
+    private final Counter reloadSuccess;
+    private final Counter reloadFailure;
+
+    private CompletableFuture<Integer> pendingReload;
+    private ScheduledFuture<?> pollTask;
+
+    private volatile long lastFileModified;
+    private volatile String lastRedisVersion;
+
+    public BannedWordDictionaryService(
+            ApplicationContext applicationContext,
+            RedisTemplate<String, String> redisTemplate,
+            TaskScheduler taskScheduler,
+            MeterRegistry meterRegistry,
+            @Value("${chatapp.banned-word.source:file}") String source,
+            @Value("${chatapp.banned-word.location:classpath:fake_banned_words_10k.txt}") String location,
+            @Value("${chatapp.banned-word.redis-key:chatapp:banned-words}") String redisKey,
+            @Value("${chatapp.banned-word.poll-interval:30s}") Duration pollInterval) {
+        this.applicationContext = applicationContext;
+        this.redisTemplate = redisTemplate;
+        this.taskScheduler = taskScheduler;
+        this.meterRegistry = meterRegistry;
+        this.source = source;
+        this.location = location;
+        this.redisKey = redisKey;
+        this.pollInterval = pollInterval;
+        this.reloadExecutor = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "banned-word-reload");
+            t.setDaemon(true);
+            return t;
+        });
+        this.buildTimer = Timer.builder("banned-word.dictionary.build.time")
+                .description("Time to load the banned word dictionary and build its automaton")
+                .register(meterRegistry);
+        this.reloadSuccess = Counter.builder("banned-word.dictionary.reloads")
+                .tag("result", "success")
+                .register(meterRegistry);
+        this.reloadFailure = Counter.builder("banned-word.dictionary.reloads")
+                .tag("result", "failure")
+                .register(meterRegistry);
+
+        // 최초 사전은 동기 로딩 (실패 시 기동 실패 - 기존 동작 유지)
+        this.checker = new BannedWordChecker(build());
+    }
+
+    @PostConstruct
+    void init() {
+        Gauge.builder("banned-word.dictionary.size", checker, c -> c.automaton().wordCount())
+                .description("Number of words in the active banned word dictionary")
+                .register(meterRegistry);
+        Gauge.builder("banned-word.automaton.states", checker, c -> c.automaton().stateCount())
+                .description("Number of states in the active banned word automaton")
+                .register(meterRegistry);
+        Gauge.builder("banned-word.automaton.memory", checker, c -> c.automaton().estimatedMemoryBytes())
+                .description("Estimated memory of the active banned word automaton")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+
+        if (!pollInterval.isZero() && !pollInterval.isNegative()) {
+            pollTask = taskScheduler.scheduleWithFixedDelay(this::pollForChanges, pollInterval);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (pollTask != null) {
+            pollTask.cancel(false);
+        }
+        reloadExecutor.shutdownNow();
+    }
+
+    public BannedWordChecker getChecker() {
+        return checker;
+    }
+
+    /**
+     * 관리자 요청 등으로 이 노드에서 시작된 재로딩. 다른 노드에도 전파한다.
+     *
+     * @return 새 사전의 단어 수
+     */
+    public CompletableFuture<Integer> reloadAndBroadcast(String reason) {
+        CompletableFuture<Integer> future = reload(reason);
+        publishReload();
+        return future;
+    }
+
+    /**
+     * 백그라운드 재로딩 예약. 이미 대기 중인 재로딩이 있으면 그 결과를 공유한다.
+     */
+    public CompletableFuture<Integer> reload(String reason) {
+        synchronized (reloadLock) {
+            if (pendingReload != null) {
+                return pendingReload;
+            }
+            CompletableFuture<Integer> future = new CompletableFuture<>();
+            pendingReload = future;
+            reloadExecutor.execute(() -> runReload(reason, future));
+            return future;
+        }
+    }
+
+    private void runReload(String reason, CompletableFuture<Integer> future) {
+        synchronized (reloadLock) {
+            // 실행이 시작된 뒤 들어온 요청은 새 재로딩으로 처리
+            pendingReload = null;
+        }
+        try {
+            BannedWordAutomaton next = build();
+            checker.swap(next);
+            reloadSuccess.increment();
+            log.info("Banned word dictionary reloaded - reason: {}, words: {}, states: {}",
+                    reason, next.wordCount(), next.stateCount());
+            future.complete(next.wordCount());
+        } catch (Exception e) {
+            reloadFailure.increment();
+            log.error("Banned word dictionary reload failed - reason: {}, keeping current dictionary", reason, e);
+            future.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * 다른 노드가 발행한 재로딩 알림 수신
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String origin = new String(message.getBody(), StandardCharsets.UTF_8);
+        if (nodeId.equals(origin)) {
+            return;
+        }
+        reload("cluster:" + origin);
+    }
+
+    private void publishReload() {
+        try {
+            redisTemplate.convertAndSend(RELOAD_CHANNEL, nodeId);
+        } catch (Exception e) {
+            log.warn("Banned word reload publish failed - other nodes will pick up changes on next poll", e);
+        }
+    }
+
+    /**
+     * 원천 변경 감지 (파일 수정 시각 또는 Redis 버전 키).
+     * 노드마다 각자 확인하므로 전파하지 않는다.
+     */
+    void pollForChanges() {
+        try {
+            if (SOURCE_REDIS.equalsIgnoreCase(source)) {
+                String version = redisTemplate.opsForValue().get(versionKey());
+                if (version != null && !Objects.equals(version, lastRedisVersion)) {
+                    reload("redis-version:" + version);
+                }
+                return;
+            }
+            Resource resource = applicationContext.getResource(location);
+            if (resource.isFile() && resource.lastModified() > lastFileModified) {
+                reload("file-modified");
+            }
+        } catch (Exception e) {
+            log.warn("Banned word dictionary poll failed", e);
+        }
+    }
+
+    private BannedWordAutomaton build() {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            return BannedWordAutomaton.build(loadWords());
+        } finally {
+            sample.stop(buildTimer);
+        }
+    }
+
+    private Set<String> loadWords() {
+        if (SOURCE_REDIS.equalsIgnoreCase(source)) {
+            try {
+                // 버전을 먼저 읽어야 읽는 도중 바뀐 경우 다음 poll에서 다시 로딩됨
+                String version = redisTemplate.opsForValue().get(versionKey());
+                Set<String> members = redisTemplate.opsForSet().members(redisKey);
+                // 비어 있어 파일로 대체하더라도 이 버전은 반영한 것으로 기록 (아니면 poll마다 재로딩)
+                lastRedisVersion = version;
+                if (members != null && !members.isEmpty()) {
+                    return members.stream()
+                            .filter(Objects::nonNull)
+                            .map(String::trim)
+                            .filter(word -> !word.isEmpty())
+                            .collect(Collectors.toUnmodifiableSet());
+                }
+                log.warn("Banned word set {} is empty - falling back to {}", redisKey, location);
+            } catch (Exception e) {
+                log.warn("Failed to load banned words from Redis key {} - falling back to {}", redisKey, location, e);
+            }
+        }
+        return loadFromResource();
+    }
+
+    private Set<String> loadFromResource() {
+        Resource resource = applicationContext.getResource(location);
+        if (!resource.exists()) {
+            throw new IllegalStateException("Banned word resource not found at " + location);
+        }
+
+        Set<String> words;
+        try {
+            long modified = resource.isFile() ? resource.lastModified() : 0L;
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+                words = reader.lines()
+                        .map(String::trim)
+                        .filter(line -> !line.isEmpty())
+                        .collect(Collectors.toUnmodifiableSet());
+            }
+            lastFileModified = modified;
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to load banned words from " + location, e);
+        }
+
+        if (words.isEmpty()) {
+            throw new IllegalStateException("Banned word dictionary at " + location + " must not be empty.");
+        }
+        return words;
+    }
+
+    private String versionKey() {
+        return redisKey + ":version";
+    }
+}
@@ -0,0 +1,179 @@
+package com.ktb.chatapp.service.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ktb.chatapp.service.RateLimitCheckResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hybrid local-lease rate limiter.
+ *
+ * [왜 필요한가?]
+ * - Redis GCRA도 메시지마다 네트워크 왕복 1회
+ * - 분당 수천 건을 보내는 사용자는 그만큼 Redis를 호출
+ *
+ * [동작 방식]
+ * 1. 노드가 Redis(원천)에서 사용자 쿼터 일부(lease, 예: 50개)를 한 번에 차감
+ * 2. 이후 요청은 로컬 AtomicLong CAS로만 처리 (lock-free)
+ * 3. lease를 다 쓰거나 lease-ttl이 지나면 다시 원천에서 가져옴
+ *    (키당 ReentrantLock으로 한 스레드만 갱신. synchronized 안에서 Redis를 기다리면
+ *     가상 스레드가 carrier 스레드에 고정되므로 사용하지 않음)
+ * 4. 원천이 거부하면 retryAfter 동안은 원천 호출 없이 로컬에서 바로 거부
+ *
+ * [정확도 vs 처리량]
+ * - lease-size: 클수록 원천 호출이 줄지만 노드별로 미리 가져간 토큰만큼 오차가 커짐
+ * - max-lease-fraction: lease 크기를 한도의 일정 비율로 제한 (작은 한도에서는 사실상 1개씩)
+ * - lease-ttl: 쓰지 않은 토큰을 버리는 시간. 오래 들고 있다가 몰아 쓰는 것을 방지
+ *
+ * [초과 허용 범위]
+ * 원천에서 차감된 토큰만 사용하므로, lease-ttl <= window일 때
+ * 임의 구간의 허용 수 <= (원천 GCRA 허용 수) + (노드 수 × lease 크기)
+ * lease 만료로 버려지는 토큰은 과소 허용 방향이므로 한도를 넘기지 않는다.
+ */
+@Component
+public class HybridRateLimiter implements RateLimiter {
+
+    private final RateLimitLeaseSource leaseSource;
+    private final int leaseSize;
+    private final double maxLeaseFraction;
+    private final long leaseTtlNanos;
+    private final LongSupplier nanoClock;
+    private final Cache<String, Bucket> buckets;
+
+    private final Counter localHits;
+    private final Counter leasesGranted;
+    private final Counter leasesDenied;
+
+    @Autowired
+    public HybridRateLimiter(
+            RedisRateLimiter redisRateLimiter,
+            MeterRegistry meterRegistry,
+            @Value("${chat.ratelimit.hybrid.lease-size:50}") int leaseSize,
+            @Value("${chat.ratelimit.hybrid.max-lease-fraction:0.05}") double maxLeaseFraction,
+            @Value("${chat.ratelimit.hybrid.lease-ttl:1s}") Duration leaseTtl) {
+        this(redisRateLimiter, meterRegistry, leaseSize, maxLeaseFraction, leaseTtl, System::nanoTime);
+    }
+
+    HybridRateLimiter(
+            RateLimitLeaseSource leaseSource,
+            MeterRegistry meterRegistry,
+            int leaseSize,
+            double maxLeaseFraction,
+            Duration leaseTtl,
+            LongSupplier nanoClock) {
+        this.leaseSource = leaseSource;
+        this.leaseSize = Math.max(1, leaseSize);
+        this.maxLeaseFraction = maxLeaseFraction;
+        this.leaseTtlNanos = leaseTtl.toNanos();
+        this.nanoClock = nanoClock;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(200_000)
+                .expireAfterAccess(Duration.ofMinutes(10))
+                .build();
+        this.localHits = Counter.builder("ratelimit.hybrid.local.hits")
+                .description("Rate limit checks served from a local lease")
+                .register(meterRegistry);
+        this.leasesGranted = Counter.builder("ratelimit.hybrid.leases")
+                .description("Lease requests sent to the shared rate limit store")
+                .tag("result", "granted")
+                .register(meterRegistry);
+        this.leasesDenied = Counter.builder("ratelimit.hybrid.leases")
+                .description("Lease requests sent to the shared rate limit store")
+                .tag("result", "denied")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public RateLimitCheckResult tryAcquire(String key, int maxRequests, Duration window) {
+        Bucket bucket = buckets.get(key, k -> new Bucket());
+        long windowSeconds = Math.max(window.getSeconds(), 1);
+
+        // 1) fast path: 유효한 lease에서 CAS로 차감
+        long remaining = bucket.tryTake(nanoClock.getAsLong());
+        if (remaining >= 0) {
+            localHits.increment();
+            return allowed(maxRequests, remaining, windowSeconds);
+        }
+
+        // 2) slow path: lease 갱신은 키당 한 스레드만
+        bucket.refillLock.lock();
+        try {
+            long now = nanoClock.getAsLong();
+            remaining = bucket.tryTake(now);
+            if (remaining >= 0) {
+                localHits.increment();
+                return allowed(maxRequests, remaining, windowSeconds);
+            }
+
+            if (now < bucket.deniedUntil) {
+                return rejected(maxRequests, windowSeconds, bucket.deniedUntil - now);
+            }
+
+            RateLimitLeaseSource.Lease lease =
+                    leaseSource.lease(key, maxRequests, window, leaseSizeFor(maxRequests));
+
+            if (lease.granted() <= 0) {
+                leasesDenied.increment();
+                long retryAfterNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, lease.retryAfterMillis()));
+                bucket.deniedUntil = now + retryAfterNanos;
+                return rejected(maxRequests, windowSeconds, retryAfterNanos);
+            }
+
+            leasesGranted.increment();
+            // 요청 1건은 지금 사용, 나머지는 lease-ttl 동안 로컬에서 사용
+            bucket.tokens.set(lease.granted() - 1);
+            bucket.expiresAt = now + leaseTtlNanos;
+            return allowed(maxRequests, lease.granted() - 1, windowSeconds);
+        } finally {
+            bucket.refillLock.unlock();
+        }
+    }
+
+    int leaseSizeFor(int maxRequests) {
+        long byFraction = (long) Math.floor(maxRequests * maxLeaseFraction);
+        return (int) Math.max(1, Math.min(leaseSize, byFraction));
+    }
+
+    private static RateLimitCheckResult allowed(int maxRequests, long remaining, long windowSeconds) {
+        // 로컬 lease 기준 잔여량이므로 근사값
+        return RateLimitCheckResult.fromMillis(true, maxRequests, remaining, windowSeconds,
+                0, TimeUnit.SECONDS.toMillis(windowSeconds));
+    }
+
+    private static RateLimitCheckResult rejected(int maxRequests, long windowSeconds, long retryAfterNanos) {
+        return RateLimitCheckResult.fromMillis(false, maxRequests, 0, windowSeconds,
+                TimeUnit.NANOSECONDS.toMillis(retryAfterNanos), 0);
+    }
+
+    private static final class Bucket {
+        private final AtomicLong tokens = new AtomicLong();
+        private final ReentrantLock refillLock = new ReentrantLock();
+        private volatile long expiresAt = Long.MIN_VALUE;
+        private volatile long deniedUntil = Long.MIN_VALUE;
+
+        /**
+         * @return 차감 후 남은 토큰 수, lease가 없거나 만료되었으면 -1
+         */
+        long tryTake(long now) {
+            if (now >= expiresAt) {
+                return -1;
+            }
+            long current;
+            while ((current = tokens.get()) > 0) {
+                if (tokens.compareAndSet(current, current - 1)) {
+                    return current - 1;
+                }
+            }
+            return -1;
+        }
+    }
+}
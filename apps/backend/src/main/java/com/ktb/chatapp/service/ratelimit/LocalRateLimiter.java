@@ -0,0 +1,97 @@
+package com.ktb.chatapp.service.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ktb.chatapp.service.RateLimitCheckResult;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 프로세스 내 GCRA rate limiter.
+ *
+ * - Redis 스크립트와 같은 알고리즘을 AtomicLong CAS로 구현 (lock-free)
+ * - 노드 단위 제한이므로 단일 서버, 개발 환경, 또는 노드별 보호용으로 사용
+ * - 키별 상태는 Caffeine에 보관하고 일정 시간 접근이 없으면 제거
+ * - RateLimitLeaseSource도 구현하므로 단일 노드에서 hybrid 모드의 원천으로 쓸 수 있음
+ */
+@Component
+public class LocalRateLimiter implements RateLimiter, RateLimitLeaseSource {
+
+    private final Cache<String, AtomicLong> theoreticalArrivals;
+    private final LongSupplier nanoClock;
+
+    @Autowired
+    public LocalRateLimiter(
+            @Value("${chat.ratelimit.local.maximum-keys:200000}") long maximumKeys,
+            @Value("${chat.ratelimit.local.idle-expiry:10m}") Duration idleExpiry) {
+        this(maximumKeys, idleExpiry, System::nanoTime);
+    }
+
+    LocalRateLimiter(long maximumKeys, Duration idleExpiry, LongSupplier nanoClock) {
+        this.theoreticalArrivals = Caffeine.newBuilder()
+                .maximumSize(maximumKeys)
+                .expireAfterAccess(idleExpiry)
+                .build();
+        this.nanoClock = nanoClock;
+    }
+
+    @Override
+    public RateLimitCheckResult tryAcquire(String key, int maxRequests, Duration window) {
+        long windowNanos = windowNanos(window);
+        Grant grant = acquire(key, maxRequests, windowNanos, 1);
+        return RateLimitCheckResult.fromMillis(
+                grant.granted() > 0,
+                maxRequests,
+                grant.remaining(),
+                TimeUnit.NANOSECONDS.toSeconds(windowNanos),
+                TimeUnit.NANOSECONDS.toMillis(grant.retryAfterNanos()),
+                TimeUnit.NANOSECONDS.toMillis(grant.resetAfterNanos()));
+    }
+
+    @Override
+    public Lease lease(String key, int maxRequests, Duration window, int requested) {
+        Grant grant = acquire(key, maxRequests, windowNanos(window), requested);
+        return grant.granted() > 0
+                ? new Lease((int) grant.granted(), 0)
+                : Lease.denied(TimeUnit.NANOSECONDS.toMillis(grant.retryAfterNanos()));
+    }
+
+    /**
+     * 최대 requested개의 토큰을 CAS로 차감한다 (가용량만큼 부분 부여).
+     */
+    private Grant acquire(String key, int maxRequests, long windowNanos, int requested) {
+        long interval = windowNanos / Math.max(1, maxRequests);
+        AtomicLong tatRef = theoreticalArrivals.get(key, k -> new AtomicLong(nanoClock.getAsLong()));
+
+        while (true) {
+            long now = nanoClock.getAsLong();
+            long tat = tatRef.get();
+            long base = Math.max(tat, now);
+            long available = (now + windowNanos - base) / interval;
+
+            if (available < 1) {
+                long allowAt = base + interval - windowNanos;
+                return new Grant(0, 0, allowAt - now, base - now);
+            }
+
+            long granted = Math.min(requested, available);
+            long newTat = base + interval * granted;
+            if (tatRef.compareAndSet(tat, newTat)) {
+                long remaining = (now + windowNanos - newTat) / interval;
+                return new Grant(granted, remaining, 0, newTat - now);
+            }
+        }
+    }
+
+    private static long windowNanos(Duration window) {
+        return Math.max(window.toNanos(), TimeUnit.SECONDS.toNanos(1));
+    }
+
+    private record Grant(long granted, long remaining, long retryAfterNanos, long resetAfterNanos) {
+    }
+}
@@ -0,0 +1,24 @@
+package com.ktb.chatapp.service.ratelimit;
+
+import java.time.Duration;
+
+/**
+ * Hybrid rate limiter가 쿼터 일부를 미리 가져오는(lease) 원천 저장소.
+ * 같은 키에 대해 RateLimiter.tryAcquire와 쿼터를 공유해야 한다.
+ */
+public interface RateLimitLeaseSource {
+
+    /**
+     * 최대 requested개의 토큰을 한 번에 차감한다. 가용량이 부족하면 일부만 부여할 수 있다.
+     *
+     * @return 부여된 토큰 수와, 0개인 경우 다음 토큰이 생길 때까지의 대기 시간
+     */
+    Lease lease(String key, int maxRequests, Duration window, int requested);
+
+    record Lease(int granted, long retryAfterMillis) {
+
+        public static Lease denied(long retryAfterMillis) {
+            return new Lease(0, retryAfterMillis);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.ktb.chatapp.service.ratelimit;
+
+import com.ktb.chatapp.service.RateLimitCheckResult;
+import java.time.Duration;
+
+/**
+ * Rate limit 엔진 인터페이스.
+ * 구현체마다 상태 저장 위치(로컬 메모리 / Redis)가 다르며,
+ * RateLimitService가 @RateLimit(backend = ...) 설정에 따라 선택한다.
+ */
+public interface RateLimiter {
+
+    /**
+     * 요청 1건에 대한 허용 여부를 판단하고 상태를 갱신한다.
+     *
+     * @param key         제한 대상 식별자 (예: "user:{id}", "ip:{addr}")
+     * @param maxRequests 윈도우 내 최대 허용 요청 수
+     * @param window      시간 윈도우
+     * @return 판단 결과
+     */
+    RateLimitCheckResult tryAcquire(String key, int maxRequests, Duration window);
+}
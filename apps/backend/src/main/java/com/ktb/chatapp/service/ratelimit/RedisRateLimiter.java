@@ -0,0 +1,81 @@
+package com.ktb.chatapp.service.ratelimit;
+
+import com.ktb.chatapp.service.RateLimitCheckResult;
+import java.time.Duration;
+import java.util.List;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+/**
+ * Redis Lua GCRA rate limiter (클러스터 공용).
+ *
+ * [기존 방식의 문제]
+ * - INCR → EXPIRE → TTL 세 번의 왕복
+ * - 키에 hostName 포함 → 로드밸런서 뒤에서 노드마다 따로 제한 (실제 한도 = 한도 × 노드 수)
+ *
+ * [GCRA]
+ * - 키 하나에 TAT(theoretical arrival time)만 저장
+ * - 요청 간격 = window / maxRequests, 버스트는 maxRequests까지 허용
+ * - 판단 + 갱신을 Lua 스크립트 한 번(EVALSHA)으로 처리 → 요청당 Redis 왕복 1회
+ * - 시간은 Redis TIME 사용 → 노드 간 시계 오차 영향 없음
+ * - 같은 스크립트로 N개 토큰을 한 번에 차감 → HybridRateLimiter의 lease 원천
+ */
+@Component
+public class RedisRateLimiter implements RateLimiter, RateLimitLeaseSource {
+
+    static final String KEY_PREFIX = "rate:";
+
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> GCRA_SCRIPT =
+            RedisScript.of(new ClassPathResource("redis/gcra_rate_limit.lua"), List.class);
+
+    private final RedisTemplate<String, String> redis;
+
+    public RedisRateLimiter(RedisTemplate<String, String> redis) {
+        this.redis = redis;
+    }
+
+    @Override
+    public RateLimitCheckResult tryAcquire(String key, int maxRequests, Duration window) {
+        long windowMillis = Math.max(window.toMillis(), 1000);
+        List<?> result = execute(key, maxRequests, windowMillis, 1);
+
+        return RateLimitCheckResult.fromMillis(
+                toLong(result.get(0)) > 0,
+                maxRequests,
+                toLong(result.get(1)),
+                windowMillis / 1000,
+                toLong(result.get(2)),
+                toLong(result.get(3)));
+    }
+
+    @Override
+    public Lease lease(String key, int maxRequests, Duration window, int requested) {
+        List<?> result = execute(key, maxRequests, Math.max(window.toMillis(), 1000), requested);
+        int granted = (int) toLong(result.get(0));
+        return granted > 0 ? new Lease(granted, 0) : Lease.denied(toLong(result.get(2)));
+    }
+
+    private List<?> execute(String key, int maxRequests, long windowMillis, int requested) {
+        List<?> result = redis.execute(
+                GCRA_SCRIPT,
+                List.of(KEY_PREFIX + key),
+                String.valueOf(Math.max(1, maxRequests)),
+                String.valueOf(windowMillis),
+                String.valueOf(requested));
+
+        if (result == null || result.size() < 4) {
+            throw new IllegalStateException("Rate limit script returned no result");
+        }
+        return result;
+    }
+
+    private static long toLong(Object value) {
+        if (value instanceof Number number) {
+            return number.longValue();
+        }
+        return Long.parseLong(String.valueOf(value));
+    }
+}
@@ -0,0 +1,160 @@
+package com.ktb.chatapp.service.session;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ktb.chatapp.model.Session;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * 세션 검증용 JVM near-cache.
+ *
+ * [왜 필요한가?]
+ * - validateSession()은 채팅 메시지마다, 인증된 REST 요청마다 호출됨
+ * - 매번 Redis GET + Session JSON 역직렬화 → 메시지당 Redis 호출 중 가장 큰 비중
+ * - 같은 소켓에서 연속으로 들어오는 메시지 사이에 세션 상태는 거의 바뀌지 않음
+ *
+ * [동작 방식]
+ * 1. sessionId → Session 을 짧은 TTL(기본 5초)로 로컬 보관
+ * 2. 세션 삭제(로그아웃/만료/전체 삭제) 시 로컬 무효화 + Redis 채널로 무효화 전파
+ * 3. 다른 서버는 채널 메시지를 받아 자신의 near-cache에서 제거
+ *
+ * [메시지 포맷] (채널: session:invalidate)
+ * - "s:{sessionId}" : 단일 세션 무효화
+ * - "u:{userId}"    : 해당 유저의 모든 세션 무효화
+ *
+ * TTL이 짧기 때문에 무효화 메시지가 유실되더라도 최대 TTL 동안만 stale 상태가 유지됨.
+ *
+ * Session은 가변 객체이므로 넣을 때와 꺼낼 때 모두 복사본을 쓴다.
+ * 호출자가 setLastActivity() 등으로 고친 값이 저장 없이 다른 요청에 보이지 않도록 하기 위함.
+ */
+@Slf4j
+@Component
+public class SessionNearCache implements MessageListener {
+
+    public static final String INVALIDATION_CHANNEL = "session:invalidate";
+
+    private static final String SESSION_PREFIX = "s:";
+    private static final String USER_PREFIX = "u:";
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final Cache<String, Session> cache;
+
+    public SessionNearCache(
+            RedisTemplate<String, String> redisTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${session.near-cache.enabled:true}") boolean enabled,
+            @Value("${session.near-cache.ttl:5s}") Duration ttl,
+            @Value("${session.near-cache.maximum-size:100000}") long maximumSize) {
+        this.redisTemplate = redisTemplate;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+    }
+
+    @PostConstruct
+    void init() {
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "session.near-cache");
+        Gauge.builder("session.near-cache.hit.ratio", cache, c -> c.stats().hitRate())
+                .description("Session near-cache hit ratio since startup")
+                .register(meterRegistry);
+    }
+
+    public Session get(String sessionId) {
+        if (!enabled || sessionId == null) {
+            return null;
+        }
+        Session cached = cache.getIfPresent(sessionId);
+        return cached != null ? copy(cached) : null;
+    }
+
+    public void put(Session session) {
+        if (!enabled || session == null || session.getSessionId() == null) {
+            return;
+        }
+        cache.put(session.getSessionId(), copy(session));
+    }
+
+    /**
+     * 단일 세션 무효화 (로컬 + 클러스터 전파)
+     */
+    public void invalidateSession(String sessionId) {
+        if (sessionId == null) {
+            return;
+        }
+        cache.invalidate(sessionId);
+        publish(SESSION_PREFIX + sessionId);
+    }
+
+    /**
+     * 유저의 모든 세션 무효화 (로컬 + 클러스터 전파)
+     */
+    public void invalidateUser(String userId) {
+        if (userId == null) {
+            return;
+        }
+        evictUserLocally(userId);
+        publish(USER_PREFIX + userId);
+    }
+
+    /**
+     * 다른 서버(또는 자기 자신)가 발행한 무효화 메시지 수신.
+     * 자기 자신이 보낸 메시지도 다시 받지만 로컬 제거만 하므로 무해함.
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        if (body.startsWith(SESSION_PREFIX)) {
+            cache.invalidate(body.substring(SESSION_PREFIX.length()));
+        } else if (body.startsWith(USER_PREFIX)) {
+            evictUserLocally(body.substring(USER_PREFIX.length()));
+        } else {
+            log.warn("Unknown session invalidation message: {}", body);
+        }
+    }
+
+    private void evictUserLocally(String userId) {
+        cache.asMap().values().removeIf(session -> userId.equals(session.getUserId()));
+    }
+
+    private static Session copy(Session session) {
+        // metadata는 record(불변)라 그대로 공유
+        return Session.builder()
+                .id(session.getId())
+                .userId(session.getUserId())
+                .sessionId(session.getSessionId())
+                .createdAt(session.getCreatedAt())
+                .lastActivity(session.getLastActivity())
+                .metadata(session.getMetadata())
+                .expiresAt(session.getExpiresAt())
+                .build();
+    }
+
+    private void publish(String body) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            redisTemplate.convertAndSend(INVALIDATION_CHANNEL, body);
+        } catch (Exception e) {
+            // 전파 실패 시에도 다른 서버의 캐시는 TTL 내에 만료됨
+            log.warn("Session invalidation publish failed - {}", body, e);
+        }
+    }
+}
@@ -0,0 +1,323 @@
+package com.ktb.chatapp.util;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * 금칙어 검사용 Aho-Corasick 오토마톤.
+ *
+ * [기존 방식의 문제]
+ * - message.toLowerCase()로 메시지 전체 복사본 생성
+ * - trie.parseText()가 모든 매칭 결과를 List로 만들어 반환 (yes/no만 필요)
+ *
+ * [구조]
+ * - 사전 단어를 UnicodeFolding으로 정규화한 뒤 trie 구성
+ * - 사전에 등장하는 문자만 알파벳으로 압축 (symbol 테이블), 그 외 문자는 루트로 전이
+ * - 상태 번호는 BFS 순서. 루트와 얕은 상태(앞쪽 번호)만 dense 행으로 모든 전이를 미리 채움
+ * - 나머지 상태는 symbol 순으로 정렬한 자식 간선(CSR)과 failure link만 보관
+ *   → 메모리 = dense 예산 + 간선 수에 비례 (상태 × 알파벳 전체를 dense로 두면
+ *     한글 10k 단어 사전에서 수백 MB, 재로딩 중에는 두 벌이 동시에 살아 있음)
+ * - 출력은 boolean 배열 하나 (failure 체인의 출력까지 미리 합침)
+ *
+ * [검사]
+ * - 문자 하나씩 정규화 테이블 조회 → dense 상태면 배열 조회 1회,
+ *   sparse 상태면 이진 탐색 후 없으면 failure로 이동 (분할 상환 O(1))
+ * - 종료 상태면 즉시 true, 중간 문자열/리스트를 만들지 않으므로 메시지당 할당 없음
+ *
+ * 불변 객체이므로 여러 스레드에서 동시에 사용할 수 있다.
+ */
+public final class BannedWordAutomaton {
+
+    private static final int ROOT = 0;
+    /** dense 행을 둘 최대 깊이 (루트 = 0) */
+    private static final int DENSE_MAX_DEPTH = 2;
+    /** dense 전이 표 최대 칸 수 (4MB). 루트 행은 예산과 관계없이 항상 dense */
+    private static final int DENSE_CELL_BUDGET = 1 << 20;
+
+    /** 정규화된 문자 → 알파벳 인덱스 (-1: 사전에 없는 문자) */
+    private final short[] symbols;
+    private final int alphabetSize;
+    /** state < denseStates: state * alphabetSize + symbol → 다음 state */
+    private final int denseStates;
+    private final int[] dense;
+    /** state >= denseStates: 자식 간선 범위 [edgeStart[i], edgeStart[i + 1]), i = state - denseStates */
+    private final int[] edgeStart;
+    private final short[] edgeSymbol;
+    private final int[] edgeTarget;
+    private final int[] fail;
+    private final boolean[] terminal;
+    private final int wordCount;
+
+    private BannedWordAutomaton(short[] symbols, int alphabetSize, int denseStates, int[] dense,
+                                int[] edgeStart, short[] edgeSymbol, int[] edgeTarget,
+                                int[] fail, boolean[] terminal, int wordCount) {
+        this.symbols = symbols;
+        this.alphabetSize = alphabetSize;
+        this.denseStates = denseStates;
+        this.dense = dense;
+        this.edgeStart = edgeStart;
+        this.edgeSymbol = edgeSymbol;
+        this.edgeTarget = edgeTarget;
+        this.fail = fail;
+        this.terminal = terminal;
+        this.wordCount = wordCount;
+    }
+
+    public static BannedWordAutomaton build(Collection<String> words) {
+        Set<String> folded = new LinkedHashSet<>();
+        for (String word : words) {
+            if (word == null || word.isBlank()) {
+                continue;
+            }
+            String normalized = UnicodeFolding.foldString(word.trim());
+            if (!normalized.isEmpty()) {
+                folded.add(normalized);
+            }
+        }
+        if (folded.isEmpty()) {
+            throw new IllegalArgumentException("Banned words must not be empty");
+        }
+
+        // 1) 알파벳 압축
+        short[] symbols = new short[Character.MAX_VALUE + 1];
+        Arrays.fill(symbols, (short) -1);
+        int alphabetSize = 0;
+        int maxStates = 1;
+        for (String word : folded) {
+            maxStates = checkedAdd(maxStates, word.length());
+            for (int i = 0; i < word.length(); i++) {
+                char c = word.charAt(i);
+                if (symbols[c] < 0) {
+                    if (alphabetSize == Short.MAX_VALUE) {
+                        throw new IllegalArgumentException("Banned word alphabet is too large");
+                    }
+                    symbols[c] = (short) alphabetSize++;
+                }
+            }
+        }
+
+        // 2) trie - 상태마다 자식 간선 연결 리스트 (루트 자식만 직접 조회용 배열도 둠)
+        int[] rootChild = new int[alphabetSize];
+        Arrays.fill(rootChild, -1);
+        int[] firstEdge = new int[maxStates];
+        Arrays.fill(firstEdge, -1);
+        int[] nextEdge = new int[maxStates];
+        short[] symbolOf = new short[maxStates];
+        int[] targetOf = new int[maxStates];
+        int[] depth = new int[maxStates];
+        boolean[] terminal = new boolean[maxStates];
+        int stateCount = 1;
+        int edgeCount = 0;
+        for (String word : folded) {
+            int state = ROOT;
+            for (int i = 0; i < word.length(); i++) {
+                short symbol = symbols[word.charAt(i)];
+                int next = child(state, symbol, rootChild, firstEdge, nextEdge, symbolOf, targetOf);
+                if (next < 0) {
+                    next = stateCount++;
+                    depth[next] = depth[state] + 1;
+                    symbolOf[edgeCount] = symbol;
+                    targetOf[edgeCount] = next;
+                    nextEdge[edgeCount] = firstEdge[state];
+                    firstEdge[state] = edgeCount++;
+                    if (state == ROOT) {
+                        rootChild[symbol] = next;
+                    }
+                }
+                state = next;
+            }
+            terminal[state] = true;
+        }
+
+        // 3) BFS 순서로 번호를 다시 매기며 failure link 계산
+        int[] order = new int[stateCount];
+        int[] renumbered = new int[stateCount];
+        int[] failOld = new int[stateCount];
+        int head = 0;
+        int tail = 0;
+        order[tail++] = ROOT;
+        while (head < tail) {
+            int state = order[head];
+            renumbered[state] = head++;
+            for (int e = firstEdge[state]; e >= 0; e = nextEdge[e]) {
+                int next = targetOf[e];
+                int fallback = ROOT;
+                if (state != ROOT) {
+                    for (int f = failOld[state]; ; f = failOld[f]) {
+                        int candidate = child(f, symbolOf[e], rootChild, firstEdge, nextEdge, symbolOf, targetOf);
+                        if (candidate >= 0 || f == ROOT) {
+                            fallback = Math.max(candidate, ROOT);
+                            break;
+                        }
+                    }
+                }
+                failOld[next] = fallback;
+                // fallback은 더 얕은 상태라 이미 출력이 합쳐져 있음
+                terminal[next] |= terminal[fallback];
+                order[tail++] = next;
+            }
+        }
+
+        int[] fail = new int[stateCount];
+        boolean[] outputs = new boolean[stateCount];
+        for (int old = 0; old < stateCount; old++) {
+            fail[renumbered[old]] = renumbered[failOld[old]];
+            outputs[renumbered[old]] = terminal[old];
+        }
+
+        // 4) 얕은 상태의 dense 행 (BFS 앞쪽이므로 failure 대상의 행이 항상 먼저 채워져 있음)
+        int denseStates = 1;
+        int denseRowBudget = Math.max(1, DENSE_CELL_BUDGET / alphabetSize);
+        while (denseStates < stateCount && denseStates < denseRowBudget
+                && depth[order[denseStates]] <= DENSE_MAX_DEPTH) {
+            denseStates++;
+        }
+        int[] dense = new int[checkedMultiply(denseStates, alphabetSize)];
+        for (int state = 0; state < denseStates; state++) {
+            int row = state * alphabetSize;
+            if (state != ROOT) {
+                System.arraycopy(dense, fail[state] * alphabetSize, dense, row, alphabetSize);
+            }
+            for (int e = firstEdge[order[state]]; e >= 0; e = nextEdge[e]) {
+                dense[row + symbolOf[e]] = renumbered[targetOf[e]];
+            }
+        }
+
+        // 5) 나머지 상태는 symbol 순으로 정렬한 자식 간선만 보관
+        int sparseStates = stateCount - denseStates;
+        int[] edgeStart = new int[sparseStates + 1];
+        short[] edgeSymbol = new short[edgeCount];
+        int[] edgeTarget = new int[edgeCount];
+        long[] packed = new long[alphabetSize];
+        int position = 0;
+        for (int i = 0; i < sparseStates; i++) {
+            edgeStart[i] = position;
+            int children = 0;
+            for (int e = firstEdge[order[denseStates + i]]; e >= 0; e = nextEdge[e]) {
+                packed[children++] = ((long) symbolOf[e] << 32) | renumbered[targetOf[e]];
+            }
+            Arrays.sort(packed, 0, children);
+            for (int c = 0; c < children; c++) {
+                edgeSymbol[position] = (short) (packed[c] >>> 32);
+                edgeTarget[position++] = (int) packed[c];
+            }
+        }
+        edgeStart[sparseStates] = position;
+
+        return new BannedWordAutomaton(symbols, alphabetSize, denseStates, dense,
+                edgeStart, Arrays.copyOf(edgeSymbol, position), Arrays.copyOf(edgeTarget, position),
+                fail, outputs, folded.size());
+    }
+
+    /** 빌드 중 trie 자식 조회 (-1: 없음) */
+    private static int child(int state, short symbol, int[] rootChild,
+                             int[] firstEdge, int[] nextEdge, short[] symbolOf, int[] targetOf) {
+        if (state == ROOT) {
+            return rootChild[symbol];
+        }
+        for (int e = firstEdge[state]; e >= 0; e = nextEdge[e]) {
+            if (symbolOf[e] == symbol) {
+                return targetOf[e];
+            }
+        }
+        return -1;
+    }
+
+    private static int checkedAdd(int a, int b) {
+        try {
+            return Math.addExact(a, b);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Banned word dictionary is too large (total length exceeds int range)", e);
+        }
+    }
+
+    private static int checkedMultiply(int a, int b) {
+        try {
+            return Math.multiplyExact(a, b);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Banned word transition table is too large: " + a + " x " + b, e);
+        }
+    }
+
+    /**
+     * 정규화하며 한 글자씩 DFA를 진행하고, 첫 매칭에서 바로 반환한다.
+     */
+    public boolean matches(CharSequence text) {
+        int state = ROOT;
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+
+            if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(text.charAt(i + 1))) {
+                char[] folded = UnicodeFolding.foldSupplementary(Character.toCodePoint(c, text.charAt(++i)));
+                if (folded == null) {
+                    state = ROOT;
+                    continue;
+                }
+                for (char f : folded) {
+                    state = step(state, f);
+                    if (terminal[state]) {
+                        return true;
+                    }
+                }
+                continue;
+            }
+
+            char[] expanded = UnicodeFolding.expansion(c);
+            if (expanded == null) {
+                state = step(state, UnicodeFolding.fold(c));
+                if (terminal[state]) {
+                    return true;
+                }
+                continue;
+            }
+            for (char f : expanded) {
+                state = step(state, f);
+                if (terminal[state]) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private int step(int state, char c) {
+        int symbol = symbols[c];
+        if (symbol < 0) {
+            return ROOT;
+        }
+        // 루트는 dense이므로 failure 체인은 반드시 dense 상태에서 끝난다
+        while (state >= denseStates) {
+            int i = state - denseStates;
+            int found = Arrays.binarySearch(edgeSymbol, edgeStart[i], edgeStart[i + 1], (short) symbol);
+            if (found >= 0) {
+                return edgeTarget[found];
+            }
+            state = fail[state];
+        }
+        return dense[state * alphabetSize + symbol];
+    }
+
+    public int wordCount() {
+        return wordCount;
+    }
+
+    public int stateCount() {
+        return terminal.length;
+    }
+
+    /**
+     * 주요 배열 기준 대략적인 메모리 사용량 (bytes)
+     */
+    public long estimatedMemoryBytes() {
+        return (long) symbols.length * Short.BYTES
+                + (long) dense.length * Integer.BYTES
+                + (long) edgeStart.length * Integer.BYTES
+                + (long) edgeSymbol.length * Short.BYTES
+                + (long) edgeTarget.length * Integer.BYTES
+                + (long) fail.length * Integer.BYTES
+                + terminal.length;
+    }
+}
@@ -1,39 +1,51 @@
 package com.ktb.chatapp.util;
 
-import java.util.HashMap;
-import java.util.Locale;
-import java.util.Map;
 import java.util.Set;
 
-import com.hankcs.algorithm.AhoCorasickDoubleArrayTrie;
-
+/**
+ * 금칙어 포함 여부 검사.
+ * 사전과 메시지를 같은 규칙(UnicodeFolding)으로 정규화하므로
+ * 대소문자, 전각/호환 문자, zero-width 문자 삽입으로는 우회할 수 없다.
+ *
+ * 사전 교체는 완성된 automaton을 volatile 참조 하나로 바꿔 끼우는 방식이라
+ * 검사 스레드는 락 없이 항상 이전 또는 새 사전 중 하나를 온전히 본다.
+ */
 public class BannedWordChecker {
 
-    private final AhoCorasickDoubleArrayTrie<String> trie;
+    private volatile BannedWordAutomaton automaton;
 
     public BannedWordChecker(Set<String> bannedWords) {
         if (bannedWords == null || bannedWords.isEmpty()) {
             throw new IllegalArgumentException("Banned words must not be empty");
         }
+        this.automaton = BannedWordAutomaton.build(bannedWords);
+    }
 
-        Map<String, String> dict = new HashMap<>();
-
-        for (String word : bannedWords) {
-            if (word == null || word.isBlank()) continue;
-            dict.put(word.toLowerCase(Locale.ROOT), word);
+    public BannedWordChecker(BannedWordAutomaton automaton) {
+        if (automaton == null) {
+            throw new IllegalArgumentException("Banned word automaton must not be null");
         }
-
-        trie = new AhoCorasickDoubleArrayTrie<>();
-        trie.build(dict);
+        this.automaton = automaton;
     }
 
     public boolean containsBannedWord(String message) {
         if (message == null || message.isBlank()) {
             return false;
         }
+        return automaton.matches(message);
+    }
 
-        String normalized = message.toLowerCase(Locale.ROOT);
+    /**
+     * 새 사전으로 교체. 이미 진행 중인 검사는 이전 사전으로 끝까지 수행된다.
+     */
+    public void swap(BannedWordAutomaton next) {
+        if (next == null) {
+            throw new IllegalArgumentException("Banned word automaton must not be null");
+        }
+        this.automaton = next;
+    }
 
-        return !trie.parseText(normalized).isEmpty();
+    public BannedWordAutomaton automaton() {
+        return automaton;
     }
 }
@@ -0,0 +1,116 @@
+package com.ktb.chatapp.util;
+
+import java.text.Normalizer;
+import java.util.Locale;
+
+/**
+ * 금칙어 검사용 문자 단위 정규화 테이블.
+ *
+ * 각 문자에 대해 NFKC + 소문자 변환 결과를 미리 계산해 둔다.
+ * - 전각/반각 (Ａ → a, ｶ → カ), 호환 문자 (ﬁ → fi, ① → 1, ㎏ → kg) 처리
+ * - 서식 문자(Cf: zero-width space, soft hyphen 등)는 제거 → "b​ad" 같은 우회 차단
+ * - 수학 영숫자 기호(U+1D400~U+1D7FF, 𝐀 → a)도 보조 평면 테이블로 처리
+ *
+ * 조회는 배열 인덱싱뿐이므로 스캔 중 할당이 없다.
+ * 문자 단위로 정규화하므로 여러 문자에 걸친 조합(결합 문자 합성)은 적용하지 않는다.
+ * 사전 단어도 같은 함수로 접어서 넣기 때문에 검사 결과는 일관된다.
+ */
+public final class UnicodeFolding {
+
+    private static final char[] EMPTY = new char[0];
+
+    private static final int MATH_ALNUM_START = 0x1D400;
+    private static final int MATH_ALNUM_END = 0x1D7FF;
+
+    /** BMP 문자 → 단일 문자 결과 */
+    private static final char[] FOLD = new char[Character.MAX_VALUE + 1];
+    /** BMP 문자 → 여러 문자 결과 (null이면 FOLD 사용, 길이 0이면 제거) */
+    private static final char[][] EXPANSIONS = new char[Character.MAX_VALUE + 1][];
+    /** 수학 영숫자 기호 → 결과 */
+    private static final char[][] MATH_ALNUM = new char[MATH_ALNUM_END - MATH_ALNUM_START + 1][];
+
+    static {
+        for (int c = 0; c <= Character.MAX_VALUE; c++) {
+            char ch = (char) c;
+            if (Character.isSurrogate(ch)) {
+                FOLD[c] = ch;
+                continue;
+            }
+            if (Character.getType(ch) == Character.FORMAT) {
+                EXPANSIONS[c] = EMPTY;
+                continue;
+            }
+            String folded = foldSlow(String.valueOf(ch));
+            if (folded.length() == 1) {
+                FOLD[c] = folded.charAt(0);
+            } else {
+                FOLD[c] = ch;
+                EXPANSIONS[c] = folded.toCharArray();
+            }
+        }
+        for (int cp = MATH_ALNUM_START; cp <= MATH_ALNUM_END; cp++) {
+            String folded = foldSlow(new String(Character.toChars(cp)));
+            MATH_ALNUM[cp - MATH_ALNUM_START] = folded.toCharArray();
+        }
+    }
+
+    private UnicodeFolding() {
+    }
+
+    /**
+     * 단일 문자 결과. expansion(c)가 null일 때만 유효하다.
+     */
+    public static char fold(char c) {
+        return FOLD[c];
+    }
+
+    /**
+     * 여러 문자로 펼쳐지거나 제거되는 문자면 그 결과, 아니면 null.
+     */
+    public static char[] expansion(char c) {
+        return EXPANSIONS[c];
+    }
+
+    /**
+     * 보조 평면 코드포인트 결과. 정규화 대상이 아니면 null.
+     */
+    public static char[] foldSupplementary(int codePoint) {
+        if (codePoint < MATH_ALNUM_START || codePoint > MATH_ALNUM_END) {
+            return null;
+        }
+        return MATH_ALNUM[codePoint - MATH_ALNUM_START];
+    }
+
+    /**
+     * 문자열 전체를 같은 규칙으로 정규화 (사전 구축 등 hot path 밖에서 사용).
+     */
+    public static String foldString(CharSequence text) {
+        StringBuilder sb = new StringBuilder(text.length());
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(text.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, text.charAt(i + 1));
+                char[] folded = foldSupplementary(codePoint);
+                if (folded != null) {
+                    sb.append(folded);
+                } else {
+                    sb.append(c).append(text.charAt(i + 1));
+                }
+                i++;
+                continue;
+            }
+            char[] expanded = EXPANSIONS[c];
+            if (expanded != null) {
+                sb.append(expanded);
+            } else {
+                sb.append(FOLD[c]);
+            }
+        }
+        return sb.toString();
+    }
+
+    private static String foldSlow(String s) {
+        return Normalizer.normalize(s, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+    }
+}
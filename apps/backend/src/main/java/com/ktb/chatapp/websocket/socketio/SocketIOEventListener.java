@@ -1,7 +1,10 @@
 package com.ktb.chatapp.websocket.socketio;
 
 import com.corundumstudio.socketio.SocketIOServer;
+import com.ktb.chatapp.dto.AiMessageChunkResponse;
 import com.ktb.chatapp.event.*;
+import com.ktb.chatapp.websocket.socketio.broadcast.BroadcastService;
+import com.ktb.chatapp.websocket.socketio.pubsub.ChatBroadcastEvent;
 
 import java.util.List;
 import java.util.Map;
@@ -15,6 +18,14 @@ import org.springframework.stereotype.Component;
 
 import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.*;
 
+/**
+ * 애플리케이션 이벤트 → Socket.IO 전송.
+ *
+ * [AI 스트리밍]
+ * - AI 응답은 스트림을 실행한 서버에서만 이벤트가 발생하므로 BroadcastService로 전 서버에 전파
+ * - messageId를 streamId로, 시작 0 / 청크 sequence를 streamSeq로 실어 수신 서버가 누락을 감지
+ * - 완료/에러는 streamSeq 없이 보내 스트림 종료를 알림
+ */
 @Slf4j
 @Component
 @ConditionalOnProperty(name = "socketio.enabled", havingValue = "true", matchIfMissing = true)
@@ -22,6 +33,7 @@ import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.*;
 public class SocketIOEventListener {
 
     private final SocketIOServer socketIOServer;
+    private final BroadcastService broadcastService;
 
     @EventListener
     public void handleSessionEndedEvent(SessionEndedEvent event) {
@@ -91,8 +103,8 @@ public class SocketIOEventListener {
                 "aiType", event.getAiType(),
                 "timestamp", event.getStartTime()
             );
-            socketIOServer.getRoomOperations(event.getRoomId())
-                    .sendEvent(AI_MESSAGE_START, data);
+            broadcastService.broadcastStreamEvent(ChatBroadcastEvent.TYPE_AI_MESSAGE_START, event.getRoomId(),
+                    AI_MESSAGE_START, data, event.getMessageId(), 0L);
             log.debug("aiMessageStart 이벤트 발송: roomId={}, messageId={}",
                     event.getRoomId(), event.getMessageId());
         } catch (Exception e) {
@@ -101,16 +113,35 @@ public class SocketIOEventListener {
     }
 
     @EventListener
-    public void handleAiMessageChunkEvent(AiMessageChunkEvent event) {
+    public void handleAiMessageQueuedEvent(AiMessageQueuedEvent event) {
         try {
             Map<String, Object> data = Map.of(
                 "messageId", event.getMessageId(),
-                "fullContent", event.getFullContent(),
-                "isCodeBlock", event.isCodeBlock(),
-                "isComplete", false
+                "aiType", event.getAiType(),
+                "position", event.getPosition()
             );
-            socketIOServer.getRoomOperations(event.getRoomId())
-                    .sendEvent(AI_MESSAGE_CHUNK, data);
+            broadcastService.broadcastToRoom(ChatBroadcastEvent.TYPE_AI_MESSAGE_QUEUED, event.getRoomId(),
+                    AI_MESSAGE_QUEUED, data);
+        } catch (Exception e) {
+            log.error("aiMessageQueued 이벤트 발송 실패: roomId={}", event.getRoomId(), e);
+        }
+    }
+
+    @EventListener
+    public void handleAiMessageChunkEvent(AiMessageChunkEvent event) {
+        try {
+            // delta 청크: 누적 전체는 스냅샷 청크에만 포함
+            AiMessageChunkResponse data = AiMessageChunkResponse.builder()
+                    .messageId(event.getMessageId())
+                    .currentChunk(event.getDelta())
+                    .sequence(event.getSequence())
+                    .offset(event.getOffset())
+                    .codeBlock(event.isCodeBlock())
+                    .fullContent(event.getFullContent())
+                    .timestamp(System.currentTimeMillis())
+                    .build();
+            broadcastService.broadcastStreamEvent(ChatBroadcastEvent.TYPE_AI_MESSAGE_CHUNK, event.getRoomId(),
+                    AI_MESSAGE_CHUNK, data, event.getMessageId(), event.getSequence());
         } catch (Exception e) {
             log.error("aiMessageChunk 이벤트 발송 실패: roomId={}", event.getRoomId(), e);
         }
@@ -122,12 +153,13 @@ public class SocketIOEventListener {
         try {
             Map<String, Object> data = Map.of(
                 "_id", event.getSavedMessageId(),
+                "messageId", event.getMessageId(),
                 "content", event.getContent(),
                 "aiType", event.getAiType(),
                 "timestamp", event.getStartTime()
             );
-            socketIOServer.getRoomOperations(event.getRoomId())
-                    .sendEvent(AI_MESSAGE_COMPLETE, data);
+            broadcastService.broadcastStreamEvent(ChatBroadcastEvent.TYPE_AI_MESSAGE_COMPLETE, event.getRoomId(),
+                    AI_MESSAGE_COMPLETE, data, event.getMessageId(), null);
             log.debug("aiMessageComplete 이벤트 발송: roomId={}, messageId={}",
                     event.getRoomId(), event.getSavedMessageId());
         } catch (Exception e) {
@@ -143,8 +175,8 @@ public class SocketIOEventListener {
                 "error", event.getErrorMessage(),
                 "aiType", event.getAiType()
             );
-            socketIOServer.getRoomOperations(event.getRoomId())
-                    .sendEvent(AI_MESSAGE_ERROR, data);
+            broadcastService.broadcastStreamEvent(ChatBroadcastEvent.TYPE_AI_MESSAGE_ERROR, event.getRoomId(),
+                    AI_MESSAGE_ERROR, data, event.getMessageId(), null);
             log.error("aiMessageError 이벤트 발송: roomId={}, messageId={}, error={}",
                     event.getRoomId(), event.getMessageId(), event.getErrorMessage());
         } catch (Exception e) {
@@ -46,6 +46,12 @@ public final class SocketIOEvents {
      * Payload: { messageId, reaction, type }
      */
     public static final String MESSAGE_REACTION = "messageReaction";
+
+    /**
+     * 재접속 후 놓친 방 이벤트 재전송 요청 (chat.broadcast.type=stream)
+     * Payload: { roomId, lastEventId }
+     */
+    public static final String RESUME_ROOM = "resumeRoom";
     
     // ============================================
     // Server → Client Events (전송 이벤트)
@@ -122,8 +128,9 @@ public final class SocketIOEvents {
     public static final String USER_LEFT = "userLeft";
 
     /**
-     * 메시지 읽음 상태 업데이트
-     * Payload: { userId, messageIds }
+     * 메시지 읽음 상태 업데이트 (읽음 위치 전진)
+     * Payload: { userId, messageIds, lastReadMessageId }
+     * - userId가 "ALL"이면 참여자 전원이 lastReadMessageId까지 읽음
      */
     public static final String MESSAGES_READ = "messagesRead";
 
@@ -133,6 +140,12 @@ public final class SocketIOEvents {
      */
     public static final String MESSAGE_REACTION_UPDATE = "messageReactionUpdate";
 
+    /**
+     * 재전송 완료 (complete=false면 fetchPreviousMessages로 다시 로드해야 함)
+     * Payload: { roomId, replayed, complete, lastEventId }
+     */
+    public static final String ROOM_RESUMED = "roomResumed";
+
     /**
      * 중복 로그인 감지
      * Payload: { type, deviceInfo, ipAddress, timestamp }
@@ -157,8 +170,18 @@ public final class SocketIOEvents {
     public static final String AI_MESSAGE_START = "aiMessageStart";
 
     /**
-     * AI 스트리밍 청크
-     * Payload: { messageId, currentChunk, fullContent, isCodeBlock, timestamp, aiType, isComplete }
+     * AI 응답 대기 (동시 실행 제한으로 대기열에 있음, 순번이 바뀔 때마다 전송)
+     * Payload: { messageId, aiType, position }
+     * - position: 같은 방 대기열에서의 순번 (1부터)
+     */
+    public static final String AI_MESSAGE_QUEUED = "aiMessageQueued";
+
+    /**
+     * AI 스트리밍 청크 (delta)
+     * Payload: { messageId, currentChunk, sequence, offset, isCodeBlock, isComplete, timestamp, fullContent? }
+     * - currentChunk: 새로 생성된 텍스트, offset: currentChunk가 시작하는 위치
+     * - 클라이언트는 offset이 로컬 누적 길이와 같을 때만 이어붙이고,
+     *   fullContent가 있는 스냅샷 청크를 받으면 누적값을 교체한다
      */
     public static final String AI_MESSAGE_CHUNK = "aiMessageChunk";
 
@@ -0,0 +1,421 @@
+package com.ktb.chatapp.websocket.socketio.ai;
+
+import com.corundumstudio.socketio.SocketIOServer;
+import com.ktb.chatapp.event.AiMessageErrorEvent;
+import com.ktb.chatapp.event.AiMessageQueuedEvent;
+import com.ktb.chatapp.websocket.socketio.handler.StreamingSession;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiFunction;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+/**
+ * AI 응답 생성 스케줄러.
+ *
+ * [왜 필요한가?]
+ * - 멘션마다 바로 업스트림 스트림을 열면 한 방에서 멘션을 연달아 보내는 것만으로
+ *   동시 스트림 수백 개 → 업스트림 연결/메모리/비용이 부하에 비례해 증가
+ * - AiStreamHandler.cancel()을 호출하는 곳이 없어 아무도 보지 않는 응답도 끝까지 생성됨
+ *
+ * [동작 방식]
+ * - 전체 동시 실행 수(max-active)와 방별 동시 실행 수(max-active-per-room) 제한
+ * - 대기열은 방별 FIFO, 슬롯이 나면 가장 오래전에 처리된 방부터 (방 단위 round-robin)
+ *   → 멘션을 연달아 보낸 방이 다른 방의 요청을 밀어내지 못함
+ * - 대기 중인 요청은 aiMessageQueued로 방 안에서의 순번을 알림 (순번이 바뀔 때마다 다시 전송)
+ * - 대기열이 가득 차면(max-queued, max-queued-per-room) 즉시 거절 (aiMessageError)
+ *
+ * [자동 취소]
+ * - 요청자가 방을 나가거나 연결이 끊기면 그 요청자의 대기/실행 중 요청 취소 (RoomLeaveHandler)
+ * - listener-check-interval마다 이 서버에 방 소켓이 하나도 없는 요청도 취소
+ *   (요청자는 항상 이 서버에 연결되어 있으므로 퇴장 이벤트를 놓친 경우의 안전장치)
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "socketio.enabled", havingValue = "true", matchIfMissing = true)
+public class AiGenerationScheduler {
+
+    private final SocketIOServer socketIOServer;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int maxActive;
+    private final int maxActivePerRoom;
+    private final int maxQueued;
+    private final int maxQueuedPerRoom;
+    private final Duration listenerCheckInterval;
+
+    private final Object lock = new Object();
+    /** roomId → 대기 중인 요청 (방별 FIFO, 방 순서는 대기 시작 순) */
+    private final Map<String, Deque<Job>> queues = new LinkedHashMap<>();
+    /** roomId → 실행 중인 요청 */
+    private final Map<String, Set<Job>> running = new HashMap<>();
+    /** roomId → 마지막으로 요청을 시작한 순번 (요청이 모두 끝난 방은 제거) */
+    private final Map<String, Long> lastServed = new HashMap<>();
+    private long serveSequence;
+    private int queuedCount;
+    private int activeCount;
+
+    private final Timer queueWait;
+    private final DistributionSummary tokensPerSecond;
+    private final Counter rejected;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Counter> cancelled = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService sweeper = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "ai-scheduler-sweeper");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public AiGenerationScheduler(
+            @Lazy SocketIOServer socketIOServer,
+            ApplicationEventPublisher eventPublisher,
+            MeterRegistry meterRegistry,
+            @Value("${chat.ai.scheduler.max-active:32}") int maxActive,
+            @Value("${chat.ai.scheduler.max-active-per-room:2}") int maxActivePerRoom,
+            @Value("${chat.ai.scheduler.max-queued:500}") int maxQueued,
+            @Value("${chat.ai.scheduler.max-queued-per-room:10}") int maxQueuedPerRoom,
+            @Value("${chat.ai.scheduler.listener-check-interval:5s}") Duration listenerCheckInterval) {
+        this.socketIOServer = socketIOServer;
+        this.eventPublisher = eventPublisher;
+        this.meterRegistry = meterRegistry;
+        this.maxActive = Math.max(1, maxActive);
+        this.maxActivePerRoom = Math.max(1, maxActivePerRoom);
+        this.maxQueued = maxQueued;
+        this.maxQueuedPerRoom = maxQueuedPerRoom;
+        this.listenerCheckInterval = listenerCheckInterval;
+
+        this.queueWait = Timer.builder("chat.ai.scheduler.queue.wait")
+                .description("Time AI requests wait before their stream starts")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.tokensPerSecond = DistributionSummary.builder("chat.ai.stream.tokens_per_second")
+                .description("Model fragments per second over a completed AI stream")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("chat.ai.scheduler.rejected")
+                .description("AI requests rejected because the queue was full")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        Gauge.builder("chat.ai.scheduler.active", this, s -> s.activeCount)
+                .description("AI streams currently running on this node")
+                .register(meterRegistry);
+        Gauge.builder("chat.ai.scheduler.queued", this, s -> s.queuedCount)
+                .description("AI requests waiting for a stream slot on this node")
+                .register(meterRegistry);
+        if (!listenerCheckInterval.isZero()) {
+            long millis = listenerCheckInterval.toMillis();
+            sweeper.scheduleWithFixedDelay(this::cancelUnwatched, millis, millis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        sweeper.shutdownNow();
+        List<Job> all = new ArrayList<>();
+        synchronized (lock) {
+            queues.values().forEach(all::addAll);
+            running.values().forEach(all::addAll);
+        }
+        all.forEach(job -> cancel(job, "shutdown"));
+    }
+
+    /**
+     * 생성 요청 등록
+     *
+     * @param session  스트리밍 세션 (roomId, userId, messageId 포함)
+     * @param launcher 슬롯이 나면 스트림을 시작하고 핸들러를 반환 (두 번째 인자는 종료 콜백)
+     */
+    public void submit(StreamingSession session, BiFunction<StreamingSession, Runnable, AiStreamHandler> launcher) {
+        Job job = new Job(session, launcher, System.nanoTime());
+        String roomId = session.getRoomId();
+
+        boolean accepted;
+        synchronized (lock) {
+            Deque<Job> queue = queues.get(roomId);
+            int roomQueued = queue != null ? queue.size() : 0;
+            accepted = queuedCount < maxQueued && roomQueued < maxQueuedPerRoom;
+            if (accepted) {
+                if (queue == null) {
+                    queue = new ArrayDeque<>();
+                    queues.put(roomId, queue);
+                }
+                queue.addLast(job);
+                queuedCount++;
+            }
+        }
+
+        if (!accepted) {
+            rejected.increment();
+            job.finished.set(true);
+            log.warn("AI request rejected, queue full - room: {}, messageId: {}", roomId, session.getMessageId());
+            publishError(session, "AI 요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해주세요.");
+            return;
+        }
+
+        pump();
+        notifyPositions(Set.of(roomId));
+    }
+
+    /**
+     * 요청자의 대기/실행 중인 요청 취소 (방 퇴장, 연결 종료)
+     */
+    public void cancelRequester(String roomId, String userId) {
+        for (Job job : jobsInRoom(roomId)) {
+            if (job.matches(roomId, userId)) {
+                cancel(job, "requester_left");
+            }
+        }
+    }
+
+    private void cancelUnwatched() {
+        try {
+            Set<String> rooms;
+            synchronized (lock) {
+                rooms = new HashSet<>(queues.keySet());
+                rooms.addAll(running.keySet());
+            }
+            for (String roomId : rooms) {
+                if (socketIOServer.getRoomOperations(roomId).getClients().isEmpty()) {
+                    jobsInRoom(roomId).forEach(job -> cancel(job, "no_listeners"));
+                }
+            }
+        } catch (Exception e) {
+            log.warn("AI listener sweep failed", e);
+        }
+    }
+
+    private List<Job> jobsInRoom(String roomId) {
+        List<Job> jobs = new ArrayList<>();
+        synchronized (lock) {
+            Deque<Job> queue = queues.get(roomId);
+            if (queue != null) {
+                jobs.addAll(queue);
+            }
+            Set<Job> active = running.get(roomId);
+            if (active != null) {
+                jobs.addAll(active);
+            }
+        }
+        return jobs;
+    }
+
+    private void cancel(Job job, String reason) {
+        if (!job.finished.compareAndSet(false, true)) {
+            return;
+        }
+        String roomId = job.session.getRoomId();
+        boolean wasQueued;
+        synchronized (lock) {
+            Deque<Job> queue = queues.get(roomId);
+            wasQueued = queue != null && queue.remove(job);
+            if (wasQueued) {
+                queuedCount--;
+                if (queue.isEmpty()) {
+                    queues.remove(roomId);
+                    forgetIfIdle(roomId);
+                }
+            }
+        }
+        if (job.handler != null) {
+            job.handler.cancel();
+        }
+        if (!wasQueued) {
+            release(job);
+        }
+        cancelled.computeIfAbsent(reason, r -> Counter.builder("chat.ai.scheduler.cancelled")
+                .tag("reason", r)
+                .description("AI requests cancelled before completion")
+                .register(meterRegistry)).increment();
+        log.info("AI request cancelled - room: {}, messageId: {}, reason: {}",
+                roomId, job.session.getMessageId(), reason);
+        publishError(job.session, "AI 응답이 취소되었습니다.");
+
+        pump();
+        notifyPositions(Set.of(roomId));
+    }
+
+    /**
+     * 스트림 종료 (완료/에러) - 슬롯 반환 후 다음 요청 시작
+     */
+    private void finish(Job job) {
+        if (!job.finished.compareAndSet(false, true)) {
+            return;
+        }
+        release(job);
+        recordThroughput(job);
+        pump();
+        notifyPositions(Set.of(job.session.getRoomId()));
+    }
+
+    private void release(Job job) {
+        String roomId = job.session.getRoomId();
+        synchronized (lock) {
+            Set<Job> active = running.get(roomId);
+            if (active != null && active.remove(job)) {
+                activeCount--;
+                if (active.isEmpty()) {
+                    running.remove(roomId);
+                    forgetIfIdle(roomId);
+                }
+            }
+        }
+    }
+
+    private void forgetIfIdle(String roomId) {
+        if (!queues.containsKey(roomId) && !running.containsKey(roomId)) {
+            lastServed.remove(roomId);
+        }
+    }
+
+    /**
+     * 빈 슬롯만큼 대기 요청을 꺼내 시작
+     */
+    private void pump() {
+        List<Job> toStart = new ArrayList<>();
+        Set<String> advanced = new HashSet<>();
+        synchronized (lock) {
+            String roomId;
+            while (activeCount < maxActive && (roomId = nextRoom()) != null) {
+                Deque<Job> queue = queues.get(roomId);
+                Job job = queue.pollFirst();
+                queuedCount--;
+                if (queue.isEmpty()) {
+                    queues.remove(roomId);
+                }
+                running.computeIfAbsent(roomId, id -> new HashSet<>()).add(job);
+                activeCount++;
+                lastServed.put(roomId, ++serveSequence);
+                toStart.add(job);
+                advanced.add(roomId);
+            }
+        }
+
+        toStart.forEach(this::launch);
+        notifyPositions(advanced);
+    }
+
+    /**
+     * 방별 실행 수에 여유가 있는 대기 방 중 가장 오래전에 처리된 방 (같으면 먼저 대기한 방)
+     */
+    private String nextRoom() {
+        String next = null;
+        long nextServed = Long.MAX_VALUE;
+        for (String roomId : queues.keySet()) {
+            Set<Job> active = running.get(roomId);
+            if (active != null && active.size() >= maxActivePerRoom) {
+                continue;
+            }
+            long served = lastServed.getOrDefault(roomId, 0L);
+            if (served < nextServed) {
+                next = roomId;
+                nextServed = served;
+            }
+        }
+        return next;
+    }
+
+    private void launch(Job job) {
+        if (job.finished.get()) {
+            return;
+        }
+        job.startedAt = System.nanoTime();
+        queueWait.record(job.startedAt - job.enqueuedAt, TimeUnit.NANOSECONDS);
+        try {
+            job.handler = job.launcher.apply(job.session, () -> finish(job));
+            // 시작 직전에 취소된 경우 (handler 대입 전이라 cancel()이 스트림을 끊지 못함)
+            if (job.finished.get() && job.handler != null) {
+                job.handler.cancel();
+            }
+        } catch (Exception e) {
+            log.error("AI stream launch failed - messageId: {}", job.session.getMessageId(), e);
+            publishError(job.session, "AI 응답 생성 중 오류가 발생했습니다.");
+            finish(job);
+        }
+    }
+
+    private void recordThroughput(Job job) {
+        if (job.startedAt == 0) {
+            return;
+        }
+        double seconds = (System.nanoTime() - job.startedAt) / 1_000_000_000.0;
+        long fragments = job.session.getFragmentCount();
+        if (seconds > 0 && fragments > 0) {
+            tokensPerSecond.record(fragments / seconds);
+        }
+    }
+
+    private void notifyPositions(Set<String> roomIds) {
+        for (String roomId : roomIds) {
+            List<Job> waiting;
+            synchronized (lock) {
+                Deque<Job> queue = queues.get(roomId);
+                waiting = queue != null ? new ArrayList<>(queue) : List.of();
+            }
+            int position = 1;
+            for (Iterator<Job> it = waiting.iterator(); it.hasNext(); position++) {
+                Job job = it.next();
+                if (job.lastNotifiedPosition == position) {
+                    continue;
+                }
+                job.lastNotifiedPosition = position;
+                StreamingSession session = job.session;
+                eventPublisher.publishEvent(new AiMessageQueuedEvent(
+                        this, roomId, session.getMessageId(), session.getAiType(), position));
+            }
+        }
+    }
+
+    private void publishError(StreamingSession session, String message) {
+        eventPublisher.publishEvent(new AiMessageErrorEvent(
+                this, session.getRoomId(), session.getMessageId(), message, session.aiTypeEnum()));
+    }
+
+    private static final class Job {
+        private final StreamingSession session;
+        private final BiFunction<StreamingSession, Runnable, AiStreamHandler> launcher;
+        private final long enqueuedAt;
+        private final AtomicBoolean finished = new AtomicBoolean();
+        private volatile AiStreamHandler handler;
+        private volatile long startedAt;
+        private volatile int lastNotifiedPosition;
+
+        private Job(StreamingSession session,
+                    BiFunction<StreamingSession, Runnable, AiStreamHandler> launcher,
+                    long enqueuedAt) {
+            this.session = session;
+            this.launcher = launcher;
+            this.enqueuedAt = enqueuedAt;
+        }
+
+        private boolean matches(String roomId, String userId) {
+            return roomId.equals(session.getRoomId()) && userId.equals(session.getUserId());
+        }
+    }
+}
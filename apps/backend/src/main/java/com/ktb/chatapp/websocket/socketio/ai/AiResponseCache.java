@@ -0,0 +1,257 @@
+package com.ktb.chatapp.websocket.socketio.ai;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ktb.chatapp.model.AiType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * AI 페르소나 응답 캐시 (chat.ai.cache.enabled=true일 때만 사용).
+ *
+ * [왜 필요한가?]
+ * - 같은 질문(@wayneAI 안녕 등)이 반복되어도 멘션마다 업스트림 생성 비용을 전부 지불
+ *
+ * [키]
+ * - (AiType, 정규화한 질문): NFKC + 소문자 + 공백 정리, Redis 키는 SHA-256
+ *
+ * [조회 순서]
+ * 1. 프로세스 내 캐시 (Caffeine, TTL + 최대 개수)
+ * 2. Redis (chat:ai:cache:{hash}, TTL) - 다른 서버가 생성한 답변, 조회 후 프로세스 캐시에도 적재
+ * 3. 같은 질문이 생성 중이면 그 스트림에 합류 (single-flight, 이미 받은 조각부터 다시 받음)
+ * 4. 없으면 업스트림 생성, 정상 완료 시 두 캐시에 저장 (에러/취소된 응답은 저장하지 않음)
+ *
+ * [재생]
+ * - 캐시된 답변은 replay-chunk-chars 단위로 나눠 replay-interval 간격으로 내보냄
+ *   → 방에는 평소와 같은 start/chunk/complete 순서로 전달
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "chat.ai.cache.enabled", havingValue = "true")
+public class AiResponseCache {
+
+    static final String KEY_PREFIX = "chat:ai:cache:";
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    private final boolean redisEnabled;
+    private final int replayChunkChars;
+    private final Duration replayInterval;
+
+    private final Cache<String, CachedAnswer> localTier;
+    /** 생성 중인 질문 → 공유 스트림 */
+    private final ConcurrentHashMap<String, Flux<String>> inflight = new ConcurrentHashMap<>();
+
+    private final Counter localHits;
+    private final Counter redisHits;
+    private final Counter joined;
+    private final Counter misses;
+    private final Counter savedFragments;
+
+    public AiResponseCache(
+            RedisTemplate<String, String> redisTemplate,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${chat.ai.cache.ttl:10m}") Duration ttl,
+            @Value("${chat.ai.cache.local.maximum-size:1000}") long localMaximumSize,
+            @Value("${chat.ai.cache.redis.enabled:true}") boolean redisEnabled,
+            @Value("${chat.ai.cache.replay-chunk-chars:24}") int replayChunkChars,
+            @Value("${chat.ai.cache.replay-interval:30ms}") Duration replayInterval) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.ttl = ttl;
+        this.redisEnabled = redisEnabled;
+        this.replayChunkChars = Math.max(1, replayChunkChars);
+        this.replayInterval = replayInterval;
+        this.localTier = Caffeine.newBuilder()
+                .maximumSize(localMaximumSize)
+                .expireAfterWrite(ttl)
+                .build();
+
+        this.localHits = lookups(meterRegistry, "local_hit");
+        this.redisHits = lookups(meterRegistry, "redis_hit");
+        this.joined = lookups(meterRegistry, "joined");
+        this.misses = lookups(meterRegistry, "miss");
+        this.savedFragments = Counter.builder("chat.ai.cache.saved_fragments")
+                .description("Model fragments served from the cache or a shared stream instead of a new generation")
+                .register(meterRegistry);
+    }
+
+    private static Counter lookups(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("chat.ai.cache.lookups")
+                .tag("result", result)
+                .description("AI response cache lookups by result")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 질문에 대한 응답 조각 스트림
+     *
+     * @param upstream 캐시에 없을 때 실제 생성 스트림
+     */
+    public Flux<String> fragments(AiType aiType, String query, Supplier<Flux<String>> upstream) {
+        String key = key(aiType, query);
+        CachedAnswer local = localTier.getIfPresent(key);
+        if (local != null) {
+            localHits.increment();
+            savedFragments.increment(local.fragments());
+            return replay(local);
+        }
+
+        Mono<CachedAnswer> remote = redisEnabled
+                ? Mono.fromCallable(() -> readRemote(key))
+                        .subscribeOn(Schedulers.boundedElastic())
+                        .onErrorResume(e -> {
+                            log.warn("AI cache read failed - key: {}", key, e);
+                            return Mono.empty();
+                        })
+                : Mono.empty();
+
+        return remote
+                .flatMapMany(answer -> {
+                    localTier.put(key, answer);
+                    redisHits.increment();
+                    savedFragments.increment(answer.fragments());
+                    return replay(answer);
+                })
+                .switchIfEmpty(Flux.defer(() -> shared(key, upstream)));
+    }
+
+    /**
+     * 같은 질문의 생성 스트림을 공유 (single-flight)
+     * - replay().refCount(1): 늦게 합류해도 처음 조각부터 받고, 모든 구독자가 취소하면 업스트림도 취소
+     */
+    private Flux<String> shared(String key, Supplier<Flux<String>> upstream) {
+        boolean[] created = {false};
+        Flux<String> stream = inflight.computeIfAbsent(key, k -> {
+            created[0] = true;
+            StringBuilder content = new StringBuilder();
+            long[] fragments = {0};
+            return upstream.get()
+                    .doOnNext(fragment -> {
+                        content.append(fragment);
+                        fragments[0]++;
+                    })
+                    .doOnComplete(() -> store(k, new CachedAnswer(content.toString(), fragments[0])))
+                    .doFinally(signal -> inflight.remove(k))
+                    .replay()
+                    .refCount(1);
+        });
+
+        if (created[0]) {
+            misses.increment();
+            return stream;
+        }
+        joined.increment();
+        return stream.doOnNext(fragment -> savedFragments.increment());
+    }
+
+    private void store(String key, CachedAnswer answer) {
+        if (answer.content().isBlank()) {
+            return;
+        }
+        localTier.put(key, answer);
+        if (!redisEnabled) {
+            return;
+        }
+        // 완료 시점은 모델 구독 스레드이므로 Redis 쓰기는 별도 스레드에서
+        Schedulers.boundedElastic().schedule(() -> {
+            try {
+                redisTemplate.opsForValue().set(KEY_PREFIX + key, objectMapper.writeValueAsString(answer), ttl);
+            } catch (Exception e) {
+                log.warn("AI cache write failed - key: {}", key, e);
+            }
+        });
+    }
+
+    private CachedAnswer readRemote(String key) throws Exception {
+        String json = redisTemplate.opsForValue().get(KEY_PREFIX + key);
+        return json != null ? objectMapper.readValue(json, CachedAnswer.class) : null;
+    }
+
+    private Flux<String> replay(CachedAnswer answer) {
+        List<String> pieces = split(answer.content(), replayChunkChars);
+        Flux<String> flux = Flux.fromIterable(pieces);
+        return replayInterval.isZero() ? flux : flux.delayElements(replayInterval);
+    }
+
+    /**
+     * 재생용 분할 (surrogate pair를 가르지 않음)
+     */
+    static List<String> split(String content, int size) {
+        List<String> pieces = new ArrayList<>(content.length() / size + 1);
+        int start = 0;
+        while (start < content.length()) {
+            int end = Math.min(start + size, content.length());
+            if (end < content.length() && Character.isHighSurrogate(content.charAt(end - 1))) {
+                end++;
+            }
+            pieces.add(content.substring(start, end));
+            start = end;
+        }
+        return pieces;
+    }
+
+    /**
+     * 캐시 키: AiType + 정규화한 질문의 SHA-256
+     */
+    static String key(AiType aiType, String query) {
+        String normalized = normalize(query);
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(normalized.getBytes(StandardCharsets.UTF_8));
+            return aiType.name() + ":" + HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * NFKC + 소문자 + 연속 공백을 하나로, 앞뒤 공백 제거
+     */
+    static String normalize(String query) {
+        if (query == null) {
+            return "";
+        }
+        String folded = Normalizer.normalize(query, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        StringBuilder normalized = new StringBuilder(folded.length());
+        boolean space = false;
+        for (int i = 0; i < folded.length(); i++) {
+            char c = folded.charAt(i);
+            if (Character.isWhitespace(c)) {
+                space = normalized.length() > 0;
+            } else {
+                if (space) {
+                    normalized.append(' ');
+                    space = false;
+                }
+                normalized.append(c);
+            }
+        }
+        return normalized.toString();
+    }
+
+    record CachedAnswer(String content, long fragments) {
+    }
+}
@@ -7,12 +7,18 @@ import com.ktb.chatapp.event.AiMessageStartEvent;
 import com.ktb.chatapp.model.AiType;
 import com.ktb.chatapp.model.Message;
 import com.ktb.chatapp.model.MessageType;
-import com.ktb.chatapp.repository.MessageRepository;
+import com.ktb.chatapp.service.command.MessageWriteBehindService;
 import com.ktb.chatapp.websocket.socketio.handler.StreamingSession;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.event.EventListener;
@@ -30,15 +36,43 @@ public class AiService {
 
     private final ChatClient chatClient;
     private final ApplicationEventPublisher eventPublisher;
-    private final MessageRepository messageRepository;
+    private final MessageWriteBehindService messageWriteBehindService;
+    private final AiGenerationScheduler aiGenerationScheduler;
+    /** chat.ai.cache.enabled=false면 null */
+    private final AiResponseCache aiResponseCache;
+    private final int snapshotEvery;
+    private final Duration snapshotInterval;
+    private final Duration coalesceWindow;
+    private final int coalesceMaxFragments;
+    private final Counter fragmentsIn;
+    private final Counter chunksOut;
 
     public AiService(
             ChatClient.Builder chatClientBuilder,
             ApplicationEventPublisher eventPublisher,
-            MessageRepository messageRepository) {
+            MessageWriteBehindService messageWriteBehindService,
+            AiGenerationScheduler aiGenerationScheduler,
+            ObjectProvider<AiResponseCache> aiResponseCacheProvider,
+            @Value("${chat.ai.stream.snapshot-every:32}") int snapshotEvery,
+            @Value("${chat.ai.stream.snapshot-interval:2s}") Duration snapshotInterval,
+            @Value("${chat.ai.stream.coalesce-window:50ms}") Duration coalesceWindow,
+            @Value("${chat.ai.stream.coalesce-max-fragments:64}") int coalesceMaxFragments,
+            MeterRegistry meterRegistry) {
         this.chatClient = chatClientBuilder.build();
         this.eventPublisher = eventPublisher;
-        this.messageRepository = messageRepository;
+        this.messageWriteBehindService = messageWriteBehindService;
+        this.aiGenerationScheduler = aiGenerationScheduler;
+        this.aiResponseCache = aiResponseCacheProvider.getIfAvailable();
+        this.snapshotEvery = snapshotEvery;
+        this.snapshotInterval = snapshotInterval;
+        this.coalesceWindow = coalesceWindow;
+        this.coalesceMaxFragments = coalesceMaxFragments;
+        this.fragmentsIn = Counter.builder("chat.ai.stream.fragments")
+                .description("Token fragments received from the AI model")
+                .register(meterRegistry);
+        this.chunksOut = Counter.builder("chat.ai.stream.chunks")
+                .description("Coalesced AI chunks emitted to rooms")
+                .register(meterRegistry);
     }
 
     public void handleAIMentions(String roomId, String userId, MessageContent messageContent) {
@@ -71,10 +105,15 @@ public class AiService {
             .timestamp(timestamp)
             .query(query)
             .build();
-        
-        
-        streamResponse(session)
-                .subscribe(new AiStreamHandler(session, eventPublisher));
+
+        // 동시 실행 수 제한/방 단위 공정 대기열을 거쳐 시작
+        aiGenerationScheduler.submit(session, this::launch);
+    }
+
+    private AiStreamHandler launch(StreamingSession session, Runnable onFinish) {
+        AiStreamHandler handler = new AiStreamHandler(session, eventPublisher, snapshotEvery, snapshotInterval, onFinish);
+        streamResponse(session).subscribe(handler);
+        return handler;
     }
 
     Flux<ChunkData> streamResponse(StreamingSession session) {
@@ -85,17 +124,28 @@ public class AiService {
                 return Flux.error(new IllegalArgumentException("Unknown AI persona"));
             }
 
-            Flux<String> contentStream = chatClient.prompt()
+            Supplier<Flux<String>> upstream = () -> chatClient.prompt()
                     .system(aiType.getSystemPrompt())
                     .user(query)
                     .stream()
-                    .content();
+                    .content()
+                    .doOnNext(fragment -> {
+                        fragmentsIn.increment();
+                        session.countFragment();
+                    });
+
+            // 캐시 사용 시 같은 질문은 저장된 답변 재생 또는 생성 중인 스트림 공유
+            Flux<String> contentStream = aiResponseCache != null
+                    ? aiResponseCache.fragments(aiType, query, upstream)
+                    : upstream.get();
 
             AtomicBoolean codeBlockState = new AtomicBoolean(false);
 
-            return contentStream
+            // 코드 블록 상태는 합친 청크 기준으로 계산 (``` 가 조각 사이에 걸쳐도 합친 뒤에는 인식됨)
+            return coalesce(contentStream, coalesceWindow, coalesceMaxFragments)
                     .filter(chunk -> chunk != null && !chunk.isBlank())
                     .map(chunk -> ChunkData.from(chunk).updateCodeBlockState(codeBlockState))
+                    .doOnNext(chunk -> chunksOut.increment())
                     .doOnSubscribe(subscription -> log.info(
                             "Starting AI streaming response - aiType: {}, query: {}",
                             aiType, query))
@@ -103,20 +153,50 @@ public class AiService {
         });
     }
 
+    /**
+     * 토큰 조각 합치기
+     * - 모델은 토큰 단위로 조각을 내보내고, 조각마다 이벤트 → 방 브로드캐스트 → 멤버별 프레임이 발생
+     * - window 동안 또는 maxFragments개가 모일 때까지 모아 하나의 청크로 내보냄
+     *   (첫 조각 이후 window 안에 내보내므로 체감 지연은 window 이내)
+     * - window가 0이면 합치지 않음
+     */
+    static Flux<String> coalesce(Flux<String> fragments, Duration window, int maxFragments) {
+        if (window == null || window.isZero() || maxFragments <= 1) {
+            return fragments;
+        }
+        return fragments
+                .filter(fragment -> fragment != null && !fragment.isEmpty())
+                .bufferTimeout(maxFragments, window)
+                .map(buffer -> buffer.size() == 1 ? buffer.get(0) : String.join("", buffer));
+    }
+
+    /**
+     * AI 응답 완료 처리
+     * - 호출 스레드는 스트림을 끝낸 스레드(Netty/OpenAI 클라이언트 등)이므로 Mongo 왕복을 기다리지 않음
+     * - ObjectId를 바로 발급해 완료 이벤트를 먼저 보내고, 저장은 채팅 메시지와 같은 write-behind 배치로
+     * - 큐가 가득 차도 이 스레드에서 저장하지 않도록 submitDetached 사용
+     * - 재시도는 write-behind에서 처리, 최종 실패만 여기서 기록
+     */
     @EventListener
     public void onAiMessageCompleteEvent(AiMessageCompleteEvent event) {
         try {
-            // 메시지 저장
-            Message savedMessage = messageRepository.save(getMessage(event));
-            log.info("AI message saved - messageId: {}, savedId: {}, roomId: {}",
-                event.getMessageId(), savedMessage.getId(), event.getRoomId());
+            Message aiMessage = getMessage(event);
+            messageWriteBehindService.submitDetached(aiMessage).whenComplete((saved, error) -> {
+                if (error != null) {
+                    log.error("Failed to save AI message - messageId: {}, savedId: {}, roomId: {}",
+                        event.getMessageId(), aiMessage.getId(), event.getRoomId(), error);
+                } else {
+                    log.debug("AI message saved - messageId: {}, savedId: {}, roomId: {}",
+                        event.getMessageId(), saved.getId(), event.getRoomId());
+                }
+            });
 
-            // savedMessageId를 포함한 새로운 이벤트 발행
+            // savedMessageId(서버 발급 id)를 포함한 새로운 이벤트 발행
             eventPublisher.publishEvent(new AiMessageSavedEvent(
-                this, event, savedMessage.getId()
+                this, event, aiMessage.getId()
             ));
         } catch (Exception e) {
-            log.error("Failed to save AI message - messageId: {}, roomId: {}",
+            log.error("Failed to enqueue AI message - messageId: {}, roomId: {}",
                 event.getMessageId(), event.getRoomId(), e);
         }
     }
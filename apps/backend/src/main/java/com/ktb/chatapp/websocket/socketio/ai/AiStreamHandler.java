@@ -4,6 +4,7 @@ import com.ktb.chatapp.event.AiMessageChunkEvent;
 import com.ktb.chatapp.event.AiMessageCompleteEvent;
 import com.ktb.chatapp.event.AiMessageErrorEvent;
 import com.ktb.chatapp.websocket.socketio.handler.StreamingSession;
+import java.time.Duration;
 import java.util.Objects;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -11,12 +12,27 @@ import org.reactivestreams.Subscriber;
 import org.reactivestreams.Subscription;
 import org.springframework.context.ApplicationEventPublisher;
 
+/**
+ * AI 스트리밍 구독자.
+ *
+ * [delta 청크]
+ * - 청크 이벤트에는 새로 생성된 텍스트(delta)와 순번/위치만 싣는다
+ *   (매 청크마다 누적 전체를 보내면 응답 길이 N에 대해 전송량이 O(N²))
+ * - snapshotEvery 청크마다, 또는 마지막 스냅샷 후 snapshotInterval이 지나면
+ *   누적 전체(fullContent)를 함께 실어 중간 입장/누락 클라이언트가 다시 맞출 수 있게 함
+ * - snapshotEvery=1이면 모든 청크가 스냅샷 (기존 fullContent 방식과 동일)
+ */
 @Slf4j
 @RequiredArgsConstructor
 public class AiStreamHandler implements Subscriber<ChunkData> {
     private final StreamingSession session;
     private final ApplicationEventPublisher eventPublisher;
+    private final int snapshotEvery;
+    private final Duration snapshotInterval;
+    /** 스트림 종료(완료/에러) 시 호출 - AiGenerationScheduler 슬롯 반환 */
+    private final Runnable onFinish;
     private Subscription subscription;
+    private long lastSnapshotAt = System.currentTimeMillis();
 
     @Override
     public void onSubscribe(Subscription subscription) {
@@ -26,8 +42,9 @@ public class AiStreamHandler implements Subscriber<ChunkData> {
 
     @Override
     public void onNext(ChunkData chunk) {
-        session.appendContent(chunk.currentChunk());
-        
+        int offset = session.contentLength();
+        long sequence = session.appendContent(chunk.currentChunk());
+
         String messageId = session.getMessageId();
         String roomId = session.getRoomId();
         if (roomId == null) {
@@ -37,10 +54,23 @@ public class AiStreamHandler implements Subscriber<ChunkData> {
 
         eventPublisher.publishEvent(new AiMessageChunkEvent(
             this, roomId, messageId,
-            session.getContent(), chunk.codeBlock()
+            chunk.currentChunk(), sequence, offset,
+            snapshotDue(sequence) ? session.getContent() : null,
+            chunk.codeBlock()
         ));
     }
 
+    private boolean snapshotDue(long sequence) {
+        long now = System.currentTimeMillis();
+        boolean due = (snapshotEvery > 0 && sequence % snapshotEvery == 0)
+            || (snapshotInterval != null && !snapshotInterval.isZero()
+                && now - lastSnapshotAt >= snapshotInterval.toMillis());
+        if (due) {
+            lastSnapshotAt = now;
+        }
+        return due;
+    }
+
     @Override
     public void onError(Throwable error) {
         String messageId = session.getMessageId();
@@ -50,6 +80,7 @@ public class AiStreamHandler implements Subscriber<ChunkData> {
             ? error.getMessage()
             : "AI 응답 생성 중 오류가 발생했습니다.";
         sendErrorEvent(errorMessage);
+        onFinish.run();
     }
 
     @Override
@@ -62,6 +93,8 @@ public class AiStreamHandler implements Subscriber<ChunkData> {
         } catch (Exception e) {
             log.error("Error sending completion event for messageId: {}", messageId, e);
             sendErrorEvent("AI 메시지 완료 처리 중 오류가 발생했습니다.");
+        } finally {
+            onFinish.run();
         }
     }
 
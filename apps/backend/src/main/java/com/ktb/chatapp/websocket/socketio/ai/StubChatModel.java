@@ -0,0 +1,112 @@
+package com.ktb.chatapp.websocket.socketio.ai;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.Prompt;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * 부하 측정용 로컬 ChatModel (chat.ai.provider=stub).
+ *
+ * [왜 필요한가?]
+ * - AI 스트리밍 경로(AiService → AiStreamHandler → SocketIOEventListener)를 부하 상태에서 재려면
+ *   OpenAI 비용/지연/rate limit에 의존하지 않는 재현 가능한 스트림이 필요
+ *
+ * [생성 규칙]
+ * - 같은 프롬프트는 항상 같은 토큰열 (프롬프트 해시를 시드로 사용)
+ * - answer-tokens개 토큰을 tokens-per-second 속도로, 첫 토큰은 first-token-latency 후 전송
+ * - 토큰 간격은 ±jitter 비율만큼 흔들림
+ * - 중간에 코드 블록을 넣고 ``` 를 두 토큰에 걸쳐 보내 코드 블록 추적도 함께 검증
+ * - error-rate 확률로 스트림 도중 에러 (같은 프롬프트는 항상 같은 결과)
+ */
+public class StubChatModel implements ChatModel {
+
+    private static final String[] WORDS = {
+            "채팅", "서버는", "메시지를", "빠르게", "전달합니다", "Redis", "Socket.IO", "스트림",
+            "응답", "부하", "테스트", "결과", "지연", "처리량", "확인", "그리고", "the", "latency",
+            "throughput", "event", "room", "client", "fan-out", "batch"
+    };
+
+    private final int answerTokens;
+    private final double tokensPerSecond;
+    private final Duration firstTokenLatency;
+    private final double jitter;
+    private final double errorRate;
+
+    public StubChatModel(int answerTokens, double tokensPerSecond, Duration firstTokenLatency,
+                         double jitter, double errorRate) {
+        this.answerTokens = Math.max(1, answerTokens);
+        this.tokensPerSecond = tokensPerSecond;
+        this.firstTokenLatency = firstTokenLatency;
+        this.jitter = Math.max(0, Math.min(1, jitter));
+        this.errorRate = errorRate;
+    }
+
+    @Override
+    public ChatResponse call(Prompt prompt) {
+        return response(String.join("", tokens(new Random(seed(prompt)))));
+    }
+
+    @Override
+    public Flux<ChatResponse> stream(Prompt prompt) {
+        return Flux.defer(() -> {
+            Random random = new Random(seed(prompt));
+            List<String> tokens = tokens(random);
+            int failAt = random.nextDouble() < errorRate ? random.nextInt(tokens.size()) : -1;
+            long intervalNanos = tokensPerSecond > 0 ? (long) (1_000_000_000L / tokensPerSecond) : 0;
+
+            List<Mono<ChatResponse>> steps = new ArrayList<>(tokens.size());
+            for (int i = 0; i < tokens.size(); i++) {
+                long delayNanos = i == 0 ? firstTokenLatency.toNanos() : jittered(intervalNanos, random);
+                Mono<ChatResponse> step = i == failAt
+                        ? Mono.error(new IllegalStateException("Stub model injected error at token " + i))
+                        : Mono.just(response(tokens.get(i)));
+                steps.add(delayNanos > 0 ? step.delaySubscription(Duration.ofNanos(delayNanos)) : step);
+            }
+            return Flux.concat(steps);
+        });
+    }
+
+    private long jittered(long intervalNanos, Random random) {
+        if (intervalNanos == 0 || jitter == 0) {
+            return intervalNanos;
+        }
+        double factor = 1 + (random.nextDouble() * 2 - 1) * jitter;
+        return (long) (intervalNanos * factor);
+    }
+
+    /**
+     * 단어 토큰 + 중간 코드 블록 (``` 는 "``" + "`java\n"으로 나눠 보냄)
+     */
+    private List<String> tokens(Random random) {
+        List<String> tokens = new ArrayList<>(answerTokens + 8);
+        int codeAt = answerTokens >= 20 ? answerTokens / 2 : -1;
+        for (int i = 0; tokens.size() < answerTokens; i++) {
+            if (i == codeAt) {
+                tokens.add("\n\n``");
+                tokens.add("`java\n");
+                tokens.add("int answer = " + random.nextInt(100) + ";");
+                tokens.add("\n```");
+                tokens.add("\n\n");
+                continue;
+            }
+            tokens.add((i == 0 ? "" : " ") + WORDS[random.nextInt(WORDS.length)]);
+        }
+        return tokens;
+    }
+
+    private static long seed(Prompt prompt) {
+        return prompt.getContents().hashCode();
+    }
+
+    private static ChatResponse response(String text) {
+        return new ChatResponse(List.of(new Generation(new AssistantMessage(text))));
+    }
+}
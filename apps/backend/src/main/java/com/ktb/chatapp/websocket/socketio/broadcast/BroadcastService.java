@@ -26,4 +26,17 @@ public interface BroadcastService {
      * @param payload     전송할 데이터
      */
     void broadcastToRoom(String eventType, String roomId, String socketEvent, Object payload);
+
+    /**
+     * 순번이 있는 스트림 이벤트 브로드캐스트 (AI 스트리밍)
+     * - streamId/streamSeq는 버스 envelope에 실려 수신 서버가 누락을 감지하는 데 사용
+     * - 서버 간 버스가 없는 구현은 일반 브로드캐스트와 같음
+     *
+     * @param streamId  스트림 ID (AI 응답의 messageId)
+     * @param streamSeq 스트림 내 순번 (완료/에러 등 종료 이벤트는 null)
+     */
+    default void broadcastStreamEvent(String eventType, String roomId, String socketEvent, Object payload,
+                                      String streamId, Long streamSeq) {
+        broadcastToRoom(eventType, roomId, socketEvent, payload);
+    }
 }
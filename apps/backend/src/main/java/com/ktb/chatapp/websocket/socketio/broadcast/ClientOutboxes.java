@@ -0,0 +1,377 @@
+package com.ktb.chatapp.websocket.socketio.broadcast;
+
+import com.corundumstudio.socketio.SocketIOClient;
+import com.corundumstudio.socketio.SocketIOServer;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.*;
+
+/**
+ * 느린 클라이언트 보호용 클라이언트별 outbound 큐.
+ *
+ * [왜 필요한가?]
+ * - netty-socketio는 소켓이 느려도 fan-out 이벤트를 계속 써서 힙에 버퍼가 쌓임
+ * - 큰 방에서 느린 모바일 클라이언트 몇 개가 GC 압박의 원인이 됨
+ *
+ * [동작 방식]
+ * - 채널이 쓰기 가능하고 대기 중인 이벤트가 없으면 바로 전송 (fast path, 큐 생성 안 함)
+ * - 쓰기 불가(네트워크 버퍼 high-water mark 초과, polling 요청 대기)면 이 클라이언트 전용 큐에 적재
+ *   → 이후 이벤트는 순서 유지를 위해 큐가 빌 때까지 모두 큐를 거침
+ * - 큐에 있는 동안 합칠 수 있는 이벤트는 하나로 합침 (coalescing, 키는 항상 방 단위)
+ *   · participantsUpdate: 방마다 최신 목록만 유지
+ *   · aiMessageChunk: 같은 방, 같은 messageId는 delta를 이어붙여 하나로 (새 청크가 스냅샷이면 교체)
+ *   · messagesRead: 같은 방, 같은 userId는 messageIds 합집합 (payload에 roomId가 없으므로 방은 전송 인자로 구분)
+ * - drain 스레드가 drain-interval마다 쓰기 가능해진 클라이언트의 큐를 비움
+ *
+ * [느린 클라이언트 정책]
+ * - 큐 길이가 high-water-mark를 넘으면 overflow-policy에 따라
+ *   drop-oldest: 가장 오래된 이벤트 버림 / disconnect: 연결 종료 (재접속 후 다시 로드)
+ * - slow-timeout 동안 큐를 전혀 비우지 못하면 연결 종료
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "socketio.enabled", havingValue = "true", matchIfMissing = true)
+public class ClientOutboxes {
+
+    private static final String POLICY_DISCONNECT = "disconnect";
+    /** drain 한 번에 보내는 최대 이벤트 수 (쓰기 가능 여부는 비동기로 갱신되므로 한 번에 너무 많이 밀어넣지 않음) */
+    private static final int DRAIN_BURST = 64;
+
+    private final SocketIOServer socketIOServer;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    private final boolean enabled;
+    private final int highWaterMark;
+    private final boolean disconnectOnOverflow;
+    private final Duration slowTimeout;
+    private final Duration drainInterval;
+
+    private final Map<UUID, Outbox> outboxes = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService drainer =
+            Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "client-outbox-drainer");
+                t.setDaemon(true);
+                return t;
+            });
+
+    private final Counter coalesced;
+    private final Counter dropped;
+    private final Counter slowDisconnects;
+    private final DistributionSummary depthSummary;
+
+    public ClientOutboxes(
+            @Lazy SocketIOServer socketIOServer,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${chat.outbox.enabled:true}") boolean enabled,
+            @Value("${chat.outbox.high-water-mark:256}") int highWaterMark,
+            @Value("${chat.outbox.overflow-policy:drop-oldest}") String overflowPolicy,
+            @Value("${chat.outbox.slow-timeout:30s}") Duration slowTimeout,
+            @Value("${chat.outbox.drain-interval:25ms}") Duration drainInterval) {
+        this.socketIOServer = socketIOServer;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.highWaterMark = Math.max(1, highWaterMark);
+        this.disconnectOnOverflow = POLICY_DISCONNECT.equalsIgnoreCase(overflowPolicy);
+        this.slowTimeout = slowTimeout;
+        this.drainInterval = drainInterval;
+
+        this.coalesced = Counter.builder("chat.outbox.coalesced")
+                .description("Outbound events merged into an already queued event")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("chat.outbox.dropped")
+                .description("Outbound events dropped because a client queue exceeded the high-water mark")
+                .register(meterRegistry);
+        this.slowDisconnects = Counter.builder("chat.outbox.disconnects")
+                .description("Clients disconnected for staying slow")
+                .register(meterRegistry);
+        this.depthSummary = DistributionSummary.builder("chat.outbox.queue.depth")
+                .description("Queued outbound events per backlogged client, sampled every drain pass")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void init() {
+        Gauge.builder("chat.outbox.clients", outboxes, Map::size)
+                .description("Clients with queued outbound events")
+                .register(meterRegistry);
+        if (!enabled) {
+            return;
+        }
+        long interval = Math.max(1, drainInterval.toMillis());
+        drainer.scheduleWithFixedDelay(this::drainAll, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        drainer.shutdownNow();
+    }
+
+    /**
+     * 클라이언트에게 이벤트 전송 (느리면 큐에 적재)
+     *
+     * @param roomId 이벤트가 속한 방 (합치기 키에 포함, 한 클라이언트가 여러 방에 있어도 방끼리 합치지 않음)
+     */
+    public void send(SocketIOClient client, String roomId, String socketEvent, EncodedPayload payload,
+                     EncodedPayload meta) {
+        if (!enabled) {
+            deliver(client, socketEvent, payload, meta);
+            return;
+        }
+        Outbound outbound = new Outbound(roomId, socketEvent, payload, meta);
+        while (true) {
+            Outbox box = outboxes.get(client.getSessionId());
+            if (box == null) {
+                if (client.isWritable()) {
+                    deliver(client, socketEvent, payload, meta);
+                    return;
+                }
+                box = outboxes.computeIfAbsent(client.getSessionId(), id -> new Outbox(client));
+            }
+            if (box.offer(outbound)) {
+                return;
+            }
+            // 방금 비워져 제거된 큐 - 다시 시도
+        }
+    }
+
+    void drainAll() {
+        long now = System.nanoTime();
+        for (Iterator<Outbox> it = outboxes.values().iterator(); it.hasNext(); ) {
+            Outbox box = it.next();
+            try {
+                if (socketIOServer.getClient(box.client.getSessionId()) == null) {
+                    box.close();
+                    it.remove();
+                    continue;
+                }
+                box.drain(now);
+            } catch (Exception e) {
+                log.warn("Client outbox drain failed - sessionId: {}", box.client.getSessionId(), e);
+            }
+        }
+    }
+
+    private static void deliver(SocketIOClient client, String socketEvent, EncodedPayload payload, EncodedPayload meta) {
+        if (meta != null) {
+            client.sendEvent(socketEvent, payload, meta);
+        } else {
+            client.sendEvent(socketEvent, payload);
+        }
+    }
+
+    /**
+     * 큐에 있는 동안 합칠 수 있는 이벤트의 키 (null: 합치지 않음)
+     */
+    String coalesceKey(String roomId, String socketEvent, EncodedPayload payload) {
+        if (roomId == null) {
+            return null;
+        }
+        return switch (socketEvent) {
+            case PARTICIPANTS_UPDATE -> keyed(roomId, socketEvent, "");
+            case AI_MESSAGE_CHUNK -> keyed(roomId, socketEvent, topLevelField(payload, "messageId"));
+            case MESSAGES_READ -> keyed(roomId, socketEvent, topLevelField(payload, "userId"));
+            default -> null;
+        };
+    }
+
+    /**
+     * 같은 키의 대기 중 이벤트와 새 이벤트를 합침
+     */
+    Outbound merge(Outbound queued, Outbound next) {
+        if (AI_MESSAGE_CHUNK.equals(next.socketEvent())) {
+            return mergeAiChunk(queued, next);
+        }
+        if (!MESSAGES_READ.equals(next.socketEvent())) {
+            return next;
+        }
+        try {
+            ObjectNode merged = (ObjectNode) objectMapper.readTree(next.payload().bytes());
+            Set<String> ids = new LinkedHashSet<>();
+            JsonNode queuedNode = objectMapper.readTree(queued.payload().bytes());
+            queuedNode.path("messageIds").forEach(id -> ids.add(id.asText()));
+            merged.path("messageIds").forEach(id -> ids.add(id.asText()));
+            ArrayNode messageIds = merged.putArray("messageIds");
+            ids.forEach(messageIds::add);
+            // 읽음 위치는 id 문자열 순서가 메시지 순서가 아니므로 비교하지 않고, 방 순서대로 도착한 새 이벤트 값 사용
+            // (새 이벤트에 없으면 대기 중 값 유지)
+            if (!merged.hasNonNull("lastReadMessageId") && queuedNode.hasNonNull("lastReadMessageId")) {
+                merged.set("lastReadMessageId", queuedNode.get("lastReadMessageId"));
+            }
+            return new Outbound(next.roomId(), next.socketEvent(), new EncodedPayload(objectMapper.writeValueAsBytes(merged)), next.meta());
+        } catch (IOException | ClassCastException e) {
+            // 합칠 수 없으면 따로 보냄
+            return null;
+        }
+    }
+
+    /**
+     * AI delta 청크 합치기
+     * - 새 청크가 스냅샷(fullContent)이면 그 자체가 최신 상태이므로 교체
+     * - 아니면 대기 중 청크의 offset부터 시작하는 하나의 delta로 이어붙임
+     *   (대기 중 청크가 스냅샷이었으면 fullContent도 함께 연장)
+     */
+    private Outbound mergeAiChunk(Outbound queued, Outbound next) {
+        try {
+            ObjectNode nextNode = (ObjectNode) objectMapper.readTree(next.payload().bytes());
+            if (nextNode.hasNonNull("fullContent")) {
+                return next;
+            }
+            ObjectNode merged = (ObjectNode) objectMapper.readTree(queued.payload().bytes());
+            String delta = nextNode.path("currentChunk").asText("");
+            merged.put("currentChunk", merged.path("currentChunk").asText("") + delta);
+            if (merged.hasNonNull("fullContent")) {
+                merged.put("fullContent", merged.path("fullContent").asText() + delta);
+            }
+            merged.set("sequence", nextNode.get("sequence"));
+            merged.set("isCodeBlock", nextNode.get("isCodeBlock"));
+            return new Outbound(next.roomId(), next.socketEvent(),
+                    new EncodedPayload(objectMapper.writeValueAsBytes(merged)), next.meta());
+        } catch (IOException | ClassCastException e) {
+            return null;
+        }
+    }
+
+    private static String keyed(String roomId, String socketEvent, String id) {
+        return id != null ? roomId + ":" + socketEvent + ":" + id : null;
+    }
+
+    private String topLevelField(EncodedPayload payload, String field) {
+        try (JsonParser parser = objectMapper.getFactory().createParser(payload.bytes())) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if (field.equals(name)) {
+                    return value.isScalarValue() ? parser.getText() : null;
+                }
+                parser.skipChildren();
+            }
+        } catch (IOException e) {
+            return null;
+        }
+        return null;
+    }
+
+    record Outbound(String roomId, String socketEvent, EncodedPayload payload, EncodedPayload meta) {
+    }
+
+    /**
+     * 클라이언트 하나의 대기 큐. 합칠 수 없는 이벤트는 고유 키로 넣어 삽입 순서를 유지한다.
+     */
+    private final class Outbox {
+
+        private final SocketIOClient client;
+        private final LinkedHashMap<Object, Outbound> pending = new LinkedHashMap<>();
+        private long sequence;
+        private long stalledSince;
+        private boolean closed;
+
+        private Outbox(SocketIOClient client) {
+            this.client = client;
+            this.stalledSince = System.nanoTime();
+        }
+
+        synchronized boolean offer(Outbound outbound) {
+            if (closed) {
+                return false;
+            }
+            String key = coalesceKey(outbound.roomId(), outbound.socketEvent(), outbound.payload());
+            Outbound queued = key != null ? pending.get(key) : null;
+            Outbound merged = queued != null ? merge(queued, outbound) : null;
+            if (merged != null) {
+                // 기존 위치를 유지한 채 교체
+                pending.put(key, merged);
+                coalesced.increment();
+            } else {
+                pending.put(key != null && queued == null ? key : sequence++, outbound);
+            }
+
+            if (pending.size() > highWaterMark) {
+                if (disconnectOnOverflow) {
+                    disconnectSlow("overflow");
+                    return true;
+                }
+                Iterator<Outbound> oldest = pending.values().iterator();
+                oldest.next();
+                oldest.remove();
+                dropped.increment();
+            }
+            drain(System.nanoTime());
+            return true;
+        }
+
+        synchronized void drain(long now) {
+            if (closed) {
+                return;
+            }
+            int sent = 0;
+            Iterator<Outbound> it = pending.values().iterator();
+            while (it.hasNext() && sent < DRAIN_BURST && client.isWritable()) {
+                Outbound next = it.next();
+                it.remove();
+                deliver(client, next.socketEvent(), next.payload(), next.meta());
+                sent++;
+            }
+            if (sent > 0) {
+                stalledSince = now;
+            }
+            if (pending.isEmpty()) {
+                closed = true;
+                outboxes.remove(client.getSessionId(), this);
+                return;
+            }
+            depthSummary.record(pending.size());
+            if (now - stalledSince > slowTimeout.toNanos()) {
+                disconnectSlow("timeout");
+            }
+        }
+
+        synchronized void close() {
+            closed = true;
+            pending.clear();
+        }
+
+        private void disconnectSlow(String reason) {
+            log.warn("Disconnecting slow client - sessionId: {}, reason: {}, queued: {}",
+                    client.getSessionId(), reason, pending.size());
+            slowDisconnects.increment();
+            close();
+            outboxes.remove(client.getSessionId(), this);
+            client.disconnect();
+        }
+    }
+}
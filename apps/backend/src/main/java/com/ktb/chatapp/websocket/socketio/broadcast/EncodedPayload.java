@@ -0,0 +1,178 @@
+package com.ktb.chatapp.websocket.socketio.broadcast;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Socket.IO 이벤트 인자로 그대로 쓸 수 있도록 미리 JSON으로 인코딩된 payload.
+ *
+ * [왜 필요한가?]
+ * - netty-socketio는 수신자마다 패킷을 인코딩하면서 payload 객체를 매번 Jackson으로 직렬화
+ * - 수백 명이 있는 방이면 같은 객체를 수백 번 직렬화
+ *
+ * [동작 방식]
+ * - 이벤트당 한 번 JSON 바이트로 인코딩 (RoomFanout.encode)
+ * - 패킷 인코딩 시에는 JsonSerializable → writeRawValue로 바이트를 그대로 복사
+ *   (UTF8JsonGenerator는 출력 버퍼에 memcpy)
+ * - Redis에서 받은 바이트(envelope의 payloadJson)도 이 객체로 감싸 재인코딩 없이 사용
+ *
+ * 불변 객체. 바이트 배열은 외부에서 수정하지 않는다는 전제로 복사하지 않는다.
+ */
+public final class EncodedPayload implements JsonSerializable {
+
+    private final byte[] json;
+    private final RawUtf8 raw;
+
+    public EncodedPayload(byte[] json) {
+        this.json = json;
+        this.raw = new RawUtf8(json);
+    }
+
+    /**
+     * UTF-8 JSON 바이트 (수정 금지)
+     */
+    public byte[] bytes() {
+        return json;
+    }
+
+    public int size() {
+        return json.length;
+    }
+
+    @Override
+    public void serialize(JsonGenerator gen, SerializerProvider serializers) throws IOException {
+        gen.writeRawValue(raw);
+    }
+
+    @Override
+    public void serializeWithType(JsonGenerator gen, SerializerProvider serializers, TypeSerializer typeSer)
+            throws IOException {
+        serialize(gen, serializers);
+    }
+
+    @Override
+    public String toString() {
+        return raw.getValue();
+    }
+
+    /**
+     * 이미 인코딩된 UTF-8 바이트를 그대로 내보내는 SerializableString.
+     * writeRawValue 경로에서는 unquoted UTF-8 메서드만 사용되고, 나머지는 완전성을 위해 구현.
+     */
+    private static final class RawUtf8 implements SerializableString {
+
+        private final byte[] utf8;
+        private volatile String value;
+
+        private RawUtf8(byte[] utf8) {
+            this.utf8 = utf8;
+        }
+
+        @Override
+        public String getValue() {
+            String v = value;
+            if (v == null) {
+                v = new String(utf8, StandardCharsets.UTF_8);
+                value = v;
+            }
+            return v;
+        }
+
+        @Override
+        public int charLength() {
+            return getValue().length();
+        }
+
+        @Override
+        public char[] asQuotedChars() {
+            return JsonStringEncoder.getInstance().quoteAsString(getValue());
+        }
+
+        @Override
+        public byte[] asUnquotedUTF8() {
+            return utf8;
+        }
+
+        @Override
+        public byte[] asQuotedUTF8() {
+            return JsonStringEncoder.getInstance().quoteAsUTF8(getValue());
+        }
+
+        @Override
+        public int appendQuotedUTF8(byte[] buffer, int offset) {
+            return copy(asQuotedUTF8(), buffer, offset);
+        }
+
+        @Override
+        public int appendQuoted(char[] buffer, int offset) {
+            char[] quoted = asQuotedChars();
+            if (offset + quoted.length > buffer.length) {
+                return -1;
+            }
+            System.arraycopy(quoted, 0, buffer, offset, quoted.length);
+            return quoted.length;
+        }
+
+        @Override
+        public int appendUnquotedUTF8(byte[] buffer, int offset) {
+            return copy(utf8, buffer, offset);
+        }
+
+        @Override
+        public int appendUnquoted(char[] buffer, int offset) {
+            String v = getValue();
+            if (offset + v.length() > buffer.length) {
+                return -1;
+            }
+            v.getChars(0, v.length(), buffer, offset);
+            return v.length();
+        }
+
+        @Override
+        public int writeQuotedUTF8(OutputStream out) throws IOException {
+            byte[] quoted = asQuotedUTF8();
+            out.write(quoted);
+            return quoted.length;
+        }
+
+        @Override
+        public int writeUnquotedUTF8(OutputStream out) throws IOException {
+            out.write(utf8);
+            return utf8.length;
+        }
+
+        @Override
+        public int putQuotedUTF8(ByteBuffer buffer) {
+            return put(asQuotedUTF8(), buffer);
+        }
+
+        @Override
+        public int putUnquotedUTF8(ByteBuffer buffer) {
+            return put(utf8, buffer);
+        }
+
+        private static int copy(byte[] source, byte[] buffer, int offset) {
+            if (offset + source.length > buffer.length) {
+                return -1;
+            }
+            System.arraycopy(source, 0, buffer, offset, source.length);
+            return source.length;
+        }
+
+        private static int put(byte[] source, ByteBuffer buffer) {
+            if (source.length > buffer.remaining()) {
+                return -1;
+            }
+            buffer.put(source);
+            return source.length;
+        }
+    }
+}
@@ -1,9 +1,8 @@
 package com.ktb.chatapp.websocket.socketio.broadcast;
 
-import com.corundumstudio.socketio.SocketIOServer;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
-import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 
 /**
@@ -11,21 +10,19 @@ import org.springframework.stereotype.Service;
  *
  * 단일 서버 환경에서 직접 Socket.IO로 브로드캐스트한다.
  * 개발/테스트 환경 또는 단일 인스턴스 배포 시 사용.
+ * payload는 RoomFanout에서 한 번만 인코딩된다.
  */
 @Slf4j
 @Service
 @ConditionalOnProperty(name = "chat.broadcast.type", havingValue = "local")
+@RequiredArgsConstructor
 public class LocalBroadcastService implements BroadcastService {
 
-    private final SocketIOServer socketIOServer;
-
-    public LocalBroadcastService(@Lazy SocketIOServer socketIOServer) {
-        this.socketIOServer = socketIOServer;
-    }
+    private final RoomFanout roomFanout;
 
     @Override
     public void broadcastToRoom(String roomId, String socketEvent, Object payload) {
-        socketIOServer.getRoomOperations(roomId).sendEvent(socketEvent, payload);
+        roomFanout.sendToRoom(roomId, socketEvent, payload);
         log.debug("Broadcast to room (local) - room: {}, socketEvent: {}", roomId, socketEvent);
     }
 
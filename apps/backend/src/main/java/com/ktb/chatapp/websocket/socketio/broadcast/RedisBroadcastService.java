@@ -4,6 +4,7 @@ import com.ktb.chatapp.websocket.socketio.pubsub.ChatBroadcastEvent;
 import com.ktb.chatapp.websocket.socketio.pubsub.RedisMessagePublisher;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 
@@ -13,6 +14,15 @@ import org.springframework.stereotype.Service;
  * 멀티 서버 환경에서 모든 서버에 메시지를 전파한다.
  * Redis에 PUBLISH하면 모든 구독 서버가 메시지를 수신하여
  * 각자의 Socket.IO 클라이언트에게 전달한다.
+ *
+ * payload는 발행 전에 Socket.IO JSON으로 한 번 인코딩(EncodedPayload)하여 envelope에 그대로 싣는다.
+ * 수신 노드는 이 바이트를 재직렬화 없이 클라이언트에게 복사만 한다.
+ * (Socket.IO가 비활성화된 노드에서는 원래 객체 그대로 발행)
+ *
+ * [순서]
+ * 같은 서버의 클라이언트도 Redis 왕복 후 자기 구독으로 돌아온 이벤트를 받는다.
+ * 모든 이벤트가 Redis 채널 순서 하나로 정렬되므로 방 단위 순서가 모든 서버에서 같다.
+ * (발행 노드가 로컬 클라이언트에게 바로 보내면 Redis에서 앞선 원격 이벤트를 앞지를 수 있어 두지 않음)
  */
 @Slf4j
 @Service
@@ -21,6 +31,7 @@ import org.springframework.stereotype.Service;
 public class RedisBroadcastService implements BroadcastService {
 
     private final RedisMessagePublisher redisMessagePublisher;
+    private final ObjectProvider<RoomFanout> roomFanoutProvider;
 
     @Override
     public void broadcastToRoom(String roomId, String socketEvent, Object payload) {
@@ -29,11 +40,22 @@ public class RedisBroadcastService implements BroadcastService {
 
     @Override
     public void broadcastToRoom(String eventType, String roomId, String socketEvent, Object payload) {
+        broadcastStreamEvent(eventType, roomId, socketEvent, payload, null, null);
+    }
+
+    @Override
+    public void broadcastStreamEvent(String eventType, String roomId, String socketEvent, Object payload,
+                                     String streamId, Long streamSeq) {
+        RoomFanout roomFanout = roomFanoutProvider.getIfAvailable();
+
         ChatBroadcastEvent event = ChatBroadcastEvent.builder()
                 .eventType(eventType)
                 .roomId(roomId)
                 .socketEvent(socketEvent)
-                .payload(payload)
+                .payload(roomFanout != null ? roomFanout.encode(payload) : payload)
+                .publishedAt(System.currentTimeMillis())
+                .streamId(streamId)
+                .streamSeq(streamSeq)
                 .build();
 
         redisMessagePublisher.publish(event);
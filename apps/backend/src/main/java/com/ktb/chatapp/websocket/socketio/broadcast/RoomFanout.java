@@ -0,0 +1,119 @@
+package com.ktb.chatapp.websocket.socketio.broadcast;
+
+import com.corundumstudio.socketio.SocketIOClient;
+import com.corundumstudio.socketio.SocketIOServer;
+import com.corundumstudio.socketio.protocol.JsonSupport;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufOutputStream;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+/**
+ * 방 단위 fan-out (serialize-once).
+ *
+ * [기존 방식]
+ * socketIOServer.getRoomOperations(roomId).sendEvent(event, payload)
+ * - 수신자마다 패킷 인코딩 → payload Jackson 직렬화가 수신자 수만큼 반복
+ * - RedissonStoreFactory 사용 시 같은 이벤트를 netty-socketio 자체 DISPATCH로 다시 Redis에 발행
+ *   (서버 간 전파는 이미 우리 Redis 버스가 담당)
+ *
+ * [변경]
+ * 1. payload를 이벤트당 한 번만 JSON으로 인코딩 (EncodedPayload)
+ *    - Socket.IO 서버와 같은 JsonSupport 사용 → 클라이언트가 받는 JSON은 기존과 동일
+ *    - 이미 EncodedPayload면 그대로 사용 (Redis에서 받은 바이트 재사용)
+ * 2. 이 서버에 연결된 방 클라이언트에게만 직접 전송
+ *    - 수신자별로는 패킷 프레이밍 + 바이트 복사만 수행
+ *    - 느린 클라이언트는 ClientOutboxes의 클라이언트별 큐를 거침
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "socketio.enabled", havingValue = "true", matchIfMissing = true)
+public class RoomFanout {
+
+    private final SocketIOServer socketIOServer;
+    private final JsonSupport jsonSupport;
+    private final ClientOutboxes clientOutboxes;
+
+    private final Counter recipients;
+    private final DistributionSummary payloadBytes;
+
+    public RoomFanout(
+            @Lazy SocketIOServer socketIOServer,
+            JsonSupport socketIOJsonSupport,
+            ClientOutboxes clientOutboxes,
+            MeterRegistry meterRegistry) {
+        this.socketIOServer = socketIOServer;
+        this.jsonSupport = socketIOJsonSupport;
+        this.clientOutboxes = clientOutboxes;
+        this.recipients = Counter.builder("socketio.fanout.recipients")
+                .description("Socket.IO packets written by room fan-out")
+                .register(meterRegistry);
+        this.payloadBytes = DistributionSummary.builder("socketio.fanout.payload.size")
+                .description("Encoded payload size per fan-out event")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * payload를 Socket.IO JSON으로 한 번 인코딩
+     */
+    public EncodedPayload encode(Object payload) {
+        if (payload instanceof EncodedPayload encoded) {
+            return encoded;
+        }
+        ByteBuf buffer = Unpooled.buffer(256);
+        try (ByteBufOutputStream out = new ByteBufOutputStream(buffer)) {
+            jsonSupport.writeValue(out, payload);
+            return new EncodedPayload(ByteBufUtil.getBytes(buffer));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to encode Socket.IO payload", e);
+        } finally {
+            buffer.release();
+        }
+    }
+
+    /**
+     * 이 서버에 연결된 방 클라이언트에게 전송
+     *
+     * @return 전송한 클라이언트 수
+     */
+    public int sendToRoom(String roomId, String socketEvent, Object payload) {
+        return sendToRoom(roomId, socketEvent, payload, null);
+    }
+
+    /**
+     * 이벤트 로그 ID와 함께 전송 (두 번째 인자로 { eventId } 전달, 재접속 시 resumeRoom에 사용)
+     *
+     * @return 전송한 클라이언트 수
+     */
+    public int sendToRoom(String roomId, String socketEvent, Object payload, String eventId) {
+        EncodedPayload encoded = encode(payload);
+        EncodedPayload meta = eventId != null ? eventMeta(eventId) : null;
+        payloadBytes.record(encoded.size());
+
+        int sent = 0;
+        for (SocketIOClient client : socketIOServer.getRoomOperations(roomId).getClients()) {
+            clientOutboxes.send(client, roomId, socketEvent, encoded, meta);
+            sent++;
+        }
+        recipients.increment(sent);
+        return sent;
+    }
+
+    /**
+     * 클라이언트에게 이벤트와 함께 전달하는 메타데이터 ({ eventId })
+     */
+    public EncodedPayload eventMeta(String eventId) {
+        return encode(Map.of("eventId", eventId));
+    }
+}
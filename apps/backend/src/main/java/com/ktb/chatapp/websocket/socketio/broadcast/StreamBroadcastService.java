@@ -0,0 +1,108 @@
+package com.ktb.chatapp.websocket.socketio.broadcast;
+
+import com.ktb.chatapp.config.NodeIdentity;
+import com.ktb.chatapp.websocket.socketio.metrics.ChatMessageMetrics;
+import com.ktb.chatapp.websocket.socketio.metrics.ChatMessageMetrics.Stage;
+import com.ktb.chatapp.websocket.socketio.pubsub.ChatBroadcastEvent;
+import com.ktb.chatapp.websocket.socketio.pubsub.RedisMessagePublisher;
+import com.ktb.chatapp.websocket.socketio.stream.RoomEventLog;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+/**
+ * Redis Streams 기반 브로드캐스트 서비스 (chat.broadcast.type=stream).
+ *
+ * 이벤트를 방의 샤드 스트림에 XADD하고(RoomEventLog), 각 서버는 RoomEventStreamReader로 읽어
+ * 자신의 클라이언트에게 전달한다. 스트림에 남은 이벤트는 재접속한 클라이언트에게 다시 보낼 수 있다.
+ *
+ * - 레코드 ID를 eventId로 함께 전송 → 클라이언트는 방마다 마지막 eventId를 기억했다가 resumeRoom에 사용
+ * - 발행 서버도 자기 클라이언트에게 바로 보내지 않고 스트림에서 읽어 전달한다
+ *   → 모든 노드가 샤드 스트림 ID 순서대로 전달하므로 클라이언트가 100-1을 100-0보다 먼저 받는 일이 없고,
+ *     resumeRoom이 "마지막 eventId 이후"만 재전송해도 빠지는 이벤트가 없음
+ *   (대가: 로컬 전달에도 XREAD 한 번만큼의 지연이 더해짐)
+ * - AI 스트리밍 이벤트는 streamId/streamSeq를 envelope에 실어 XADD (수신 서버가 누락 감지에 사용)
+ * - XADD는 eventId가 필요하므로 호출 스레드에서 동기 실행 (Pub/Sub 발행 묶음 처리는 적용되지 않음)
+ * - XADD가 실패하면 로컬 클라이언트에게 바로 보내고 같은 이벤트를 Pub/Sub(방 채널)로 발행해 다른 서버에도 전달
+ *   (eventId가 없으므로 이 이벤트는 재전송 대상이 아니고, 스트림 이벤트와의 순서도 보장되지 않음)
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "chat.broadcast.type", havingValue = "stream")
+public class StreamBroadcastService implements BroadcastService {
+
+    private final RoomEventLog roomEventLog;
+    private final RedisMessagePublisher redisMessagePublisher;
+    private final ObjectProvider<RoomFanout> roomFanoutProvider;
+    private final NodeIdentity nodeIdentity;
+    private final ChatMessageMetrics chatMessageMetrics;
+
+    /** XADD 실패로 Pub/Sub로 대신 발행한 이벤트 수 */
+    private final Counter pubSubFallbacks;
+
+    public StreamBroadcastService(
+            RoomEventLog roomEventLog,
+            RedisMessagePublisher redisMessagePublisher,
+            ObjectProvider<RoomFanout> roomFanoutProvider,
+            NodeIdentity nodeIdentity,
+            ChatMessageMetrics chatMessageMetrics,
+            MeterRegistry meterRegistry) {
+        this.roomEventLog = roomEventLog;
+        this.redisMessagePublisher = redisMessagePublisher;
+        this.roomFanoutProvider = roomFanoutProvider;
+        this.nodeIdentity = nodeIdentity;
+        this.chatMessageMetrics = chatMessageMetrics;
+        this.pubSubFallbacks = Counter.builder("chat.stream.append.fallback")
+                .description("Room events published over pub/sub because the stream append failed")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void broadcastToRoom(String roomId, String socketEvent, Object payload) {
+        broadcastToRoom(ChatBroadcastEvent.TYPE_MESSAGE, roomId, socketEvent, payload);
+    }
+
+    @Override
+    public void broadcastToRoom(String eventType, String roomId, String socketEvent, Object payload) {
+        broadcastStreamEvent(eventType, roomId, socketEvent, payload, null, null);
+    }
+
+    @Override
+    public void broadcastStreamEvent(String eventType, String roomId, String socketEvent, Object payload,
+                                     String streamId, Long streamSeq) {
+        RoomFanout roomFanout = roomFanoutProvider.getIfAvailable();
+
+        ChatBroadcastEvent event = ChatBroadcastEvent.builder()
+                .eventType(eventType)
+                .roomId(roomId)
+                .socketEvent(socketEvent)
+                .payload(roomFanout != null ? roomFanout.encode(payload) : payload)
+                .publishedAt(System.currentTimeMillis())
+                .originNodeId(roomFanout != null ? nodeIdentity.getId() : null)
+                .streamId(streamId)
+                .streamSeq(streamSeq)
+                .build();
+
+        String eventId = roomEventLog.append(event);
+        if (eventId == null) {
+            pubSubFallbacks.increment();
+            log.warn("Room event stream append failed - falling back to pub/sub - eventType: {}, room: {}",
+                    eventType, roomId);
+            redisMessagePublisher.publish(event);
+
+            if (roomFanout != null) {
+                long fanoutStart = System.nanoTime();
+                roomFanout.sendToRoom(roomId, socketEvent, event.getPayload(), null);
+                chatMessageMetrics.recordStage(Stage.FANOUT, fanoutStart);
+                chatMessageMetrics.recordPublishToDeliver(eventType, event.getPublishedAt());
+            }
+        }
+        // 성공하면 이 노드의 클라이언트도 RoomEventStreamReader가 스트림 순서대로 전달
+
+        log.debug("Broadcast to room via stream - eventType: {}, room: {}, socketEvent: {}, eventId: {}",
+                eventType, roomId, socketEvent, eventId);
+    }
+}
@@ -0,0 +1,180 @@
+package com.ktb.chatapp.websocket.socketio.dispatch;
+
+import com.corundumstudio.socketio.SocketIOClient;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.ERROR;
+
+/**
+ * Socket.IO 이벤트 디스패처 (방 단위 순서 보장 + Virtual Thread)
+ *
+ * [왜 필요한가?]
+ * - 기존: @OnEvent 핸들러가 Netty 워커 스레드(cores * 4)에서 Redis/Mongo를 블로킹 호출
+ * - 문제: 느린 쿼리 하나가 같은 워커를 공유하는 수천 개 소켓을 함께 멈춤
+ *
+ * [동작 방식]
+ * 1. 핸들러 본문을 Virtual Thread로 넘기고 Netty 워커는 즉시 반환
+ * 2. 같은 키(roomId)의 이벤트는 이전 작업이 끝난 뒤 이어서 실행 → 방 안의 메시지 순서 유지
+ * 3. 다른 키는 서로 기다리지 않고 병렬 실행
+ * 4. 전체 대기 작업 수는 max-pending으로 제한, 초과 시 SERVER_BUSY 에러 응답
+ * 5. 실행기가 작업을 거부하면(종료 중) permit을 돌려주고 같은 에러로 응답, 같은 키의 다음 작업은 계속 실행
+ *
+ * [메트릭]
+ * - socketio.dispatch.pending: 대기 + 실행 중 작업 수
+ * - socketio.dispatch.keys: 활성 키(방) 수
+ * - socketio.dispatch.wait.time: 큐 대기 시간 (event 태그)
+ * - socketio.dispatch.rejected: 거부된 이벤트 수
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "socketio.enabled", havingValue = "true", matchIfMissing = true)
+public class RoomEventDispatcher {
+
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final int maxPending;
+
+    private final Semaphore permits;
+    // key → 해당 키의 마지막 작업 (다음 작업은 여기에 이어 붙는다)
+    private final Map<String, CompletableFuture<Void>> lanes = new ConcurrentHashMap<>();
+    private final Map<String, Timer> waitTimers = new ConcurrentHashMap<>();
+
+    private final ExecutorService executor =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("socketio-event-", 0).factory());
+
+    private Counter rejectedCounter;
+
+    public RoomEventDispatcher(
+            MeterRegistry meterRegistry,
+            @Value("${socketio.dispatch.enabled:true}") boolean enabled,
+            @Value("${socketio.dispatch.max-pending:20000}") int maxPending) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.maxPending = maxPending;
+        this.permits = new Semaphore(maxPending);
+    }
+
+    @PostConstruct
+    void init() {
+        Gauge.builder("socketio.dispatch.pending", permits, p -> maxPending - p.availablePermits())
+                .description("Socket.IO events queued or running on the dispatcher")
+                .register(meterRegistry);
+        Gauge.builder("socketio.dispatch.keys", lanes, Map::size)
+                .description("Dispatch keys with in-flight events")
+                .register(meterRegistry);
+        rejectedCounter = Counter.builder("socketio.dispatch.rejected")
+                .description("Socket.IO events rejected because the dispatcher is full or shutting down")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+                log.warn("Socket.IO dispatcher did not drain in time - pending keys: {}", lanes.size());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 이벤트 처리를 key 단위로 직렬화하여 Virtual Thread에서 실행한다.
+     *
+     * @param key    순서를 보장할 단위 (보통 roomId, 없으면 소켓 세션 ID)
+     * @param client 거부 시 에러를 보낼 클라이언트 (null 허용)
+     * @param event  메트릭 태그용 이벤트 이름
+     * @param task   핸들러 본문
+     * @return 수락 여부
+     */
+    public boolean dispatch(String key, SocketIOClient client, String event, Runnable task) {
+        if (!enabled) {
+            task.run();
+            return true;
+        }
+
+        if (!permits.tryAcquire()) {
+            reject(client, event, key);
+            return false;
+        }
+
+        Timer waitTimer = waitTimers.computeIfAbsent(event, this::createWaitTimer);
+        long enqueuedAt = System.nanoTime();
+        Runnable wrapped = () -> {
+            waitTimer.record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+            try {
+                task.run();
+            } catch (Throwable t) {
+                log.error("Socket.IO event handler failed - event: {}, key: {}", event, key, t);
+            } finally {
+                permits.release();
+            }
+        };
+
+        CompletableFuture<Void> next;
+        try {
+            // 앞 작업이 거부로 실패했어도 뒤 작업은 이어서 실행
+            next = lanes.compute(key, (k, tail) -> tail == null
+                    ? CompletableFuture.runAsync(wrapped, executor)
+                    : tail.exceptionally(ignored -> null).thenRunAsync(wrapped, executor));
+        } catch (RejectedExecutionException e) {
+            permits.release();
+            reject(client, event, key);
+            return false;
+        }
+        next.whenComplete((ignored, error) -> {
+            if (error != null) {
+                // wrapped는 예외를 밖으로 던지지 않으므로, 실패는 앞 작업 완료 후 제출이 거부된 경우뿐
+                permits.release();
+                reject(client, event, key);
+            }
+            // 마지막 작업이 끝났고 그 사이 새 작업이 없으면 lane 제거
+            lanes.remove(key, next);
+        });
+        return true;
+    }
+
+    /**
+     * 소켓 단위로 직렬화 (방 순서가 필요 없는 이벤트용).
+     */
+    public boolean dispatchForClient(SocketIOClient client, String event, Runnable task) {
+        return dispatch("socket:" + client.getSessionId(), client, event, task);
+    }
+
+    private void reject(SocketIOClient client, String event, String key) {
+        rejectedCounter.increment();
+        log.warn("Socket.IO dispatcher full - event: {}, key: {}", event, key);
+        if (client != null) {
+            client.sendEvent(ERROR, Map.of(
+                    "code", "SERVER_BUSY",
+                    "message", "서버가 혼잡합니다. 잠시 후 다시 시도해주세요."
+            ));
+        }
+    }
+
+    private Timer createWaitTimer(String event) {
+        return Timer.builder("socketio.dispatch.wait.time")
+                .description("Time Socket.IO events wait before their handler starts")
+                .tag("event", event)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+    }
+}
@@ -3,6 +3,7 @@ package com.ktb.chatapp.websocket.socketio.handler;
 import com.corundumstudio.socketio.SocketIOClient;
 import com.corundumstudio.socketio.SocketIOServer;
 import com.corundumstudio.socketio.annotation.OnEvent;
+import com.ktb.chatapp.annotation.RateLimit;
 import com.ktb.chatapp.dto.ChatMessageRequest;
 import com.ktb.chatapp.dto.FileResponse;
 import com.ktb.chatapp.dto.MessageContent;
@@ -10,11 +11,11 @@ import com.ktb.chatapp.dto.MessageResponse;
 import com.ktb.chatapp.dto.UserResponse;
 import com.ktb.chatapp.model.*;
 import com.ktb.chatapp.repository.FileRepository;
-import com.ktb.chatapp.repository.MessageRepository;
 import com.ktb.chatapp.repository.RoomRepository;
 import com.ktb.chatapp.repository.UserRepository;
 import com.ktb.chatapp.service.cache.RoomCacheService;
 import com.ktb.chatapp.service.cache.UserCacheService;
+import com.ktb.chatapp.service.command.MessageWriteBehindService;
 import com.ktb.chatapp.util.BannedWordChecker;
 import com.ktb.chatapp.websocket.socketio.ai.AiService;
 import com.ktb.chatapp.service.SessionService;
@@ -23,11 +24,10 @@ import com.ktb.chatapp.service.RateLimitService;
 import com.ktb.chatapp.service.RateLimitCheckResult;
 import com.ktb.chatapp.websocket.socketio.SocketUser;
 import com.ktb.chatapp.websocket.socketio.broadcast.BroadcastService;
+import com.ktb.chatapp.websocket.socketio.dispatch.RoomEventDispatcher;
+import com.ktb.chatapp.websocket.socketio.metrics.ChatMessageMetrics;
+import com.ktb.chatapp.websocket.socketio.metrics.ChatMessageMetrics.Stage;
 import com.ktb.chatapp.websocket.socketio.pubsub.ChatBroadcastEvent;
-import io.micrometer.core.instrument.Counter;
-import io.micrometer.core.instrument.MeterRegistry;
-import io.micrometer.core.instrument.Timer;
-import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.*;
 import lombok.RequiredArgsConstructor;
@@ -42,8 +42,12 @@ import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.*;
 @ConditionalOnProperty(name = "socketio.enabled", havingValue = "true", matchIfMissing = true)
 @RequiredArgsConstructor
 public class ChatMessageHandler {
+    // handleChatMessage에 선언된 rate limit 설정 (엔진 선택 포함)
+    private static final RateLimit CHAT_RATE_LIMIT =
+            RateLimitService.findRateLimit(ChatMessageHandler.class, "handleChatMessage");
+
     private final SocketIOServer socketIOServer;
-    private final MessageRepository messageRepository;
+    private final MessageWriteBehindService messageWriteBehindService;
     private final RoomRepository roomRepository;
     private final UserRepository userRepository;
     private final FileRepository fileRepository;
@@ -51,59 +55,74 @@ public class ChatMessageHandler {
     private final SessionService sessionService;
     private final BannedWordChecker bannedWordChecker;
     private final RateLimitService rateLimitService;
-    private final MeterRegistry meterRegistry;
+    private final ChatMessageMetrics chatMessageMetrics;
     private final BroadcastService broadcastService;
     // 캐시 서비스 (MongoDB 호출 최소화)
     private final UserCacheService userCacheService;
     private final RoomCacheService roomCacheService;
+    private final RoomEventDispatcher roomEventDispatcher;
 
+    /**
+     * Netty 워커에서는 디스패치만 하고 본문은 방 단위로 직렬화된 Virtual Thread에서 실행
+     */
     @OnEvent(CHAT_MESSAGE)
+    public void onChatMessage(SocketIOClient client, ChatMessageRequest data) {
+        String key = data != null && data.getRoom() != null
+                ? data.getRoom()
+                : "socket:" + client.getSessionId();
+        roomEventDispatcher.dispatch(key, client, CHAT_MESSAGE, () -> handleChatMessage(client, data));
+    }
+
+    // 메시지는 발송량이 많으므로 hybrid lease로 Redis 호출을 줄인다
+    @RateLimit(maxRequests = 10000, windowSeconds = 60, scope = RateLimit.LimitScope.USER,
+            backend = RateLimit.Backend.HYBRID)
     public void handleChatMessage(SocketIOClient client, ChatMessageRequest data) {
-        Timer.Sample timerSample = Timer.start(meterRegistry);
+        long startNanos = System.nanoTime();
 
         if (data == null) {
-            recordError("null_data");
+            chatMessageMetrics.recordError("null_data");
             client.sendEvent(ERROR, Map.of(
                     "code", "MESSAGE_ERROR",
                     "message", "메시지 데이터가 없습니다."
             ));
-            timerSample.stop(createTimer("error", "null_data"));
+            chatMessageMetrics.recordProcessing("error", "null_data", startNanos);
             return;
         }
 
         var socketUser = (SocketUser) client.get("user");
 
         if (socketUser == null) {
-            recordError("session_null");
+            chatMessageMetrics.recordError("session_null");
             client.sendEvent(ERROR, Map.of(
                     "code", "SESSION_EXPIRED",
                     "message", "세션이 만료되었습니다. 다시 로그인해주세요."
             ));
-            timerSample.stop(createTimer("error", "session_null"));
+            chatMessageMetrics.recordProcessing("error", "session_null", startNanos);
             return;
         }
 
+        long stageStart = System.nanoTime();
         SessionValidationResult validation =
                 sessionService.validateSession(socketUser.id(), socketUser.authSessionId());
+        chatMessageMetrics.recordStage(Stage.SESSION_VALIDATION, stageStart);
         if (!validation.isValid()) {
-            recordError("session_expired");
+            chatMessageMetrics.recordError("session_expired");
             client.sendEvent(ERROR, Map.of(
                     "code", "SESSION_EXPIRED",
                     "message", "세션이 만료되었습니다. 다시 로그인해주세요."
             ));
-            timerSample.stop(createTimer("error", "session_expired"));
+            chatMessageMetrics.recordProcessing("error", "session_expired", startNanos);
             return;
         }
 
         // Rate limit check
+        stageStart = System.nanoTime();
         RateLimitCheckResult rateLimitResult =
-                rateLimitService.checkRateLimit(socketUser.id(), 10000, Duration.ofMinutes(1));
+                rateLimitService.checkRateLimit(socketUser.id(), CHAT_RATE_LIMIT);
+        chatMessageMetrics.recordStage(Stage.RATE_LIMIT, stageStart);
         if (!rateLimitResult.allowed()) {
-            recordError("rate_limit_exceeded");
-            Counter.builder("socketio.messages.rate_limit")
-                    .description("Socket.IO rate limit exceeded count")
-                    .register(meterRegistry)
-                    .increment();
+            chatMessageMetrics.recordError("rate_limit_exceeded");
+            chatMessageMetrics.recordRateLimited();
             client.sendEvent(ERROR, Map.of(
                     "code", "RATE_LIMIT_EXCEEDED",
                     "message", "메시지 전송 횟수 제한을 초과했습니다. 잠시 후 다시 시도해주세요.",
@@ -111,33 +130,37 @@ public class ChatMessageHandler {
             ));
             log.warn("Rate limit exceeded for user: {}, retryAfter: {}s",
                     socketUser.id(), rateLimitResult.retryAfterSeconds());
-            timerSample.stop(createTimer("error", "rate_limit"));
+            chatMessageMetrics.recordProcessing("error", "rate_limit", startNanos);
             return;
         }
 
         try {
             // 🔥 캐시 서비스 사용 (MongoDB 직접 조회 → Redis 캐시 조회)
+            stageStart = System.nanoTime();
             User sender = userCacheService.findById(socketUser.id()).orElse(null);
+            chatMessageMetrics.recordStage(Stage.USER_LOOKUP, stageStart);
             if (sender == null) {
-                recordError("user_not_found");
+                chatMessageMetrics.recordError("user_not_found");
                 client.sendEvent(ERROR, Map.of(
                         "code", "MESSAGE_ERROR",
                         "message", "User not found"
                 ));
-                timerSample.stop(createTimer("error", "user_not_found"));
+                chatMessageMetrics.recordProcessing("error", "user_not_found", startNanos);
                 return;
             }
 
             String roomId = data.getRoom();
             // 🔥 캐시 서비스 사용 (MongoDB 직접 조회 → Redis 캐시 조회)
+            stageStart = System.nanoTime();
             Room room = roomCacheService.findById(roomId).orElse(null);
+            chatMessageMetrics.recordStage(Stage.ROOM_LOOKUP, stageStart);
             if (room == null || !room.getParticipantIds().contains(socketUser.id())) {
-                recordError("room_access_denied");
+                chatMessageMetrics.recordError("room_access_denied");
                 client.sendEvent(ERROR, Map.of(
                         "code", "MESSAGE_ERROR",
                         "message", "채팅방 접근 권한이 없습니다."
                 ));
-                timerSample.stop(createTimer("error", "room_access_denied"));
+                chatMessageMetrics.recordProcessing("error", "room_access_denied", startNanos);
                 return;
             }
 
@@ -146,13 +169,26 @@ public class ChatMessageHandler {
             log.debug("Message received - type: {}, room: {}, userId: {}, hasFileData: {}",
                     data.getMessageType(), roomId, socketUser.id(), data.hasFileData());
 
-            if (bannedWordChecker.containsBannedWord(messageContent.getTrimmedContent())) {
-                recordError("banned_word");
+            if (messageContent.exceedsMaxLength()) {
+                chatMessageMetrics.recordError("too_long");
+                client.sendEvent(ERROR, Map.of(
+                        "code", "MESSAGE_TOO_LONG",
+                        "message", "메시지는 " + MessageContent.MAX_LENGTH + "자를 초과할 수 없습니다."
+                ));
+                chatMessageMetrics.recordProcessing("error", "too_long", startNanos);
+                return;
+            }
+
+            stageStart = System.nanoTime();
+            boolean banned = bannedWordChecker.containsBannedWord(messageContent.getTrimmedContent());
+            chatMessageMetrics.recordStage(Stage.BANNED_WORD, stageStart);
+            if (banned) {
+                chatMessageMetrics.recordError("banned_word");
                 client.sendEvent(ERROR, Map.of(
                         "code", "MESSAGE_REJECTED",
                         "message", "금칙어가 포함된 메시지는 전송할 수 없습니다."
                 ));
-                timerSample.stop(createTimer("error", "banned_word"));
+                chatMessageMetrics.recordProcessing("error", "banned_word", startNanos);
                 return;
             }
 
@@ -165,19 +201,31 @@ public class ChatMessageHandler {
 
             if (message == null) {
                 log.warn("Empty message - ignoring. room: {}, userId: {}, messageType: {}", roomId, socketUser.id(), messageType);
-                timerSample.stop(createTimer("ignored", messageType));
+                chatMessageMetrics.recordProcessing("ignored", messageType, startNanos);
                 return;
             }
 
-            Message savedMessage = messageRepository.save(message);
+            stageStart = System.nanoTime();
+            // ObjectId는 서버에서 발급, 저장은 write-behind 큐에서 묶음 처리
+            Message savedMessage = messageWriteBehindService.persist(message, error -> {
+                chatMessageMetrics.recordError("persist_failed");
+                client.sendEvent(ERROR, Map.of(
+                        "code", "MESSAGE_PERSIST_FAILED",
+                        "messageId", message.getId(),
+                        "message", "메시지 저장에 실패했습니다."
+                ));
+            });
+            chatMessageMetrics.recordStage(Stage.PERSIST, stageStart);
 
             // Redis Pub/Sub를 통해 모든 서버에 브로드캐스트
+            stageStart = System.nanoTime();
             broadcastService.broadcastToRoom(
                     ChatBroadcastEvent.TYPE_MESSAGE,
                     roomId,
                     MESSAGE,
                     createMessageResponse(savedMessage, sender)
             );
+            chatMessageMetrics.recordStage(Stage.PUBLISH, stageStart);
 
             // AI 멘션 처리
             aiService.handleAIMentions(roomId, socketUser.id(), messageContent);
@@ -185,20 +233,20 @@ public class ChatMessageHandler {
             sessionService.updateLastActivity(socketUser.id());
 
             // Record success metrics
-            recordMessageSuccess(messageType);
-            timerSample.stop(createTimer("success", messageType));
+            chatMessageMetrics.recordSuccess(messageType);
+            chatMessageMetrics.recordProcessing("success", messageType, startNanos);
 
             log.debug("Message processed - messageId: {}, type: {}, room: {}",
                     savedMessage.getId(), savedMessage.getType(), roomId);
 
         } catch (Exception e) {
-            recordError("exception");
+            chatMessageMetrics.recordError("exception");
             log.error("Message handling error", e);
             client.sendEvent(ERROR, Map.of(
                     "code", "MESSAGE_ERROR",
                     "message", e.getMessage() != null ? e.getMessage() : "메시지 전송 중 오류가 발생했습니다."
             ));
-            timerSample.stop(createTimer("error", "exception"));
+            chatMessageMetrics.recordProcessing("error", "exception", startNanos);
         }
     }
 
@@ -261,30 +309,4 @@ public class ChatMessageHandler {
 
         return messageResponse;
     }
-
-    // Metrics helper methods
-    private Timer createTimer(String status, String messageType) {
-        return Timer.builder("socketio.messages.processing.time")
-                .description("Socket.IO message processing time")
-                .tag("status", status)
-                .tag("message_type", messageType)
-                .register(meterRegistry);
-    }
-
-    private void recordMessageSuccess(String messageType) {
-        Counter.builder("socketio.messages.total")
-                .description("Total Socket.IO messages processed")
-                .tag("status", "success")
-                .tag("message_type", messageType)
-                .register(meterRegistry)
-                .increment();
-    }
-
-    private void recordError(String errorType) {
-        Counter.builder("socketio.messages.errors")
-                .description("Socket.IO message processing errors")
-                .tag("error_type", errorType)
-                .register(meterRegistry)
-                .increment();
-    }
 }
@@ -5,6 +5,7 @@ import com.corundumstudio.socketio.SocketIOServer;
 import com.corundumstudio.socketio.annotation.OnConnect;
 import com.corundumstudio.socketio.annotation.OnDisconnect;
 import com.ktb.chatapp.websocket.socketio.*;
+import com.ktb.chatapp.websocket.socketio.pubsub.RoomChannelSubscriptions;
 import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
 import java.time.Duration;
@@ -34,6 +35,7 @@ public class ConnectionLoginHandler {
     private final UserRooms userRooms;
     private final RoomJoinHandler roomJoinHandler;
     private final RoomLeaveHandler roomLeaveHandler;
+    private final RoomChannelSubscriptions roomChannelSubscriptions;
     private final TaskScheduler taskScheduler;
     private final RedisChatDataStore redisChatDataStore;
     private final java.util.concurrent.Executor socketAuthExecutor;
@@ -48,6 +50,7 @@ public class ConnectionLoginHandler {
             UserRooms userRooms,
             RoomJoinHandler roomJoinHandler,
             RoomLeaveHandler roomLeaveHandler,
+            RoomChannelSubscriptions roomChannelSubscriptions,
             MeterRegistry meterRegistry,
             TaskScheduler taskScheduler,
             RedisChatDataStore chatDataStore,
@@ -59,6 +62,7 @@ public class ConnectionLoginHandler {
         this.userRooms = userRooms;
         this.roomJoinHandler = roomJoinHandler;
         this.roomLeaveHandler = roomLeaveHandler;
+        this.roomChannelSubscriptions = roomChannelSubscriptions;
         this.taskScheduler = taskScheduler;
         this.redisChatDataStore = chatDataStore;
         this.socketAuthExecutor = socketAuthExecutor;
@@ -117,10 +121,14 @@ public class ConnectionLoginHandler {
                 return;
             }
             
-            userRooms.get(userId).forEach(roomId -> {
-                roomLeaveHandler.handleLeaveRoom(client, roomId);
-            });
+            // 방별 순서를 지키기 위해 퇴장도 방 단위 디스패처로 처리 (user는 del 전에 캡처)
+            SocketUser leavingUser = getUserDto(client);
+            userRooms.get(userId).forEach(roomId ->
+                    roomLeaveHandler.dispatchLeave(client, leavingUser, roomId));
             String socketId = client.getSessionId().toString();
+
+            // 이 소켓 때문에 열려 있던 방 채널 구독 해제 (마지막 로컬 소켓이면 UNSUBSCRIBE)
+            roomChannelSubscriptions.leaveAll(client.getSessionId());
             
             // 해당 사용자의 현재 활성 연결인 경우에만 정리
             var socketUser = connectedUsers.get(userId);
@@ -8,6 +8,7 @@ import com.ktb.chatapp.model.Room;
 import com.ktb.chatapp.repository.RoomRepository;
 import com.ktb.chatapp.service.cache.RoomCacheService;
 import com.ktb.chatapp.websocket.socketio.SocketUser;
+import com.ktb.chatapp.websocket.socketio.dispatch.RoomEventDispatcher;
 import java.util.Map;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -30,8 +31,14 @@ public class MessageFetchHandler {
     private final MessageLoader messageLoader;
     // 캐시 서비스 (MongoDB 호출 최소화)
     private final RoomCacheService roomCacheService;
+    private final RoomEventDispatcher roomEventDispatcher;
 
     @OnEvent(FETCH_PREVIOUS_MESSAGES)
+    public void onFetchMessages(SocketIOClient client, FetchMessagesRequest data) {
+        // 이전 메시지 조회는 방 순서와 무관하므로 소켓 단위로만 직렬화
+        roomEventDispatcher.dispatchForClient(client, FETCH_PREVIOUS_MESSAGES, () -> handleFetchMessages(client, data));
+    }
+
     public void handleFetchMessages(SocketIOClient client, FetchMessagesRequest data) {
         String userId = getUserId(client);
         String queueKey = data.roomId() + ":" + userId;
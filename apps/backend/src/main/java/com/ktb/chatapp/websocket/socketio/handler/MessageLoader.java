@@ -9,7 +9,8 @@ import com.ktb.chatapp.model.User;
 import com.ktb.chatapp.repository.MessageRepository;
 import com.ktb.chatapp.repository.RoomRepository;
 import com.ktb.chatapp.repository.UserRepository;
-import com.ktb.chatapp.service.MessageReadStatusService;
+import com.ktb.chatapp.model.RoomReadState;
+import com.ktb.chatapp.service.RoomReadStateService;
 import com.ktb.chatapp.service.command.MessageReadCommandService;
 import com.ktb.chatapp.websocket.socketio.broadcast.BroadcastService;
 import com.ktb.chatapp.websocket.socketio.pubsub.ChatBroadcastEvent;
@@ -39,6 +40,7 @@ public class MessageLoader {
     private final MessageRepository messageRepository;
     private final UserRepository userRepository;
     private final MessageResponseMapper messageResponseMapper;
+    private final RoomReadStateService roomReadStateService;
 
     private static final int BATCH_SIZE = 30;
 
@@ -84,11 +86,17 @@ public class MessageLoader {
                 userRepository.findAllById(senderIds).stream()
                         .collect(Collectors.toMap(User::getId, u -> u));
 
+        // 읽음 상태: 방의 읽음 위치를 한 번 조회해 메시지별 readers 계산
+        List<RoomReadState> readStates = sorted.isEmpty()
+                ? List.of()
+                : roomReadStateService.findByRoom(roomId);
+
         List<MessageResponse> responses =
                 sorted.stream()
                         .map(m -> messageResponseMapper.mapToMessageResponse(
                                 m,
-                                userMap.get(m.getSenderId())
+                                userMap.get(m.getSenderId()),
+                                readersOf(m, readStates)
                         ))
                         .toList();
 
@@ -97,4 +105,15 @@ public class MessageLoader {
                 .hasMore(page.hasNext())
                 .build();
     }
+
+    private List<Message.MessageReader> readersOf(Message message, List<RoomReadState> readStates) {
+        String readKey = RoomReadState.readKey(message);
+        return readStates.stream()
+                .filter(state -> state.hasRead(readKey))
+                .map(state -> Message.MessageReader.builder()
+                        .userId(state.getUserId())
+                        .readAt(state.getLastReadAt())
+                        .build())
+                .toList();
+    }
 }
@@ -7,8 +7,10 @@ import com.ktb.chatapp.dto.MessageReactionRequest;
 import com.ktb.chatapp.dto.MessageReactionResponse;
 import com.ktb.chatapp.model.Message;
 import com.ktb.chatapp.repository.MessageRepository;
+import com.ktb.chatapp.service.command.MessageWriteBehindService;
 import com.ktb.chatapp.websocket.socketio.SocketUser;
 import com.ktb.chatapp.websocket.socketio.broadcast.BroadcastService;
+import com.ktb.chatapp.websocket.socketio.dispatch.RoomEventDispatcher;
 import com.ktb.chatapp.websocket.socketio.pubsub.ChatBroadcastEvent;
 import java.util.Map;
 import lombok.RequiredArgsConstructor;
@@ -21,6 +23,10 @@ import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.*;
 /**
  * 메시지 리액션 처리 핸들러
  * 메시지 이모지 리액션 추가/제거 및 브로드캐스트 담당
+ *
+ * 메시지는 write-behind로 저장되므로 방금 보낸 메시지는 아직 Mongo에 없을 수 있다.
+ * 저장 대기 중인 메시지면 insert가 끝날 때까지 기다린 뒤 조회/저장한다
+ * (기다리지 않으면 방금 보낸 메시지에 단 리액션이 "메시지를 찾을 수 없습니다"로 거부됨).
  */
 @Slf4j
 @Component
@@ -30,9 +36,17 @@ public class MessageReactionHandler {
 
     private final SocketIOServer socketIOServer;
     private final MessageRepository messageRepository;
+    private final MessageWriteBehindService messageWriteBehindService;
     private final BroadcastService broadcastService;
+    private final RoomEventDispatcher roomEventDispatcher;
     
     @OnEvent(MESSAGE_REACTION)
+    public void onMessageReaction(SocketIOClient client, MessageReactionRequest data) {
+        String roomId = client.get("currentRoomId");
+        roomEventDispatcher.dispatch(roomId != null ? roomId : "socket:" + client.getSessionId(),
+                client, MESSAGE_REACTION, () -> handleMessageReaction(client, data));
+    }
+
     public void handleMessageReaction(SocketIOClient client, MessageReactionRequest data) {
         try {
             String userId = getUserId(client);
@@ -41,6 +55,7 @@ public class MessageReactionHandler {
                 return;
             }
 
+            messageWriteBehindService.awaitWritten(data.getMessageId());
             Message message = messageRepository.findById(data.getMessageId()).orElse(null);
             if (message == null) {
                 client.sendEvent(ERROR, Map.of("message", "메시지를 찾을 수 없습니다."));
@@ -11,12 +11,14 @@ import com.ktb.chatapp.model.User;
 import com.ktb.chatapp.repository.MessageRepository;
 import com.ktb.chatapp.repository.RoomRepository;
 import com.ktb.chatapp.repository.UserRepository;
-import com.ktb.chatapp.service.MessageReadStatusService;
+import com.ktb.chatapp.service.RoomReadStateService;
 import com.ktb.chatapp.service.cache.RoomCacheService;
 import com.ktb.chatapp.service.command.MessageReadCommandService;
 import com.ktb.chatapp.websocket.socketio.SocketUser;
 import com.ktb.chatapp.websocket.socketio.broadcast.BroadcastService;
+import com.ktb.chatapp.websocket.socketio.dispatch.RoomEventDispatcher;
 import com.ktb.chatapp.websocket.socketio.pubsub.ChatBroadcastEvent;
+import java.util.List;
 import java.util.Map;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -37,7 +39,6 @@ import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.*;
 public class MessageReadHandler {
 
     private final SocketIOServer socketIOServer;
-    private final MessageReadStatusService messageReadStatusService;
     private final MessageRepository messageRepository;
     private final RoomRepository roomRepository;
     private final UserRepository userRepository;
@@ -45,11 +46,18 @@ public class MessageReadHandler {
     private final MessageReadCommandService messageReadCommandService;
     // 캐시 서비스 (MongoDB 호출 최소화)
     private final RoomCacheService roomCacheService;
+    private final RoomEventDispatcher roomEventDispatcher;
 
     @Value("${loadtest.enabled:false}")
     private boolean loadTestMode;
 
     @OnEvent(MARK_MESSAGES_AS_READ)
+    public void onMarkAsRead(SocketIOClient client, MarkAsReadRequest data) {
+        String roomId = client.get("currentRoomId");
+        roomEventDispatcher.dispatch(roomId != null ? roomId : "socket:" + client.getSessionId(),
+                client, MARK_MESSAGES_AS_READ, () -> handleMarkAsRead(client, data));
+    }
+
     public void handleMarkAsRead(SocketIOClient client, MarkAsReadRequest data) {
 
         if (loadTestMode) return;
@@ -60,7 +68,7 @@ public class MessageReadHandler {
         String roomId = client.get("currentRoomId");
         if (roomId == null) return;
 
-        // 1️⃣ DB 업데이트는 batch로 (부하 대응)
+        // 1️⃣ 읽음 위치(watermark) 갱신은 batch로 (부하 대응)
         messageReadCommandService.processAsync(
                 roomId,
                 userId,
@@ -78,7 +86,9 @@ public class MessageReadHandler {
                     MESSAGES_READ,
                     new MessagesReadResponse(
                             userId,               // 읽은 사람
-                            data.getMessageIds()  // 읽은 메시지
+                            data.getMessageIds(), // 읽은 메시지
+                            // 클라이언트가 화면 순서대로 보낸 마지막 id (방 소속 확인/정렬은 batch flush에서)
+                            lastOf(RoomReadStateService.normalize(data.getMessageIds()))
                     )
             );
         }
@@ -141,4 +151,8 @@ public class MessageReadHandler {
         var user = (SocketUser) client.get("user");
         return user.id();
     }
+
+    private static String lastOf(List<String> messageIds) {
+        return messageIds.isEmpty() ? null : messageIds.get(messageIds.size() - 1);
+    }
 }
@@ -9,6 +9,7 @@ import com.ktb.chatapp.model.User;
 import com.ktb.chatapp.repository.FileRepository;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import lombok.RequiredArgsConstructor;
@@ -33,6 +34,18 @@ public class MessageResponseMapper {
      * @return MessageResponse DTO
      */
     public MessageResponse mapToMessageResponse(Message message, User sender) {
+        return mapToMessageResponse(message, sender, List.of());
+    }
+
+    /**
+     * Message 엔티티를 MessageResponse DTO로 변환 (읽음 위치로 계산한 readers 포함)
+     *
+     * @param message 변환할 메시지 엔티티
+     * @param sender 메시지 발신자 정보 (null 가능)
+     * @param readers 이 메시지까지 읽은 사용자 목록
+     * @return MessageResponse DTO
+     */
+    public MessageResponse mapToMessageResponse(Message message, User sender, List<Message.MessageReader> readers) {
         MessageResponse.MessageResponseBuilder builder = MessageResponse.builder()
                 .id(message.getId())
                 .content(message.getContent())
@@ -41,8 +54,7 @@ public class MessageResponseMapper {
                 .roomId(message.getRoomId())
                 .reactions(message.getReactions() != null ?
                         message.getReactions() : new HashMap<>())
-                .readers(message.getReaders() != null ?
-                        message.getReaders() : new ArrayList<>());
+                .readers(readers != null ? readers : new ArrayList<>());
 
         // 발신자 정보 설정
         if (sender != null) {
@@ -19,7 +19,9 @@ import com.ktb.chatapp.service.cache.UserCacheService;
 import com.ktb.chatapp.websocket.socketio.SocketUser;
 import com.ktb.chatapp.websocket.socketio.UserRooms;
 import com.ktb.chatapp.websocket.socketio.broadcast.BroadcastService;
+import com.ktb.chatapp.websocket.socketio.dispatch.RoomEventDispatcher;
 import com.ktb.chatapp.websocket.socketio.pubsub.ChatBroadcastEvent;
+import com.ktb.chatapp.websocket.socketio.pubsub.RoomChannelSubscriptions;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
@@ -55,12 +57,19 @@ public class RoomJoinHandler {
     // 캐시 서비스 (MongoDB 호출 최소화)
     private final RoomCacheService roomCacheService;
     private final UserCacheService userCacheService;
+    private final RoomChannelSubscriptions roomChannelSubscriptions;
+    private final RoomEventDispatcher roomEventDispatcher;
 
     @Value("${loadtest.enabled:false}")
     private boolean loadTestMode;
 
 
     @OnEvent(JOIN_ROOM)
+    public void onJoinRoom(SocketIOClient client, String roomId) {
+        roomEventDispatcher.dispatch(roomId != null ? roomId : "socket:" + client.getSessionId(),
+                client, JOIN_ROOM, () -> handleJoinRoom(client, roomId));
+    }
+
     public void handleJoinRoom(SocketIOClient client, String roomId) {
         try {
             SocketUser socketUser = client.get("user");
@@ -104,6 +113,8 @@ public class RoomJoinHandler {
                 userRooms.add(userId, roomId);
             }
 
+            // 이 서버의 첫 소켓이면 방 채널 구독 (joinRoom 전에 열어 이벤트 누락 최소화)
+            roomChannelSubscriptions.join(roomId, client.getSessionId());
             client.joinRoom(roomId);
             client.set("currentRoomId", roomId);
 
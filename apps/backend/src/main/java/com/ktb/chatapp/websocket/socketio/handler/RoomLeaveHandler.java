@@ -4,12 +4,15 @@ import com.corundumstudio.socketio.SocketIOClient;
 import com.corundumstudio.socketio.annotation.OnEvent;
 import com.ktb.chatapp.model.Message;
 import com.ktb.chatapp.model.MessageType;
-import com.ktb.chatapp.repository.MessageRepository;
+import com.ktb.chatapp.service.command.MessageWriteBehindService;
 import com.ktb.chatapp.websocket.socketio.RoomUserCache;
 import com.ktb.chatapp.websocket.socketio.SocketUser;
 import com.ktb.chatapp.websocket.socketio.UserRooms;
+import com.ktb.chatapp.websocket.socketio.ai.AiGenerationScheduler;
 import com.ktb.chatapp.websocket.socketio.broadcast.BroadcastService;
+import com.ktb.chatapp.websocket.socketio.dispatch.RoomEventDispatcher;
 import com.ktb.chatapp.websocket.socketio.pubsub.ChatBroadcastEvent;
+import com.ktb.chatapp.websocket.socketio.pubsub.RoomChannelSubscriptions;
 import java.time.LocalDateTime;
 import java.util.*;
 
@@ -30,15 +33,30 @@ import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.*;
 @RequiredArgsConstructor
 public class RoomLeaveHandler {
 
-    private final MessageRepository messageRepository;
+    private final MessageWriteBehindService messageWriteBehindService;
     private final UserRooms userRooms;
     private final BroadcastService broadcastService;
     private final RoomUserCache roomUserCache;
+    private final RoomChannelSubscriptions roomChannelSubscriptions;
+    private final RoomEventDispatcher roomEventDispatcher;
+    private final AiGenerationScheduler aiGenerationScheduler;
 
     @OnEvent(LEAVE_ROOM)
-    public void handleLeaveRoom(SocketIOClient client, String roomId) {
+    public void onLeaveRoom(SocketIOClient client, String roomId) {
+        dispatchLeave(client, client.get("user"), roomId);
+    }
+
+    /**
+     * 퇴장 처리를 방 단위 디스패처로 넘긴다.
+     * disconnect 시에는 client.del("user")가 먼저 실행될 수 있으므로 SocketUser를 미리 캡처해서 전달
+     */
+    public void dispatchLeave(SocketIOClient client, SocketUser socketUser, String roomId) {
+        roomEventDispatcher.dispatch(roomId != null ? roomId : "socket:" + client.getSessionId(),
+                client, LEAVE_ROOM, () -> handleLeaveRoom(client, socketUser, roomId));
+    }
+
+    public void handleLeaveRoom(SocketIOClient client, SocketUser socketUser, String roomId) {
         try {
-            SocketUser socketUser = client.get("user");
             if (socketUser == null) {
                 client.sendEvent(ERROR, Map.of("message", "Unauthorized"));
                 return;
@@ -55,6 +73,9 @@ public class RoomLeaveHandler {
             userRooms.remove(userId, roomId);
             roomUserCache.removeUser(roomId, userId);
             client.leaveRoom(roomId);
+            roomChannelSubscriptions.leave(roomId, client.getSessionId());
+            // 요청자가 나간 방의 AI 응답은 대기/생성 중이면 취소
+            aiGenerationScheduler.cancelRequester(roomId, userId);
 
             log.info("[LEAVE] userId={} roomId={}", userId, roomId);
 
@@ -83,7 +104,8 @@ public class RoomLeaveHandler {
             systemMessage.setType(MessageType.system);
             systemMessage.setTimestamp(LocalDateTime.now());
 
-            Message saved = messageRepository.save(systemMessage);
+            Message saved = messageWriteBehindService.persist(systemMessage,
+                    error -> log.warn("Failed to persist system message - room: {}", roomId));
 
             broadcastService.broadcastToRoom(
                     ChatBroadcastEvent.TYPE_SYSTEM_MESSAGE,
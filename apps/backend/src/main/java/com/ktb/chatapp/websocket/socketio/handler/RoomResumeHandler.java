@@ -0,0 +1,83 @@
+package com.ktb.chatapp.websocket.socketio.handler;
+
+import com.corundumstudio.socketio.SocketIOClient;
+import com.corundumstudio.socketio.annotation.OnEvent;
+import com.ktb.chatapp.dto.ResumeRoomRequest;
+import com.ktb.chatapp.dto.RoomResumedResponse;
+import com.ktb.chatapp.websocket.socketio.SocketUser;
+import com.ktb.chatapp.websocket.socketio.broadcast.RoomFanout;
+import com.ktb.chatapp.websocket.socketio.dispatch.RoomEventDispatcher;
+import com.ktb.chatapp.websocket.socketio.stream.RoomEventLog;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.*;
+
+/**
+ * 재접속 후 놓친 방 이벤트 재전송 핸들러
+ *
+ * [프로토콜]
+ * 1. 클라이언트는 방 이벤트의 두 번째 인자 { eventId }를 방마다 기억
+ * 2. 재접속 → joinRoom 후 resumeRoom { roomId, lastEventId } 전송
+ * 3. 서버는 lastEventId 이후 이벤트를 원래 이벤트 이름 그대로 재전송하고 roomResumed로 마무리
+ * 4. roomResumed.complete=false면 (스트림 백엔드가 아니거나 보존 기간 초과) fetchPreviousMessages로 다시 로드
+ *
+ * 재전송 중에도 실시간 이벤트가 도착할 수 있으므로 클라이언트는 이미 받은 eventId 이하를 무시한다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "socketio.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+public class RoomResumeHandler {
+
+    private final ObjectProvider<RoomEventLog> roomEventLogProvider;
+    private final RoomFanout roomFanout;
+    private final RoomEventDispatcher roomEventDispatcher;
+
+    @OnEvent(RESUME_ROOM)
+    public void onResumeRoom(SocketIOClient client, ResumeRoomRequest data) {
+        String roomId = data != null ? data.roomId() : null;
+        roomEventDispatcher.dispatch(roomId != null ? roomId : "socket:" + client.getSessionId(),
+                client, RESUME_ROOM, () -> handleResumeRoom(client, data));
+    }
+
+    public void handleResumeRoom(SocketIOClient client, ResumeRoomRequest data) {
+        SocketUser socketUser = client.get("user");
+        if (socketUser == null) {
+            client.sendEvent(ERROR, Map.of("message", "Unauthorized"));
+            return;
+        }
+        if (data == null || data.roomId() == null) {
+            return;
+        }
+
+        String roomId = data.roomId();
+        RoomEventLog roomEventLog = roomEventLogProvider.getIfAvailable();
+        // 입장한 방의 이벤트만 재전송
+        if (roomEventLog == null || data.lastEventId() == null || !client.getAllRooms().contains(roomId)) {
+            client.sendEvent(ROOM_RESUMED, new RoomResumedResponse(roomId, 0, false, data.lastEventId()));
+            return;
+        }
+
+        try {
+            RoomEventLog.Replay replay = roomEventLog.replay(roomId, data.lastEventId());
+            for (RoomEventLog.ReplayedEvent replayed : replay.events()) {
+                client.sendEvent(replayed.event().getSocketEvent(),
+                        roomFanout.encode(replayed.event().getPayload()),
+                        roomFanout.eventMeta(replayed.eventId()));
+            }
+            client.sendEvent(ROOM_RESUMED, new RoomResumedResponse(
+                    roomId, replay.events().size(), replay.complete(), replay.lastEventId()));
+
+            log.debug("[RESUME] userId={} roomId={} replayed={} complete={}",
+                    socketUser.id(), roomId, replay.events().size(), replay.complete());
+        } catch (Exception e) {
+            log.error("Room resume failed - roomId: {}", roomId, e);
+            client.sendEvent(ROOM_RESUMED, new RoomResumedResponse(roomId, 0, false, data.lastEventId()));
+        }
+    }
+}
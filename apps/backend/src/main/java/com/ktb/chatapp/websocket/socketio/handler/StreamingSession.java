@@ -3,10 +3,22 @@ package com.ktb.chatapp.websocket.socketio.handler;
 import com.ktb.chatapp.model.AiType;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * AI 스트리밍 세션 상태.
+ *
+ * [응답 누적]
+ * - 청크마다 content += chunk 하던 방식은 길이 N의 응답에서 O(N²) 복사가 발생
+ * - 응답은 StringBuilder에 누적하고, 전체 문자열은 스냅샷/완료 시점에만 만든다
+ * - sequence: 지금까지 받은 청크 수 (청크 이벤트 순번)
+ * - fragmentCount: 조각은 모델 구독 스레드 하나에서만 증가
+ */
 @Data
 @Builder
 @NoArgsConstructor
@@ -22,7 +34,12 @@ public class StreamingSession {
     @Builder.Default
     private long lastUpdate = System.currentTimeMillis();
     @Builder.Default
-    private String content = "";
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private StringBuilder content = new StringBuilder();
+    private long sequence;
+    /** 모델에서 받은 토큰 조각 수 (coalescing 전, 처리량 계측용) */
+    private volatile long fragmentCount;
 
     public AiType aiTypeEnum() {
         if (aiType == null) return null;
@@ -38,9 +55,31 @@ public class StreamingSession {
         return aiTypeEnum;
     }
 
-    public void appendContent(String contentChunk) {
-        content += contentChunk;
+    /**
+     * 청크를 누적하고 이 청크의 순번을 반환
+     */
+    public long appendContent(String contentChunk) {
+        content.append(contentChunk);
         lastUpdate = System.currentTimeMillis();
+        return ++sequence;
+    }
+
+    public void countFragment() {
+        fragmentCount++;
+    }
+
+    /**
+     * 지금까지 누적된 응답 전체 (호출마다 복사하므로 스냅샷/완료 시점에만 사용)
+     */
+    public String getContent() {
+        return content.toString();
+    }
+
+    /**
+     * 지금까지 누적된 응답 길이 (UTF-16 code unit, 클라이언트의 String.length와 동일)
+     */
+    public int contentLength() {
+        return content.length();
     }
     
     public long generationTimeMillis() {
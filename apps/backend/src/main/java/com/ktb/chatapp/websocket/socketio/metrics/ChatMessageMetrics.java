@@ -0,0 +1,137 @@
+package com.ktb.chatapp.websocket.socketio.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.springframework.stereotype.Component;
+
+/**
+ * 채팅 메시지 hot path 계측.
+ *
+ * [왜 필요한가?]
+ * - 기존: 메시지마다 Timer/Counter.builder(...).register() 호출 → 태그 조합마다 레지스트리 조회 + 할당
+ * - 기존: processing.time 하나뿐이라 p99 스파이크가 Redis/Mongo/fan-out 중 어디서 왔는지 알 수 없음
+ *
+ * [구성]
+ * - 단계별 Timer (Stage) - 생성 시점에 모두 등록, 호출 시에는 EnumMap 조회만
+ * - 태그가 동적인 meter(status, message_type, error_type)는 최초 1회만 등록 후 캐시
+ * - publish-to-deliver: ChatBroadcastEvent.publishedAt 기준 수신 서버에서 측정 (노드 간 시계 오차 포함)
+ *
+ * [사용 방법]
+ * long start = System.nanoTime();
+ * ... 단계 실행 ...
+ * metrics.recordStage(Stage.PERSIST, start);
+ */
+@Component
+public class ChatMessageMetrics {
+
+    public enum Stage {
+        SESSION_VALIDATION("session_validation"),
+        RATE_LIMIT("rate_limit"),
+        USER_LOOKUP("user_lookup"),
+        ROOM_LOOKUP("room_lookup"),
+        BANNED_WORD("banned_word"),
+        PERSIST("persist"),
+        PUBLISH("publish"),
+        FANOUT("fanout");
+
+        private final String tag;
+
+        Stage(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    private static final Duration MIN_EXPECTED = Duration.ofNanos(1_000);
+    private static final Duration MAX_EXPECTED = Duration.ofSeconds(10);
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<Stage, Timer> stageTimers = new EnumMap<>(Stage.class);
+    private final Map<String, Timer> processingTimers = new ConcurrentHashMap<>();
+    private final Map<String, Timer> deliverTimers = new ConcurrentHashMap<>();
+    private final Map<String, Counter> successCounters = new ConcurrentHashMap<>();
+    private final Map<String, Counter> errorCounters = new ConcurrentHashMap<>();
+    private final Counter rateLimitCounter;
+
+    public ChatMessageMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        for (Stage stage : Stage.values()) {
+            stageTimers.put(stage, Timer.builder("chat.message.stage.time")
+                    .description("Chat message hot path latency per stage")
+                    .tag("stage", stage.tag)
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(MIN_EXPECTED)
+                    .maximumExpectedValue(MAX_EXPECTED)
+                    .register(meterRegistry));
+        }
+        this.rateLimitCounter = Counter.builder("socketio.messages.rate_limit")
+                .description("Socket.IO rate limit exceeded count")
+                .register(meterRegistry);
+    }
+
+    public void recordStage(Stage stage, long startNanos) {
+        stageTimers.get(stage).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 전체 처리 시간 (기존 socketio.messages.processing.time 유지)
+     */
+    public void recordProcessing(String status, String messageType, long startNanos) {
+        processingTimers.computeIfAbsent(status + ":" + messageType, key ->
+                        Timer.builder("socketio.messages.processing.time")
+                                .description("Socket.IO message processing time")
+                                .tag("status", status)
+                                .tag("message_type", messageType)
+                                .register(meterRegistry))
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 발행 서버의 publishedAt(epoch millis)부터 이 서버에서 클라이언트로 내보내기까지의 시간
+     */
+    public void recordPublishToDeliver(String eventType, Long publishedAt) {
+        if (publishedAt == null) {
+            return;
+        }
+        // 노드 간 시계 오차로 음수가 나올 수 있으므로 0으로 보정
+        long elapsed = Math.max(0, System.currentTimeMillis() - publishedAt);
+        deliverTimers.computeIfAbsent(eventType != null ? eventType : "unknown", type ->
+                        Timer.builder("chat.message.publish_to_deliver")
+                                .description("Latency from publish on the origin node to Socket.IO emit on this node")
+                                .tag("event_type", type)
+                                .publishPercentileHistogram()
+                                .minimumExpectedValue(Duration.ofMillis(1))
+                                .maximumExpectedValue(MAX_EXPECTED)
+                                .register(meterRegistry))
+                .record(elapsed, TimeUnit.MILLISECONDS);
+    }
+
+    public void recordSuccess(String messageType) {
+        successCounters.computeIfAbsent(messageType, type ->
+                        Counter.builder("socketio.messages.total")
+                                .description("Total Socket.IO messages processed")
+                                .tag("status", "success")
+                                .tag("message_type", type)
+                                .register(meterRegistry))
+                .increment();
+    }
+
+    public void recordError(String errorType) {
+        errorCounters.computeIfAbsent(errorType, type ->
+                        Counter.builder("socketio.messages.errors")
+                                .description("Socket.IO message processing errors")
+                                .tag("error_type", type)
+                                .register(meterRegistry))
+                .increment();
+    }
+
+    public void recordRateLimited() {
+        rateLimitCounter.increment();
+    }
+}
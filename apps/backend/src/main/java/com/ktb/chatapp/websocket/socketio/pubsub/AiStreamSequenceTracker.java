@@ -0,0 +1,70 @@
+package com.ktb.chatapp.websocket.socketio.pubsub;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 버스로 수신한 AI 스트림 이벤트의 순번 추적.
+ *
+ * - 스트림(streamId)마다 마지막으로 받은 streamSeq를 기억하고, 건너뛴 순번을 누락으로 집계
+ * - 클라이언트는 offset/스냅샷으로 스스로 복구하므로 서버는 감지와 계측만 담당
+ * - 종료 이벤트(streamSeq 없음)를 받으면 상태 제거, 종료를 못 받은 스트림은 idle-expiry 후 제거
+ * - SubscriberDispatchPool이 방 단위로 순서를 지켜 호출하므로 스트림별 호출은 직렬
+ */
+@Slf4j
+@Component
+public class AiStreamSequenceTracker {
+
+    private final Cache<String, Long> lastSequences;
+    private final Counter gaps;
+    private final Counter outOfOrder;
+
+    public AiStreamSequenceTracker(
+            MeterRegistry meterRegistry,
+            @Value("${chat.ai.stream.sequence-idle-expiry:5m}") Duration idleExpiry) {
+        this.lastSequences = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterAccess(idleExpiry)
+                .build();
+        this.gaps = Counter.builder("chat.ai.stream.gaps")
+                .description("AI stream events missing on the bus, counted by skipped sequence numbers")
+                .register(meterRegistry);
+        this.outOfOrder = Counter.builder("chat.ai.stream.out_of_order")
+                .description("AI stream events received with a sequence at or below the last seen one")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 수신한 이벤트의 순번 확인 (streamId가 없는 이벤트는 무시)
+     */
+    public void track(ChatBroadcastEvent event) {
+        String streamId = event.getStreamId();
+        if (streamId == null) {
+            return;
+        }
+        Long sequence = event.getStreamSeq();
+        if (sequence == null) {
+            lastSequences.invalidate(streamId);
+            return;
+        }
+
+        Long last = lastSequences.getIfPresent(streamId);
+        if (last != null) {
+            if (sequence > last + 1) {
+                gaps.increment(sequence - last - 1);
+                log.debug("AI 스트림 누락 감지 - streamId: {}, room: {}, expected: {}, received: {}",
+                        streamId, event.getRoomId(), last + 1, sequence);
+            } else if (sequence <= last) {
+                outOfOrder.increment();
+                return;
+            }
+        }
+        lastSequences.put(streamId, sequence);
+    }
+}
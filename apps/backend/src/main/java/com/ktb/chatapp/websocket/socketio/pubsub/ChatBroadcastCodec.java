@@ -0,0 +1,177 @@
+package com.ktb.chatapp.websocket.socketio.pubsub;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.ktb.chatapp.dto.AiMessageChunkResponse;
+import com.ktb.chatapp.dto.MessageReactionResponse;
+import com.ktb.chatapp.dto.MessageResponse;
+import com.ktb.chatapp.dto.MessagesReadResponse;
+import com.ktb.chatapp.websocket.socketio.broadcast.EncodedPayload;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Redis 버스용 ChatBroadcastEvent 인코더/디코더.
+ *
+ * [기존 방식의 문제]
+ * - writeValueAsString → JSON 문자열 (필드명 반복, 숫자도 텍스트)
+ * - payload가 Object라 수신 측에서 LinkedHashMap으로 파싱 후 netty-socketio가 다시 직렬화
+ *
+ * [바이너리 envelope]
+ * ┌──────┬─────────┬──────────────────────────────────────────────┐
+ * │ 0xCB │ version │ Smile 문서                                   │
+ * │ 1B   │ 1B      │ {eventType, roomId, socketEvent, publishedAt, │
+ * │      │         │  originNodeId, streamId, streamSeq,          │
+ * │      │         │  payloadType, payload}                       │
+ * └──────┴─────────┴──────────────────────────────────────────────┘
+ * - payloadType: payload 클래스 식별자 (허용 목록만, 클래스명을 그대로 받지 않음)
+ *   → 수신 측에서 Map이 아닌 원래 DTO로 바로 역직렬화
+ * - payloadType은 항상 payload보다 먼저 기록되므로 스트리밍 파서 한 번으로 처리
+ *
+ * [v2: 미리 인코딩된 payload]
+ * - payload가 EncodedPayload(Socket.IO JSON 바이트)면 payload 대신 payloadJson(binary) 필드로 기록
+ * - 수신 측은 바이트를 파싱하지 않고 EncodedPayload로 감싸 그대로 fan-out
+ * - 디코더는 v1, v2 모두 읽음 (v1 노드는 v2 envelope를 읽지 못하므로 배포 중에는 json 모드 사용)
+ *
+ * [JSON fallback - 롤링 배포]
+ * - 첫 바이트가 0xCB가 아니면 JSON으로 간주 (구버전 노드가 보낸 메시지)
+ * - chat.pubsub.codec=json이면 같은 필드 구성을 JSON으로 발행 (구버전 노드도 읽을 수 있음)
+ * - 배포 순서: json으로 전체 배포 → 모든 노드 교체 후 smile로 전환
+ */
+@Component
+public class ChatBroadcastCodec {
+
+    static final byte MAGIC = (byte) 0xCB;
+    static final byte VERSION = 2;
+    static final byte MIN_VERSION = 1;
+
+    /** payloadType 식별자 → 클래스 (허용 목록) */
+    private static final Map<String, Class<?>> PAYLOAD_TYPES = Map.of(
+            "message", MessageResponse.class,
+            "messagesRead", MessagesReadResponse.class,
+            "reaction", MessageReactionResponse.class,
+            "aiChunk", AiMessageChunkResponse.class
+    );
+    private static final Map<Class<?>, String> PAYLOAD_TYPE_NAMES = Map.of(
+            MessageResponse.class, "message",
+            MessagesReadResponse.class, "messagesRead",
+            MessageReactionResponse.class, "reaction",
+            AiMessageChunkResponse.class, "aiChunk"
+    );
+
+    private final ObjectMapper jsonMapper;
+    private final ObjectMapper smileMapper;
+    private final boolean binary;
+
+    public ChatBroadcastCodec(
+            ObjectMapper objectMapper,
+            @Value("${chat.pubsub.codec:smile}") String codec) {
+        this.jsonMapper = objectMapper;
+        // Spring ObjectMapper 설정(JavaTimeModule 등)을 그대로 유지한 Smile 매퍼
+        this.smileMapper = objectMapper.copyWith(new SmileFactory());
+        this.binary = !"json".equalsIgnoreCase(codec);
+    }
+
+    public byte[] encode(ChatBroadcastEvent event) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(256);
+        if (binary) {
+            out.write(MAGIC);
+            out.write(VERSION);
+            write(smileMapper, out, event, true);
+        } else {
+            write(jsonMapper, out, event, false);
+        }
+        return out.toByteArray();
+    }
+
+    public ChatBroadcastEvent decode(byte[] bytes) throws IOException {
+        if (bytes.length > 0 && bytes[0] == MAGIC) {
+            if (bytes.length < 2 || bytes[1] < MIN_VERSION || bytes[1] > VERSION) {
+                throw new IOException("Unsupported broadcast envelope version: "
+                        + (bytes.length < 2 ? "missing" : bytes[1]));
+            }
+            try (JsonParser parser = smileMapper.createParser(bytes, 2, bytes.length - 2)) {
+                return read(smileMapper, parser);
+            }
+        }
+        try (JsonParser parser = jsonMapper.createParser(bytes)) {
+            return read(jsonMapper, parser);
+        }
+    }
+
+    static String payloadTypeOf(Object payload) {
+        return payload == null ? null : PAYLOAD_TYPE_NAMES.get(payload.getClass());
+    }
+
+    private static void write(ObjectMapper mapper, OutputStream out, ChatBroadcastEvent event, boolean binary)
+            throws IOException {
+        try (JsonGenerator gen = mapper.createGenerator(out)) {
+            gen.writeStartObject();
+            gen.writeStringField("eventType", event.getEventType());
+            gen.writeStringField("roomId", event.getRoomId());
+            gen.writeStringField("socketEvent", event.getSocketEvent());
+            if (event.getPublishedAt() != null) {
+                gen.writeNumberField("publishedAt", event.getPublishedAt());
+            }
+            if (event.getOriginNodeId() != null) {
+                gen.writeStringField("originNodeId", event.getOriginNodeId());
+            }
+            if (event.getStreamId() != null) {
+                gen.writeStringField("streamId", event.getStreamId());
+            }
+            if (event.getStreamSeq() != null) {
+                gen.writeNumberField("streamSeq", event.getStreamSeq());
+            }
+            String payloadType = payloadTypeOf(event.getPayload());
+            if (payloadType != null) {
+                gen.writeStringField("payloadType", payloadType);
+            }
+            if (binary && event.getPayload() instanceof EncodedPayload encoded) {
+                gen.writeFieldName("payloadJson");
+                gen.writeBinary(encoded.bytes());
+            } else {
+                // JSON 모드에서는 EncodedPayload가 원래 JSON 그대로 기록됨 (구버전 노드 호환)
+                gen.writeFieldName("payload");
+                mapper.writeValue(gen, event.getPayload());
+            }
+            gen.writeEndObject();
+        }
+    }
+
+    private static ChatBroadcastEvent read(ObjectMapper mapper, JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new IOException("Broadcast event must be an object");
+        }
+        ChatBroadcastEvent event = new ChatBroadcastEvent();
+        Class<?> payloadClass = Object.class;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            boolean isNull = value == JsonToken.VALUE_NULL;
+            switch (field) {
+                case "eventType" -> event.setEventType(isNull ? null : parser.getText());
+                case "roomId" -> event.setRoomId(isNull ? null : parser.getText());
+                case "socketEvent" -> event.setSocketEvent(isNull ? null : parser.getText());
+                case "publishedAt" -> event.setPublishedAt(isNull ? null : parser.getLongValue());
+                case "originNodeId" -> event.setOriginNodeId(isNull ? null : parser.getText());
+                case "streamId" -> event.setStreamId(isNull ? null : parser.getText());
+                case "streamSeq" -> event.setStreamSeq(isNull ? null : parser.getLongValue());
+                // 모르는 식별자는 Map으로 처리 (신버전 노드가 새 타입을 보낸 경우)
+                case "payloadType" -> payloadClass = isNull
+                        ? Object.class
+                        : PAYLOAD_TYPES.getOrDefault(parser.getText(), Object.class);
+                case "payload" -> event.setPayload(isNull ? null : mapper.readValue(parser, payloadClass));
+                case "payloadJson" -> event.setPayload(isNull ? null : new EncodedPayload(parser.getBinaryValue()));
+                default -> parser.skipChildren();
+            }
+        }
+        return event;
+    }
+}
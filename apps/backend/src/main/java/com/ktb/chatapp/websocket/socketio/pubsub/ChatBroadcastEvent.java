@@ -43,6 +43,7 @@ public class ChatBroadcastEvent {
      * - MESSAGES_READ: 읽음 상태 업데이트
      * - REACTION_UPDATE: 리액션 변경
      * - AI_MESSAGE_START: AI 응답 시작
+     * - AI_MESSAGE_QUEUED: AI 응답 대기 순번
      * - AI_MESSAGE_CHUNK: AI 응답 청크 (스트리밍)
      * - AI_MESSAGE_COMPLETE: AI 응답 완료
      * - AI_MESSAGE_ERROR: AI 응답 에러
@@ -88,6 +89,33 @@ public class ChatBroadcastEvent {
      */
     private Object payload;
 
+    /**
+     * 발행 시각 (epoch millis)
+     * - 발행 서버에서 설정, 수신 서버에서 publish-to-deliver 지연 측정에 사용
+     * - 서버 간 시계 오차가 그대로 포함되므로 NTP 동기화 전제
+     */
+    private Long publishedAt;
+
+    /**
+     * 발행 노드 ID (NodeIdentity)
+     * - 발행 노드가 자기 로컬 클라이언트에게 이미 직접 전송한 이벤트에만 표시 (스트림 XADD 실패 시 Pub/Sub 대체 발행)
+     *   → 그 노드는 Redis로 돌아온 이벤트를 무시
+     * - 없으면 모든 노드가 전송 (일반 Pub/Sub 브로드캐스트)
+     */
+    private String originNodeId;
+
+    /**
+     * 순번이 있는 스트림 ID (AI 응답의 messageId)
+     * - AI_MESSAGE_* 이벤트에만 설정, 그 외에는 null
+     */
+    private String streamId;
+
+    /**
+     * 스트림 내 순번 (시작 0, 청크 1부터, 완료/에러는 null)
+     * - 수신 서버는 같은 streamId의 순번이 건너뛰면 누락으로 집계
+     */
+    private Long streamSeq;
+
     /**
      * 이벤트 타입 상수들
      * - 타입 안전성을 위해 상수로 정의
@@ -98,6 +126,7 @@ public class ChatBroadcastEvent {
     public static final String TYPE_MESSAGES_READ = "MESSAGES_READ";
     public static final String TYPE_REACTION_UPDATE = "REACTION_UPDATE";
     public static final String TYPE_AI_MESSAGE_START = "AI_MESSAGE_START";
+    public static final String TYPE_AI_MESSAGE_QUEUED = "AI_MESSAGE_QUEUED";
     public static final String TYPE_AI_MESSAGE_CHUNK = "AI_MESSAGE_CHUNK";
     public static final String TYPE_AI_MESSAGE_COMPLETE = "AI_MESSAGE_COMPLETE";
     public static final String TYPE_AI_MESSAGE_ERROR = "AI_MESSAGE_ERROR";
@@ -1,10 +1,26 @@
 package com.ktb.chatapp.websocket.socketio.pubsub;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.ktb.chatapp.config.RedisPubSubConfig;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Component;
 
@@ -13,7 +29,7 @@ import org.springframework.stereotype.Component;
  *
  * [역할]
  * - 채팅 이벤트를 Redis 채널에 발행 (PUBLISH)
- * - 발행된 메시지는 모든 구독 서버에게 전달됨
+ * - 발행된 메시지는 해당 채널을 구독 중인 서버에게 전달됨
  *
  * [사용 시점]
  * - 새 메시지 전송 시
@@ -24,14 +40,104 @@ import org.springframework.stereotype.Component;
  *
  * [흐름]
  * ChatMessageHandler → RedisMessagePublisher.publish() → Redis → 모든 서버의 Subscriber
+ *
+ * [발행 묶음 처리 (pipelining)]
+ * - 기존: 이벤트마다 PUBLISH 한 번 = Redis 왕복 한 번 + 커넥션 풀 경합
+ * - 변경: 호출 스레드는 직렬화 후 bounded queue에 적재만 하고 바로 반환
+ *   전용 스레드가 batch-window 또는 batch-size 중 먼저 도달한 기준으로 모아 파이프라인 한 번으로 PUBLISH
+ * - 전용 스레드 하나가 큐 순서대로 발행하므로 이 노드에서 발행한 이벤트 순서는 유지됨
+ * - backpressure: 큐가 가득 차면 자리가 날 때까지 호출 스레드를 막는다 (최대 offer-timeout, 기본 2s)
+ *   그래도 가득 차 있으면 조용히 버리지 않고 예외를 던져 핸들러가 클라이언트에게 오류를 보내게 한다
+ *   (호출 스레드에서 직접 발행하면 큐에 먼저 들어온 이벤트를 앞질러 노드 내 순서가 깨지므로)
+ * - 종료 중: 전용 스레드가 끝날 때까지 기다린 뒤 큐에 남은 이벤트 다음에 이어서 발행 (순서 유지)
+ * - batch-window=0이면 묶지 않고 호출 스레드에서 바로 발행 (기존 동작)
  */
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class RedisMessagePublisher {
 
     private final RedisTemplate<String, String> redisTemplate;
-    private final ObjectMapper objectMapper;
+    private final ChatBroadcastCodec chatBroadcastCodec;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * 채팅방 이벤트를 방 단위 채널(chat:room:{roomId})로 발행할지 여부
+     * - 클러스터 전체가 같은 값을 사용해야 함
+     */
+    private final boolean roomChannels;
+
+    private final int batchSize;
+    private final Duration batchWindow;
+    private final Duration offerTimeout;
+    private final boolean batching;
+
+    private final BlockingQueue<PendingPublish> queue;
+
+    private final ExecutorService flusher =
+            Executors.newSingleThreadExecutor(r -> {
+                Thread t = new Thread(r, "redis-publish-flusher");
+                t.setDaemon(true);
+                return t;
+            });
+
+    private volatile boolean running = true;
+
+    private DistributionSummary batchSizeSummary;
+    private Timer flushTimer;
+    private Counter failureCounter;
+    private Counter rejectedCounter;
+
+    public RedisMessagePublisher(
+            RedisTemplate<String, String> redisTemplate,
+            ChatBroadcastCodec chatBroadcastCodec,
+            MeterRegistry meterRegistry,
+            @Value("${chat.pubsub.room-channels:true}") boolean roomChannels,
+            @Value("${chat.pubsub.publish.queue-capacity:20000}") int queueCapacity,
+            @Value("${chat.pubsub.publish.batch-size:256}") int batchSize,
+            @Value("${chat.pubsub.publish.batch-window:1ms}") Duration batchWindow,
+            @Value("${chat.pubsub.publish.offer-timeout:2s}") Duration offerTimeout) {
+        this.redisTemplate = redisTemplate;
+        this.chatBroadcastCodec = chatBroadcastCodec;
+        this.meterRegistry = meterRegistry;
+        this.roomChannels = roomChannels;
+        this.queue = new LinkedBlockingQueue<>(Math.max(1, queueCapacity));
+        this.batchSize = Math.max(1, batchSize);
+        this.batchWindow = batchWindow;
+        this.offerTimeout = offerTimeout;
+        this.batching = !batchWindow.isZero() && !batchWindow.isNegative();
+    }
+
+    @PostConstruct
+    void init() {
+        Gauge.builder("chat.pubsub.publish.queue.depth", queue, BlockingQueue::size)
+                .description("Bus events waiting to be published")
+                .register(meterRegistry);
+        batchSizeSummary = DistributionSummary.builder("chat.pubsub.publish.batch.size")
+                .description("Bus events published per pipeline flush")
+                .register(meterRegistry);
+        flushTimer = Timer.builder("chat.pubsub.publish.flush.time")
+                .description("Pipelined PUBLISH latency")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        failureCounter = Counter.builder("chat.pubsub.publish.failures")
+                .description("Bus events that could not be published")
+                .register(meterRegistry);
+        rejectedCounter = Counter.builder("chat.pubsub.publish.rejected")
+                .description("Bus events rejected to the caller because the publish queue stayed full")
+                .register(meterRegistry);
+
+        if (batching) {
+            flusher.execute(this::flushLoop);
+            log.info("Redis publish batching started - batchSize: {}, window: {}", batchSize, batchWindow);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        running = false;
+        flusher.shutdown();
+        drainAfterShutdown(null);
+    }
 
     /**
      * 채팅 이벤트를 Redis에 발행
@@ -39,9 +145,10 @@ public class RedisMessagePublisher {
      * @param event 발행할 이벤트 (ChatBroadcastEvent)
      *
      * [동작]
-     * 1. ChatBroadcastEvent를 JSON으로 직렬화
-     * 2. Redis "chat:messages" 채널에 PUBLISH
-     * 3. 모든 구독 서버가 이 메시지를 수신
+     * 1. ChatBroadcastEvent를 바이너리 envelope(Smile)로 직렬화 (ChatBroadcastCodec, 호출 스레드)
+     * 2. 채팅방 이벤트는 "chat:room:{roomId}", 그 외(room-list 등)는 "chat:messages" 채널로 지정
+     * 3. 발행 큐에 적재 → 전용 스레드가 모아서 파이프라인으로 PUBLISH
+     * 4. 해당 채널을 구독 중인 서버(= 그 방에 소켓이 있는 서버)만 수신
      *
      * [예시]
      * 서버1에서 유저A가 메시지 전송:
@@ -50,18 +157,141 @@ public class RedisMessagePublisher {
      *   roomId: "room123",
      *   payload: {...메시지 데이터...}
      * })
-     * → Redis PUBLISH "chat:messages" "{...JSON...}"
-     * → 서버1, 서버2, ..., 서버10 모두 수신
+     * → Redis PUBLISH "chat:room:room123" <envelope bytes>
+     * → room123에 소켓이 있는 서버만 수신
+     *
+     * @throws IllegalStateException 발행 큐가 offer-timeout 동안 가득 차 있었거나 대기 중 인터럽트된 경우
      */
     public void publish(ChatBroadcastEvent event) {
+        byte[] message;
         try {
-            String message = objectMapper.writeValueAsString(event);
-            redisTemplate.convertAndSend(RedisPubSubConfig.CHAT_CHANNEL, message);
-
-            log.debug("Redis Pub/Sub 메시지 발행 - type: {}, room: {}",
-                    event.getEventType(), event.getRoomId());
-        } catch (JsonProcessingException e) {
+            message = chatBroadcastCodec.encode(event);
+        } catch (IOException e) {
             log.error("Redis 메시지 직렬화 실패 - eventType: {}", event.getEventType(), e);
+            return;
+        }
+
+        String channel = roomChannels
+                ? RedisPubSubConfig.channelFor(event.getRoomId())
+                : RedisPubSubConfig.CHAT_CHANNEL;
+        PendingPublish pending = new PendingPublish(channel.getBytes(StandardCharsets.UTF_8), message);
+
+        if (!batching) {
+            flush(List.of(pending));
+        } else if (!running) {
+            drainAfterShutdown(pending);
+        } else if (enqueue(pending)) {
+            if (!running) {
+                // 종료와 교차해 전용 스레드가 이미 끝났을 수 있으므로 남은 큐를 직접 비운다
+                drainAfterShutdown(null);
+            }
+        } else {
+            rejectedCounter.increment();
+            log.warn("Redis publish queue full - rejecting event - type: {}, room: {}, waited: {}",
+                    event.getEventType(), event.getRoomId(), offerTimeout);
+            throw new IllegalStateException("메시지 전송이 지연되고 있습니다. 잠시 후 다시 시도해주세요.");
+        }
+
+        log.debug("Redis Pub/Sub 메시지 발행 - type: {}, room: {}, bytes: {}",
+                event.getEventType(), event.getRoomId(), message.length);
+    }
+
+    private boolean enqueue(PendingPublish pending) {
+        if (queue.offer(pending)) {
+            return true;
+        }
+        try {
+            return queue.offer(pending, offerTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * 전용 스레드가 끝난 뒤 큐에 남은 이벤트를 순서대로 발행하고, 이어서 pending을 발행한다.
+     */
+    private void drainAfterShutdown(PendingPublish pending) {
+        try {
+            if (!flusher.awaitTermination(5, TimeUnit.SECONDS)) {
+                log.warn("Redis publish flusher did not stop in time - remaining: {}", queue.size());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (queue) {
+            List<PendingPublish> remaining = new ArrayList<>();
+            queue.drainTo(remaining);
+            if (pending != null) {
+                remaining.add(pending);
+            }
+            if (!remaining.isEmpty()) {
+                flush(remaining);
+            }
         }
     }
+
+    private void flushLoop() {
+        List<PendingPublish> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingPublish first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+
+                // 첫 이벤트 기준 batch-window 동안 batch-size까지 모은다
+                long deadline = System.nanoTime() + batchWindow.toNanos();
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) {
+                        break;
+                    }
+                    PendingPublish next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("Redis publish loop error", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<PendingPublish> batch) {
+        batchSizeSummary.record(batch.size());
+        long start = System.nanoTime();
+        try {
+            if (batch.size() == 1) {
+                PendingPublish single = batch.get(0);
+                redisTemplate.execute((RedisCallback<Long>) connection ->
+                        connection.publish(single.channel(), single.message()));
+            } else {
+                redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                    for (PendingPublish pending : batch) {
+                        connection.publish(pending.channel(), pending.message());
+                    }
+                    return null;
+                });
+            }
+        } catch (Exception e) {
+            failureCounter.increment(batch.size());
+            log.error("Redis 메시지 발행 실패 - events: {}", batch.size(), e);
+        } finally {
+            flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private record PendingPublish(byte[] channel, byte[] message) {
+    }
 }
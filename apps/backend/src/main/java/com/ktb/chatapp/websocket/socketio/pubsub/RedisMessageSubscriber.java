@@ -1,10 +1,17 @@
 package com.ktb.chatapp.websocket.socketio.pubsub;
 
-import com.corundumstudio.socketio.SocketIOServer;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ktb.chatapp.config.NodeIdentity;
+import com.ktb.chatapp.config.RedisPubSubConfig;
+import com.ktb.chatapp.websocket.socketio.broadcast.RoomFanout;
+import com.ktb.chatapp.websocket.socketio.metrics.ChatMessageMetrics;
+import com.ktb.chatapp.websocket.socketio.metrics.ChatMessageMetrics.Stage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.nio.charset.StandardCharsets;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
-import org.springframework.context.annotation.Lazy;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
 import org.springframework.stereotype.Component;
 
 /**
@@ -32,25 +39,45 @@ import org.springframework.stereotype.Component;
 @Slf4j
 @Component
 @ConditionalOnProperty(name = "socketio.enabled", havingValue = "true", matchIfMissing = true)
-public class RedisMessageSubscriber {
+public class RedisMessageSubscriber implements MessageListener {
 
     /**
-     * Socket.IO 서버 - 이 서버에 연결된 클라이언트들에게 메시지 전송
-     * - 10대 서버 각각이 자신만의 SocketIOServer 인스턴스를 가짐
-     * - 각 서버는 자신에게 연결된 클라이언트에게만 전송 가능
-     *
-     * [@Lazy 사용 이유]
-     * SpringAnnotationScanner가 BeanPostProcessor로서 모든 Bean 생성 시 @OnEvent 핸들러를 스캔함.
-     * 이 과정에서 SocketIOServer가 아직 생성 중인데 다시 요청되어 순환 참조 발생.
-     * @Lazy로 프록시를 주입받아 실제 사용 시점까지 초기화를 지연시킴.
+     * 이 서버에 연결된 방 클라이언트에게 전송 (payload는 한 번만 인코딩)
      */
-    private final SocketIOServer socketIOServer;
+    private final RoomFanout roomFanout;
+
+    private final ChatBroadcastCodec chatBroadcastCodec;
+
+    private final ChatMessageMetrics chatMessageMetrics;
+
+    private final NodeIdentity nodeIdentity;
+
+    /** 방 단위 순서를 유지하며 방끼리는 병렬로 전달 */
+    private final SubscriberDispatchPool subscriberDispatchPool;
 
-    private final ObjectMapper objectMapper;
+    /** 다른 서버에서 온 AI 스트림 이벤트의 누락 감지 */
+    private final AiStreamSequenceTracker aiStreamSequenceTracker;
 
-    public RedisMessageSubscriber(@Lazy SocketIOServer socketIOServer, ObjectMapper objectMapper) {
-        this.socketIOServer = socketIOServer;
-        this.objectMapper = objectMapper;
+    /** 발행 노드에서 이미 전송해 건너뛴 자기 이벤트 수 */
+    private final Counter ownEventsSkipped;
+
+    public RedisMessageSubscriber(
+            RoomFanout roomFanout,
+            ChatBroadcastCodec chatBroadcastCodec,
+            ChatMessageMetrics chatMessageMetrics,
+            NodeIdentity nodeIdentity,
+            SubscriberDispatchPool subscriberDispatchPool,
+            AiStreamSequenceTracker aiStreamSequenceTracker,
+            MeterRegistry meterRegistry) {
+        this.roomFanout = roomFanout;
+        this.chatBroadcastCodec = chatBroadcastCodec;
+        this.chatMessageMetrics = chatMessageMetrics;
+        this.nodeIdentity = nodeIdentity;
+        this.subscriberDispatchPool = subscriberDispatchPool;
+        this.aiStreamSequenceTracker = aiStreamSequenceTracker;
+        this.ownEventsSkipped = Counter.builder("chat.pubsub.origin.skipped")
+                .description("Bus events skipped because this node already delivered them locally")
+                .register(meterRegistry);
     }
 
     /**
@@ -60,28 +87,68 @@ public class RedisMessageSubscriber {
      * - 다른 서버(또는 자기 자신)가 Redis에 PUBLISH할 때
      * - Spring의 RedisMessageListenerContainer가 자동으로 이 메서드 호출
      *
-     * @param message Redis에서 수신한 JSON 문자열
+     * @param message Redis에서 수신한 메시지 (바이너리 envelope 또는 구버전 노드의 JSON)
+     * @param pattern 패턴 구독인 경우 매칭된 패턴 (사용하지 않음)
      *
      * [처리 과정]
-     * 1. JSON을 ChatBroadcastEvent로 역직렬화
-     * 2. eventType에 따라 적절한 Socket.IO 이벤트 발송
-     * 3. roomId에 해당하는 Room의 클라이언트들만 수신
+     * 1. 수신(Lettuce I/O) 스레드에서는 디코딩 없이 SubscriberDispatchPool에 넘기고 바로 반환
+     *    - chat:room:{roomId} 채널이면 채널 이름에서 roomId 추출
+     *    - 전역 채널(chat:messages)이면 채널 이름을 키로 넘기고, stripe에서 디코딩해 roomId를 확인한 뒤
+     *      방 키로 다시 넘긴다 (전역 채널 stripe가 수신 순서대로 넘기므로 방 단위 순서 유지)
+     * 2. stripe 스레드에서 ChatBroadcastCodec으로 ChatBroadcastEvent 역직렬화
+     *    (v2 envelope: 발행 노드가 인코딩한 JSON 바이트를 EncodedPayload로 그대로 사용)
+     * 3. 이 서버가 이미 로컬 전송하고 발행한 이벤트(originNodeId 일치, 스트림 대체 발행)는 무시
+     * 4. AI 스트림 이벤트(streamId)는 순번을 확인해 누락 집계
+     * 5. roomId에 해당하는 Room의 이 서버 클라이언트들에게 전송
      */
-    public void onMessage(String message) {
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String channel = new String(message.getChannel(), StandardCharsets.UTF_8);
         try {
-            ChatBroadcastEvent event = objectMapper.readValue(message, ChatBroadcastEvent.class);
-
-            log.debug("Redis 메시지 수신 - type: {}, room: {}, socketEvent: {}",
-                    event.getEventType(), event.getRoomId(), event.getSocketEvent());
+            if (channel.startsWith(RedisPubSubConfig.ROOM_CHANNEL_PREFIX)) {
+                String roomId = channel.substring(RedisPubSubConfig.ROOM_CHANNEL_PREFIX.length());
+                subscriberDispatchPool.execute(roomId, () -> handle(channel, message.getBody()));
+                return;
+            }
+            subscriberDispatchPool.execute(channel, () -> route(channel, message.getBody()));
+        } catch (Exception e) {
+            log.error("Redis 메시지 처리 실패 - channel: {}, bytes: {}", channel, message.getBody().length, e);
+        }
+    }
 
-            // Socket.IO Room에 이벤트 브로드캐스트
-            // - roomId에 join한 클라이언트들에게만 전송됨
-            // - 이 서버에 연결되지 않은 클라이언트는 다른 서버에서 처리
-            socketIOServer.getRoomOperations(event.getRoomId())
-                    .sendEvent(event.getSocketEvent(), event.getPayload());
+    private void route(String channel, byte[] body) {
+        try {
+            ChatBroadcastEvent event = chatBroadcastCodec.decode(body);
+            subscriberDispatchPool.execute(event.getRoomId(), () -> deliver(event));
+        } catch (Exception e) {
+            log.error("Redis 메시지 처리 실패 - channel: {}, bytes: {}", channel, body.length, e);
+        }
+    }
 
+    private void handle(String channel, byte[] body) {
+        try {
+            deliver(chatBroadcastCodec.decode(body));
         } catch (Exception e) {
-            log.error("Redis 메시지 처리 실패 - message: {}", message, e);
+            log.error("Redis 메시지 처리 실패 - channel: {}, bytes: {}", channel, body.length, e);
         }
     }
+
+    private void deliver(ChatBroadcastEvent event) {
+        if (nodeIdentity.getId().equals(event.getOriginNodeId())) {
+            ownEventsSkipped.increment();
+            return;
+        }
+        aiStreamSequenceTracker.track(event);
+
+        log.debug("Redis 메시지 수신 - type: {}, room: {}, socketEvent: {}",
+                event.getEventType(), event.getRoomId(), event.getSocketEvent());
+
+        // Socket.IO Room에 이벤트 브로드캐스트
+        // - roomId에 join한 클라이언트들에게만 전송됨
+        // - 이 서버에 연결되지 않은 클라이언트는 다른 서버에서 처리
+        long fanoutStart = System.nanoTime();
+        roomFanout.sendToRoom(event.getRoomId(), event.getSocketEvent(), event.getPayload());
+        chatMessageMetrics.recordStage(Stage.FANOUT, fanoutStart);
+        chatMessageMetrics.recordPublishToDeliver(event.getEventType(), event.getPublishedAt());
+    }
 }
@@ -0,0 +1,190 @@
+package com.ktb.chatapp.websocket.socketio.pubsub;
+
+import com.ktb.chatapp.config.RedisPubSubConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.listener.adapter.MessageListenerAdapter;
+import org.springframework.stereotype.Component;
+
+/**
+ * 채팅방 채널 구독 관리 (room interest 기반 동적 SUBSCRIBE/UNSUBSCRIBE).
+ *
+ * [왜 필요한가?]
+ * - 전역 채널 하나(chat:messages)만 쓰면 모든 서버가 클러스터 전체 이벤트를 수신
+ * - 해당 방에 소켓이 하나도 없는 서버도 매번 역직렬화 + Room 조회
+ * - 서버 10대면 서버당 수신량이 O(클러스터 전체)
+ *
+ * [동작 방식]
+ * 1. 채팅방 이벤트는 chat:room:{roomId} 채널로 발행 (RedisMessagePublisher)
+ * 2. 이 서버의 소켓이 방에 들어오면 참조 카운트 증가, 0 → 1일 때 SUBSCRIBE
+ * 3. 소켓이 방을 나가거나 연결이 끊기면 감소, 1 → 0일 때 UNSUBSCRIBE
+ * 4. 카운트 변경은 ConcurrentHashMap.compute 안에서 원자적으로 결정하고,
+ *    Redis SUBSCRIBE/UNSUBSCRIBE I/O는 compute 밖에서 방 단위 락으로 직렬화해 수행
+ *    (I/O가 맵 bin 락을 잡고 있으면 같은 bin의 다른 방 입장/퇴장까지 막히므로)
+ *    방 단위 락은 ReentrantLock: synchronized 안에서 Redis I/O를 기다리면 가상 스레드가
+ *    carrier 스레드에 고정되므로
+ *
+ * 결과: 서버당 수신량이 O(로컬에 소켓이 있는 방의 이벤트)로 감소.
+ * room-list, user:{id} 같은 전역 대상은 기존 chat:messages 채널을 그대로 사용한다.
+ *
+ * [주의]
+ * - chat.pubsub.room-channels 값은 클러스터 전체가 같아야 함 (발행/구독 채널이 일치해야 하므로)
+ * - SUBSCRIBE 완료 전 아주 짧은 구간의 이벤트는 이 서버에 오지 않을 수 있음
+ *   (입장 직후 메시지 히스토리 로드로 보완)
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "socketio.enabled", havingValue = "true", matchIfMissing = true)
+public class RoomChannelSubscriptions {
+
+    private static final int IO_LOCK_STRIPES = 64;
+
+    private final RedisMessageListenerContainer listenerContainer;
+    private final MessageListenerAdapter listenerAdapter;
+    private final boolean enabled;
+
+    /** roomId → 이 서버에서 해당 방에 들어와 있는 소켓 */
+    private final ConcurrentHashMap<String, Set<UUID>> roomSockets = new ConcurrentHashMap<>();
+    /** socketId → 들어가 있는 방 (disconnect 시 일괄 정리용) */
+    private final ConcurrentHashMap<UUID, Set<String>> socketRooms = new ConcurrentHashMap<>();
+    /** 실제로 Redis 구독이 열려 있는 방 (ioLocks 아래에서만 변경) */
+    private final Set<String> subscribedRooms = ConcurrentHashMap.newKeySet();
+    /** 방 단위 SUBSCRIBE/UNSUBSCRIBE 직렬화용 락 (roomId 해시로 스트라이핑) */
+    private final ReentrantLock[] ioLocks = new ReentrantLock[IO_LOCK_STRIPES];
+
+    private final Counter subscribeCounter;
+    private final Counter unsubscribeCounter;
+
+    public RoomChannelSubscriptions(
+            RedisMessageListenerContainer listenerContainer,
+            MessageListenerAdapter listenerAdapter,
+            MeterRegistry meterRegistry,
+            @Value("${chat.pubsub.room-channels:true}") boolean enabled) {
+        this.listenerContainer = listenerContainer;
+        this.listenerAdapter = listenerAdapter;
+        this.enabled = enabled;
+        for (int i = 0; i < ioLocks.length; i++) {
+            ioLocks[i] = new ReentrantLock();
+        }
+        Gauge.builder("chat.pubsub.room.subscriptions", subscribedRooms, Set::size)
+                .description("Room channels this node is subscribed to")
+                .register(meterRegistry);
+        this.subscribeCounter = Counter.builder("chat.pubsub.room.subscription.changes")
+                .tag("action", "subscribe")
+                .register(meterRegistry);
+        this.unsubscribeCounter = Counter.builder("chat.pubsub.room.subscription.changes")
+                .tag("action", "unsubscribe")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 소켓이 방에 입장 (client.joinRoom 전에 호출해 구독을 먼저 연다)
+     */
+    public void join(String roomId, UUID socketId) {
+        if (!enabled || !RedisPubSubConfig.isRoomScoped(roomId)) {
+            return;
+        }
+        socketRooms.computeIfAbsent(socketId, k -> ConcurrentHashMap.newKeySet()).add(roomId);
+        roomSockets.compute(roomId, (id, sockets) -> {
+            if (sockets == null) {
+                sockets = new HashSet<>();
+            }
+            sockets.add(socketId);
+            return sockets;
+        });
+        // 첫 입장이 아니어도 호출: 앞선 입장의 SUBSCRIBE가 진행 중이면 끝날 때까지 기다린다
+        reconcile(roomId);
+    }
+
+    /**
+     * 소켓이 방에서 퇴장
+     */
+    public void leave(String roomId, UUID socketId) {
+        if (!enabled || !RedisPubSubConfig.isRoomScoped(roomId)) {
+            return;
+        }
+        Set<String> rooms = socketRooms.get(socketId);
+        if (rooms != null) {
+            rooms.remove(roomId);
+        }
+        release(roomId, socketId);
+    }
+
+    /**
+     * 연결 종료 - 소켓이 들어가 있던 모든 방에서 퇴장
+     */
+    public void leaveAll(UUID socketId) {
+        Set<String> rooms = socketRooms.remove(socketId);
+        if (rooms == null) {
+            return;
+        }
+        rooms.forEach(roomId -> release(roomId, socketId));
+    }
+
+    private void release(String roomId, UUID socketId) {
+        boolean[] emptied = {false};
+        roomSockets.computeIfPresent(roomId, (id, sockets) -> {
+            sockets.remove(socketId);
+            if (sockets.isEmpty()) {
+                emptied[0] = true;
+                return null;
+            }
+            return sockets;
+        });
+        if (emptied[0]) {
+            reconcile(roomId);
+        }
+    }
+
+    /**
+     * 현재 소켓 유무(roomSockets)에 맞춰 Redis 구독 상태를 맞춘다.
+     * 락 안에서 상태를 다시 읽으므로 입장/퇴장이 교차해도 마지막 상태로 수렴한다.
+     */
+    private void reconcile(String roomId) {
+        ReentrantLock ioLock = ioLocks[Math.floorMod(roomId.hashCode(), ioLocks.length)];
+        ioLock.lock();
+        try {
+            boolean wanted = roomSockets.containsKey(roomId);
+            if (wanted == subscribedRooms.contains(roomId)) {
+                return;
+            }
+            if (wanted) {
+                subscribe(roomId);
+            } else {
+                unsubscribe(roomId);
+            }
+        } finally {
+            ioLock.unlock();
+        }
+    }
+
+    private void subscribe(String roomId) {
+        listenerContainer.addMessageListener(listenerAdapter, new ChannelTopic(RedisPubSubConfig.channelFor(roomId)));
+        subscribedRooms.add(roomId);
+        subscribeCounter.increment();
+        log.debug("Room channel subscribed - room: {}", roomId);
+    }
+
+    private void unsubscribe(String roomId) {
+        // 실패해도 구독 해제로 간주: 로컬 소켓이 없으므로 전송 대상이 없을 뿐이고, 재입장 시 다시 SUBSCRIBE
+        subscribedRooms.remove(roomId);
+        try {
+            listenerContainer.removeMessageListener(listenerAdapter, new ChannelTopic(RedisPubSubConfig.channelFor(roomId)));
+            unsubscribeCounter.increment();
+            log.debug("Room channel unsubscribed - room: {}", roomId);
+        } catch (Exception e) {
+            log.warn("Room channel unsubscribe failed - room: {}", roomId, e);
+        }
+    }
+}
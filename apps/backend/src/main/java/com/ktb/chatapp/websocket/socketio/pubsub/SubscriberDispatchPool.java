@@ -0,0 +1,152 @@
+package com.ktb.chatapp.websocket.socketio.pubsub;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Redis 수신 이벤트 전달용 striped executor.
+ *
+ * [왜 필요한가?]
+ * - 기존: RedisMessageListenerContainer 기본 executor(SimpleAsyncTaskExecutor)가 메시지마다 새 스레드 생성
+ *   → 같은 방 이벤트도 순서가 뒤바뀔 수 있고, 스레드 수에 상한이 없음
+ *
+ * [동작 방식]
+ * - stripe(전용 스레드 + bounded queue) N개, 키(roomId) 해시로 stripe 선택
+ *   → 같은 방은 항상 같은 stripe에서 순서대로 처리, 다른 방은 병렬 처리
+ *   → 트래픽이 몰린 방이 있어도 같은 stripe를 쓰는 방(1/N)만 영향
+ * - 큐가 가득 차면 기다리지 않고 바로 버림
+ *   (execute는 Redis 수신(Lettuce I/O) 스레드에서 호출되므로, 잠깐이라도 막으면 같은 커넥션의 모든 구독이 멈춤)
+ *
+ * [메트릭]
+ * - chat.pubsub.dispatch.queue.depth (stripe 태그)
+ * - chat.pubsub.dispatch.lag: 수신 → 처리 시작까지 대기 시간
+ * - chat.pubsub.dispatch.dropped
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "socketio.enabled", havingValue = "true", matchIfMissing = true)
+public class SubscriberDispatchPool {
+
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+
+    private final Stripe[] stripes;
+
+    private final Timer lagTimer;
+    private final Counter droppedCounter;
+
+    private volatile boolean running = true;
+
+    public SubscriberDispatchPool(
+            MeterRegistry meterRegistry,
+            @Value("${chat.pubsub.dispatch.enabled:true}") boolean enabled,
+            @Value("${chat.pubsub.dispatch.stripes:0}") int stripes,
+            @Value("${chat.pubsub.dispatch.queue-capacity:10000}") int queueCapacity) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+
+        int count = stripes > 0 ? stripes : Runtime.getRuntime().availableProcessors();
+        this.stripes = new Stripe[enabled ? count : 0];
+        for (int i = 0; i < this.stripes.length; i++) {
+            this.stripes[i] = new Stripe(i, Math.max(1, queueCapacity));
+        }
+
+        this.lagTimer = Timer.builder("chat.pubsub.dispatch.lag")
+                .description("Time bus events wait in the subscriber dispatch queue")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("chat.pubsub.dispatch.dropped")
+                .description("Bus events dropped because a dispatch stripe stayed full")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void init() {
+        for (Stripe stripe : stripes) {
+            Gauge.builder("chat.pubsub.dispatch.queue.depth", stripe.queue, BlockingQueue::size)
+                    .description("Bus events waiting per dispatch stripe")
+                    .tag("stripe", String.valueOf(stripe.index))
+                    .register(meterRegistry);
+            stripe.thread.start();
+        }
+        if (enabled) {
+            log.info("Subscriber dispatch pool started - stripes: {}", stripes.length);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        running = false;
+        for (Stripe stripe : stripes) {
+            stripe.thread.interrupt();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * key가 같은 작업은 제출 순서대로 실행한다. 호출 스레드를 막지 않는다.
+     *
+     * @return 수락 여부 (stripe가 가득 차면 false, 비활성화 시 호출 스레드에서 바로 실행)
+     */
+    public boolean execute(String key, Runnable task) {
+        if (!enabled) {
+            task.run();
+            return true;
+        }
+        Stripe stripe = stripes[Math.floorMod(key != null ? key.hashCode() : 0, stripes.length)];
+        if (stripe.queue.offer(new Task(task, System.nanoTime()))) {
+            return true;
+        }
+        droppedCounter.increment();
+        log.warn("Subscriber dispatch stripe {} full - dropping event for key: {}", stripe.index, key);
+        return false;
+    }
+
+    private record Task(Runnable runnable, long enqueuedAt) {
+    }
+
+    private final class Stripe {
+
+        private final int index;
+        private final BlockingQueue<Task> queue;
+        private final Thread thread;
+
+        private Stripe(int index, int capacity) {
+            this.index = index;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+            this.thread = new Thread(this::run, "pubsub-dispatch-" + index);
+            this.thread.setDaemon(true);
+        }
+
+        private void run() {
+            while (running) {
+                Task task;
+                try {
+                    task = queue.take();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                lagTimer.record(System.nanoTime() - task.enqueuedAt(), TimeUnit.NANOSECONDS);
+                try {
+                    task.runnable().run();
+                } catch (Throwable t) {
+                    log.error("Subscriber dispatch task failed - stripe: {}", index, t);
+                }
+            }
+        }
+    }
+}
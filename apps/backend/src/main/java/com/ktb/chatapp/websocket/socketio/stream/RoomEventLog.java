@@ -0,0 +1,302 @@
+package com.ktb.chatapp.websocket.socketio.stream;
+
+import com.ktb.chatapp.websocket.socketio.pubsub.ChatBroadcastCodec;
+import com.ktb.chatapp.websocket.socketio.pubsub.ChatBroadcastEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledFuture;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.Limit;
+import org.springframework.data.redis.connection.RedisStreamCommands.XAddOptions;
+import org.springframework.data.redis.connection.stream.ByteRecord;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+/**
+ * Redis Streams 기반 방 이벤트 로그 (chat.broadcast.type=stream).
+ *
+ * [왜 필요한가?]
+ * - Pub/Sub는 fire-and-forget → 네트워크 순단 후 재접속한 클라이언트는 그 사이 이벤트를 놓침
+ * - 지금은 fetchPreviousMessages로 Mongo에서 전체 히스토리를 다시 읽어야 함
+ *
+ * [구조]
+ * - 샤드 스트림 chat:stream:{0..shards-1}, 방은 roomId 해시로 샤드에 고정 (클러스터 전체가 같은 shards 값 사용)
+ * - 레코드 필드: r=roomId, o=발행 노드 ID, e=ChatBroadcastCodec envelope
+ * - 보존: XADD MAXLEN ~ max-length + 주기적인 XTRIM MINID (retention)
+ * - 레코드 ID(스트림 ID)가 곧 클라이언트에게 전달되는 eventId
+ *
+ * [재전송]
+ * - replay(roomId, lastEventId): 샤드에서 lastEventId 이후 레코드를 읽어 해당 방 것만 반환
+ * - 샤드의 가장 오래된 레코드가 lastEventId보다 나중이면 사이가 잘렸을 수 있으므로 complete=false
+ *   (클라이언트는 기존처럼 fetchPreviousMessages로 다시 로드)
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "chat.broadcast.type", havingValue = "stream")
+public class RoomEventLog {
+
+    public static final String STREAM_PREFIX = "chat:stream:";
+
+    static final byte[] FIELD_ROOM = {'r'};
+    static final byte[] FIELD_ORIGIN = {'o'};
+    static final byte[] FIELD_ENVELOPE = {'e'};
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final ChatBroadcastCodec chatBroadcastCodec;
+    private final TaskScheduler taskScheduler;
+
+    private final int shards;
+    private final long maxLength;
+    private final Duration retention;
+    private final int replayLimit;
+    private final int replayScanLimit;
+
+    private final byte[][] shardKeys;
+
+    private final Counter appendFailures;
+    private final Counter replayedEvents;
+    private final Counter replayComplete;
+    private final Counter replayPartial;
+
+    private ScheduledFuture<?> trimTask;
+
+    public RoomEventLog(
+            RedisTemplate<String, String> redisTemplate,
+            ChatBroadcastCodec chatBroadcastCodec,
+            TaskScheduler taskScheduler,
+            MeterRegistry meterRegistry,
+            @Value("${chat.stream.shards:16}") int shards,
+            @Value("${chat.stream.max-length:10000}") long maxLength,
+            @Value("${chat.stream.retention:10m}") Duration retention,
+            @Value("${chat.stream.replay-limit:500}") int replayLimit,
+            @Value("${chat.stream.replay-scan-limit:5000}") int replayScanLimit) {
+        this.redisTemplate = redisTemplate;
+        this.chatBroadcastCodec = chatBroadcastCodec;
+        this.taskScheduler = taskScheduler;
+        this.shards = Math.max(1, shards);
+        this.maxLength = Math.max(1, maxLength);
+        this.retention = retention;
+        this.replayLimit = Math.max(1, replayLimit);
+        this.replayScanLimit = Math.max(this.replayLimit, replayScanLimit);
+
+        this.shardKeys = new byte[this.shards][];
+        for (int i = 0; i < this.shards; i++) {
+            shardKeys[i] = (STREAM_PREFIX + i).getBytes(StandardCharsets.UTF_8);
+        }
+
+        this.appendFailures = Counter.builder("chat.stream.append.failures")
+                .description("Room events that could not be appended to the stream log")
+                .register(meterRegistry);
+        this.replayedEvents = Counter.builder("chat.stream.replay.events")
+                .description("Room events replayed to reconnecting clients")
+                .register(meterRegistry);
+        this.replayComplete = Counter.builder("chat.stream.replay.requests")
+                .tag("result", "complete")
+                .register(meterRegistry);
+        this.replayPartial = Counter.builder("chat.stream.replay.requests")
+                .tag("result", "partial")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void init() {
+        if (!retention.isZero() && !retention.isNegative()) {
+            trimTask = taskScheduler.scheduleWithFixedDelay(this::trimExpired, Duration.ofMinutes(1));
+        }
+        log.info("Room event stream log enabled - shards: {}, maxLength: {}, retention: {}",
+                shards, maxLength, retention);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (trimTask != null) {
+            trimTask.cancel(false);
+        }
+    }
+
+    public int shardCount() {
+        return shards;
+    }
+
+    byte[] shardKey(int shard) {
+        return shardKeys[shard];
+    }
+
+    int shardOf(String roomId) {
+        return Math.floorMod(roomId != null ? roomId.hashCode() : 0, shards);
+    }
+
+    /**
+     * 이벤트를 방의 샤드 스트림에 추가
+     *
+     * @return 레코드 ID (eventId), 실패 시 null
+     */
+    public String append(ChatBroadcastEvent event) {
+        try {
+            Map<byte[], byte[]> fields = new LinkedHashMap<>(4);
+            fields.put(FIELD_ROOM, bytes(event.getRoomId()));
+            if (event.getOriginNodeId() != null) {
+                fields.put(FIELD_ORIGIN, bytes(event.getOriginNodeId()));
+            }
+            fields.put(FIELD_ENVELOPE, chatBroadcastCodec.encode(event));
+
+            MapRecord<byte[], byte[], byte[]> record =
+                    MapRecord.create(shardKeys[shardOf(event.getRoomId())], fields);
+            XAddOptions options = XAddOptions.maxlen(maxLength).approximateTrimming(true);
+            RecordId id = redisTemplate.execute((RedisCallback<RecordId>) connection ->
+                    connection.streamCommands().xAdd(record, options));
+            return id != null ? id.getValue() : null;
+        } catch (IOException e) {
+            appendFailures.increment();
+            log.error("Room event 직렬화 실패 - eventType: {}", event.getEventType(), e);
+        } catch (Exception e) {
+            appendFailures.increment();
+            log.error("Room event stream 추가 실패 - eventType: {}, room: {}",
+                    event.getEventType(), event.getRoomId(), e);
+        }
+        return null;
+    }
+
+    /**
+     * lastEventId 이후 이 방의 이벤트 재전송 목록
+     */
+    public Replay replay(String roomId, String lastEventId) {
+        RecordId after;
+        try {
+            after = RecordId.of(lastEventId);
+            if (!after.shouldBeAutoGenerated()) {
+                // "<ms>-<seq>" 형식이 아니면 여기서 NumberFormatException
+                after.getTimestamp();
+                after.getSequence();
+            }
+        } catch (IllegalArgumentException e) {
+            after = null;
+        }
+        if (after == null || after.shouldBeAutoGenerated()) {
+            replayPartial.increment();
+            return new Replay(List.of(), false, null);
+        }
+        byte[] key = shardKeys[shardOf(roomId)];
+        byte[] room = bytes(roomId);
+
+        List<ReplayedEvent> events = new ArrayList<>();
+        boolean complete = isRetained(key, after);
+        String cursor = after.getValue();
+        int scanned = 0;
+
+        while (complete) {
+            String from = cursor;
+            int batch = Math.min(500, replayScanLimit - scanned);
+            List<ByteRecord> records = redisTemplate.execute((RedisCallback<List<ByteRecord>>) connection ->
+                    connection.streamCommands().xRange(key,
+                            Range.rightUnbounded(Range.Bound.inclusive(from)),
+                            Limit.limit().count(batch)));
+            if (records == null || records.isEmpty()) {
+                break;
+            }
+            for (ByteRecord record : records) {
+                String id = record.getId().getValue();
+                if (id.equals(from)) {
+                    continue;
+                }
+                cursor = id;
+                scanned++;
+                if (!Arrays.equals(room, field(record, FIELD_ROOM))) {
+                    continue;
+                }
+                try {
+                    events.add(new ReplayedEvent(id, chatBroadcastCodec.decode(field(record, FIELD_ENVELOPE))));
+                } catch (IOException e) {
+                    log.warn("Skipping undecodable room event - id: {}, room: {}", id, roomId, e);
+                }
+            }
+            if (events.size() > replayLimit) {
+                // 마지막 배치에서 넘친 만큼 잘라낸다
+                events.subList(replayLimit, events.size()).clear();
+            }
+            if (events.size() >= replayLimit || scanned >= replayScanLimit) {
+                // 남은 레코드가 더 있을 수 있으므로 나머지는 Mongo에서 다시 로드
+                complete = false;
+                break;
+            }
+            if (records.size() < batch) {
+                break;
+            }
+        }
+
+        (complete ? replayComplete : replayPartial).increment();
+        replayedEvents.increment(events.size());
+        String lastId = events.isEmpty() ? lastEventId : events.get(events.size() - 1).eventId();
+        return new Replay(events, complete, lastId);
+    }
+
+    /**
+     * after 바로 다음 레코드부터 스트림에 남아 있는지 확인
+     */
+    boolean isRetained(byte[] key, RecordId after) {
+        List<ByteRecord> first = redisTemplate.execute((RedisCallback<List<ByteRecord>>) connection ->
+                connection.streamCommands().xRange(key, Range.unbounded(), Limit.limit().count(1)));
+        if (first == null || first.isEmpty()) {
+            // 비어 있는 스트림: 보존 기간 안의 ID면 그 사이 이벤트가 없었던 것
+            return retention.isZero() || retention.isNegative()
+                    || after.getTimestamp() >= System.currentTimeMillis() - retention.toMillis();
+        }
+        return compare(first.get(0).getId(), after) <= 0;
+    }
+
+    /**
+     * 보존 기간이 지난 레코드 정리 (XTRIM MINID ~)
+     */
+    void trimExpired() {
+        byte[] minId = bytes((System.currentTimeMillis() - retention.toMillis()) + "-0");
+        for (byte[] key : shardKeys) {
+            try {
+                redisTemplate.execute((RedisCallback<Object>) connection ->
+                        connection.execute("XTRIM", key, bytes("MINID"), bytes("~"), minId));
+            } catch (Exception e) {
+                log.warn("Room event stream trim failed - key: {}", new String(key, StandardCharsets.UTF_8), e);
+            }
+        }
+    }
+
+    static int compare(RecordId a, RecordId b) {
+        int byTime = Long.compare(a.getTimestamp(), b.getTimestamp());
+        return byTime != 0 ? byTime : Long.compare(a.getSequence(), b.getSequence());
+    }
+
+    static byte[] field(ByteRecord record, byte[] name) {
+        for (Map.Entry<byte[], byte[]> entry : record.getValue().entrySet()) {
+            if (Arrays.equals(entry.getKey(), name)) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+
+    private static byte[] bytes(String value) {
+        return value != null ? value.getBytes(StandardCharsets.UTF_8) : new byte[0];
+    }
+
+    public record ReplayedEvent(String eventId, ChatBroadcastEvent event) {
+    }
+
+    public record Replay(List<ReplayedEvent> events, boolean complete, String lastEventId) {
+    }
+}
@@ -0,0 +1,187 @@
+package com.ktb.chatapp.websocket.socketio.stream;
+
+import com.ktb.chatapp.websocket.socketio.broadcast.RoomFanout;
+import com.ktb.chatapp.websocket.socketio.metrics.ChatMessageMetrics;
+import com.ktb.chatapp.websocket.socketio.metrics.ChatMessageMetrics.Stage;
+import com.ktb.chatapp.websocket.socketio.pubsub.AiStreamSequenceTracker;
+import com.ktb.chatapp.websocket.socketio.pubsub.ChatBroadcastCodec;
+import com.ktb.chatapp.websocket.socketio.pubsub.ChatBroadcastEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.stream.ByteRecord;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * 방 이벤트 스트림 수신자 (chat.broadcast.type=stream).
+ *
+ * [동작 방식]
+ * - 전용 스레드 하나가 모든 샤드 스트림을 XREAD BLOCK으로 읽음
+ * - 샤드별 읽기 위치(offset)는 노드마다 메모리에 유지 (시작 시점 이후 이벤트부터 전달)
+ * - 이 노드가 발행한 이벤트를 포함해 모든 레코드를 RoomFanout으로 이 서버의 방 클라이언트에게 eventId와 함께 전송
+ *   (샤드 안에서는 레코드 ID 순서 그대로 전달 → resumeRoom의 "lastEventId 이후 재전송"이 빠짐없이 성립)
+ *
+ * Socket.IO가 비활성화된 노드(RoomFanout 없음)에서는 읽지 않는다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "chat.broadcast.type", havingValue = "stream")
+public class RoomEventStreamReader {
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final RoomEventLog roomEventLog;
+    private final ChatBroadcastCodec chatBroadcastCodec;
+    private final ObjectProvider<RoomFanout> roomFanoutProvider;
+    private final ChatMessageMetrics chatMessageMetrics;
+    private final AiStreamSequenceTracker aiStreamSequenceTracker;
+
+    private final Duration block;
+    private final int batchSize;
+
+    /** 샤드별 마지막으로 읽은 레코드 ID (이 노드의 consumer offset) */
+    private final String[] offsets;
+    private final Map<String, Integer> shardByKey = new HashMap<>();
+
+    private final ExecutorService reader =
+            Executors.newSingleThreadExecutor(r -> {
+                Thread t = new Thread(r, "room-event-stream-reader");
+                t.setDaemon(true);
+                return t;
+            });
+
+    private final Counter readEvents;
+
+    private volatile boolean running = true;
+    private RoomFanout roomFanout;
+
+    public RoomEventStreamReader(
+            RedisTemplate<String, String> redisTemplate,
+            RoomEventLog roomEventLog,
+            ChatBroadcastCodec chatBroadcastCodec,
+            ObjectProvider<RoomFanout> roomFanoutProvider,
+            ChatMessageMetrics chatMessageMetrics,
+            AiStreamSequenceTracker aiStreamSequenceTracker,
+            MeterRegistry meterRegistry,
+            @Value("${chat.stream.read-block:1s}") Duration block,
+            @Value("${chat.stream.read-batch-size:256}") int batchSize) {
+        this.redisTemplate = redisTemplate;
+        this.roomEventLog = roomEventLog;
+        this.chatBroadcastCodec = chatBroadcastCodec;
+        this.roomFanoutProvider = roomFanoutProvider;
+        this.chatMessageMetrics = chatMessageMetrics;
+        this.aiStreamSequenceTracker = aiStreamSequenceTracker;
+        this.block = block;
+        this.batchSize = Math.max(1, batchSize);
+
+        this.offsets = new String[roomEventLog.shardCount()];
+        for (int shard = 0; shard < offsets.length; shard++) {
+            shardByKey.put(new String(roomEventLog.shardKey(shard), StandardCharsets.UTF_8), shard);
+        }
+
+        this.readEvents = Counter.builder("chat.stream.read.events")
+                .description("Room events read from the stream log by this node")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void init() {
+        roomFanout = roomFanoutProvider.getIfAvailable();
+        if (roomFanout == null) {
+            log.info("Socket.IO disabled - room event stream reader not started");
+            return;
+        }
+        // 시작 시점 이후 추가된 레코드부터 전달
+        String start = System.currentTimeMillis() + "-0";
+        Arrays.fill(offsets, start);
+        reader.execute(this::readLoop);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        running = false;
+        reader.shutdown();
+        try {
+            if (!reader.awaitTermination(block.toMillis() + 1000, TimeUnit.MILLISECONDS)) {
+                reader.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void readLoop() {
+        StreamReadOptions options = StreamReadOptions.empty().block(block).count(batchSize);
+        while (running) {
+            try {
+                StreamOffset<byte[]>[] streams = new StreamOffset[offsets.length];
+                for (int shard = 0; shard < offsets.length; shard++) {
+                    streams[shard] = StreamOffset.create(roomEventLog.shardKey(shard), ReadOffset.from(offsets[shard]));
+                }
+                List<ByteRecord> records = redisTemplate.execute((RedisCallback<List<ByteRecord>>) connection ->
+                        connection.streamCommands().xRead(options, streams));
+                if (records == null) {
+                    continue;
+                }
+                for (ByteRecord record : records) {
+                    Integer shard = shardByKey.get(new String(record.getStream(), StandardCharsets.UTF_8));
+                    if (shard != null) {
+                        offsets[shard] = record.getId().getValue();
+                    }
+                    deliver(record);
+                }
+            } catch (Exception e) {
+                if (!running) {
+                    return;
+                }
+                log.error("Room event stream read failed - retrying", e);
+                pause();
+            }
+        }
+    }
+
+    private void deliver(ByteRecord record) {
+        readEvents.increment();
+        String eventId = record.getId().getValue();
+        try {
+            ChatBroadcastEvent event = chatBroadcastCodec.decode(RoomEventLog.field(record, RoomEventLog.FIELD_ENVELOPE));
+            // 리더 스레드 하나가 스트림 순서대로 호출하므로 streamId별 호출은 직렬
+            aiStreamSequenceTracker.track(event);
+
+            long fanoutStart = System.nanoTime();
+            roomFanout.sendToRoom(event.getRoomId(), event.getSocketEvent(), event.getPayload(), eventId);
+            chatMessageMetrics.recordStage(Stage.FANOUT, fanoutStart);
+            chatMessageMetrics.recordPublishToDeliver(event.getEventType(), event.getPublishedAt());
+        } catch (Exception e) {
+            log.error("Room event 처리 실패 - id: {}", eventId, e);
+        }
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+-- GCRA (Generic Cell Rate Algorithm) rate limit - single round trip
+--
+-- KEYS[1] : rate limit key (value = theoretical arrival time, microseconds)
+-- ARGV[1] : max requests per window
+-- ARGV[2] : window (milliseconds)
+-- ARGV[3] : requested tokens (optional, default 1)
+--           > 1 is used by the hybrid limiter to lease a slice of the quota;
+--           fewer tokens than requested may be granted.
+--
+-- returns { granted, remaining, retry_after_ms, reset_after_ms }
+--
+-- Redis TIME is used so that every node shares one clock.
+
+local limit = tonumber(ARGV[1])
+local window = tonumber(ARGV[2]) * 1000
+local requested = tonumber(ARGV[3] or '1')
+local interval = window / limit
+
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000000 + tonumber(time[2])
+
+local tat = tonumber(redis.call('GET', KEYS[1]))
+if not tat or tat < now then
+    tat = now
+end
+
+-- tokens that fit in the window right now (epsilon guards float rounding)
+local available = math.floor((now + window - tat) / interval + 1e-9)
+
+if available < 1 then
+    local allow_at = tat + interval - window
+    return { 0, 0, math.ceil((allow_at - now) / 1000), math.ceil((tat - now) / 1000) }
+end
+
+local granted = math.min(requested, available)
+local new_tat = tat + interval * granted
+
+redis.call('SET', KEYS[1], string.format('%.0f', new_tat), 'PX', math.ceil((new_tat - now) / 1000))
+
+local remaining = math.floor((now + window - new_tat) / interval + 1e-9)
+return { granted, remaining, 0, math.ceil((new_tat - now) / 1000) }
@@ -288,4 +288,31 @@ class MessageContentTest {
             .hasSize(2)
             .containsExactly("wayneAI", "consultingAI");
     }
+
+    @Test
+    @DisplayName("단어 경계 뒤 한글이 오는 멘션 추출 및 제거")
+    void extractAndRemoveMentionFollowedByNonAsciiCharacter() {
+        // given
+        MessageContent messageContent = MessageContent.from(" @wayneAI안녕 @wayneAI_bot ");
+
+        // when
+        List<String> mentions = messageContent.aiMentions();
+        String query = messageContent.getQueryWithoutMention("wayneAI");
+
+        // then
+        assertThat(mentions).containsExactly("wayneAI");
+        assertThat(query).isEqualTo("안녕 @wayneAI_bot");
+    }
+
+    @Test
+    @DisplayName("trim 후 최대 길이 초과 여부 확인")
+    void detectContentExceedingMaxLength() {
+        // given
+        String atLimit = "  " + "a".repeat(MessageContent.MAX_LENGTH) + "  ";
+        String overLimit = "a".repeat(MessageContent.MAX_LENGTH + 1);
+
+        // when & then
+        assertThat(MessageContent.from(atLimit).exceedsMaxLength()).isFalse();
+        assertThat(MessageContent.from(overLimit).exceedsMaxLength()).isTrue();
+    }
 }
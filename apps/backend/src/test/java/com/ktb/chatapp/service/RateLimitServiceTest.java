@@ -1,10 +1,9 @@
 package com.ktb.chatapp.service;
 
 import com.ktb.chatapp.config.MongoTestContainer;
-import com.ktb.chatapp.repository.RateLimitRepository;
 import java.time.Duration;
 import java.time.Instant;
-import org.junit.jupiter.api.BeforeEach;
+import java.util.UUID;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -22,15 +21,14 @@ import static org.assertj.core.api.Assertions.assertThat;
 @DisplayName("RateLimitService 통합 테스트")
 class RateLimitServiceTest {
 
-    @Autowired
-    private RateLimitRepository rateLimitRepository;
-
     @Autowired
     private RateLimitService rateLimitService;
 
-    @BeforeEach
-    void setUp() {
-        rateLimitRepository.deleteAll();
+    /** 상태가 테스트 간에 공유되지 않도록 실행마다 다른 키 사용 */
+    private final String run = UUID.randomUUID().toString();
+
+    private String clientId(String value) {
+        return value + ":" + run;
     }
 
     @Test
@@ -38,7 +36,7 @@ class RateLimitServiceTest {
     void checkRateLimit_AllowsFirstRequest() {
         int maxRequests = 5;
         Duration window = Duration.ofSeconds(60);
-        String clientId = "ip:127.0.0.1";
+        String clientId = clientId("ip:127.0.0.1");
 
         long beforeCall = Instant.now().getEpochSecond();
         RateLimitCheckResult result =
@@ -59,7 +57,7 @@ class RateLimitServiceTest {
     void checkRateLimit_DeniesWhenLimitExceeded() {
         int maxRequests = 5;
         Duration window = Duration.ofSeconds(60);
-        String clientId = "ip:127.0.0.1";
+        String clientId = clientId("ip:127.0.0.1");
 
         // 한도까지 요청을 수행
         for (int i = 0; i < maxRequests; i++) {
@@ -87,7 +85,7 @@ class RateLimitServiceTest {
     void checkRateLimit_DecreasesRemainingOnConsecutiveRequests() {
         int maxRequests = 3;
         Duration window = Duration.ofSeconds(60);
-        String clientId = "ip:192.168.1.1";
+        String clientId = clientId("ip:192.168.1.1");
 
         RateLimitCheckResult result1 =
                 rateLimitService.checkRateLimit(clientId, maxRequests, window);
@@ -110,8 +108,8 @@ class RateLimitServiceTest {
     void checkRateLimit_IndependentLimitsPerClient() {
         int maxRequests = 2;
         Duration window = Duration.ofSeconds(60);
-        String clientId1 = "ip:10.0.0.1";
-        String clientId2 = "ip:10.0.0.2";
+        String clientId1 = clientId("ip:10.0.0.1");
+        String clientId2 = clientId("ip:10.0.0.2");
 
         // 첫 번째 클라이언트가 한도까지 요청
         for (int i = 0; i < maxRequests; i++) {
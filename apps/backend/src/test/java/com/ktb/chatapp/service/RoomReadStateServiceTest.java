@@ -0,0 +1,182 @@
+package com.ktb.chatapp.service;
+
+import com.ktb.chatapp.model.Message;
+import com.ktb.chatapp.model.RoomReadState;
+import com.ktb.chatapp.service.command.MessageWriteBehindService;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 읽음 위치(watermark) 계산 단위 테스트
+ */
+@DisplayName("RoomReadStateService 테스트")
+class RoomReadStateServiceTest {
+
+    @Test
+    @DisplayName("정렬 키는 같은 초 안에서도 ObjectId hex가 아니라 timestamp 순서")
+    void readKeyOrdersByTimestampWithinSecond() {
+        long second = 1_700_000_000_000L;
+        // 다른 노드에서 같은 초에 발급된 id: hex는 a > b 이지만 b가 먼저 보낸 메시지
+        String a = "6553f100" + "ffffffffffffffff";
+        String b = "6553f100" + "0000000000000001";
+        Message earlier = Message.builder().id(a).timestamp(toLocal(second + 100)).build();
+        Message later = Message.builder().id(b).timestamp(toLocal(second + 900)).build();
+
+        assertThat(a.compareTo(b)).isPositive();
+        assertThat(RoomReadState.readKey(earlier)).isLessThan(RoomReadState.readKey(later));
+        assertThat(RoomReadState.messageIdOf(RoomReadState.readKey(later))).isEqualTo(b);
+    }
+
+    @Test
+    @DisplayName("정렬 키가 없는 이전 형식 문서는 id 생성 초의 끝으로 비교")
+    void legacyWatermarkCoversItsSecond() {
+        long second = 1_700_000_000_000L;
+        String id = new ObjectId(new Date(second)).toHexString();
+        RoomReadState legacy = RoomReadState.builder().lastReadMessageId(id).build();
+
+        assertThat(legacy.hasRead(RoomReadState.readKey(second + 500, id))).isTrue();
+        assertThat(legacy.hasRead(RoomReadState.readKey(second + 1_000, id))).isFalse();
+        assertThat(RoomReadState.builder().build().watermark()).isNull();
+    }
+
+    @Test
+    @DisplayName("읽음 위치는 앞으로만 전진")
+    void advanceIsMonotonic() {
+        assertThat(new RoomReadStateService.Advance(null, "0001").advanced()).isTrue();
+        assertThat(new RoomReadStateService.Advance("0001", "0002").advanced()).isTrue();
+        assertThat(new RoomReadStateService.Advance("0002", "0002").advanced()).isFalse();
+    }
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final MessageWriteBehindService writeBehind = mock(MessageWriteBehindService.class);
+    private final RoomReadStateService service = new RoomReadStateService(mongoTemplate, writeBehind);
+
+    private static RoomReadState state(String userId, String lastReadKey) {
+        return RoomReadState.builder().roomId("room-1").userId(userId).lastReadKey(lastReadKey).build();
+    }
+
+    private static LocalDateTime toLocal(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+
+    @Test
+    @DisplayName("id를 정규화하고 형식이 틀리거나 미래에 생성된 id, 중복은 제외")
+    void normalizeKeepsValidIdsInOrder() {
+        long now = System.currentTimeMillis();
+        String id = new ObjectId(new Date(now)).toHexString();
+        String future = new ObjectId(new Date(now + 3_600_000)).toHexString();
+
+        assertThat(RoomReadStateService.normalize(List.of(id.toUpperCase(), "not-an-id", future, id)))
+                .containsExactly(id);
+        assertThat(RoomReadStateService.normalize(null)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("처음 읽으면 이전 위치 없이 전진")
+    void advanceFromNothing() {
+        RoomReadStateService.Advance advance = service.advance("room-1", "user-1", "0002");
+
+        assertThat(advance.previous()).isNull();
+        assertThat(advance.current()).isEqualTo("0002");
+        assertThat(advance.advanced()).isTrue();
+        verify(mongoTemplate).findAndModify(any(Query.class),
+                argThat(update -> "0002".equals(
+                        update.getUpdateObject().get("$max", Document.class).get("lastReadKey"))),
+                any(FindAndModifyOptions.class), eq(RoomReadState.class));
+    }
+
+    @Test
+    @DisplayName("이미 더 뒤까지 읽었으면 위치를 되돌리지 않음")
+    void advanceKeepsLaterWatermark() {
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                eq(RoomReadState.class))).thenReturn(state("user-1", "0005"));
+
+        RoomReadStateService.Advance advance = service.advance("room-1", "user-1", "0002");
+
+        assertThat(advance.previous()).isEqualTo("0005");
+        assertThat(advance.current()).isEqualTo("0005");
+        assertThat(advance.advanced()).isFalse();
+    }
+
+    @Test
+    @DisplayName("정렬 키는 이 방의 메시지에서만 구함 (저장 중인 메시지 포함, 다른 방/없는 id 제외)")
+    void readKeysOnlyForMessagesInRoom() {
+        long now = System.currentTimeMillis();
+        String pendingInRoom = new ObjectId(new Date(now)).toHexString();
+        String pendingElsewhere = new ObjectId(new Date(now)).toHexString();
+        String stored = new ObjectId(new Date(now - 5_000)).toHexString();
+        String missing = new ObjectId(new Date(now - 4_000)).toHexString();
+        Message pending = Message.builder().id(pendingInRoom).roomId("room-1").timestamp(toLocal(now)).build();
+        when(writeBehind.findPending(pendingInRoom)).thenReturn(pending);
+        when(writeBehind.findPending(pendingElsewhere))
+                .thenReturn(Message.builder().id(pendingElsewhere).roomId("room-2").timestamp(toLocal(now)).build());
+        Message storedMessage = Message.builder().id(stored).roomId("room-1").timestamp(toLocal(now - 5_000)).build();
+        when(mongoTemplate.find(any(Query.class), eq(Message.class))).thenReturn(List.of(storedMessage));
+
+        Map<String, String> keys = service.readKeys("room-1",
+                List.of(pendingInRoom, pendingElsewhere, stored, missing));
+
+        assertThat(keys).containsOnlyKeys(pendingInRoom, stored);
+        assertThat(keys.get(stored)).isEqualTo(RoomReadState.readKey(now - 5_000, stored));
+        verify(mongoTemplate).find(argThat((Query query) -> {
+            Document criteria = query.getQueryObject();
+            return "room-1".equals(criteria.get("room"))
+                    && criteria.get("_id", Document.class).getList("$in", String.class).equals(List.of(stored, missing));
+        }), eq(Message.class));
+    }
+
+    @Test
+    @DisplayName("참여자 전원이 읽은 위치는 watermark 최솟값")
+    void allReadWatermarkIsMinimum() {
+        when(mongoTemplate.find(any(Query.class), eq(RoomReadState.class)))
+                .thenReturn(List.of(state("user-1", "0005"), state("user-2", "0003")));
+
+        assertThat(service.allReadWatermark("room-1", List.of("user-1", "user-2"))).isEqualTo("0003");
+    }
+
+    @Test
+    @DisplayName("한 번도 읽지 않은 참여자가 있으면 전원 읽음 위치 없음")
+    void allReadWatermarkNullWhenParticipantNeverRead() {
+        when(mongoTemplate.find(any(Query.class), eq(RoomReadState.class)))
+                .thenReturn(List.of(state("user-1", "0005")));
+
+        assertThat(service.allReadWatermark("room-1", List.of("user-1", "user-2"))).isNull();
+    }
+
+    @Test
+    @DisplayName("watermark가 비어 있는 상태 문서가 있으면 전원 읽음 위치 없음")
+    void allReadWatermarkNullWhenWatermarkMissing() {
+        when(mongoTemplate.find(any(Query.class), eq(RoomReadState.class)))
+                .thenReturn(List.of(state("user-1", "0005"), state("user-2", null)));
+
+        assertThat(service.allReadWatermark("room-1", List.of("user-1", "user-2"))).isNull();
+    }
+
+    @Test
+    @DisplayName("참여자가 없으면 조회하지 않음")
+    void allReadWatermarkWithoutParticipants() {
+        assertThat(service.allReadWatermark("room-1", List.of())).isNull();
+        verify(mongoTemplate, never()).find(any(Query.class), eq(RoomReadState.class));
+    }
+}
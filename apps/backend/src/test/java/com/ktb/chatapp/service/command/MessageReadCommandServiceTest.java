@@ -0,0 +1,187 @@
+package com.ktb.chatapp.service.command;
+
+import com.ktb.chatapp.dto.MessagesReadResponse;
+import com.ktb.chatapp.model.Room;
+import com.ktb.chatapp.model.RoomReadState;
+import com.ktb.chatapp.service.RoomReadStateService;
+import com.ktb.chatapp.service.cache.RoomCacheService;
+import com.ktb.chatapp.websocket.socketio.broadcast.BroadcastService;
+import com.ktb.chatapp.websocket.socketio.pubsub.ChatBroadcastEvent;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.MESSAGES_READ;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * 읽음 배치 flush / messagesRead 브로드캐스트 단위 테스트
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("MessageReadCommandService 테스트")
+class MessageReadCommandServiceTest {
+
+    private static final String ROOM = "room-1";
+
+    @Mock private RoomReadStateService roomReadStateService;
+    @Mock private BroadcastService broadcastService;
+    @Mock private RoomCacheService roomCacheService;
+
+    private MessageReadCommandService service;
+
+    private final long now = System.currentTimeMillis();
+    private final String m1 = new ObjectId(new Date(now - 3_000)).toHexString();
+    private final String m2 = new ObjectId(new Date(now - 2_000)).toHexString();
+    private final String m3 = new ObjectId(new Date(now - 1_000)).toHexString();
+    private final String k1 = RoomReadState.readKey(now - 3_000, m1);
+    private final String k2 = RoomReadState.readKey(now - 2_000, m2);
+    private final String k3 = RoomReadState.readKey(now - 1_000, m3);
+
+    @BeforeEach
+    void setUp() {
+        service = new MessageReadCommandService(roomReadStateService, broadcastService, roomCacheService);
+    }
+
+    private void participants(String... userIds) {
+        when(roomCacheService.findById(ROOM)).thenReturn(Optional.of(
+                Room.builder().id(ROOM).participantIds(Set.of(userIds)).build()));
+    }
+
+    /** 이 방의 메시지로 확인되는 id와 정렬 키 */
+    private void inRoom(Map<String, String> readKeys) {
+        when(roomReadStateService.readKeys(eq(ROOM), anyCollection())).thenAnswer(inv -> {
+            Collection<String> ids = inv.getArgument(1);
+            Map<String, String> found = new HashMap<>();
+            ids.stream().filter(readKeys::containsKey).forEach(id -> found.put(id, readKeys.get(id)));
+            return found;
+        });
+    }
+
+    private List<MessagesReadResponse> broadcasts() {
+        ArgumentCaptor<Object> payloads = ArgumentCaptor.forClass(Object.class);
+        verify(broadcastService, atLeast(0)).broadcastToRoom(
+                eq(ChatBroadcastEvent.TYPE_MESSAGES_READ), eq(ROOM), eq(MESSAGES_READ), payloads.capture());
+        return payloads.getAllValues().stream().map(MessagesReadResponse.class::cast).toList();
+    }
+
+    @Test
+    @DisplayName("watermark가 전진하면 사용자 ACK, 최솟값이 움직이면 ALL ACK를 정규화된 id로 브로드캐스트")
+    void broadcastsUserAndAllRead() {
+        participants("user-1", "user-2", "user-3");
+        inRoom(Map.of(m1, k1, m3, k3));
+        when(roomReadStateService.advance(ROOM, "user-1", k3))
+                .thenReturn(new RoomReadStateService.Advance(null, k3));
+        when(roomReadStateService.allReadWatermark(eq(ROOM), anyCollection())).thenReturn(k2);
+
+        service.processAsync(ROOM, "user-1", List.of(m1.toUpperCase(), m3, "not-an-id"));
+        service.flushAll();
+
+        List<MessagesReadResponse> sent = broadcasts();
+        assertThat(sent).hasSize(2);
+        assertThat(sent.get(0).getUserId()).isEqualTo("user-1");
+        assertThat(sent.get(0).getMessageIds()).containsExactlyInAnyOrder(m1, m3);
+        assertThat(sent.get(0).getLastReadMessageId()).isEqualTo(m3);
+        // 대문자로 보낸 m1도 정규화 후 정렬 키로 watermark와 비교되어 포함
+        assertThat(sent.get(1).getUserId()).isEqualTo("ALL");
+        assertThat(sent.get(1).getMessageIds()).containsExactly(m1);
+        assertThat(sent.get(1).getLastReadMessageId()).isEqualTo(m2);
+    }
+
+    @Test
+    @DisplayName("2인 방은 사용자 ACK를 handler가 보내므로 ALL ACK만 브로드캐스트")
+    void twoPersonRoomSkipsUserAck() {
+        participants("user-1", "user-2");
+        inRoom(Map.of(m2, k2));
+        when(roomReadStateService.advance(ROOM, "user-1", k2))
+                .thenReturn(new RoomReadStateService.Advance(k1, k2));
+        when(roomReadStateService.allReadWatermark(eq(ROOM), anyCollection())).thenReturn(k2);
+
+        service.processAsync(ROOM, "user-1", List.of(m2));
+        service.flushAll();
+
+        List<MessagesReadResponse> sent = broadcasts();
+        assertThat(sent).extracting(MessagesReadResponse::getUserId).containsExactly("ALL");
+    }
+
+    @Test
+    @DisplayName("watermark가 전진하지 않으면 아무것도 브로드캐스트하지 않음")
+    void noBroadcastWhenNotAdvanced() {
+        inRoom(Map.of(m2, k2));
+        when(roomReadStateService.advance(ROOM, "user-1", k2))
+                .thenReturn(new RoomReadStateService.Advance(k3, k3));
+
+        service.processAsync(ROOM, "user-1", List.of(m2));
+        service.flushAll();
+
+        verifyNoInteractions(broadcastService, roomCacheService);
+    }
+
+    @Test
+    @DisplayName("아직 읽지 않은 참여자가 있으면 ALL ACK 없음")
+    void noAllReadWhenParticipantNeverRead() {
+        participants("user-1", "user-2", "user-3");
+        inRoom(Map.of(m3, k3));
+        when(roomReadStateService.advance(ROOM, "user-1", k3))
+                .thenReturn(new RoomReadStateService.Advance(null, k3));
+        when(roomReadStateService.allReadWatermark(eq(ROOM), anyCollection())).thenReturn(null);
+
+        service.processAsync(ROOM, "user-1", List.of(m3));
+        service.flushAll();
+
+        assertThat(broadcasts()).extracting(MessagesReadResponse::getUserId).containsExactly("user-1");
+    }
+
+    @Test
+    @DisplayName("이전 위치가 이미 최솟값 이상이면 최솟값이 움직이지 않았으므로 ALL ACK 없음")
+    void noAllReadWhenMinimumDidNotMove() {
+        participants("user-1", "user-2", "user-3");
+        inRoom(Map.of(m3, k3));
+        when(roomReadStateService.advance(ROOM, "user-1", k3))
+                .thenReturn(new RoomReadStateService.Advance(k2, k3));
+        when(roomReadStateService.allReadWatermark(eq(ROOM), anyCollection())).thenReturn(k1);
+
+        service.processAsync(ROOM, "user-1", List.of(m3));
+        service.flushAll();
+
+        assertThat(broadcasts()).extracting(MessagesReadResponse::getUserId).containsExactly("user-1");
+    }
+
+    @Test
+    @DisplayName("이 방의 메시지가 아닌 id로는 watermark를 건드리지 않음")
+    void ignoresIdsFromOtherRooms() {
+        inRoom(Map.of());
+
+        service.processAsync(ROOM, "user-1", List.of(m3));
+        service.flushAll();
+
+        verify(roomReadStateService, never()).advance(anyString(), anyString(), anyString());
+        verifyNoInteractions(broadcastService);
+    }
+
+    @Test
+    @DisplayName("유효한 id가 없으면 watermark를 건드리지 않음")
+    void ignoresBatchWithoutValidIds() {
+        service.processAsync(ROOM, "user-1", List.of("not-an-id"));
+        service.flushAll();
+
+        verify(roomReadStateService, never()).advance(anyString(), anyString(), anyString());
+        verify(broadcastService, never()).broadcastToRoom(anyString(), anyString(), anyString(), any());
+    }
+}
@@ -0,0 +1,288 @@
+package com.ktb.chatapp.service.command;
+
+import com.ktb.chatapp.model.Message;
+import com.mongodb.bulk.BulkWriteError;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * MessageWriteBehindService 단위 테스트
+ * BulkOperations는 insert된 묶음을 기록하는 mock으로 대체한다.
+ */
+@DisplayName("MessageWriteBehindService 테스트")
+class MessageWriteBehindServiceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final BulkOperations bulk = mock(BulkOperations.class);
+    /** execute()까지 간 insert 묶음 */
+    private final List<List<Message>> batches = Collections.synchronizedList(new ArrayList<>());
+    private final List<MessageWriteBehindService> services = new ArrayList<>();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        AtomicReference<List<Message>> inserted = new AtomicReference<>();
+        when(mongoTemplate.bulkOps(any(BulkOperations.BulkMode.class), eq(Message.class))).thenReturn(bulk);
+        when(bulk.insert(anyList())).thenAnswer(inv -> {
+            inserted.set(List.copyOf((List<Message>) inv.getArgument(0)));
+            return bulk;
+        });
+        when(bulk.execute()).thenAnswer(inv -> {
+            batches.add(inserted.get());
+            return null;
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        services.forEach(MessageWriteBehindService::shutdown);
+    }
+
+    private MessageWriteBehindService start(int queueCapacity, int batchSize, Duration batchWindow,
+                                            boolean waitForWrite, int maxRetries) {
+        MessageWriteBehindService service = new MessageWriteBehindService(mongoTemplate, meterRegistry,
+                queueCapacity, batchSize, batchWindow, waitForWrite, Duration.ofSeconds(5), maxRetries);
+        service.init();
+        services.add(service);
+        return service;
+    }
+
+    private static Message message(String content) {
+        return Message.builder().roomId("room-1").content(content).build();
+    }
+
+    private double count(String name) {
+        return meterRegistry.get(name).counter().count();
+    }
+
+    @Test
+    @DisplayName("batch-size까지 모아 한 번의 bulk insert로 저장하고 id를 미리 발급")
+    void batchesUpToBatchSize() {
+        MessageWriteBehindService service = start(100, 5, Duration.ofSeconds(5), false, 0);
+
+        List<CompletableFuture<Message>> futures = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            futures.add(service.submit(message("m" + i)));
+        }
+
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).orTimeout(5, TimeUnit.SECONDS).join();
+        assertThat(batches).hasSize(2).allSatisfy(batch -> assertThat(batch).hasSize(5));
+        assertThat(futures).allSatisfy(future -> assertThat(future.join().getId()).isNotNull());
+    }
+
+    @Test
+    @DisplayName("batch-window가 지나면 batch-size 미만이어도 저장")
+    void flushesAfterBatchWindow() {
+        MessageWriteBehindService service = start(100, 500, Duration.ofMillis(20), false, 0);
+
+        service.submit(message("m1")).orTimeout(5, TimeUnit.SECONDS).join();
+
+        assertThat(batches).hasSize(1);
+        assertThat(batches.get(0)).extracting(Message::getContent).containsExactly("m1");
+    }
+
+    @Test
+    @DisplayName("일시적인 오류는 재시도 후 성공으로 완료")
+    void retriesTransientFailure() {
+        AtomicInteger attempts = new AtomicInteger();
+        when(bulk.execute()).thenAnswer(inv -> {
+            if (attempts.getAndIncrement() == 0) {
+                throw new IllegalStateException("mongo down");
+            }
+            return null;
+        });
+        MessageWriteBehindService service = start(100, 1, Duration.ofMillis(1), false, 2);
+
+        Message saved = service.submit(message("m1")).orTimeout(5, TimeUnit.SECONDS).join();
+
+        assertThat(saved.getContent()).isEqualTo("m1");
+        assertThat(attempts.get()).isEqualTo(2);
+        assertThat(count("chat.messages.write_behind.failures")).isZero();
+    }
+
+    @Test
+    @DisplayName("재시도를 모두 실패하면 실패 콜백을 호출하고 실패로 집계")
+    void reportsFailureAfterRetries() throws Exception {
+        when(bulk.execute()).thenThrow(new IllegalStateException("mongo down"));
+        MessageWriteBehindService service = start(100, 1, Duration.ofMillis(1), false, 1);
+        CountDownLatch failed = new CountDownLatch(1);
+
+        Message returned = service.persist(message("m1"), error -> failed.countDown());
+
+        assertThat(returned.getId()).isNotNull();
+        assertThat(failed.await(5, TimeUnit.SECONDS)).isTrue();
+        verify(bulk, times(2)).execute();
+        assertThat(count("chat.messages.write_behind.failures")).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("중복 키 오류는 이미 저장된 것으로 보고, 다른 문서 오류만 실패 처리")
+    void treatsDuplicateKeyAsSaved() {
+        BulkOperationException partial = mock(BulkOperationException.class);
+        when(partial.getErrors()).thenReturn(List.of(
+                new BulkWriteError(11000, "duplicate key", new BsonDocument(), 0),
+                new BulkWriteError(121, "validation failed", new BsonDocument(), 1)));
+        when(bulk.execute()).thenThrow(partial);
+        MessageWriteBehindService service = start(100, 2, Duration.ofSeconds(5), false, 3);
+
+        CompletableFuture<Message> duplicate = service.submit(message("m1"));
+        CompletableFuture<Message> invalid = service.submit(message("m2"));
+
+        assertThat(duplicate.orTimeout(5, TimeUnit.SECONDS).join().getContent()).isEqualTo("m1");
+        assertThatThrownBy(() -> invalid.orTimeout(5, TimeUnit.SECONDS).join()).hasCause(partial);
+        verify(bulk, times(1)).execute();
+        assertThat(count("chat.messages.write_behind.failures")).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("큐가 가득 차면 호출 스레드에서 바로 저장")
+    void writesInlineWhenQueueIsFull() throws Exception {
+        CountDownLatch firstStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+        when(bulk.execute()).thenAnswer(inv -> {
+            if (calls.getAndIncrement() == 0) {
+                firstStarted.countDown();
+                release.await(5, TimeUnit.SECONDS);
+            }
+            return null;
+        });
+        MessageWriteBehindService service = start(1, 1, Duration.ofMillis(1), false, 0);
+
+        CompletableFuture<Message> first = service.submit(message("m1"));
+        assertThat(firstStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<Message> queued = service.submit(message("m2"));
+        CompletableFuture<Message> inline = service.submit(message("m3"));
+
+        // 드레이너가 멈춰 있어도 넘친 메시지는 이미 저장됨
+        assertThat(inline).isCompleted();
+        assertThat(queued).isNotDone();
+        assertThat(count("chat.messages.write_behind.overflow")).isEqualTo(1.0);
+
+        release.countDown();
+        await().atMost(5, TimeUnit.SECONDS).until(() -> first.isDone() && queued.isDone());
+    }
+
+    @Test
+    @DisplayName("submitDetached는 큐가 가득 차도 호출 스레드에서 저장하지 않고 넘긴 뒤 저장")
+    void detachedSubmitDoesNotWriteInline() throws Exception {
+        CountDownLatch firstStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+        when(bulk.execute()).thenAnswer(inv -> {
+            if (calls.getAndIncrement() == 0) {
+                firstStarted.countDown();
+                release.await(5, TimeUnit.SECONDS);
+            }
+            return null;
+        });
+        MessageWriteBehindService service = start(1, 1, Duration.ofMillis(1), false, 0);
+
+        CompletableFuture<Message> first = service.submit(message("m1"));
+        assertThat(firstStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<Message> queued = service.submit(message("m2"));
+        CompletableFuture<Message> detached = service.submitDetached(message("m3"));
+
+        // 드레이너가 멈춰 있는 동안 호출 스레드는 바로 반환하고 저장은 아직 일어나지 않음
+        assertThat(detached).isNotDone();
+        assertThat(calls.get()).isEqualTo(1);
+        assertThat(count("chat.messages.write_behind.handoff")).isEqualTo(1.0);
+
+        release.countDown();
+        CompletableFuture.allOf(first, queued, detached).orTimeout(5, TimeUnit.SECONDS).join();
+        assertThat(detached.join().getContent()).isEqualTo("m3");
+    }
+
+    @Test
+    @DisplayName("저장이 끝나기 전에는 findPending으로 조회되고 저장 후에는 빠짐")
+    void findsPendingUntilWritten() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(bulk.execute()).thenAnswer(inv -> {
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        });
+        MessageWriteBehindService service = start(100, 1, Duration.ofMillis(1), false, 0);
+
+        Message message = message("m1");
+        CompletableFuture<Message> future = service.submit(message);
+        assertThat(service.findPending(message.getId())).isSameAs(message);
+
+        release.countDown();
+        future.orTimeout(5, TimeUnit.SECONDS).join();
+        assertThat(service.findPending(message.getId())).isNull();
+    }
+
+    @Test
+    @DisplayName("awaitWritten은 대기 중인 메시지의 저장이 끝날 때까지 기다리고, 대기 중이 아니면 바로 반환")
+    void awaitWrittenBlocksUntilFlushed() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(bulk.execute()).thenAnswer(inv -> {
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        });
+        MessageWriteBehindService service = start(100, 1, Duration.ofMillis(1), false, 0);
+
+        Message message = message("m1");
+        service.submit(message);
+        CompletableFuture<Boolean> waited = CompletableFuture.supplyAsync(() -> service.awaitWritten(message.getId()));
+
+        await().during(Duration.ofMillis(100)).atMost(1, TimeUnit.SECONDS).until(() -> !waited.isDone());
+        release.countDown();
+        assertThat(waited.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(batches).hasSize(1);
+        assertThat(service.awaitWritten(message.getId())).isFalse();
+    }
+
+    @Test
+    @DisplayName("wait-for-write 모드는 저장이 끝난 뒤 반환하고, 실패하면 예외")
+    void waitForWriteBlocksUntilSaved() {
+        MessageWriteBehindService service = start(100, 10, Duration.ofMillis(5), true, 0);
+
+        Message saved = service.persist(message("m1"), null);
+        assertThat(batches).hasSize(1);
+        assertThat(saved.getId()).isNotNull();
+
+        when(bulk.execute()).thenThrow(new IllegalStateException("mongo down"));
+        assertThatThrownBy(() -> service.persist(message("m2"), null)).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("종료 시 큐에 남은 메시지를 마저 저장")
+    void drainsQueueOnShutdown() {
+        MessageWriteBehindService service = start(100, 100, Duration.ofSeconds(1), false, 0);
+
+        List<CompletableFuture<Message>> futures = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            futures.add(service.submit(message("m" + i)));
+        }
+        service.shutdown();
+
+        assertThat(futures).allSatisfy(future -> assertThat(future).isCompleted());
+        assertThat(batches.stream().mapToInt(List::size).sum()).isEqualTo(3);
+    }
+}
@@ -0,0 +1,83 @@
+package com.ktb.chatapp.service.moderation;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SetOperations;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.scheduling.TaskScheduler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * BannedWordDictionaryService Redis 원천 변경 감지 단위 테스트
+ */
+@DisplayName("BannedWordDictionaryService 테스트")
+class BannedWordDictionaryServiceTest {
+
+    private static final String KEY = "chatapp:banned-words";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    @SuppressWarnings("unchecked")
+    private final RedisTemplate<String, String> redisTemplate = mock(RedisTemplate.class);
+    @SuppressWarnings("unchecked")
+    private final ValueOperations<String, String> valueOps = mock(ValueOperations.class);
+    @SuppressWarnings("unchecked")
+    private final SetOperations<String, String> setOps = mock(SetOperations.class);
+
+    private BannedWordDictionaryService service(Set<String> redisWords) {
+        ApplicationContext applicationContext = mock(ApplicationContext.class);
+        when(applicationContext.getResource(anyString()))
+                .thenReturn(new ByteArrayResource("파일단어\n".getBytes(StandardCharsets.UTF_8)));
+        when(redisTemplate.opsForValue()).thenReturn(valueOps);
+        when(redisTemplate.opsForSet()).thenReturn(setOps);
+        when(valueOps.get(anyString())).thenReturn("v1");
+        when(setOps.members(KEY)).thenReturn(redisWords);
+        return new BannedWordDictionaryService(applicationContext, redisTemplate, mock(TaskScheduler.class),
+                meterRegistry, "redis", "classpath:banned.txt", KEY, Duration.ZERO);
+    }
+
+    private double reloads() {
+        return meterRegistry.get("banned-word.dictionary.reloads").tag("result", "success").counter().count();
+    }
+
+    @Test
+    @DisplayName("Redis 집합이 비어 파일로 대체해도 같은 버전이면 poll 때 다시 로딩하지 않음")
+    void emptyRedisSetDoesNotReloadEveryPoll() {
+        BannedWordDictionaryService service = service(Set.of());
+        assertThat(service.getChecker().automaton().wordCount()).isEqualTo(1);
+
+        service.pollForChanges();
+
+        // 재로딩은 비동기이므로 잠시 지켜보며 한 번도 일어나지 않는지 확인
+        await().during(Duration.ofMillis(300)).atMost(1, TimeUnit.SECONDS).until(() -> reloads() == 0);
+        verify(setOps, times(1)).members(KEY);
+        service.shutdown();
+    }
+
+    @Test
+    @DisplayName("버전이 바뀌면 poll 때 다시 로딩")
+    void reloadsWhenVersionChanges() {
+        BannedWordDictionaryService service = service(Set.of("금지어", "비속어"));
+        assertThat(service.getChecker().automaton().wordCount()).isEqualTo(2);
+
+        when(valueOps.get(anyString())).thenReturn("v2");
+        service.pollForChanges();
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> reloads() == 1.0);
+        service.shutdown();
+    }
+}
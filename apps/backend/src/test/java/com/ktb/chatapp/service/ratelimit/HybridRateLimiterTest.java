@@ -0,0 +1,183 @@
+package com.ktb.chatapp.service.ratelimit;
+
+import com.ktb.chatapp.service.RateLimitCheckResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * HybridRateLimiter 단위 테스트
+ * 공유 원천(Redis 역할)은 LocalRateLimiter로 대체하고, 여러 노드를 같은 가상 시계로 시뮬레이션한다.
+ */
+@DisplayName("HybridRateLimiter 테스트")
+class HybridRateLimiterTest {
+
+    private static final String KEY = "user:heavy-sender";
+    private static final Duration WINDOW = Duration.ofSeconds(60);
+    private static final Duration LEASE_TTL = Duration.ofSeconds(1);
+    private static final int LEASE_SIZE = 50;
+
+    private final AtomicLong clock = new AtomicLong(TimeUnit.SECONDS.toNanos(1));
+    private final AtomicInteger sourceCalls = new AtomicInteger();
+    private LocalRateLimiter shared;
+    private RateLimitLeaseSource countingSource;
+
+    @BeforeEach
+    void setUp() {
+        shared = new LocalRateLimiter(10_000, Duration.ofMinutes(10), clock::get);
+        countingSource = (key, maxRequests, window, requested) -> {
+            sourceCalls.incrementAndGet();
+            return shared.lease(key, maxRequests, window, requested);
+        };
+    }
+
+    private List<HybridRateLimiter> nodes(int count) {
+        List<HybridRateLimiter> nodes = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            nodes.add(new HybridRateLimiter(countingSource, new SimpleMeterRegistry(),
+                    LEASE_SIZE, 0.05, LEASE_TTL, clock::get));
+        }
+        return nodes;
+    }
+
+    private void advanceMillis(long millis) {
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+
+    @Test
+    @DisplayName("한도를 초과하는 부하에서 초과 허용량은 노드 수 × lease 크기 이내")
+    void overshootStaysWithinNodesTimesLeaseSize() {
+        int maxRequests = 1000;
+        int nodeCount = 3;
+        List<HybridRateLimiter> nodes = nodes(nodeCount);
+        // 같은 요청 흐름을 원천에 직접 보낸 경우 (정확한 GCRA 기준값)
+        LocalRateLimiter reference = new LocalRateLimiter(10_000, Duration.ofMinutes(10), clock::get);
+
+        long hybridAllowed = 0;
+        long referenceAllowed = 0;
+        for (int ms = 0; ms < 120_000; ms++) {
+            for (HybridRateLimiter node : nodes) {
+                if (node.tryAcquire(KEY, maxRequests, WINDOW).allowed()) {
+                    hybridAllowed++;
+                }
+                if (reference.tryAcquire(KEY, maxRequests, WINDOW).allowed()) {
+                    referenceAllowed++;
+                }
+            }
+            advanceMillis(1);
+        }
+
+        long bound = (long) nodeCount * LEASE_SIZE;
+        assertThat(hybridAllowed).isLessThanOrEqualTo(referenceAllowed + bound);
+        assertThat(hybridAllowed).isGreaterThanOrEqualTo(referenceAllowed - bound);
+        // 2분 동안 버스트 1000 + 초당 약 16.7건
+        assertThat(hybridAllowed).isLessThanOrEqualTo(1000 + 2000 + bound);
+    }
+
+    @Test
+    @DisplayName("한도 이하의 대량 발송자는 lease 단위로만 원천을 호출")
+    void heavySenderBelowLimitRarelyHitsSource() {
+        HybridRateLimiter node = nodes(1).getFirst();
+        int maxRequests = 10_000;
+
+        int allowed = 0;
+        // 10ms 간격 = 분당 6000건
+        for (int i = 0; i < 6000; i++) {
+            if (node.tryAcquire(KEY, maxRequests, WINDOW).allowed()) {
+                allowed++;
+            }
+            advanceMillis(10);
+        }
+
+        assertThat(allowed).isEqualTo(6000);
+        assertThat(sourceCalls.get()).isLessThanOrEqualTo(6000 / LEASE_SIZE + 1);
+    }
+
+    @Test
+    @DisplayName("작은 한도에서는 lease가 1개로 줄어 초과 허용이 없다")
+    void smallLimitsLeaseOneTokenAtATime() {
+        List<HybridRateLimiter> nodes = nodes(3);
+        int maxRequests = 5;
+
+        assertThat(nodes.getFirst().leaseSizeFor(maxRequests)).isEqualTo(1);
+
+        int allowed = 0;
+        for (int i = 0; i < 4; i++) {
+            for (HybridRateLimiter node : nodes) {
+                if (node.tryAcquire(KEY, maxRequests, WINDOW).allowed()) {
+                    allowed++;
+                }
+            }
+        }
+
+        assertThat(allowed).isEqualTo(maxRequests);
+    }
+
+    @Test
+    @DisplayName("원천이 거부하면 retryAfter 동안은 원천을 다시 호출하지 않는다")
+    void rejectionIsCachedUntilRetryAfter() {
+        HybridRateLimiter node = nodes(1).getFirst();
+        int maxRequests = 5;
+
+        for (int i = 0; i < maxRequests; i++) {
+            assertThat(node.tryAcquire(KEY, maxRequests, WINDOW).allowed()).isTrue();
+        }
+
+        RateLimitCheckResult rejected = node.tryAcquire(KEY, maxRequests, WINDOW);
+        int callsAfterFirstRejection = sourceCalls.get();
+        for (int i = 0; i < 100; i++) {
+            assertThat(node.tryAcquire(KEY, maxRequests, WINDOW).allowed()).isFalse();
+        }
+
+        assertThat(rejected.allowed()).isFalse();
+        assertThat(rejected.retryAfterSeconds()).isBetween(1L, WINDOW.getSeconds());
+        assertThat(sourceCalls.get()).isEqualTo(callsAfterFirstRejection);
+    }
+
+    @Test
+    @DisplayName("원천 호출이 느려도 같은 키의 가상 스레드들은 한 번만 lease를 요청하고 기다림")
+    void concurrentVirtualThreadsShareOneLease() throws Exception {
+        CountDownLatch leaseStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        RateLimitLeaseSource slowSource = (key, maxRequests, window, requested) -> {
+            sourceCalls.incrementAndGet();
+            leaseStarted.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return shared.lease(key, maxRequests, window, requested);
+        };
+        HybridRateLimiter node = new HybridRateLimiter(slowSource, new SimpleMeterRegistry(),
+                LEASE_SIZE, 0.05, LEASE_TTL, clock::get);
+        int callers = 20;
+
+        List<Future<Boolean>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < callers; i++) {
+                results.add(executor.submit(() -> node.tryAcquire(KEY, 10_000, WINDOW).allowed()));
+            }
+            assertThat(leaseStarted.await(5, TimeUnit.SECONDS)).isTrue();
+            release.countDown();
+        }
+
+        for (Future<Boolean> result : results) {
+            assertThat(result.get()).isTrue();
+        }
+        assertThat(sourceCalls.get()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,103 @@
+package com.ktb.chatapp.service.ratelimit;
+
+import com.ktb.chatapp.service.RateLimitCheckResult;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * LocalRateLimiter GCRA 단위 테스트 (가상 시계 사용)
+ */
+@DisplayName("LocalRateLimiter 테스트")
+class LocalRateLimiterTest {
+
+    private static final String KEY = "user:1";
+    /** 60초에 6건 → 요청 간격 10초 */
+    private static final int MAX_REQUESTS = 6;
+    private static final Duration WINDOW = Duration.ofSeconds(60);
+
+    private final AtomicLong clock = new AtomicLong(TimeUnit.SECONDS.toNanos(1));
+    private final LocalRateLimiter limiter = new LocalRateLimiter(1000, Duration.ofMinutes(10), clock::get);
+
+    private void advanceSeconds(long seconds) {
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(seconds));
+    }
+
+    private RateLimitCheckResult acquire() {
+        return limiter.tryAcquire(KEY, MAX_REQUESTS, WINDOW);
+    }
+
+    @Test
+    @DisplayName("버스트는 maxRequests까지 허용하고 남은 횟수를 줄여 감")
+    void allowsBurstUpToLimit() {
+        for (int i = 1; i <= MAX_REQUESTS; i++) {
+            RateLimitCheckResult result = acquire();
+            assertThat(result.allowed()).isTrue();
+            assertThat(result.remaining()).isEqualTo(MAX_REQUESTS - i);
+        }
+    }
+
+    @Test
+    @DisplayName("한도를 넘으면 거부하고 다음 토큰까지의 시간을 retryAfter로 알려줌")
+    void deniesOverLimit() {
+        for (int i = 0; i < MAX_REQUESTS; i++) {
+            acquire();
+        }
+
+        RateLimitCheckResult denied = acquire();
+
+        assertThat(denied.allowed()).isFalse();
+        assertThat(denied.remaining()).isZero();
+        assertThat(denied.retryAfterSeconds()).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("요청 간격만큼 시간이 지나면 토큰이 하나씩 다시 채워짐")
+    void refillsOneTokenPerInterval() {
+        for (int i = 0; i < MAX_REQUESTS; i++) {
+            acquire();
+        }
+
+        advanceSeconds(9);
+        assertThat(acquire().allowed()).isFalse();
+
+        advanceSeconds(1);
+        assertThat(acquire().allowed()).isTrue();
+        assertThat(acquire().allowed()).isFalse();
+
+        // 윈도우 전체가 지나면 버스트 전체가 복구되지만 그 이상 쌓이지는 않음
+        advanceSeconds(120);
+        for (int i = 0; i < MAX_REQUESTS; i++) {
+            assertThat(acquire().allowed()).isTrue();
+        }
+        assertThat(acquire().allowed()).isFalse();
+    }
+
+    @Test
+    @DisplayName("키마다 독립적으로 제한")
+    void limitsPerKey() {
+        for (int i = 0; i < MAX_REQUESTS; i++) {
+            acquire();
+        }
+
+        assertThat(acquire().allowed()).isFalse();
+        assertThat(limiter.tryAcquire("user:2", MAX_REQUESTS, WINDOW).allowed()).isTrue();
+    }
+
+    @Test
+    @DisplayName("lease는 가용량만큼만 부분 부여하고, 남은 게 없으면 retryAfter와 함께 거부")
+    void leaseGrantsUpToAvailable() {
+        RateLimitLeaseSource.Lease first = limiter.lease(KEY, MAX_REQUESTS, WINDOW, 4);
+        RateLimitLeaseSource.Lease second = limiter.lease(KEY, MAX_REQUESTS, WINDOW, 4);
+        RateLimitLeaseSource.Lease third = limiter.lease(KEY, MAX_REQUESTS, WINDOW, 4);
+
+        assertThat(first.granted()).isEqualTo(4);
+        assertThat(second.granted()).isEqualTo(2);
+        assertThat(third.granted()).isZero();
+        assertThat(third.retryAfterMillis()).isEqualTo(10_000);
+    }
+}
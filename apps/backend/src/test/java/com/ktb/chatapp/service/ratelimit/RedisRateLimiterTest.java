@@ -0,0 +1,97 @@
+package com.ktb.chatapp.service.ratelimit;
+
+import com.ktb.chatapp.service.RateLimitCheckResult;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * RedisRateLimiter 단위 테스트
+ * GCRA 계산은 Lua 스크립트가 하므로 스크립트 인자와 결과 { granted, remaining, retry_after_ms, reset_after_ms }
+ * 해석만 검증한다 (같은 알고리즘의 시간 흐름은 LocalRateLimiterTest에서 검증).
+ */
+@DisplayName("RedisRateLimiter 테스트")
+class RedisRateLimiterTest {
+
+    @SuppressWarnings("unchecked")
+    private final RedisTemplate<String, String> redis = mock(RedisTemplate.class);
+    private final RedisRateLimiter limiter = new RedisRateLimiter(redis);
+
+    @SuppressWarnings("unchecked")
+    private void scriptReturns(List<?> result) {
+        when(redis.execute(any(RedisScript.class), anyList(), anyString(), anyString(), anyString()))
+                .thenReturn(result);
+    }
+
+    @Test
+    @DisplayName("허용 결과는 남은 횟수와 윈도우가 비워질 때까지의 시간으로 변환")
+    void allowedResult() {
+        scriptReturns(List.of(1L, 4L, 0L, 12_000L));
+
+        RateLimitCheckResult result = limiter.tryAcquire("user:1", 5, Duration.ofSeconds(60));
+
+        assertThat(result.allowed()).isTrue();
+        assertThat(result.limit()).isEqualTo(5);
+        assertThat(result.remaining()).isEqualTo(4);
+        assertThat(result.windowSeconds()).isEqualTo(60);
+        assertThat(result.retryAfterSeconds()).isEqualTo(12);
+        verify(redis).execute(any(RedisScript.class), eq(List.of("rate:user:1")), eq("5"), eq("60000"), eq("1"));
+    }
+
+    @Test
+    @DisplayName("거부 결과는 다음 토큰까지의 시간을 초 단위로 올림")
+    void deniedResult() {
+        scriptReturns(List.of(0L, 0L, 9_001L, 60_000L));
+
+        RateLimitCheckResult result = limiter.tryAcquire("user:1", 5, Duration.ofSeconds(60));
+
+        assertThat(result.allowed()).isFalse();
+        assertThat(result.remaining()).isZero();
+        assertThat(result.retryAfterSeconds()).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("1초 미만 윈도우는 1초로 보정하고, 문자열 응답도 숫자로 해석")
+    void clampsWindowAndParsesStrings() {
+        scriptReturns(List.of("1", "0", "0", "200"));
+
+        RateLimitCheckResult result = limiter.tryAcquire("user:1", 5, Duration.ofMillis(10));
+
+        assertThat(result.allowed()).isTrue();
+        assertThat(result.windowSeconds()).isEqualTo(1);
+        verify(redis).execute(any(RedisScript.class), anyList(), eq("5"), eq("1000"), eq("1"));
+    }
+
+    @Test
+    @DisplayName("lease는 부여된 토큰 수를, 거부 시 retryAfter를 돌려줌")
+    void leaseResult() {
+        scriptReturns(List.of(3L, 0L, 0L, 30_000L));
+        assertThat(limiter.lease("user:1", 5, Duration.ofSeconds(60), 10))
+                .isEqualTo(new RateLimitLeaseSource.Lease(3, 0));
+        verify(redis).execute(any(RedisScript.class), anyList(), eq("5"), eq("60000"), eq("10"));
+
+        scriptReturns(List.of(0L, 0L, 4_000L, 60_000L));
+        assertThat(limiter.lease("user:1", 5, Duration.ofSeconds(60), 10))
+                .isEqualTo(RateLimitLeaseSource.Lease.denied(4_000));
+    }
+
+    @Test
+    @DisplayName("스크립트가 결과를 돌려주지 않으면 예외")
+    void failsOnMissingResult() {
+        scriptReturns(List.of(1L));
+
+        assertThatThrownBy(() -> limiter.tryAcquire("user:1", 5, Duration.ofSeconds(60)))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,128 @@
+package com.ktb.chatapp.service.session;
+
+import com.ktb.chatapp.model.Session;
+import com.ktb.chatapp.service.SessionMetadata;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * SessionNearCache 단위 테스트
+ */
+@DisplayName("SessionNearCache 테스트")
+class SessionNearCacheTest {
+
+    @SuppressWarnings("unchecked")
+    private final RedisTemplate<String, String> redisTemplate = mock(RedisTemplate.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private SessionNearCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new SessionNearCache(redisTemplate, meterRegistry, true, Duration.ofMinutes(1), 1000);
+        cache.init();
+    }
+
+    private static Session session(String userId, String sessionId) {
+        return Session.builder()
+                .userId(userId)
+                .sessionId(sessionId)
+                .createdAt(1_000L)
+                .lastActivity(2_000L)
+                .metadata(new SessionMetadata("agent", "127.0.0.1", "device"))
+                .build();
+    }
+
+    private static DefaultMessage message(String body) {
+        return new DefaultMessage(SessionNearCache.INVALIDATION_CHANNEL.getBytes(StandardCharsets.UTF_8),
+                body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("넣은 세션을 같은 값으로 돌려주고 hit로 집계")
+    void returnsCachedSession() {
+        cache.put(session("user-1", "s-1"));
+
+        Session hit = cache.get("s-1");
+
+        assertThat(hit).usingRecursiveComparison().isEqualTo(session("user-1", "s-1"));
+        assertThat(cache.get("s-2")).isNull();
+        assertThat(meterRegistry.get("session.near-cache.hit.ratio").gauge().value()).isEqualTo(0.5);
+    }
+
+    @Test
+    @DisplayName("호출자가 꺼낸 세션이나 넣은 세션을 고쳐도 캐시 값은 바뀌지 않음")
+    void isolatesCachedSessionFromCallers() {
+        Session original = session("user-1", "s-1");
+        cache.put(original);
+        original.setLastActivity(9_000L);
+
+        Session first = cache.get("s-1");
+        first.setLastActivity(8_000L);
+
+        assertThat(cache.get("s-1").getLastActivity()).isEqualTo(2_000L);
+        assertThat(cache.get("s-1")).isNotSameAs(cache.get("s-1"));
+    }
+
+    @Test
+    @DisplayName("단일 세션 무효화는 로컬에서 제거하고 클러스터에 전파")
+    void invalidatesSession() {
+        cache.put(session("user-1", "s-1"));
+        cache.put(session("user-1", "s-2"));
+
+        cache.invalidateSession("s-1");
+
+        assertThat(cache.get("s-1")).isNull();
+        assertThat(cache.get("s-2")).isNotNull();
+        verify(redisTemplate).convertAndSend(SessionNearCache.INVALIDATION_CHANNEL, "s:s-1");
+    }
+
+    @Test
+    @DisplayName("유저 무효화는 그 유저의 모든 세션을 제거")
+    void invalidatesUser() {
+        cache.put(session("user-1", "s-1"));
+        cache.put(session("user-1", "s-2"));
+        cache.put(session("user-2", "s-3"));
+
+        cache.invalidateUser("user-1");
+
+        assertThat(cache.get("s-1")).isNull();
+        assertThat(cache.get("s-2")).isNull();
+        assertThat(cache.get("s-3")).isNotNull();
+        verify(redisTemplate).convertAndSend(SessionNearCache.INVALIDATION_CHANNEL, "u:user-1");
+    }
+
+    @Test
+    @DisplayName("다른 서버가 보낸 무효화 메시지를 받아 로컬에서 제거")
+    void appliesRemoteInvalidation() {
+        cache.put(session("user-1", "s-1"));
+        cache.put(session("user-2", "s-2"));
+
+        cache.onMessage(message("s:s-1"), null);
+        cache.onMessage(message("u:user-2"), null);
+        cache.onMessage(message("garbage"), null);
+
+        assertThat(cache.get("s-1")).isNull();
+        assertThat(cache.get("s-2")).isNull();
+    }
+
+    @Test
+    @DisplayName("비활성화하면 보관하지도 전파하지도 않음")
+    void disabledCacheIsNoop() {
+        SessionNearCache disabled = new SessionNearCache(redisTemplate, meterRegistry, false, Duration.ofMinutes(1), 1000);
+
+        disabled.put(session("user-1", "s-1"));
+        disabled.invalidateSession("s-1");
+
+        assertThat(disabled.get("s-1")).isNull();
+        verifyNoInteractions(redisTemplate);
+    }
+}
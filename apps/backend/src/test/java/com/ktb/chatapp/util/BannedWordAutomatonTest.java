@@ -0,0 +1,83 @@
+package com.ktb.chatapp.util;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * BannedWordAutomaton 단위 테스트 (큰 비ASCII 사전의 메모리와 정확성)
+ */
+@DisplayName("BannedWordAutomaton 테스트")
+class BannedWordAutomatonTest {
+
+    private static final char HANGUL_START = '가';
+    private static final int HANGUL_SYLLABLES = 11_172;
+
+    private static String hangul(Random random, int length) {
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            builder.append((char) (HANGUL_START + random.nextInt(HANGUL_SYLLABLES)));
+        }
+        return builder.toString();
+    }
+
+    private static Set<String> hangulDictionary(Random random, int size) {
+        Set<String> words = new LinkedHashSet<>();
+        while (words.size() < size) {
+            words.add(hangul(random, 2 + random.nextInt(5)));
+        }
+        return words;
+    }
+
+    private static boolean naiveMatches(Set<String> words, String text) {
+        return words.stream().anyMatch(text::contains);
+    }
+
+    @Test
+    @DisplayName("10k 한글 단어 사전도 수 MB 안에서 만들어지고 단순 검색과 같은 결과")
+    void buildsLargeHangulDictionaryCompactly() {
+        Random random = new Random(42);
+        Set<String> words = hangulDictionary(random, 10_000);
+
+        BannedWordAutomaton automaton = BannedWordAutomaton.build(words);
+
+        assertThat(automaton.wordCount()).isEqualTo(10_000);
+        assertThat(automaton.estimatedMemoryBytes()).isLessThan(16L * 1024 * 1024);
+
+        List<String> banned = new ArrayList<>(words);
+        for (int i = 0; i < 200; i++) {
+            String word = banned.get(random.nextInt(banned.size()));
+            String text = hangul(random, 20) + word + hangul(random, 20);
+            assertThat(automaton.matches(text)).as(text).isTrue();
+        }
+        for (int i = 0; i < 2_000; i++) {
+            String text = hangul(random, 2 + random.nextInt(60));
+            assertThat(automaton.matches(text)).as(text).isEqualTo(naiveMatches(words, text));
+        }
+    }
+
+    @Test
+    @DisplayName("sparse 상태에서도 failure link로 겹치는 단어를 찾음")
+    void followsFailureLinksFromDeepStates() {
+        // 깊이 3 이상은 sparse: "가나다라마"를 따라가다 "다라바"로 빠져야 함
+        BannedWordAutomaton automaton = BannedWordAutomaton.build(List.of("가나다라마", "다라바"));
+
+        assertThat(automaton.matches("가나다라바")).isTrue();
+        assertThat(automaton.matches("가나다라")).isFalse();
+        assertThat(automaton.matches("xx가나다라마yy")).isTrue();
+    }
+
+    @Test
+    @DisplayName("빈 사전은 거부")
+    void rejectsEmptyDictionary() {
+        assertThatThrownBy(() -> BannedWordAutomaton.build(List.of(" ", "")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
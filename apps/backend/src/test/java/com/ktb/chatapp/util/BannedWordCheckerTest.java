@@ -54,4 +54,40 @@ class BannedWordCheckerTest {
         assertFalse(checker.containsBannedWord(null));
         assertFalse(checker.containsBannedWord("   "));
     }
+
+    @Test
+    void containsBannedWord_detectsCaseAndFullwidthVariants() {
+        BannedWordChecker checker = new BannedWordChecker(Set.of("badword"));
+        assertTrue(checker.containsBannedWord("this is BadWord"));
+        assertTrue(checker.containsBannedWord("ｂａｄｗｏｒｄ!"));
+        assertTrue(checker.containsBannedWord("\uD835\uDC1B\uD835\uDC1A\uD835\uDC1D" + "word"));
+    }
+
+    @Test
+    void containsBannedWord_ignoresZeroWidthCharacters() {
+        BannedWordChecker checker = new BannedWordChecker(Set.of("badword"));
+        assertTrue(checker.containsBannedWord("bad\u200Bwo\u00ADrd"));
+        assertFalse(checker.containsBannedWord("bad word"));
+    }
+
+    @Test
+    void containsBannedWord_expandsCompatibilityLigatures() {
+        BannedWordChecker checker = new BannedWordChecker(Set.of("fifty"));
+        assertTrue(checker.containsBannedWord("\uFB01fty"));
+    }
+
+    @Test
+    void containsBannedWord_findsOverlappingWordsViaFailureLinks() {
+        BannedWordChecker checker = new BannedWordChecker(Set.of("abcd", "bce"));
+        assertTrue(checker.containsBannedWord("xabce"));
+        assertFalse(checker.containsBannedWord("abcx"));
+    }
+
+    @Test
+    void swap_replacesDictionaryForSubsequentChecks() {
+        BannedWordChecker checker = new BannedWordChecker(Set.of("oldword"));
+        checker.swap(BannedWordAutomaton.build(Set.of("newword")));
+        assertFalse(checker.containsBannedWord("oldword"));
+        assertTrue(checker.containsBannedWord("newword"));
+    }
 }
@@ -0,0 +1,82 @@
+package com.ktb.chatapp.websocket.socketio.ai;
+
+import com.ktb.chatapp.event.AiMessageErrorEvent;
+import com.ktb.chatapp.event.AiMessageQueuedEvent;
+import com.ktb.chatapp.websocket.socketio.handler.StreamingSession;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+/**
+ * AiGenerationScheduler 대기열 공정성/취소 단위 테스트
+ */
+@DisplayName("AiGenerationScheduler 테스트")
+class AiGenerationSchedulerTest {
+
+    private final List<Object> events = new ArrayList<>();
+    private final ApplicationEventPublisher eventPublisher = events::add;
+    private final AiGenerationScheduler scheduler = new AiGenerationScheduler(
+            null, eventPublisher, new SimpleMeterRegistry(), 1, 1, 10, 10, Duration.ZERO);
+
+    private final List<String> started = new ArrayList<>();
+    private final List<Runnable> finishers = new ArrayList<>();
+    private final List<AiStreamHandler> handlers = new ArrayList<>();
+
+    private void submit(String roomId, String userId, String messageId) {
+        StreamingSession session = StreamingSession.builder()
+                .messageId(messageId)
+                .roomId(roomId)
+                .userId(userId)
+                .aiType("wayneAI")
+                .build();
+        scheduler.submit(session, (s, onFinish) -> {
+            started.add(s.getMessageId());
+            finishers.add(onFinish);
+            AiStreamHandler handler = mock(AiStreamHandler.class);
+            handlers.add(handler);
+            return handler;
+        });
+    }
+
+    @Test
+    @DisplayName("슬롯이 나면 방 단위 round-robin으로 다음 요청 시작")
+    void roundRobinAcrossRooms() {
+        submit("room-a", "user-1", "a1");
+        submit("room-a", "user-1", "a2");
+        submit("room-b", "user-2", "b1");
+
+        assertThat(started).containsExactly("a1");
+        assertThat(events).anySatisfy(event -> {
+            assertThat(event).isInstanceOf(AiMessageQueuedEvent.class);
+            assertThat(((AiMessageQueuedEvent) event).getMessageId()).isEqualTo("b1");
+            assertThat(((AiMessageQueuedEvent) event).getPosition()).isEqualTo(1);
+        });
+
+        finishers.get(0).run();
+        assertThat(started).containsExactly("a1", "b1");
+
+        finishers.get(1).run();
+        assertThat(started).containsExactly("a1", "b1", "a2");
+    }
+
+    @Test
+    @DisplayName("요청자가 방을 나가면 실행 중인 스트림을 취소하고 다음 요청 시작")
+    void cancelsRequesterStreams() {
+        submit("room-a", "user-1", "a1");
+        submit("room-b", "user-2", "b1");
+
+        scheduler.cancelRequester("room-a", "user-1");
+
+        verify(handlers.get(0)).cancel();
+        assertThat(started).containsExactly("a1", "b1");
+        assertThat(events).anySatisfy(event -> assertThat(event).isInstanceOf(AiMessageErrorEvent.class));
+    }
+}
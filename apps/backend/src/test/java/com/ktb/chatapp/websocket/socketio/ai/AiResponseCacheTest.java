@@ -0,0 +1,194 @@
+package com.ktb.chatapp.websocket.socketio.ai;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ktb.chatapp.model.AiType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.test.publisher.TestPublisher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * AiResponseCache 단위 테스트
+ * 업스트림 생성 스트림은 TestPublisher로, Redis는 ValueOperations mock으로 대체한다.
+ */
+@DisplayName("AiResponseCache 테스트")
+class AiResponseCacheTest {
+
+    private static final String QUERY = "자바의 특징을 알려줘";
+    private static final Duration TTL = Duration.ofMinutes(10);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    @SuppressWarnings("unchecked")
+    private final RedisTemplate<String, String> redisTemplate = mock(RedisTemplate.class);
+    @SuppressWarnings("unchecked")
+    private final ValueOperations<String, String> valueOps = mock(ValueOperations.class);
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+
+    private AiResponseCache cache(boolean redisEnabled) {
+        when(redisTemplate.opsForValue()).thenReturn(valueOps);
+        return new AiResponseCache(redisTemplate, objectMapper, meterRegistry,
+                TTL, 100, redisEnabled, 24, Duration.ZERO);
+    }
+
+    /** 호출 횟수를 세며 TestPublisher를 업스트림으로 내주는 공급자 */
+    private Supplier<Flux<String>> upstream(TestPublisher<String> publisher) {
+        return () -> {
+            upstreamCalls.incrementAndGet();
+            return publisher.flux();
+        };
+    }
+
+    private double lookups(String result) {
+        return meterRegistry.get("chat.ai.cache.lookups").tag("result", result).counter().count();
+    }
+
+    private double savedFragments() {
+        return meterRegistry.get("chat.ai.cache.saved_fragments").counter().count();
+    }
+
+    @Test
+    @DisplayName("대소문자, 전각 문자, 공백 차이는 같은 키")
+    void normalizesQuery() {
+        assertThat(AiResponseCache.normalize("  자바의   특징을\n알려줘 ABC "))
+                .isEqualTo("자바의 특징을 알려줘 abc");
+        assertThat(AiResponseCache.key(AiType.WAYNE_AI, "Hello  World"))
+                .isEqualTo(AiResponseCache.key(AiType.WAYNE_AI, "ｈｅｌｌｏ world"))
+                .isNotEqualTo(AiResponseCache.key(AiType.CONSULTING_AI, "hello world"));
+    }
+
+    @Test
+    @DisplayName("재생 분할은 surrogate pair를 가르지 않음")
+    void splitKeepsSurrogatePairs() {
+        assertThat(AiResponseCache.split("ab😀cd", 3)).containsExactly("ab😀", "cd");
+        assertThat(String.join("", AiResponseCache.split("안녕하세요 반갑습니다", 4)))
+                .isEqualTo("안녕하세요 반갑습니다");
+    }
+
+    @Test
+    @DisplayName("생성 중인 같은 질문에 합류하면 업스트림은 한 번만 구독하고 이미 받은 조각부터 받음")
+    void joinsInflightGeneration() {
+        AiResponseCache cache = cache(false);
+        TestPublisher<String> publisher = TestPublisher.create();
+        List<String> first = new CopyOnWriteArrayList<>();
+        List<String> second = new CopyOnWriteArrayList<>();
+
+        cache.fragments(AiType.WAYNE_AI, QUERY, upstream(publisher)).subscribe(first::add);
+        publisher.next("자바는 ");
+        cache.fragments(AiType.WAYNE_AI, "  자바의 특징을 알려줘", upstream(publisher)).subscribe(second::add);
+        publisher.next("객체지향 언어");
+        publisher.complete();
+
+        assertThat(upstreamCalls.get()).isEqualTo(1);
+        assertThat(first).containsExactly("자바는 ", "객체지향 언어");
+        assertThat(second).containsExactly("자바는 ", "객체지향 언어");
+        assertThat(lookups("miss")).isEqualTo(1.0);
+        assertThat(lookups("joined")).isEqualTo(1.0);
+        assertThat(savedFragments()).isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("업스트림은 마지막 구독자가 취소해야 취소되고, 취소된 응답은 저장하지 않음")
+    void cancelsUpstreamOnlyAfterLastSubscriber() {
+        AiResponseCache cache = cache(false);
+        TestPublisher<String> publisher = TestPublisher.create();
+
+        Disposable first = cache.fragments(AiType.WAYNE_AI, QUERY, upstream(publisher)).subscribe();
+        Disposable second = cache.fragments(AiType.WAYNE_AI, QUERY, upstream(publisher)).subscribe();
+        publisher.next("자바는 ");
+
+        first.dispose();
+        publisher.assertWasNotCancelled();
+        second.dispose();
+        publisher.assertWasCancelled();
+
+        // 저장도 합류도 없으므로 같은 질문은 새로 생성
+        TestPublisher<String> retry = TestPublisher.create();
+        cache.fragments(AiType.WAYNE_AI, QUERY, upstream(retry)).subscribe();
+        retry.assertSubscribers(1);
+        assertThat(upstreamCalls.get()).isEqualTo(2);
+        assertThat(lookups("local_hit")).isZero();
+    }
+
+    @Test
+    @DisplayName("에러로 끝난 응답은 로컬과 Redis 어디에도 저장하지 않음")
+    void doesNotStoreFailedGeneration() {
+        AiResponseCache cache = cache(true);
+        TestPublisher<String> publisher = TestPublisher.create();
+        List<Throwable> errors = new CopyOnWriteArrayList<>();
+
+        cache.fragments(AiType.WAYNE_AI, QUERY, upstream(publisher)).subscribe(fragment -> { }, errors::add);
+        // Redis 조회가 끝나야 업스트림을 구독함
+        await().atMost(5, TimeUnit.SECONDS).until(() -> publisher.subscribeCount() == 1);
+        publisher.next("자바는 ");
+        publisher.error(new IllegalStateException("model down"));
+
+        assertThat(errors).hasSize(1);
+        TestPublisher<String> retry = TestPublisher.create();
+        cache.fragments(AiType.WAYNE_AI, QUERY, upstream(retry)).subscribe();
+        await().atMost(5, TimeUnit.SECONDS).until(() -> retry.subscribeCount() == 1);
+        assertThat(lookups("miss")).isEqualTo(2.0);
+        verify(valueOps, never()).set(anyString(), anyString(), any(Duration.class));
+    }
+
+    @Test
+    @DisplayName("정상 완료된 응답은 로컬과 Redis에 저장하고 다음 질문은 로컬에서 재생")
+    void storesCompletedGeneration() {
+        AiResponseCache cache = cache(true);
+        TestPublisher<String> publisher = TestPublisher.create();
+        String redisKey = AiResponseCache.KEY_PREFIX + AiResponseCache.key(AiType.WAYNE_AI, QUERY);
+
+        cache.fragments(AiType.WAYNE_AI, QUERY, upstream(publisher)).subscribe();
+        await().atMost(5, TimeUnit.SECONDS).until(() -> publisher.subscribeCount() == 1);
+        publisher.next("자바는 ", "객체지향 언어");
+        publisher.complete();
+
+        verify(valueOps, timeout(5_000)).set(eq(redisKey), anyString(), eq(TTL));
+        List<String> replayed = cache.fragments(AiType.WAYNE_AI, QUERY, () -> Flux.error(new AssertionError()))
+                .collectList().block(Duration.ofSeconds(5));
+        assertThat(replayed).containsExactly("자바는 객체지향 언어");
+        assertThat(upstreamCalls.get()).isEqualTo(1);
+        assertThat(lookups("local_hit")).isEqualTo(1.0);
+        assertThat(savedFragments()).isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("Redis 적중은 재생하면서 로컬 캐시를 채우고, 이후에는 Redis를 조회하지 않음")
+    void redisHitFillsLocalTier() throws Exception {
+        AiResponseCache cache = cache(true);
+        String redisKey = AiResponseCache.KEY_PREFIX + AiResponseCache.key(AiType.WAYNE_AI, QUERY);
+        when(valueOps.get(redisKey)).thenReturn(objectMapper.writeValueAsString(
+                new AiResponseCache.CachedAnswer("다른 서버가 만든 답변", 3)));
+        Supplier<Flux<String>> neverCalled = () -> Flux.error(new AssertionError("upstream called"));
+
+        List<String> fromRedis = cache.fragments(AiType.WAYNE_AI, QUERY, neverCalled)
+                .collectList().block(Duration.ofSeconds(5));
+        List<String> fromLocal = cache.fragments(AiType.WAYNE_AI, QUERY, neverCalled)
+                .collectList().block(Duration.ofSeconds(5));
+
+        assertThat(fromRedis).containsExactly("다른 서버가 만든 답변");
+        assertThat(fromLocal).isEqualTo(fromRedis);
+        verify(valueOps, times(1)).get(redisKey);
+        assertThat(lookups("redis_hit")).isEqualTo(1.0);
+        assertThat(lookups("local_hit")).isEqualTo(1.0);
+        assertThat(lookups("miss")).isZero();
+        assertThat(savedFragments()).isEqualTo(6.0);
+    }
+}
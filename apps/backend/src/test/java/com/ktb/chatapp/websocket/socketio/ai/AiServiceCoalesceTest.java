@@ -0,0 +1,41 @@
+package com.ktb.chatapp.websocket.socketio.ai;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * AI 토큰 조각 coalescing 단위 테스트
+ */
+@DisplayName("AI 청크 coalescing 테스트")
+class AiServiceCoalesceTest {
+
+    @Test
+    @DisplayName("최대 조각 수만큼 모아 하나의 청크로 내보냄")
+    void mergesUpToMaxFragments() {
+        Flux<String> fragments = Flux.just("안", "녕", "하", "세", "요");
+
+        StepVerifier.create(AiService.coalesce(fragments, Duration.ofSeconds(1), 2))
+                .expectNext("안녕", "하세", "요")
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("조각 사이에 걸친 코드 블록 표시도 합친 뒤에는 인식됨")
+    void codeBlockStateAcrossFragments() {
+        AtomicBoolean codeBlockState = new AtomicBoolean(false);
+
+        var chunks = AiService.coalesce(Flux.just("예시: `", "``java\n", "int a;"), Duration.ofSeconds(1), 64)
+                .map(chunk -> ChunkData.from(chunk).updateCodeBlockState(codeBlockState))
+                .collectList()
+                .block();
+
+        assertThat(chunks).hasSize(1);
+        assertThat(chunks.get(0).codeBlock()).isTrue();
+    }
+}
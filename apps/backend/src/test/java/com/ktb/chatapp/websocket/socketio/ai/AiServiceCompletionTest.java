@@ -0,0 +1,77 @@
+package com.ktb.chatapp.websocket.socketio.ai;
+
+import com.ktb.chatapp.event.AiMessageCompleteEvent;
+import com.ktb.chatapp.event.AiMessageSavedEvent;
+import com.ktb.chatapp.model.AiType;
+import com.ktb.chatapp.model.Message;
+import com.ktb.chatapp.model.MessageType;
+import com.ktb.chatapp.service.command.MessageWriteBehindService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * AI 응답 완료 → 저장 이벤트 → write-behind 저장 흐름 단위 테스트
+ * write-behind는 넘겨받은 메시지를 기록하는 mock으로 대체한다 (배치 저장은 MessageWriteBehindServiceTest에서 검증).
+ */
+@DisplayName("AiService 완료 처리 테스트")
+class AiServiceCompletionTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final MessageWriteBehindService writeBehind = mock(MessageWriteBehindService.class);
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+
+    private AiService aiService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        when(writeBehind.submitDetached(any(Message.class))).thenAnswer(inv -> {
+            Message message = inv.getArgument(0);
+            message.setId(new ObjectId().toHexString());
+            return CompletableFuture.completedFuture(message);
+        });
+
+        ChatClient.Builder chatClientBuilder = mock(ChatClient.Builder.class);
+        when(chatClientBuilder.build()).thenReturn(mock(ChatClient.class));
+        ObjectProvider<AiResponseCache> cacheProvider = mock(ObjectProvider.class);
+        aiService = new AiService(chatClientBuilder, eventPublisher, writeBehind,
+                mock(AiGenerationScheduler.class), cacheProvider,
+                32, Duration.ofSeconds(2), Duration.ZERO, 1, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("완료 이벤트는 호출 스레드를 막지 않는 경로로 저장하고 같은 id로 저장 이벤트를 내보냄")
+    void completionPersistsAndPublishesSavedEvent() {
+        AiMessageCompleteEvent complete = new AiMessageCompleteEvent(this, "room-1", "wayneAI-1",
+                "안녕하세요", AiType.WAYNE_AI, 1_700_000_000_000L, "인사해줘", 120L);
+
+        aiService.onAiMessageCompleteEvent(complete);
+
+        ArgumentCaptor<Message> persisted = ArgumentCaptor.forClass(Message.class);
+        verify(writeBehind).submitDetached(persisted.capture());
+        verify(writeBehind, never()).submit(any());
+        Message message = persisted.getValue();
+        assertThat(message.getRoomId()).isEqualTo("room-1");
+        assertThat(message.getType()).isEqualTo(MessageType.ai);
+        assertThat(message.getContent()).isEqualTo("안녕하세요");
+        assertThat(message.getMetadata()).containsEntry("query", "인사해줘");
+
+        ArgumentCaptor<AiMessageSavedEvent> saved = ArgumentCaptor.forClass(AiMessageSavedEvent.class);
+        verify(eventPublisher).publishEvent(saved.capture());
+        assertThat(saved.getValue().getMessageId()).isEqualTo("wayneAI-1");
+        assertThat(saved.getValue().getSavedMessageId()).isEqualTo(message.getId());
+    }
+}
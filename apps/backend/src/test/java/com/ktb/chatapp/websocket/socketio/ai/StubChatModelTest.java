@@ -0,0 +1,50 @@
+package com.ktb.chatapp.websocket.socketio.ai;
+
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.prompt.Prompt;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 부하 측정용 stub 모델 단위 테스트
+ */
+@DisplayName("Stub ChatModel 테스트")
+class StubChatModelTest {
+
+    private static List<String> texts(StubChatModel model, String prompt) {
+        return model.stream(new Prompt(prompt))
+                .map(response -> response.getResult().getOutput().getText())
+                .collectList()
+                .block();
+    }
+
+    @Test
+    @DisplayName("같은 프롬프트는 항상 같은 토큰열을 생성")
+    void deterministicPerPrompt() {
+        StubChatModel model = new StubChatModel(40, 0, Duration.ZERO, 0.2, 0);
+
+        List<String> first = texts(model, "질문 A");
+
+        assertThat(first).hasSize(40);
+        assertThat(texts(model, "질문 A")).isEqualTo(first);
+        assertThat(texts(model, "질문 B")).isNotEqualTo(first);
+        assertThat(String.join("", first))
+                .contains("```java\n")
+                .isEqualTo(model.call(new Prompt("질문 A")).getResult().getOutput().getText());
+    }
+
+    @Test
+    @DisplayName("error-rate=1이면 스트림 도중 에러로 종료")
+    void injectsErrors() {
+        StubChatModel model = new StubChatModel(10, 0, Duration.ZERO, 0, 1);
+
+        StepVerifier.create(model.stream(new Prompt("질문")).map(ChatResponse::getResult))
+                .thenConsumeWhile(result -> true)
+                .verifyError(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,259 @@
+package com.ktb.chatapp.websocket.socketio.broadcast;
+
+import com.corundumstudio.socketio.SocketIOClient;
+import com.corundumstudio.socketio.SocketIOServer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.UUID;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * ClientOutboxes 큐잉/coalescing 단위 테스트
+ */
+@DisplayName("ClientOutboxes 테스트")
+class ClientOutboxesTest {
+
+    private static final String ROOM = "room-1";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ClientOutboxes outboxes = new ClientOutboxes(
+            null, objectMapper, new SimpleMeterRegistry(),
+            true, 256, "drop-oldest", Duration.ofSeconds(30), Duration.ofMillis(25));
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SocketIOServer socketIOServer = mock(SocketIOServer.class);
+    private final SocketIOClient client = mock(SocketIOClient.class);
+
+    private static EncodedPayload json(String value) {
+        return new EncodedPayload(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** 연결된 클라이언트 하나와 drain 스케줄러 없는 outboxes (drainAll은 테스트가 직접 호출) */
+    private ClientOutboxes outboxes(int highWaterMark, String overflowPolicy, Duration slowTimeout) {
+        UUID sessionId = UUID.randomUUID();
+        when(client.getSessionId()).thenReturn(sessionId);
+        when(socketIOServer.getClient(sessionId)).thenReturn(client);
+        return new ClientOutboxes(socketIOServer, objectMapper, meterRegistry,
+                true, highWaterMark, overflowPolicy, slowTimeout, Duration.ofMillis(25));
+    }
+
+    private double count(String name) {
+        return meterRegistry.get(name).counter().count();
+    }
+
+    @Test
+    @DisplayName("합칠 수 있는 이벤트만 키를 가짐")
+    void coalesceKeyPerEvent() {
+        assertThat(outboxes.coalesceKey(ROOM, AI_MESSAGE_CHUNK, json("{\"messageId\":\"ai-1\",\"fullContent\":\"안\"}")))
+                .isEqualTo(ROOM + ":" + AI_MESSAGE_CHUNK + ":ai-1");
+        assertThat(outboxes.coalesceKey(ROOM, MESSAGES_READ, json("{\"userId\":\"user-1\",\"messageIds\":[\"m1\"]}")))
+                .isEqualTo(ROOM + ":" + MESSAGES_READ + ":user-1");
+        assertThat(outboxes.coalesceKey(ROOM, PARTICIPANTS_UPDATE, json("[]"))).isEqualTo(ROOM + ":" + PARTICIPANTS_UPDATE + ":");
+        assertThat(outboxes.coalesceKey(ROOM, MESSAGE, json("{\"id\":\"m1\"}"))).isNull();
+        assertThat(outboxes.coalesceKey(null, PARTICIPANTS_UPDATE, json("[]"))).isNull();
+    }
+
+    @Test
+    @DisplayName("읽음 이벤트는 messageIds 합집합으로 합쳐짐")
+    void mergesReadAcks() throws Exception {
+        ClientOutboxes.Outbound queued = new ClientOutboxes.Outbound(ROOM, MESSAGES_READ,
+                json("{\"userId\":\"user-1\",\"messageIds\":[\"m1\",\"m2\"]}"), null);
+        ClientOutboxes.Outbound next = new ClientOutboxes.Outbound(ROOM, MESSAGES_READ,
+                json("{\"userId\":\"user-1\",\"messageIds\":[\"m2\",\"m3\"]}"), null);
+
+        ClientOutboxes.Outbound merged = outboxes.merge(queued, next);
+
+        assertThat(objectMapper.readTree(merged.payload().bytes()).path("messageIds"))
+                .extracting(node -> node.asText())
+                .containsExactly("m1", "m2", "m3");
+    }
+
+    @Test
+    @DisplayName("읽음 이벤트를 합칠 때 읽음 위치는 나중에 도착한 값 (id 문자열로 비교하지 않음)")
+    void keepsLatestArrivedReadWatermark() throws Exception {
+        ClientOutboxes.Outbound queued = new ClientOutboxes.Outbound(ROOM, MESSAGES_READ,
+                json("{\"userId\":\"ALL\",\"messageIds\":[\"m2\"],\"lastReadMessageId\":\"ffff\"}"), null);
+        ClientOutboxes.Outbound next = new ClientOutboxes.Outbound(ROOM, MESSAGES_READ,
+                json("{\"userId\":\"ALL\",\"messageIds\":[\"m1\"],\"lastReadMessageId\":\"0001\"}"), null);
+        ClientOutboxes.Outbound withoutWatermark = new ClientOutboxes.Outbound(ROOM, MESSAGES_READ,
+                json("{\"userId\":\"ALL\",\"messageIds\":[\"m3\"]}"), null);
+
+        ClientOutboxes.Outbound merged = outboxes.merge(queued, next);
+        assertThat(objectMapper.readTree(merged.payload().bytes()).path("lastReadMessageId").asText())
+                .isEqualTo("0001");
+
+        ClientOutboxes.Outbound kept = outboxes.merge(merged, withoutWatermark);
+        assertThat(objectMapper.readTree(kept.payload().bytes()).path("lastReadMessageId").asText())
+                .isEqualTo("0001");
+    }
+
+    @Test
+    @DisplayName("같은 사용자의 읽음 이벤트라도 방이 다르면 합치지 않음")
+    void doesNotCoalesceAcrossRooms() {
+        ClientOutboxes outboxes = outboxes(256, "drop-oldest", Duration.ofSeconds(30));
+        when(client.isWritable()).thenReturn(false);
+        EncodedPayload roomOneAck = json("{\"userId\":\"user-1\",\"messageIds\":[\"m1\"]}");
+        EncodedPayload roomTwoAck = json("{\"userId\":\"user-1\",\"messageIds\":[\"m9\"]}");
+
+        outboxes.send(client, ROOM, MESSAGES_READ, roomOneAck, null);
+        outboxes.send(client, "room-2", MESSAGES_READ, roomTwoAck, null);
+        when(client.isWritable()).thenReturn(true);
+        outboxes.drainAll();
+
+        InOrder inOrder = inOrder(client);
+        inOrder.verify(client).sendEvent(MESSAGES_READ, roomOneAck);
+        inOrder.verify(client).sendEvent(MESSAGES_READ, roomTwoAck);
+        assertThat(count("chat.outbox.coalesced")).isZero();
+    }
+
+    @Test
+    @DisplayName("AI delta 청크는 이어붙이고, 스냅샷 청크는 교체")
+    void mergesAiDeltas() throws Exception {
+        ClientOutboxes.Outbound first = new ClientOutboxes.Outbound(ROOM, AI_MESSAGE_CHUNK,
+                json("{\"messageId\":\"ai-1\",\"currentChunk\":\"안녕\",\"sequence\":3,\"offset\":5}"), null);
+        ClientOutboxes.Outbound second = new ClientOutboxes.Outbound(ROOM, AI_MESSAGE_CHUNK,
+                json("{\"messageId\":\"ai-1\",\"currentChunk\":\"하세요\",\"sequence\":4,\"offset\":7}"), null);
+        ClientOutboxes.Outbound snapshot = new ClientOutboxes.Outbound(ROOM, AI_MESSAGE_CHUNK,
+                json("{\"messageId\":\"ai-1\",\"currentChunk\":\"!\",\"sequence\":5,\"offset\":10,"
+                        + "\"fullContent\":\"네, 안녕하세요!\"}"), null);
+
+        ClientOutboxes.Outbound merged = outboxes.merge(first, second);
+
+        var node = objectMapper.readTree(merged.payload().bytes());
+        assertThat(node.path("currentChunk").asText()).isEqualTo("안녕하세요");
+        assertThat(node.path("offset").asInt()).isEqualTo(5);
+        assertThat(node.path("sequence").asLong()).isEqualTo(4);
+        assertThat(outboxes.merge(merged, snapshot)).isSameAs(snapshot);
+    }
+
+    @Test
+    @DisplayName("쓰기 가능하면 큐 없이 바로 전송")
+    void sendsDirectlyWhenWritable() {
+        ClientOutboxes outboxes = outboxes(256, "drop-oldest", Duration.ofSeconds(30));
+        when(client.isWritable()).thenReturn(true);
+        EncodedPayload payload = json("{\"id\":\"m1\"}");
+        EncodedPayload meta = json("{}");
+
+        outboxes.send(client, ROOM, MESSAGE, payload, meta);
+
+        verify(client).sendEvent(MESSAGE, payload, meta);
+    }
+
+    @Test
+    @DisplayName("쓰기 불가면 큐에 쌓고, 쓰기 가능해지면 순서대로 전송")
+    void queuesWhileNotWritable() {
+        ClientOutboxes outboxes = outboxes(256, "drop-oldest", Duration.ofSeconds(30));
+        EncodedPayload m1 = json("{\"id\":\"m1\"}");
+        EncodedPayload m2 = json("{\"id\":\"m2\"}");
+        EncodedPayload m3 = json("{\"id\":\"m3\"}");
+        when(client.isWritable()).thenReturn(false);
+
+        outboxes.send(client, ROOM, MESSAGE, m1, null);
+        outboxes.send(client, ROOM, MESSAGE, m2, null);
+        verify(client, never()).sendEvent(anyString(), any(Object[].class));
+
+        // 큐가 남아 있는 동안에는 쓰기 가능해져도 새 이벤트가 앞지르지 않음
+        when(client.isWritable()).thenReturn(true);
+        outboxes.send(client, ROOM, MESSAGE, m3, null);
+        outboxes.drainAll();
+
+        InOrder inOrder = inOrder(client);
+        inOrder.verify(client).sendEvent(MESSAGE, m1);
+        inOrder.verify(client).sendEvent(MESSAGE, m2);
+        inOrder.verify(client).sendEvent(MESSAGE, m3);
+    }
+
+    @Test
+    @DisplayName("큐에 있는 동안 같은 키의 이벤트는 하나로 합쳐 전송")
+    void coalescesWhileQueued() {
+        ClientOutboxes outboxes = outboxes(256, "drop-oldest", Duration.ofSeconds(30));
+        when(client.isWritable()).thenReturn(false);
+
+        outboxes.send(client, ROOM, PARTICIPANTS_UPDATE, json("[\"u1\"]"), null);
+        outboxes.send(client, ROOM, PARTICIPANTS_UPDATE, json("[\"u1\",\"u2\"]"), null);
+        when(client.isWritable()).thenReturn(true);
+        outboxes.drainAll();
+
+        verify(client, times(1)).sendEvent(anyString(), any(Object[].class));
+        assertThat(count("chat.outbox.coalesced")).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("drop-oldest 정책은 high-water-mark를 넘으면 가장 오래된 이벤트를 버림")
+    void dropsOldestOverHighWaterMark() {
+        ClientOutboxes outboxes = outboxes(2, "drop-oldest", Duration.ofSeconds(30));
+        EncodedPayload m1 = json("{\"id\":\"m1\"}");
+        EncodedPayload m2 = json("{\"id\":\"m2\"}");
+        EncodedPayload m3 = json("{\"id\":\"m3\"}");
+        when(client.isWritable()).thenReturn(false);
+
+        outboxes.send(client, ROOM, MESSAGE, m1, null);
+        outboxes.send(client, ROOM, MESSAGE, m2, null);
+        outboxes.send(client, ROOM, MESSAGE, m3, null);
+        when(client.isWritable()).thenReturn(true);
+        outboxes.drainAll();
+
+        verify(client, never()).sendEvent(MESSAGE, m1);
+        InOrder inOrder = inOrder(client);
+        inOrder.verify(client).sendEvent(MESSAGE, m2);
+        inOrder.verify(client).sendEvent(MESSAGE, m3);
+        assertThat(count("chat.outbox.dropped")).isEqualTo(1.0);
+        verify(client, never()).disconnect();
+    }
+
+    @Test
+    @DisplayName("disconnect 정책은 high-water-mark를 넘으면 연결을 끊고 큐를 버림")
+    void disconnectsOverHighWaterMark() {
+        ClientOutboxes outboxes = outboxes(1, "disconnect", Duration.ofSeconds(30));
+        when(client.isWritable()).thenReturn(false);
+
+        outboxes.send(client, ROOM, MESSAGE, json("{\"id\":\"m1\"}"), null);
+        outboxes.send(client, ROOM, MESSAGE, json("{\"id\":\"m2\"}"), null);
+
+        verify(client).disconnect();
+        assertThat(count("chat.outbox.disconnects")).isEqualTo(1.0);
+
+        when(client.isWritable()).thenReturn(true);
+        outboxes.drainAll();
+        verify(client, never()).sendEvent(anyString(), any(Object[].class));
+    }
+
+    @Test
+    @DisplayName("slow-timeout 동안 큐를 비우지 못하면 연결을 끊음")
+    void disconnectsAfterSlowTimeout() throws Exception {
+        ClientOutboxes outboxes = outboxes(256, "drop-oldest", Duration.ofMillis(1));
+        when(client.isWritable()).thenReturn(false);
+
+        outboxes.send(client, ROOM, MESSAGE, json("{\"id\":\"m1\"}"), null);
+        Thread.sleep(5);
+        outboxes.drainAll();
+
+        verify(client).disconnect();
+        assertThat(count("chat.outbox.disconnects")).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("연결이 끊긴 클라이언트의 큐는 전송 없이 정리")
+    void discardsQueueOfDisconnectedClient() {
+        ClientOutboxes outboxes = outboxes(256, "drop-oldest", Duration.ofSeconds(30));
+        when(client.isWritable()).thenReturn(false);
+        outboxes.send(client, ROOM, MESSAGE, json("{\"id\":\"m1\"}"), null);
+
+        when(socketIOServer.getClient(client.getSessionId())).thenReturn(null);
+        when(client.isWritable()).thenReturn(true);
+        outboxes.drainAll();
+
+        verify(client, never()).sendEvent(anyString(), any(Object[].class));
+        verify(client, never()).disconnect();
+    }
+}
@@ -0,0 +1,126 @@
+package com.ktb.chatapp.websocket.socketio.broadcast;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ktb.chatapp.config.NodeIdentity;
+import com.ktb.chatapp.websocket.socketio.metrics.ChatMessageMetrics;
+import com.ktb.chatapp.websocket.socketio.pubsub.AiStreamSequenceTracker;
+import com.ktb.chatapp.websocket.socketio.pubsub.ChatBroadcastCodec;
+import com.ktb.chatapp.websocket.socketio.pubsub.ChatBroadcastEvent;
+import com.ktb.chatapp.websocket.socketio.pubsub.RedisMessagePublisher;
+import com.ktb.chatapp.websocket.socketio.pubsub.RedisMessageSubscriber;
+import com.ktb.chatapp.websocket.socketio.pubsub.SubscriberDispatchPool;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.connection.DefaultMessage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * RedisBroadcastService 로컬/원격 전달 순서 테스트
+ * Redis 채널은 발행된 순서대로 쌓이는 리스트로, 이 서버의 수신은 실제 RedisMessageSubscriber로 시뮬레이션한다.
+ */
+@DisplayName("RedisBroadcastService 테스트")
+class RedisBroadcastServiceTest {
+
+    private static final String ROOM = "room-1";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ChatBroadcastCodec codec = new ChatBroadcastCodec(new ObjectMapper(), "smile");
+    private final NodeIdentity localNode = new NodeIdentity("node-a");
+    private final ChatMessageMetrics metrics = new ChatMessageMetrics(meterRegistry);
+
+    /** Redis 채널에 도착한 순서 */
+    private final List<byte[]> bus = new ArrayList<>();
+    /** 이 서버 클라이언트에게 전달된 순서 */
+    private final List<String> delivered = new ArrayList<>();
+
+    private RoomFanout roomFanout;
+    private RedisMessageSubscriber subscriber;
+    private RedisBroadcastService service;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        roomFanout = mock(RoomFanout.class);
+        when(roomFanout.encode(any())).thenAnswer(inv ->
+                new EncodedPayload(("\"" + inv.getArgument(0) + "\"").getBytes(StandardCharsets.UTF_8)));
+        when(roomFanout.sendToRoom(anyString(), anyString(), any())).thenAnswer(inv -> {
+            delivered.add(new String(((EncodedPayload) inv.getArgument(2)).bytes(), StandardCharsets.UTF_8));
+            return 1;
+        });
+
+        RedisMessagePublisher publisher = mock(RedisMessagePublisher.class);
+        doAnswer(inv -> {
+            bus.add(codec.encode(inv.getArgument(0)));
+            return null;
+        }).when(publisher).publish(any(ChatBroadcastEvent.class));
+
+        ObjectProvider<RoomFanout> fanoutProvider = mock(ObjectProvider.class);
+        when(fanoutProvider.getIfAvailable()).thenReturn(roomFanout);
+
+        service = new RedisBroadcastService(publisher, fanoutProvider);
+        subscriber = new RedisMessageSubscriber(roomFanout, codec, metrics, localNode,
+                new SubscriberDispatchPool(meterRegistry, false, 1, 1),
+                new AiStreamSequenceTracker(meterRegistry, Duration.ofMinutes(5)),
+                meterRegistry);
+    }
+
+    /** 다른 서버가 Redis에 먼저 발행한 이벤트 */
+    private void remotePublish(String value) throws Exception {
+        bus.add(codec.encode(ChatBroadcastEvent.builder()
+                .eventType(ChatBroadcastEvent.TYPE_MESSAGE)
+                .roomId(ROOM)
+                .socketEvent("message")
+                .payload(new EncodedPayload(("\"" + value + "\"").getBytes(StandardCharsets.UTF_8)))
+                .publishedAt(System.currentTimeMillis())
+                .originNodeId("node-b")
+                .build()));
+    }
+
+    /** Redis가 채널 순서대로 이 서버에 전달 */
+    private void drainBusToLocalSubscriber() {
+        byte[] channel = ("chat:room:" + ROOM).getBytes(StandardCharsets.UTF_8);
+        for (byte[] body : bus) {
+            subscriber.onMessage(new DefaultMessage(channel, body), null);
+        }
+        bus.clear();
+    }
+
+    @Test
+    @DisplayName("기본 설정에서는 로컬 클라이언트도 Redis 채널 순서대로 받음")
+    void defaultKeepsRedisOrderForLocalAndRemoteEvents() throws Exception {
+        remotePublish("remote-1");
+        service.broadcastToRoom(ROOM, "message", "local-1");
+        remotePublish("remote-2");
+        service.broadcastToRoom(ROOM, "message", "local-2");
+
+        assertThat(delivered).isEmpty();
+
+        drainBusToLocalSubscriber();
+
+        assertThat(delivered).containsExactly(
+                "\"remote-1\"", "\"local-1\"", "\"remote-2\"", "\"local-2\"");
+    }
+
+    @Test
+    @DisplayName("발행 노드 표시 없이 발행하므로 이 서버도 자기 이벤트를 Redis에서 받아 전달")
+    void publishesWithoutOriginSoLocalSubscriberDelivers() throws Exception {
+        service.broadcastToRoom(ROOM, "message", "local-1");
+
+        assertThat(codec.decode(bus.get(0)).getOriginNodeId()).isNull();
+        drainBusToLocalSubscriber();
+
+        assertThat(delivered).containsExactly("\"local-1\"");
+        assertThat(meterRegistry.get("chat.pubsub.origin.skipped").counter().count()).isZero();
+    }
+}
@@ -0,0 +1,86 @@
+package com.ktb.chatapp.websocket.socketio.broadcast;
+
+import com.ktb.chatapp.config.NodeIdentity;
+import com.ktb.chatapp.websocket.socketio.metrics.ChatMessageMetrics;
+import com.ktb.chatapp.websocket.socketio.pubsub.ChatBroadcastEvent;
+import com.ktb.chatapp.websocket.socketio.pubsub.RedisMessagePublisher;
+import com.ktb.chatapp.websocket.socketio.stream.RoomEventLog;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.ObjectProvider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+/**
+ * StreamBroadcastService XADD 실패 시 Pub/Sub 대체 발행 테스트
+ */
+@DisplayName("StreamBroadcastService 테스트")
+class StreamBroadcastServiceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RoomEventLog roomEventLog = mock(RoomEventLog.class);
+    private final RedisMessagePublisher publisher = mock(RedisMessagePublisher.class);
+    private final RoomFanout roomFanout = mock(RoomFanout.class);
+    private final EncodedPayload encoded = new EncodedPayload("\"hi\"".getBytes());
+
+    private StreamBroadcastService service;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        ObjectProvider<RoomFanout> fanoutProvider = mock(ObjectProvider.class);
+        when(fanoutProvider.getIfAvailable()).thenReturn(roomFanout);
+        when(roomFanout.encode(any())).thenReturn(encoded);
+        service = new StreamBroadcastService(roomEventLog, publisher, fanoutProvider,
+                new NodeIdentity("node-a"), new ChatMessageMetrics(meterRegistry), meterRegistry);
+    }
+
+    @Test
+    @DisplayName("XADD 성공 시 바로 로컬 전송하지 않고(스트림 리더가 순서대로 전달) Pub/Sub로도 발행하지 않음")
+    void appendsWithoutLocalShortCircuit() {
+        when(roomEventLog.append(any())).thenReturn("1700000000000-0");
+
+        service.broadcastToRoom("room-1", "message", "hi");
+
+        verify(roomEventLog).append(any());
+        verify(roomFanout, never()).sendToRoom(any(), any(), any(), any());
+        verifyNoInteractions(publisher);
+    }
+
+    @Test
+    @DisplayName("XADD 실패 시 Pub/Sub로 대신 발행해 다른 서버에도 전달")
+    void fallsBackToPubSubWhenAppendFails() {
+        when(roomEventLog.append(any())).thenReturn(null);
+
+        service.broadcastToRoom("room-1", "message", "hi");
+
+        ArgumentCaptor<ChatBroadcastEvent> published = ArgumentCaptor.forClass(ChatBroadcastEvent.class);
+        verify(publisher).publish(published.capture());
+        assertThat(published.getValue().getRoomId()).isEqualTo("room-1");
+        // 이 서버는 바로 전송하므로 자기 구독에서는 건너뛰도록 발행 노드를 표시
+        assertThat(published.getValue().getOriginNodeId()).isEqualTo("node-a");
+        verify(roomFanout).sendToRoom(eq("room-1"), eq("message"), eq(encoded), isNull());
+        assertThat(meterRegistry.get("chat.stream.append.fallback").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("AI 스트림 이벤트는 streamId/streamSeq를 담아 XADD")
+    void appendsStreamIdAndSequence() {
+        when(roomEventLog.append(any())).thenReturn("1700000000000-0");
+
+        service.broadcastStreamEvent(ChatBroadcastEvent.TYPE_AI_MESSAGE_CHUNK, "room-1", "aiMessageChunk", "hi",
+                "ai-1", 3L);
+
+        ArgumentCaptor<ChatBroadcastEvent> appended = ArgumentCaptor.forClass(ChatBroadcastEvent.class);
+        verify(roomEventLog).append(appended.capture());
+        assertThat(appended.getValue().getStreamId()).isEqualTo("ai-1");
+        assertThat(appended.getValue().getStreamSeq()).isEqualTo(3L);
+    }
+}
@@ -0,0 +1,167 @@
+package com.ktb.chatapp.websocket.socketio.dispatch;
+
+import com.corundumstudio.socketio.SocketIOClient;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.ERROR;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * RoomEventDispatcher 단위 테스트
+ */
+@DisplayName("RoomEventDispatcher 테스트")
+class RoomEventDispatcherTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SocketIOClient client = mock(SocketIOClient.class);
+    private final List<CountDownLatch> blockers = Collections.synchronizedList(new ArrayList<>());
+    private RoomEventDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        start(10_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        blockers.forEach(CountDownLatch::countDown);
+        dispatcher.shutdown();
+    }
+
+    private void start(int maxPending) {
+        dispatcher = new RoomEventDispatcher(meterRegistry, true, maxPending);
+        dispatcher.init();
+    }
+
+    private double pending() {
+        return meterRegistry.get("socketio.dispatch.pending").gauge().value();
+    }
+
+    /** 열어 줄 때까지 멈춰 있는 작업 */
+    private Runnable blockingTask(CountDownLatch started) {
+        CountDownLatch blocker = new CountDownLatch(1);
+        blockers.add(blocker);
+        return () -> {
+            started.countDown();
+            try {
+                blocker.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+    }
+
+    @Test
+    @DisplayName("같은 키의 이벤트는 제출 순서대로 하나씩 실행")
+    void runsSameKeyInOrder() {
+        List<Integer> seen = Collections.synchronizedList(new ArrayList<>());
+        for (int i = 0; i < 200; i++) {
+            int seq = i;
+            dispatcher.dispatch("room-1", client, "chatMessage", () -> {
+                if (ThreadLocalRandom.current().nextInt(10) == 0) {
+                    Thread.yield();
+                }
+                seen.add(seq);
+            });
+        }
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> seen.size() == 200);
+        assertThat(seen).isSorted();
+        await().atMost(5, TimeUnit.SECONDS).until(() -> pending() == 0);
+    }
+
+    @Test
+    @DisplayName("다른 키는 앞 키의 작업이 멈춰 있어도 실행")
+    void otherKeysAreNotBlocked() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        dispatcher.dispatch("room-1", client, "chatMessage", blockingTask(started));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        CountDownLatch other = new CountDownLatch(1);
+        dispatcher.dispatch("room-2", client, "chatMessage", other::countDown);
+
+        assertThat(other.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    @DisplayName("max-pending을 넘으면 SERVER_BUSY로 거부하고, 작업이 끝나면 다시 수락")
+    void rejectsOverCapacity() throws Exception {
+        dispatcher.shutdown();
+        start(2);
+        CountDownLatch started = new CountDownLatch(2);
+        assertThat(dispatcher.dispatch("room-1", client, "chatMessage", blockingTask(started))).isTrue();
+        assertThat(dispatcher.dispatch("room-2", client, "chatMessage", blockingTask(started))).isTrue();
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(dispatcher.dispatch("room-3", client, "chatMessage", () -> { })).isFalse();
+        verify(client).sendEvent(eq(ERROR), (Object) argThat((Object payload) ->
+                payload instanceof Map<?, ?> map && "SERVER_BUSY".equals(map.get("code"))));
+
+        blockers.forEach(CountDownLatch::countDown);
+        await().atMost(5, TimeUnit.SECONDS).until(() -> pending() == 0);
+        CountDownLatch accepted = new CountDownLatch(1);
+        assertThat(dispatcher.dispatch("room-3", client, "chatMessage", accepted::countDown)).isTrue();
+        assertThat(accepted.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    @DisplayName("실행기가 거부하면 permit을 돌려주고 거부로 응답")
+    void releasesPermitWhenExecutorRejects() {
+        dispatcher.shutdown();
+
+        assertThat(dispatcher.dispatch("room-1", client, "chatMessage", () -> { })).isFalse();
+
+        assertThat(pending()).isZero();
+        verify(client).sendEvent(eq(ERROR), any(Object.class));
+        assertThat(meterRegistry.get("socketio.dispatch.rejected").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("앞 작업 완료 후 제출이 거부된 뒤 작업도 permit을 돌려줌")
+    void releasesPermitWhenChainedSubmissionIsRejected() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        dispatcher.dispatch("room-1", client, "chatMessage", blockingTask(started));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        dispatcher.dispatch("room-1", client, "chatMessage", () -> { });
+        assertThat(pending()).isEqualTo(2.0);
+
+        // 종료를 시작해 실행기가 새 작업을 거부하게 한 뒤 앞 작업을 끝낸다
+        Thread stopper = Thread.ofVirtual().start(dispatcher::shutdown);
+        await().atMost(5, TimeUnit.SECONDS).until(() -> stopper.getState() == Thread.State.TIMED_WAITING
+                || stopper.getState() == Thread.State.WAITING);
+        blockers.forEach(CountDownLatch::countDown);
+        stopper.join();
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> pending() == 0);
+        verify(client).sendEvent(eq(ERROR), any(Object.class));
+    }
+
+    @Test
+    @DisplayName("핸들러 예외는 같은 키의 다음 작업을 막지 않음")
+    void failingHandlerDoesNotBreakLane() throws Exception {
+        dispatcher.dispatch("room-1", client, "chatMessage", () -> {
+            throw new IllegalStateException("boom");
+        });
+        CountDownLatch next = new CountDownLatch(1);
+        dispatcher.dispatch("room-1", client, "chatMessage", next::countDown);
+
+        assertThat(next.await(5, TimeUnit.SECONDS)).isTrue();
+        await().atMost(5, TimeUnit.SECONDS).until(() -> pending() == 0);
+    }
+}
@@ -2,11 +2,11 @@ package com.ktb.chatapp.websocket.socketio.handler;
 
 import com.corundumstudio.socketio.SocketIOClient;
 import com.corundumstudio.socketio.SocketIOServer;
+import com.ktb.chatapp.annotation.RateLimit;
 import com.ktb.chatapp.dto.ChatMessageRequest;
 import com.ktb.chatapp.model.Room;
 import com.ktb.chatapp.model.User;
 import com.ktb.chatapp.repository.FileRepository;
-import com.ktb.chatapp.repository.MessageRepository;
 import com.ktb.chatapp.repository.RoomRepository;
 import com.ktb.chatapp.repository.UserRepository;
 import com.ktb.chatapp.service.RateLimitCheckResult;
@@ -15,10 +15,13 @@ import com.ktb.chatapp.service.SessionService;
 import com.ktb.chatapp.service.SessionValidationResult;
 import com.ktb.chatapp.service.cache.RoomCacheService;
 import com.ktb.chatapp.service.cache.UserCacheService;
+import com.ktb.chatapp.service.command.MessageWriteBehindService;
 import com.ktb.chatapp.util.BannedWordChecker;
 import com.ktb.chatapp.websocket.socketio.SocketUser;
 import com.ktb.chatapp.websocket.socketio.ai.AiService;
 import com.ktb.chatapp.websocket.socketio.broadcast.BroadcastService;
+import com.ktb.chatapp.websocket.socketio.dispatch.RoomEventDispatcher;
+import com.ktb.chatapp.websocket.socketio.metrics.ChatMessageMetrics;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.util.HashSet;
@@ -40,7 +43,7 @@ import static org.mockito.Mockito.*;
 class ChatMessageHandlerTest {
 
     @Mock private SocketIOServer socketIOServer;
-    @Mock private MessageRepository messageRepository;
+    @Mock private MessageWriteBehindService messageWriteBehindService;
     @Mock private RoomRepository roomRepository;
     @Mock private UserRepository userRepository;
     @Mock private FileRepository fileRepository;
@@ -51,6 +54,7 @@ class ChatMessageHandlerTest {
     @Mock private BroadcastService broadcastService;
     @Mock private UserCacheService userCacheService;
     @Mock private RoomCacheService roomCacheService;
+    @Mock private RoomEventDispatcher roomEventDispatcher;
     private MeterRegistry meterRegistry = new SimpleMeterRegistry();
 
     private ChatMessageHandler handler;
@@ -60,7 +64,7 @@ class ChatMessageHandlerTest {
         handler =
                 new ChatMessageHandler(
                         socketIOServer,
-                        messageRepository,
+                        messageWriteBehindService,
                         roomRepository,
                         userRepository,
                         fileRepository,
@@ -68,10 +72,11 @@ class ChatMessageHandlerTest {
                         sessionService,
                         bannedWordChecker,
                         rateLimitService,
-                        meterRegistry,
+                        new ChatMessageMetrics(meterRegistry),
                         broadcastService,
                         userCacheService,
-                        roomCacheService);
+                        roomCacheService,
+                        roomEventDispatcher);
     }
 
     @Test
@@ -85,7 +90,7 @@ class ChatMessageHandlerTest {
                 .thenReturn(validResult);
 
         RateLimitCheckResult allowedResult = RateLimitCheckResult.allowed(10000, 9999, 60, System.currentTimeMillis() / 1000 + 60, 60);
-        when(rateLimitService.checkRateLimit(eq(socketUser.id()), anyInt(), any()))
+        when(rateLimitService.checkRateLimit(eq(socketUser.id()), any(RateLimit.class)))
                 .thenReturn(allowedResult);
 
         User user = new User();
@@ -112,7 +117,7 @@ class ChatMessageHandlerTest {
         verify(client).sendEvent(eq(ERROR), payloadCaptor.capture());
         Map<String, String> payload = payloadCaptor.getValue();
         org.junit.jupiter.api.Assertions.assertEquals("MESSAGE_REJECTED", payload.get("code"));
-        verifyNoInteractions(messageRepository);
+        verifyNoInteractions(messageWriteBehindService);
         verify(socketIOServer, never()).getRoomOperations(any());
     }
 }
@@ -0,0 +1,91 @@
+package com.ktb.chatapp.websocket.socketio.handler;
+
+import com.corundumstudio.socketio.SocketIOClient;
+import com.corundumstudio.socketio.SocketIOServer;
+import com.ktb.chatapp.dto.MessageReactionRequest;
+import com.ktb.chatapp.model.Message;
+import com.ktb.chatapp.repository.MessageRepository;
+import com.ktb.chatapp.service.command.MessageWriteBehindService;
+import com.ktb.chatapp.websocket.socketio.SocketUser;
+import com.ktb.chatapp.websocket.socketio.broadcast.BroadcastService;
+import com.ktb.chatapp.websocket.socketio.dispatch.RoomEventDispatcher;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.ERROR;
+import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.MESSAGE_REACTION_UPDATE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * MessageReactionHandler 단위 테스트 (write-behind 저장 대기 순서)
+ */
+@DisplayName("MessageReactionHandler 테스트")
+@ExtendWith(MockitoExtension.class)
+class MessageReactionHandlerTest {
+
+    private static final String MESSAGE_ID = "65f1c2a9e4b0a1b2c3d4e5f6";
+
+    @Mock private SocketIOServer socketIOServer;
+    @Mock private MessageRepository messageRepository;
+    @Mock private MessageWriteBehindService messageWriteBehindService;
+    @Mock private BroadcastService broadcastService;
+    @Mock private RoomEventDispatcher roomEventDispatcher;
+    @Mock private SocketIOClient client;
+
+    private MessageReactionHandler handler;
+
+    @BeforeEach
+    void setUp() {
+        handler = new MessageReactionHandler(socketIOServer, messageRepository, messageWriteBehindService,
+                broadcastService, roomEventDispatcher);
+        when(client.get("user")).thenReturn(new SocketUser("user-1", "홍길동", "auth-1", "socket-1"));
+    }
+
+    private static MessageReactionRequest add(String reaction) {
+        return new MessageReactionRequest(reaction, MESSAGE_ID, "add", reaction);
+    }
+
+    @Test
+    @DisplayName("저장 대기 중인 메시지는 insert가 끝난 뒤 조회하고 리액션을 저장")
+    void waitsForPendingWriteBeforeReading() {
+        Message message = Message.builder().id(MESSAGE_ID).roomId("room-1").content("방금 보낸 메시지").build();
+        when(messageWriteBehindService.awaitWritten(MESSAGE_ID)).thenReturn(true);
+        when(messageRepository.findById(MESSAGE_ID)).thenReturn(Optional.of(message));
+
+        handler.handleMessageReaction(client, add("👍"));
+
+        InOrder inOrder = inOrder(messageWriteBehindService, messageRepository);
+        inOrder.verify(messageWriteBehindService).awaitWritten(MESSAGE_ID);
+        inOrder.verify(messageRepository).findById(MESSAGE_ID);
+        inOrder.verify(messageRepository).save(message);
+        assertThat(message.getReactions()).containsEntry("👍", Set.of("user-1"));
+        verify(broadcastService).broadcastToRoom(anyString(), eq("room-1"), eq(MESSAGE_REACTION_UPDATE), any());
+        verify(client, never()).sendEvent(eq(ERROR), any());
+    }
+
+    @Test
+    @DisplayName("대기 중인 저장이 실패하면 조회/저장 없이 오류를 보냄")
+    void reportsErrorWhenPendingWriteFails() {
+        when(messageWriteBehindService.awaitWritten(MESSAGE_ID))
+                .thenThrow(new IllegalStateException("메시지 저장에 실패했습니다."));
+
+        handler.handleMessageReaction(client, add("👍"));
+
+        verify(messageRepository, never()).findById(anyString());
+        verify(messageRepository, never()).save(any());
+        verify(client).sendEvent(ERROR, Map.of("message", "리액션 처리 중 오류가 발생했습니다."));
+        verifyNoInteractions(broadcastService);
+    }
+}
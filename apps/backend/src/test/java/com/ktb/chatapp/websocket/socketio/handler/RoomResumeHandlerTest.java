@@ -0,0 +1,110 @@
+package com.ktb.chatapp.websocket.socketio.handler;
+
+import com.corundumstudio.socketio.SocketIOClient;
+import com.ktb.chatapp.dto.ResumeRoomRequest;
+import com.ktb.chatapp.dto.RoomResumedResponse;
+import com.ktb.chatapp.websocket.socketio.SocketUser;
+import com.ktb.chatapp.websocket.socketio.broadcast.EncodedPayload;
+import com.ktb.chatapp.websocket.socketio.broadcast.RoomFanout;
+import com.ktb.chatapp.websocket.socketio.dispatch.RoomEventDispatcher;
+import com.ktb.chatapp.websocket.socketio.pubsub.ChatBroadcastEvent;
+import com.ktb.chatapp.websocket.socketio.stream.RoomEventLog;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+
+import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.ROOM_RESUMED;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RoomResumeHandlerTest {
+
+    private static final String ROOM = "room-1";
+
+    @Mock private ObjectProvider<RoomEventLog> roomEventLogProvider;
+    @Mock private RoomEventLog roomEventLog;
+    @Mock private RoomFanout roomFanout;
+    @Mock private RoomEventDispatcher roomEventDispatcher;
+    @Mock private SocketIOClient client;
+
+    private RoomResumeHandler handler;
+
+    @BeforeEach
+    void setUp() {
+        handler = new RoomResumeHandler(roomEventLogProvider, roomFanout, roomEventDispatcher);
+        lenient().when(client.get("user")).thenReturn(new SocketUser("user-1", "홍길동", "auth-1", "socket-1"));
+        lenient().when(client.getAllRooms()).thenReturn(Set.of(ROOM));
+        lenient().when(roomEventLogProvider.getIfAvailable()).thenReturn(roomEventLog);
+    }
+
+    private static RoomEventLog.ReplayedEvent replayed(String id, String payload) {
+        return new RoomEventLog.ReplayedEvent(id, ChatBroadcastEvent.builder()
+                .roomId(ROOM).socketEvent("message").payload(payload).build());
+    }
+
+    @Test
+    void replaysEventsThenSendsRoomResumed() {
+        EncodedPayload payload = new EncodedPayload("\"m\"".getBytes());
+        EncodedPayload meta = new EncodedPayload("{}".getBytes());
+        when(roomFanout.encode(any())).thenReturn(payload);
+        when(roomFanout.eventMeta(anyString())).thenReturn(meta);
+        when(roomEventLog.replay(ROOM, "1-0")).thenReturn(new RoomEventLog.Replay(
+                List.of(replayed("2-0", "m1"), replayed("3-0", "m2")), true, "3-0"));
+
+        handler.handleResumeRoom(client, new ResumeRoomRequest(ROOM, "1-0"));
+
+        InOrder inOrder = inOrder(client, roomFanout);
+        inOrder.verify(roomFanout).eventMeta("2-0");
+        inOrder.verify(client).sendEvent("message", payload, meta);
+        inOrder.verify(roomFanout).eventMeta("3-0");
+        inOrder.verify(client).sendEvent("message", payload, meta);
+        inOrder.verify(client).sendEvent(ROOM_RESUMED, new RoomResumedResponse(ROOM, 2, true, "3-0"));
+    }
+
+    @Test
+    void notJoinedRoomIsNotReplayed() {
+        when(client.getAllRooms()).thenReturn(Set.of("room-2"));
+
+        handler.handleResumeRoom(client, new ResumeRoomRequest(ROOM, "1-0"));
+
+        verify(client).sendEvent(ROOM_RESUMED, new RoomResumedResponse(ROOM, 0, false, "1-0"));
+        verifyNoInteractions(roomEventLog);
+    }
+
+    @Test
+    void pubSubBackendReportsIncomplete() {
+        when(roomEventLogProvider.getIfAvailable()).thenReturn(null);
+
+        handler.handleResumeRoom(client, new ResumeRoomRequest(ROOM, "1-0"));
+
+        verify(client).sendEvent(ROOM_RESUMED, new RoomResumedResponse(ROOM, 0, false, "1-0"));
+    }
+
+    @Test
+    void replayFailureReportsIncomplete() {
+        when(roomEventLog.replay(ROOM, "1-0")).thenThrow(new IllegalStateException("redis down"));
+
+        handler.handleResumeRoom(client, new ResumeRoomRequest(ROOM, "1-0"));
+
+        verify(client).sendEvent(ROOM_RESUMED, new RoomResumedResponse(ROOM, 0, false, "1-0"));
+    }
+
+    @Test
+    void unauthenticatedClientGetsError() {
+        when(client.get("user")).thenReturn(null);
+
+        handler.handleResumeRoom(client, new ResumeRoomRequest(ROOM, "1-0"));
+
+        verify(client, never()).sendEvent(eq(ROOM_RESUMED), any());
+        verifyNoInteractions(roomEventLog);
+    }
+}
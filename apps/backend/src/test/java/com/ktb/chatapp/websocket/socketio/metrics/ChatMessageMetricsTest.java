@@ -0,0 +1,85 @@
+package com.ktb.chatapp.websocket.socketio.metrics;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ChatMessageMetrics 단위 테스트 (SimpleMeterRegistry 사용)
+ */
+@DisplayName("ChatMessageMetrics 테스트")
+class ChatMessageMetricsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ChatMessageMetrics metrics = new ChatMessageMetrics(meterRegistry);
+
+    private Timer stageTimer(String stage) {
+        return meterRegistry.get("chat.message.stage.time").tag("stage", stage).timer();
+    }
+
+    @Test
+    @DisplayName("단계 Timer는 생성 시 모두 등록되고 해당 단계에만 기록")
+    void recordsStageTimers() {
+        for (ChatMessageMetrics.Stage stage : ChatMessageMetrics.Stage.values()) {
+            assertThat(stageTimer(stage.name().toLowerCase())).isNotNull();
+        }
+
+        metrics.recordStage(ChatMessageMetrics.Stage.PERSIST, System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(5));
+
+        assertThat(stageTimer("persist").count()).isEqualTo(1);
+        assertThat(stageTimer("persist").totalTime(TimeUnit.MILLISECONDS)).isGreaterThanOrEqualTo(5);
+        assertThat(stageTimer("publish").count()).isZero();
+    }
+
+    @Test
+    @DisplayName("동적 태그 meter는 태그 조합마다 한 번만 등록하고 이후에는 재사용")
+    void cachesDynamicMetersPerTag() {
+        metrics.recordSuccess("text");
+        metrics.recordError("validation");
+        metrics.recordProcessing("success", "text", System.nanoTime());
+        int registered = meterRegistry.getMeters().size();
+
+        for (int i = 0; i < 9; i++) {
+            metrics.recordSuccess("text");
+            metrics.recordError("validation");
+            metrics.recordProcessing("success", "text", System.nanoTime());
+        }
+
+        assertThat(meterRegistry.getMeters()).hasSize(registered);
+        assertThat(meterRegistry.get("socketio.messages.total")
+                .tag("status", "success").tag("message_type", "text").counter().count()).isEqualTo(10);
+        assertThat(meterRegistry.get("socketio.messages.errors")
+                .tag("error_type", "validation").counter().count()).isEqualTo(10);
+        assertThat(meterRegistry.get("socketio.messages.processing.time")
+                .tag("status", "success").tag("message_type", "text").timer().count()).isEqualTo(10);
+
+        metrics.recordSuccess("file");
+        assertThat(meterRegistry.getMeters()).hasSize(registered + 1);
+    }
+
+    @Test
+    @DisplayName("publishedAt이 없으면 publish-to-deliver를 기록하지 않음")
+    void skipsPublishToDeliverWithoutPublishedAt() {
+        metrics.recordPublishToDeliver("message", null);
+
+        assertThat(meterRegistry.find("chat.message.publish_to_deliver").timer()).isNull();
+    }
+
+    @Test
+    @DisplayName("publish-to-deliver는 이벤트 타입별로 기록하고 시계 오차로 인한 음수는 0으로 보정")
+    void recordsPublishToDeliverPerEventType() {
+        metrics.recordPublishToDeliver("message", System.currentTimeMillis() - 50);
+        metrics.recordPublishToDeliver(null, System.currentTimeMillis() + 60_000);
+
+        Timer message = meterRegistry.get("chat.message.publish_to_deliver").tag("event_type", "message").timer();
+        Timer unknown = meterRegistry.get("chat.message.publish_to_deliver").tag("event_type", "unknown").timer();
+        assertThat(message.count()).isEqualTo(1);
+        assertThat(message.totalTime(TimeUnit.MILLISECONDS)).isGreaterThanOrEqualTo(50);
+        assertThat(unknown.count()).isEqualTo(1);
+        assertThat(unknown.totalTime(TimeUnit.MILLISECONDS)).isZero();
+    }
+}
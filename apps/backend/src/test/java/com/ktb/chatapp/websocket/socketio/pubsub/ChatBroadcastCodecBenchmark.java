@@ -0,0 +1,133 @@
+package com.ktb.chatapp.websocket.socketio.pubsub;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.ktb.chatapp.dto.MessageResponse;
+import com.ktb.chatapp.dto.UserResponse;
+import com.ktb.chatapp.model.MessageType;
+import com.ktb.chatapp.websocket.socketio.broadcast.EncodedPayload;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * 버스 직렬화 비교 벤치마크 (JMH)
+ *
+ * - legacyJson*: 기존 방식 (writeValueAsString / readValue → Map payload)
+ * - smile*     : ChatBroadcastCodec 바이너리 envelope + EncodedPayload (payloadJson binary 필드).
+ *                RoomFanout.encode 이후 실제 발행 경로
+ * - smileTyped*: ChatBroadcastCodec 바이너리 envelope (typed payload, EncodedPayload 도입 전 경로)
+ * - 메시지 크기(bytes)는 setup 시 출력
+ *
+ * 실행: ./mvnw test-compile dependency:build-classpath -Dmdep.outputFile=cp.txt -Dmdep.includeScope=test
+ *   java -cp target/test-classes:target/classes:$(cat cp.txt) org.openjdk.jmh.Main ChatBroadcastCodecBenchmark
+ *
+ * 측정 예 (JDK 21, 1 vCPU, fork 1 / warmup 3 / measurement 5, avgt ns/op):
+ *   legacyJsonEncode 1879 ± 503,  legacyJsonDecode 3409 ± 1481
+ *   smileEncode      1289 ± 444,  smileDecode       902 ± 669   (EncodedPayload, 발행 경로)
+ *   smileTypedEncode 2199 ± 1511, smileTypedDecode 2130 ± 1575
+ *   wire bytes: legacy json 602, smile + payloadJson 611, smile typed 480
+ * → EncodedPayload는 payload를 바이트 그대로 싣고 꺼내므로 decode가 가장 싸고
+ *   (수신 측 재인코딩도 없음), smileEncode에는 RoomFanout.encode 비용(이벤트당 1회)이 빠져 있다.
+ *   대신 payload JSON은 Smile로 다시 압축되지 않아 wire bytes는 typed보다 약 27% 크다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ChatBroadcastCodecBenchmark {
+
+    private ObjectMapper objectMapper;
+    private ChatBroadcastCodec smileCodec;
+    private ChatBroadcastEvent event;
+    private String legacyJson;
+    private byte[] smileBytes;
+    private ChatBroadcastEvent typedEvent;
+    private byte[] smileTypedBytes;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        smileCodec = new ChatBroadcastCodec(objectMapper, "smile");
+
+        MessageResponse payload = MessageResponse.builder()
+                .id("65f1c2a9e4b0a1b2c3d4e5f6")
+                .roomId("65f1c2a9e4b0a1b2c3d4e5f7")
+                .content("오늘 회의는 3시에 시작합니다. 자료는 공유 폴더에 올려두었어요.")
+                .type(MessageType.text)
+                .sender(UserResponse.builder()
+                        .id("65f1c2a9e4b0a1b2c3d4e5f8")
+                        .name("홍길동")
+                        .email("gildong@example.com")
+                        .profileImage("")
+                        .build())
+                .timestamp(1_702_345_678_000L)
+                .reactions(Map.of("👍", Set.of("65f1c2a9e4b0a1b2c3d4e5f9")))
+                .build();
+        typedEvent = ChatBroadcastEvent.builder()
+                .eventType(ChatBroadcastEvent.TYPE_MESSAGE)
+                .roomId(payload.getRoomId())
+                .socketEvent("message")
+                .payload(payload)
+                .publishedAt(1_702_345_678_123L)
+                .build();
+        // 발행 경로처럼 Socket.IO JSON으로 한 번 인코딩한 payload
+        event = ChatBroadcastEvent.builder()
+                .eventType(typedEvent.getEventType())
+                .roomId(typedEvent.getRoomId())
+                .socketEvent(typedEvent.getSocketEvent())
+                .payload(new EncodedPayload(objectMapper.writeValueAsBytes(payload)))
+                .publishedAt(typedEvent.getPublishedAt())
+                .build();
+
+        legacyJson = objectMapper.writeValueAsString(typedEvent);
+        smileBytes = smileCodec.encode(event);
+        smileTypedBytes = smileCodec.encode(typedEvent);
+        System.out.printf("%nwire bytes - legacy json: %d, smile + payloadJson: %d, smile typed: %d%n",
+                legacyJson.getBytes(StandardCharsets.UTF_8).length, smileBytes.length, smileTypedBytes.length);
+    }
+
+    @Benchmark
+    public String legacyJsonEncode() throws IOException {
+        return objectMapper.writeValueAsString(typedEvent);
+    }
+
+    @Benchmark
+    public ChatBroadcastEvent legacyJsonDecode() throws IOException {
+        return objectMapper.readValue(legacyJson, ChatBroadcastEvent.class);
+    }
+
+    @Benchmark
+    public byte[] smileEncode() throws IOException {
+        return smileCodec.encode(event);
+    }
+
+    @Benchmark
+    public ChatBroadcastEvent smileDecode() throws IOException {
+        return smileCodec.decode(smileBytes);
+    }
+
+    @Benchmark
+    public byte[] smileTypedEncode() throws IOException {
+        return smileCodec.encode(typedEvent);
+    }
+
+    @Benchmark
+    public ChatBroadcastEvent smileTypedDecode() throws IOException {
+        return smileCodec.decode(smileTypedBytes);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ChatBroadcastCodecBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
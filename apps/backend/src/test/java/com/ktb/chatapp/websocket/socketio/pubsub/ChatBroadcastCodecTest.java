@@ -0,0 +1,139 @@
+package com.ktb.chatapp.websocket.socketio.pubsub;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.ktb.chatapp.dto.AiMessageChunkResponse;
+import com.ktb.chatapp.dto.MessageResponse;
+import com.ktb.chatapp.dto.UserResponse;
+import com.ktb.chatapp.model.MessageType;
+import com.ktb.chatapp.websocket.socketio.broadcast.EncodedPayload;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * ChatBroadcastCodec 단위 테스트
+ */
+@DisplayName("ChatBroadcastCodec 테스트")
+class ChatBroadcastCodecTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final ChatBroadcastCodec smileCodec = new ChatBroadcastCodec(objectMapper, "smile");
+    private final ChatBroadcastCodec jsonCodec = new ChatBroadcastCodec(objectMapper, "json");
+
+    private ChatBroadcastEvent messageEvent() {
+        MessageResponse payload = MessageResponse.builder()
+                .id("msg-1")
+                .roomId("room-1")
+                .content("안녕하세요")
+                .type(MessageType.text)
+                .sender(UserResponse.builder().id("user-1").name("홍길동").build())
+                .timestamp(1_702_345_678_000L)
+                .build();
+        return ChatBroadcastEvent.builder()
+                .eventType(ChatBroadcastEvent.TYPE_MESSAGE)
+                .roomId("room-1")
+                .socketEvent("message")
+                .payload(payload)
+                .publishedAt(1_702_345_678_123L)
+                .originNodeId("node-a")
+                .build();
+    }
+
+    @Test
+    @DisplayName("Smile envelope는 payload를 원래 DTO 타입으로 복원")
+    void smileRoundTripRestoresTypedPayload() throws IOException {
+        ChatBroadcastEvent event = messageEvent();
+
+        byte[] encoded = smileCodec.encode(event);
+        ChatBroadcastEvent decoded = smileCodec.decode(encoded);
+
+        assertThat(encoded[0]).isEqualTo(ChatBroadcastCodec.MAGIC);
+        assertThat(decoded.getPayload()).isInstanceOf(MessageResponse.class);
+        assertThat(decoded).isEqualTo(event);
+    }
+
+    @Test
+    @DisplayName("JSON 모드로 발행한 메시지도 타입 복원")
+    void jsonModeRoundTripRestoresTypedPayload() throws IOException {
+        ChatBroadcastEvent event = messageEvent();
+
+        byte[] encoded = jsonCodec.encode(event);
+
+        assertThat(encoded[0]).isEqualTo((byte) '{');
+        assertThat(smileCodec.decode(encoded)).isEqualTo(event);
+    }
+
+    @Test
+    @DisplayName("구버전 노드의 JSON(payloadType 없음)은 Map payload로 처리")
+    void legacyJsonWithoutPayloadTypeDecodesToMap() throws IOException {
+        String legacy = "{\"eventType\":\"USER_LEFT\",\"roomId\":\"room-1\",\"socketEvent\":\"userLeft\","
+                + "\"payload\":{\"userId\":\"user-1\"},\"publishedAt\":1702345678123}";
+
+        ChatBroadcastEvent decoded = smileCodec.decode(legacy.getBytes(StandardCharsets.UTF_8));
+
+        assertThat(decoded.getEventType()).isEqualTo("USER_LEFT");
+        assertThat(decoded.getRoomId()).isEqualTo("room-1");
+        assertThat(decoded.getPayload()).isEqualTo(Map.of("userId", "user-1"));
+        assertThat(decoded.getPublishedAt()).isEqualTo(1_702_345_678_123L);
+    }
+
+    @Test
+    @DisplayName("지원하지 않는 envelope 버전은 거부")
+    void rejectsUnknownEnvelopeVersion() throws IOException {
+        byte[] encoded = smileCodec.encode(messageEvent());
+        encoded[1] = (byte) (ChatBroadcastCodec.VERSION + 1);
+
+        assertThatThrownBy(() -> smileCodec.decode(encoded))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("version");
+    }
+
+    @Test
+    @DisplayName("미리 인코딩된 payload는 바이트 그대로 전달 (JSON 모드는 원래 JSON으로 기록)")
+    void encodedPayloadIsCarriedAsBytes() throws IOException {
+        byte[] json = "{\"userId\":\"user-1\",\"name\":\"홍길동\"}".getBytes(StandardCharsets.UTF_8);
+        ChatBroadcastEvent event = ChatBroadcastEvent.builder()
+                .eventType("USER_LEFT")
+                .roomId("room-1")
+                .socketEvent("userLeft")
+                .payload(new EncodedPayload(json))
+                .build();
+
+        ChatBroadcastEvent fromSmile = smileCodec.decode(smileCodec.encode(event));
+        ChatBroadcastEvent fromJson = smileCodec.decode(jsonCodec.encode(event));
+
+        assertThat(fromSmile.getPayload()).isInstanceOf(EncodedPayload.class);
+        assertThat(((EncodedPayload) fromSmile.getPayload()).bytes()).isEqualTo(json);
+        assertThat(fromJson.getPayload()).isEqualTo(Map.of("userId", "user-1", "name", "홍길동"));
+    }
+
+    @Test
+    @DisplayName("AI 청크는 스트림 순번과 함께 타입 복원")
+    void aiChunkCarriesStreamSequence() throws IOException {
+        AiMessageChunkResponse chunk = AiMessageChunkResponse.builder()
+                .messageId("wayneAI-1")
+                .currentChunk("안녕하세요")
+                .sequence(3)
+                .offset(12)
+                .build();
+        ChatBroadcastEvent event = ChatBroadcastEvent.builder()
+                .eventType(ChatBroadcastEvent.TYPE_AI_MESSAGE_CHUNK)
+                .roomId("room-1")
+                .socketEvent("aiMessageChunk")
+                .payload(chunk)
+                .streamId("wayneAI-1")
+                .streamSeq(3L)
+                .build();
+
+        ChatBroadcastEvent decoded = smileCodec.decode(smileCodec.encode(event));
+
+        assertThat(decoded).isEqualTo(event);
+        assertThat(objectMapper.writeValueAsString(chunk)).doesNotContain("fullContent");
+    }
+}
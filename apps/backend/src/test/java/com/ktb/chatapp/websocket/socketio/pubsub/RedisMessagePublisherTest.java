@@ -0,0 +1,190 @@
+package com.ktb.chatapp.websocket.socketio.pubsub;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * RedisMessagePublisher 묶음 발행 단위 테스트
+ * RedisTemplate은 PUBLISH 순서와 flush 단위를 기록하는 mock으로 대체한다.
+ */
+@DisplayName("RedisMessagePublisher 테스트")
+class RedisMessagePublisherTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ChatBroadcastCodec codec = new ChatBroadcastCodec(new ObjectMapper(), "smile");
+
+    /** Redis에 PUBLISH된 순서 (payload 문자열) */
+    private final List<String> published = Collections.synchronizedList(new ArrayList<>());
+    /** flush 한 번에 나간 이벤트 수 */
+    private final List<Integer> flushSizes = Collections.synchronizedList(new ArrayList<>());
+
+    /** 열리기 전까지 PUBLISH가 멈춤 (Redis 지연 시뮬레이션) */
+    private volatile CountDownLatch redisGate = new CountDownLatch(0);
+
+    private RedisTemplate<String, String> redisTemplate;
+    private RedisMessagePublisher publisher;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        RedisConnection connection = mock(RedisConnection.class);
+        when(connection.publish(any(byte[].class), any(byte[].class))).thenAnswer(inv -> {
+            published.add((String) codec.decode(inv.getArgument(1)).getPayload());
+            return 1L;
+        });
+        redisTemplate = mock(RedisTemplate.class);
+        when(redisTemplate.execute(any(RedisCallback.class))).thenAnswer(inv -> {
+            redisGate.await();
+            flushSizes.add(1);
+            return ((RedisCallback<?>) inv.getArgument(0)).doInRedis(connection);
+        });
+        when(redisTemplate.executePipelined(any(RedisCallback.class))).thenAnswer(inv -> {
+            redisGate.await();
+            int before = published.size();
+            ((RedisCallback<?>) inv.getArgument(0)).doInRedis(connection);
+            flushSizes.add(published.size() - before);
+            return List.of();
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        redisGate.countDown();
+        if (publisher != null) {
+            publisher.shutdown();
+        }
+    }
+
+    private void start(int queueCapacity, int batchSize, Duration batchWindow, Duration offerTimeout) {
+        publisher = new RedisMessagePublisher(redisTemplate, codec, meterRegistry, true,
+                queueCapacity, batchSize, batchWindow, offerTimeout);
+        publisher.init();
+    }
+
+    private static ChatBroadcastEvent event(String payload) {
+        return ChatBroadcastEvent.builder()
+                .eventType(ChatBroadcastEvent.TYPE_MESSAGE)
+                .roomId("room-1")
+                .socketEvent("message")
+                .payload(payload)
+                .build();
+    }
+
+    private static List<String> sequence(int count) {
+        List<String> values = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            values.add("e-" + i);
+        }
+        return values;
+    }
+
+    @Test
+    @DisplayName("batch-window 안의 이벤트는 batch-size 단위 파이프라인으로 묶여 발행")
+    void batchesWithinWindowUpToBatchSize() {
+        start(1000, 10, Duration.ofMillis(50), Duration.ofMillis(50));
+        redisGate = new CountDownLatch(1);
+
+        for (String value : sequence(35)) {
+            publisher.publish(event(value));
+        }
+        redisGate.countDown();
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> published.size() == 35);
+        assertThat(flushSizes).allSatisfy(size -> assertThat(size).isLessThanOrEqualTo(10));
+        assertThat(flushSizes.size()).isLessThan(35);
+    }
+
+    @Test
+    @DisplayName("여러 flush에 걸쳐도 발행 순서는 publish 호출 순서와 같음")
+    void preservesPublishOrder() {
+        start(10_000, 16, Duration.ofMillis(1), Duration.ofMillis(50));
+
+        List<String> expected = sequence(2000);
+        for (String value : expected) {
+            publisher.publish(event(value));
+        }
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> published.size() == expected.size());
+        assertThat(published).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    @DisplayName("큐가 가득 차면 자리가 날 때까지 호출 스레드를 막고 순서대로 발행")
+    void blocksCallerUntilQueueHasRoom() throws Exception {
+        start(4, 2, Duration.ofMillis(1), Duration.ofSeconds(5));
+        redisGate = new CountDownLatch(1);
+
+        List<String> attempted = sequence(20);
+        Thread producer = Thread.ofVirtual().start(() -> attempted.forEach(value -> publisher.publish(event(value))));
+        // Redis가 멈춘 동안 호출 스레드는 대기하고, 직접 발행해 앞지르지 않는다
+        await().during(Duration.ofMillis(200)).atMost(1, TimeUnit.SECONDS).until(producer::isAlive);
+        assertThat(published).isEmpty();
+        redisGate.countDown();
+
+        producer.join(5_000);
+        await().atMost(5, TimeUnit.SECONDS).until(() -> published.size() == attempted.size());
+        assertThat(published).containsExactlyElementsOf(attempted);
+        assertThat(meterRegistry.get("chat.pubsub.publish.rejected").counter().count()).isZero();
+    }
+
+    @Test
+    @DisplayName("offer-timeout이 지나도 가득 차 있으면 버리지 않고 호출자에게 예외")
+    void rejectsToCallerWhenQueueStaysFull() {
+        start(1, 1, Duration.ofMillis(1), Duration.ofMillis(20));
+        redisGate = new CountDownLatch(1);
+
+        // 하나는 전용 스레드가 붙잡고(Redis 대기), 하나는 큐를 채운다
+        publisher.publish(event("e-0"));
+        await().atMost(1, TimeUnit.SECONDS).until(() -> {
+            try {
+                publisher.publish(event("e-1"));
+                return false;
+            } catch (IllegalStateException e) {
+                return true;
+            }
+        });
+
+        assertThat(meterRegistry.get("chat.pubsub.publish.rejected").counter().count()).isPositive();
+        assertThat(published).isEmpty();
+    }
+
+    @Test
+    @DisplayName("종료 후 발행은 큐에 남은 이벤트 뒤에 이어서 발행")
+    void publishDuringShutdownKeepsOrder() throws Exception {
+        start(1000, 4, Duration.ofMillis(1), Duration.ofMillis(50));
+        redisGate = new CountDownLatch(1);
+
+        List<String> expected = sequence(10);
+        for (String value : expected.subList(0, 9)) {
+            publisher.publish(event(value));
+        }
+        Thread stopper = Thread.ofVirtual().start(publisher::shutdown);
+        await().atMost(5, TimeUnit.SECONDS).until(() -> stopper.getState() == Thread.State.WAITING
+                || stopper.getState() == Thread.State.TIMED_WAITING);
+        Thread late = Thread.ofVirtual().start(() -> publisher.publish(event(expected.get(9))));
+        redisGate.countDown();
+        stopper.join();
+        late.join();
+
+        assertThat(published).containsExactlyElementsOf(expected);
+        publisher = null;
+    }
+}
@@ -0,0 +1,135 @@
+package com.ktb.chatapp.websocket.socketio.pubsub;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.UUID;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.listener.adapter.MessageListenerAdapter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * RoomChannelSubscriptions 단위 테스트
+ * 첫 입장에서만 SUBSCRIBE, 마지막 퇴장에서만 UNSUBSCRIBE 하는지 확인한다.
+ */
+@DisplayName("RoomChannelSubscriptions 테스트")
+class RoomChannelSubscriptionsTest {
+
+    private static final String ROOM = "room-1";
+    private static final ChannelTopic ROOM_TOPIC = new ChannelTopic("chat:room:" + ROOM);
+
+    private final RedisMessageListenerContainer container = mock(RedisMessageListenerContainer.class);
+    private final MessageListenerAdapter adapter = mock(MessageListenerAdapter.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RoomChannelSubscriptions subscriptions =
+            new RoomChannelSubscriptions(container, adapter, meterRegistry, true);
+
+    private double subscribedGauge() {
+        return meterRegistry.get("chat.pubsub.room.subscriptions").gauge().value();
+    }
+
+    @Test
+    @DisplayName("첫 소켓 입장에서만 방 채널을 구독")
+    void subscribesOnFirstJoinOnly() {
+        subscriptions.join(ROOM, UUID.randomUUID());
+        subscriptions.join(ROOM, UUID.randomUUID());
+
+        verify(container, times(1)).addMessageListener(adapter, ROOM_TOPIC);
+        assertThat(subscribedGauge()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("마지막 소켓 퇴장에서만 구독 해제")
+    void unsubscribesOnLastLeaveOnly() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        subscriptions.join(ROOM, first);
+        subscriptions.join(ROOM, second);
+
+        subscriptions.leave(ROOM, first);
+        verify(container, never()).removeMessageListener(any(MessageListenerAdapter.class), any(ChannelTopic.class));
+
+        subscriptions.leave(ROOM, second);
+        verify(container, times(1)).removeMessageListener(adapter, ROOM_TOPIC);
+        assertThat(subscribedGauge()).isZero();
+    }
+
+    @Test
+    @DisplayName("연결 종료 시 소켓이 들어가 있던 모든 방을 정리")
+    void leaveAllReleasesEveryRoom() {
+        UUID socket = UUID.randomUUID();
+        subscriptions.join("room-a", socket);
+        subscriptions.join("room-b", socket);
+
+        subscriptions.leaveAll(socket);
+
+        verify(container).removeMessageListener(adapter, new ChannelTopic("chat:room:room-a"));
+        verify(container).removeMessageListener(adapter, new ChannelTopic("chat:room:room-b"));
+        assertThat(subscribedGauge()).isZero();
+    }
+
+    @Test
+    @DisplayName("퇴장 후 재입장하면 다시 구독")
+    void resubscribesAfterRoomEmptied() {
+        UUID socket = UUID.randomUUID();
+        subscriptions.join(ROOM, socket);
+        subscriptions.leave(ROOM, socket);
+        subscriptions.join(ROOM, socket);
+
+        verify(container, times(2)).addMessageListener(adapter, ROOM_TOPIC);
+        assertThat(subscribedGauge()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("전역 대상(room-list, user:*)은 동적 구독하지 않음")
+    void ignoresGlobalTargets() {
+        UUID socket = UUID.randomUUID();
+        subscriptions.join("room-list", socket);
+        subscriptions.join("user:u1", socket);
+        subscriptions.leaveAll(socket);
+
+        verifyNoInteractions(container);
+    }
+
+    @Test
+    @DisplayName("구독 해제 실패는 삼키고 재입장 시 다시 구독")
+    void unsubscribeFailureDoesNotLeakState() {
+        doThrow(new IllegalStateException("redis down"))
+                .when(container).removeMessageListener(eq(adapter), eq(ROOM_TOPIC));
+        UUID socket = UUID.randomUUID();
+        subscriptions.join(ROOM, socket);
+        subscriptions.leave(ROOM, socket);
+        subscriptions.join(ROOM, socket);
+
+        verify(container, times(2)).addMessageListener(adapter, ROOM_TOPIC);
+    }
+
+    @Test
+    @DisplayName("입장/퇴장이 동시에 몰려도 구독 상태는 소켓 유무와 일치")
+    void concurrentJoinLeaveConverges() throws Exception {
+        int threads = 8;
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            workers[t] = Thread.ofVirtual().start(() -> {
+                for (int i = 0; i < 500; i++) {
+                    UUID socket = UUID.randomUUID();
+                    subscriptions.join(ROOM, socket);
+                    subscriptions.leave(ROOM, socket);
+                }
+            });
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        assertThat(subscribedGauge()).isZero();
+
+        subscriptions.join(ROOM, UUID.randomUUID());
+        assertThat(subscribedGauge()).isEqualTo(1.0);
+    }
+}
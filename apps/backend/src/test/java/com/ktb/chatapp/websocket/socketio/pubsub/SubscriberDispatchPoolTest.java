@@ -0,0 +1,150 @@
+package com.ktb.chatapp.websocket.socketio.pubsub;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ktb.chatapp.config.NodeIdentity;
+import com.ktb.chatapp.websocket.socketio.broadcast.RoomFanout;
+import com.ktb.chatapp.websocket.socketio.metrics.ChatMessageMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.DefaultMessage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * SubscriberDispatchPool 단위 테스트
+ */
+@DisplayName("SubscriberDispatchPool 테스트")
+class SubscriberDispatchPoolTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private SubscriberDispatchPool pool;
+
+    private SubscriberDispatchPool start(int stripes, int queueCapacity) {
+        pool = new SubscriberDispatchPool(meterRegistry, true, stripes, queueCapacity);
+        pool.init();
+        return pool;
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("같은 키의 작업은 제출 순서대로 실행")
+    void preservesOrderPerKey() {
+        start(4, 10_000);
+        Map<String, List<Integer>> seen = new ConcurrentHashMap<>();
+        for (int i = 0; i < 1000; i++) {
+            for (String room : List.of("room-a", "room-b", "room-c")) {
+                int seq = i;
+                pool.execute(room, () ->
+                        seen.computeIfAbsent(room, k -> Collections.synchronizedList(new ArrayList<>())).add(seq));
+            }
+        }
+
+        await().atMost(5, TimeUnit.SECONDS).until(() ->
+                seen.values().stream().mapToInt(List::size).sum() == 3000);
+        seen.values().forEach(values -> assertThat(values).isSorted().hasSize(1000));
+    }
+
+    @Test
+    @DisplayName("stripe가 가득 차면 호출 스레드를 막지 않고 바로 버림")
+    void dropsImmediatelyWhenStripeFull() throws Exception {
+        start(1, 1);
+        CountDownLatch blocker = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        pool.execute("room-a", () -> {
+            started.countDown();
+            try {
+                blocker.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(pool.execute("room-a", () -> { })).isTrue();
+
+        long begin = System.nanoTime();
+        boolean accepted = pool.execute("room-a", () -> { });
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin);
+        blocker.countDown();
+
+        assertThat(accepted).isFalse();
+        assertThat(elapsedMillis).isLessThan(50);
+        assertThat(meterRegistry.get("chat.pubsub.dispatch.dropped").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("작업이 예외를 던져도 stripe는 계속 처리")
+    void survivesFailingTask() {
+        start(1, 100);
+        List<String> done = Collections.synchronizedList(new ArrayList<>());
+        pool.execute("room-a", () -> {
+            throw new IllegalStateException("boom");
+        });
+        pool.execute("room-a", () -> done.add("next"));
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> done.size() == 1);
+    }
+
+    @Test
+    @DisplayName("비활성화 시 호출 스레드에서 바로 실행")
+    void runsInlineWhenDisabled() {
+        pool = new SubscriberDispatchPool(meterRegistry, false, 4, 100);
+        AtomicReference<Thread> ranOn = new AtomicReference<>();
+
+        assertThat(pool.execute("room-a", () -> ranOn.set(Thread.currentThread()))).isTrue();
+        assertThat(ranOn.get()).isSameAs(Thread.currentThread());
+    }
+
+    @Test
+    @DisplayName("전역 채널 이벤트는 수신 스레드가 아니라 stripe에서 디코딩")
+    void decodesGlobalChannelEventsOnStripe() throws Exception {
+        start(2, 100);
+        ChatBroadcastCodec codec = new ChatBroadcastCodec(new ObjectMapper(), "smile");
+        AtomicReference<Thread> deliveredOn = new AtomicReference<>();
+        RoomFanout roomFanout = mock(RoomFanout.class);
+        when(roomFanout.sendToRoom(anyString(), anyString(), any())).thenAnswer(inv -> {
+            deliveredOn.set(Thread.currentThread());
+            return 1;
+        });
+        RedisMessageSubscriber subscriber = new RedisMessageSubscriber(roomFanout, codec,
+                new ChatMessageMetrics(meterRegistry), new NodeIdentity("node-a"), pool,
+                new AiStreamSequenceTracker(meterRegistry, Duration.ofMinutes(5)), meterRegistry);
+
+        byte[] body = codec.encode(ChatBroadcastEvent.builder()
+                .eventType(ChatBroadcastEvent.TYPE_MESSAGE)
+                .roomId("room-list")
+                .socketEvent("roomCreated")
+                .payload("created")
+                .originNodeId("node-b")
+                .build());
+        // 잘못된 바이트도 수신 스레드에서는 예외 없이 넘긴다
+        subscriber.onMessage(new DefaultMessage("chat:messages".getBytes(StandardCharsets.UTF_8),
+                new byte[]{1, 2, 3}), null);
+        subscriber.onMessage(new DefaultMessage("chat:messages".getBytes(StandardCharsets.UTF_8), body), null);
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> deliveredOn.get() != null);
+        assertThat(deliveredOn.get().getName()).startsWith("pubsub-dispatch-");
+    }
+}
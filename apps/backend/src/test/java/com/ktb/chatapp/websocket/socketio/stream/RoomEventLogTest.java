@@ -0,0 +1,183 @@
+package com.ktb.chatapp.websocket.socketio.stream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ktb.chatapp.websocket.socketio.pubsub.ChatBroadcastCodec;
+import com.ktb.chatapp.websocket.socketio.pubsub.ChatBroadcastEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.Limit;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStreamCommands;
+import org.springframework.data.redis.connection.stream.ByteRecord;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.scheduling.TaskScheduler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * RoomEventLog 재전송 단위 테스트
+ * 샤드 스트림은 XRANGE만 흉내 내는 메모리 리스트로 대체한다 (shards=1).
+ */
+@DisplayName("RoomEventLog 테스트")
+class RoomEventLogTest {
+
+    private static final String ROOM = "room-1";
+    private static final Duration RETENTION = Duration.ofMinutes(10);
+
+    private final ChatBroadcastCodec codec = new ChatBroadcastCodec(new ObjectMapper(), "smile");
+    /** chat:stream:0 내용 (ID 오름차순) */
+    private final List<ByteRecord> stream = new ArrayList<>();
+
+    /** 보존 기간 안의 기준 시각 (테스트마다 고정) */
+    private final long base = System.currentTimeMillis() - 60_000;
+
+    private RedisTemplate<String, String> redisTemplate;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        RedisStreamCommands streamCommands = mock(RedisStreamCommands.class);
+        when(streamCommands.xRange(any(byte[].class), any(Range.class), any(Limit.class))).thenAnswer(inv -> {
+            Range<String> range = inv.getArgument(1);
+            Limit limit = inv.getArgument(2);
+            RecordId from = range.getLowerBound().getValue().map(RecordId::of).orElse(null);
+            return stream.stream()
+                    .filter(record -> from == null || RoomEventLog.compare(record.getId(), from) >= 0)
+                    .limit(limit.isUnlimited() ? Long.MAX_VALUE : limit.getCount())
+                    .toList();
+        });
+        RedisConnection connection = mock(RedisConnection.class);
+        when(connection.streamCommands()).thenReturn(streamCommands);
+
+        redisTemplate = mock(RedisTemplate.class);
+        when(redisTemplate.execute(any(RedisCallback.class))).thenAnswer(inv ->
+                ((RedisCallback<?>) inv.getArgument(0)).doInRedis(connection));
+    }
+
+    private RoomEventLog log(int replayLimit, int replayScanLimit) {
+        return new RoomEventLog(redisTemplate, codec, mock(TaskScheduler.class), new SimpleMeterRegistry(),
+                1, 10_000, RETENTION, replayLimit, replayScanLimit);
+    }
+
+    private void add(String id, String roomId, String payload) throws Exception {
+        Map<byte[], byte[]> fields = new LinkedHashMap<>();
+        fields.put(RoomEventLog.FIELD_ROOM, roomId.getBytes(StandardCharsets.UTF_8));
+        fields.put(RoomEventLog.FIELD_ENVELOPE, codec.encode(ChatBroadcastEvent.builder()
+                .eventType(ChatBroadcastEvent.TYPE_MESSAGE)
+                .roomId(roomId)
+                .socketEvent("message")
+                .payload(payload)
+                .build()));
+        stream.add(StreamRecords.rawBytes(fields)
+                .withStreamKey((RoomEventLog.STREAM_PREFIX + "0").getBytes(StandardCharsets.UTF_8))
+                .withId(RecordId.of(id)));
+    }
+
+    private static List<String> payloads(RoomEventLog.Replay replay) {
+        return replay.events().stream().map(e -> (String) e.event().getPayload()).toList();
+    }
+
+    private String recentId(int offsetMillis, int seq) {
+        return (base + offsetMillis) + "-" + seq;
+    }
+
+    @Test
+    @DisplayName("lastEventId 이후 이 방의 이벤트만 순서대로 재전송")
+    void replaysOnlyThisRoomAfterLastEventId() throws Exception {
+        String last = recentId(0, 0);
+        add(last, ROOM, "seen");
+        add(recentId(1, 0), ROOM, "m1");
+        add(recentId(1, 1), "room-2", "other");
+        add(recentId(2, 0), ROOM, "m2");
+
+        RoomEventLog.Replay replay = log(500, 5000).replay(ROOM, last);
+
+        assertThat(payloads(replay)).containsExactly("m1", "m2");
+        assertThat(replay.complete()).isTrue();
+        assertThat(replay.lastEventId()).isEqualTo(recentId(2, 0));
+    }
+
+    @Test
+    @DisplayName("replay-limit을 넘는 이벤트는 잘라내고 나머지는 Mongo에서 다시 로드하도록 표시")
+    void trimsToReplayLimit() throws Exception {
+        String last = recentId(0, 0);
+        add(last, ROOM, "seen");
+        for (int i = 1; i <= 30; i++) {
+            add(recentId(i, 0), ROOM, "m" + i);
+        }
+
+        RoomEventLog.Replay replay = log(7, 5000).replay(ROOM, last);
+
+        assertThat(replay.events()).hasSize(7);
+        assertThat(payloads(replay)).startsWith("m1").endsWith("m7");
+        assertThat(replay.complete()).isFalse();
+        assertThat(replay.lastEventId()).isEqualTo(recentId(7, 0));
+    }
+
+    @Test
+    @DisplayName("lastEventId 다음 레코드가 잘려 나갔으면 재전송 없이 불완전으로 응답")
+    void reportsPartialWhenTrimmedPastLastEventId() throws Exception {
+        add(recentId(10, 0), ROOM, "m10");
+
+        RoomEventLog.Replay replay = log(500, 5000).replay(ROOM, recentId(5, 0));
+
+        assertThat(replay.events()).isEmpty();
+        assertThat(replay.complete()).isFalse();
+    }
+
+    @Test
+    @DisplayName("빈 스트림은 보존 기간 안의 ID만 유지된 것으로 판단")
+    void emptyStreamRetentionCheck() {
+        RoomEventLog roomEventLog = log(500, 5000);
+        byte[] key = (RoomEventLog.STREAM_PREFIX + "0").getBytes(StandardCharsets.UTF_8);
+
+        assertThat(roomEventLog.isRetained(key, RecordId.of(recentId(0, 0)))).isTrue();
+        long expired = System.currentTimeMillis() - RETENTION.toMillis() - 60_000;
+        assertThat(roomEventLog.isRetained(key, RecordId.of(expired + "-0"))).isFalse();
+    }
+
+    @Test
+    @DisplayName("가장 오래된 레코드가 lastEventId 이하이면 유지된 것으로 판단")
+    void retainedWhenOldestRecordIsNotAfterLastEventId() throws Exception {
+        add(recentId(0, 0), ROOM, "m0");
+        add(recentId(1, 0), ROOM, "m1");
+        RoomEventLog roomEventLog = log(500, 5000);
+        byte[] key = (RoomEventLog.STREAM_PREFIX + "0").getBytes(StandardCharsets.UTF_8);
+
+        assertThat(roomEventLog.isRetained(key, RecordId.of(recentId(0, 0)))).isTrue();
+        assertThat(roomEventLog.isRetained(key, RecordId.of(recentId(-1, 0)))).isFalse();
+    }
+
+    @Test
+    @DisplayName("형식이 잘못된 lastEventId는 불완전으로 응답")
+    void rejectsMalformedLastEventId() {
+        RoomEventLog roomEventLog = log(500, 5000);
+
+        assertThat(roomEventLog.replay(ROOM, "not-an-id").complete()).isFalse();
+        assertThat(roomEventLog.replay(ROOM, "*").complete()).isFalse();
+    }
+
+    @Test
+    @DisplayName("레코드 ID는 시간, 같은 시간이면 순번을 숫자로 비교")
+    void comparesIdsNumerically() {
+        assertThat(RoomEventLog.compare(RecordId.of("1000-9"), RecordId.of("1000-10"))).isNegative();
+        assertThat(RoomEventLog.compare(RecordId.of("999-5"), RecordId.of("1000-0"))).isNegative();
+        assertThat(RoomEventLog.compare(RecordId.of("1000-0"), RecordId.of("1000-0"))).isZero();
+        assertThat(RoomEventLog.compare(RecordId.of("10000-0"), RecordId.of("9999-99"))).isPositive();
+    }
+}
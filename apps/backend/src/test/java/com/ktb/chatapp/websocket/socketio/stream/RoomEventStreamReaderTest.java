@@ -0,0 +1,117 @@
+package com.ktb.chatapp.websocket.socketio.stream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ktb.chatapp.websocket.socketio.broadcast.RoomFanout;
+import com.ktb.chatapp.websocket.socketio.metrics.ChatMessageMetrics;
+import com.ktb.chatapp.websocket.socketio.pubsub.AiStreamSequenceTracker;
+import com.ktb.chatapp.websocket.socketio.pubsub.ChatBroadcastCodec;
+import com.ktb.chatapp.websocket.socketio.pubsub.ChatBroadcastEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStreamCommands;
+import org.springframework.data.redis.connection.stream.ByteRecord;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * RoomEventStreamReader 수신/전달 단위 테스트
+ */
+@DisplayName("RoomEventStreamReader 테스트")
+class RoomEventStreamReaderTest {
+
+    private static final byte[] SHARD_KEY = (RoomEventLog.STREAM_PREFIX + "0").getBytes(StandardCharsets.UTF_8);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ChatBroadcastCodec codec = new ChatBroadcastCodec(new ObjectMapper(), "smile");
+    private final RoomFanout roomFanout = mock(RoomFanout.class);
+    private final AtomicInteger reads = new AtomicInteger();
+
+    private RoomEventStreamReader reader;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() throws Exception {
+        List<ByteRecord> firstBatch = List.of(
+                record("100-0", "node-a", "own"),
+                record("101-0", "node-b", "remote"));
+
+        RedisStreamCommands streamCommands = mock(RedisStreamCommands.class);
+        when(streamCommands.xRead(any(StreamReadOptions.class), any(StreamOffset[].class))).thenAnswer(inv -> {
+            if (reads.getAndIncrement() == 0) {
+                return firstBatch;
+            }
+            Thread.sleep(10);
+            return null;
+        });
+        RedisConnection connection = mock(RedisConnection.class);
+        when(connection.streamCommands()).thenReturn(streamCommands);
+        RedisTemplate<String, String> redisTemplate = mock(RedisTemplate.class);
+        when(redisTemplate.execute(any(RedisCallback.class))).thenAnswer(inv ->
+                ((RedisCallback<?>) inv.getArgument(0)).doInRedis(connection));
+
+        RoomEventLog roomEventLog = mock(RoomEventLog.class);
+        when(roomEventLog.shardCount()).thenReturn(1);
+        when(roomEventLog.shardKey(0)).thenReturn(SHARD_KEY);
+
+        ObjectProvider<RoomFanout> fanoutProvider = mock(ObjectProvider.class);
+        when(fanoutProvider.getIfAvailable()).thenReturn(roomFanout);
+
+        reader = new RoomEventStreamReader(redisTemplate, roomEventLog, codec, fanoutProvider,
+                new ChatMessageMetrics(meterRegistry),
+                new AiStreamSequenceTracker(meterRegistry, Duration.ofMinutes(5)), meterRegistry,
+                Duration.ofMillis(10), 16);
+    }
+
+    @AfterEach
+    void tearDown() {
+        reader.shutdown();
+    }
+
+    private ByteRecord record(String id, String origin, String payload) throws Exception {
+        Map<byte[], byte[]> fields = new LinkedHashMap<>();
+        fields.put(RoomEventLog.FIELD_ROOM, "room-1".getBytes(StandardCharsets.UTF_8));
+        fields.put(RoomEventLog.FIELD_ORIGIN, origin.getBytes(StandardCharsets.UTF_8));
+        fields.put(RoomEventLog.FIELD_ENVELOPE, codec.encode(ChatBroadcastEvent.builder()
+                .eventType(ChatBroadcastEvent.TYPE_MESSAGE)
+                .roomId("room-1")
+                .socketEvent("message")
+                .payload(payload)
+                .originNodeId(origin)
+                .build()));
+        return StreamRecords.rawBytes(fields).withStreamKey(SHARD_KEY).withId(RecordId.of(id));
+    }
+
+    @Test
+    @DisplayName("자기 이벤트도 건너뛰지 않고 스트림 ID 순서대로 eventId와 함께 전달")
+    void deliversAllEventsInStreamOrder() {
+        reader.init();
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> reads.get() > 1);
+        InOrder inOrder = inOrder(roomFanout);
+        inOrder.verify(roomFanout).sendToRoom("room-1", "message", "own", "100-0");
+        inOrder.verify(roomFanout).sendToRoom("room-1", "message", "remote", "101-0");
+        assertThat(meterRegistry.get("chat.stream.read.events").counter().count()).isEqualTo(2.0);
+    }
+}
@@ -0,0 +1,313 @@
+#!/usr/bin/env node
+
+/**
+ * AI 스트리밍 부하 테스트
+ *
+ * 백엔드를 stub 모델로 띄운 상태에서 (CHAT_AI_PROVIDER=stub)
+ * 여러 방에서 동시에 AI 스트림을 열고 다음을 측정한다.
+ * - fan-out 이벤트 처리율: 모든 클라이언트가 받은 aiMessageChunk 수 / 초
+ * - 청크 전달 지연: 서버가 청크를 보낸 시각(timestamp) → 클라이언트 수신 시각
+ * - 첫 청크까지의 시간: 멘션 전송 → 첫 aiMessageChunk
+ * - 스트림당 메모리: (스트림 중 최대 heap - 시작 전 heap) / 최대 동시 스트림 수 (actuator)
+ */
+
+const io = require('socket.io-client');
+const axios = require('axios');
+const yargs = require('yargs/yargs');
+const { hideBin } = require('yargs/helpers');
+const chalk = require('chalk');
+const Table = require('cli-table3');
+
+const argv = yargs(hideBin(process.argv))
+  .option('rooms', {
+    description: 'Number of rooms running AI streams',
+    type: 'number',
+    default: 10
+  })
+  .option('members', {
+    description: 'Members (sockets) per room',
+    type: 'number',
+    default: 5
+  })
+  .option('streams-per-room', {
+    description: 'Concurrent AI mentions sent per room',
+    type: 'number',
+    default: 2
+  })
+  .option('ai-type', {
+    description: 'AI persona to mention (wayneAI or consultingAI)',
+    type: 'string',
+    default: 'wayneAI'
+  })
+  .option('timeout', {
+    description: 'Seconds to wait for all streams to finish',
+    type: 'number',
+    default: 120
+  })
+  .option('api-url', {
+    description: 'Backend REST API URL',
+    type: 'string',
+    default: 'http://localhost:5001'
+  })
+  .option('socket-url', {
+    description: 'Socket.IO server URL',
+    type: 'string',
+    default: 'http://localhost:5002'
+  })
+  .help()
+  .alias('help', 'h')
+  .argv;
+
+class AiStreamTester {
+  constructor(config) {
+    this.config = config;
+    this.sockets = [];
+    this.streams = new Map();  // messageId -> { startedAt, firstChunkAt, completedAt, error }
+    this.metrics = {
+      chunkEvents: 0,
+      startEvents: 0,
+      completeEvents: 0,
+      errorEvents: 0,
+      queuedEvents: 0,
+      chunkLatencies: [],
+      timeToFirstChunk: [],
+      baselineHeap: 0,
+      peakHeap: 0,
+      peakActiveStreams: 0
+    };
+    this.mentionsSentAt = new Map();  // roomId -> [sentAt...]
+  }
+
+  sleep(ms) {
+    return new Promise(resolve => setTimeout(resolve, ms));
+  }
+
+  async login(index) {
+    const email = `ai-loadtest-${index}@test.com`;
+    const password = 'Test1234!';
+    const name = `AI LoadTest User ${index}`;
+    try {
+      const res = await axios.post(`${this.config.apiUrl}/api/auth/login`, { email, password }, { timeout: 5000 });
+      return res.data;
+    } catch (error) {
+      if (error.response?.status === 401 || error.response?.status === 404) {
+        const res = await axios.post(`${this.config.apiUrl}/api/auth/register`, { email, password, name }, { timeout: 5000 });
+        return res.data;
+      }
+      throw error;
+    }
+  }
+
+  async createRoom(auth, index) {
+    const res = await axios.post(
+      `${this.config.apiUrl}/api/rooms`,
+      { name: `AI Load Test Room ${index}`, description: 'AI streaming load test', participants: [] },
+      { headers: { Authorization: `Bearer ${auth.token}` }, timeout: 10000 }
+    );
+    return res.data.data._id;
+  }
+
+  connect(auth, roomId) {
+    return new Promise((resolve, reject) => {
+      const socket = io(this.config.socketUrl, {
+        auth: { token: auth.token, sessionId: auth.sessionId },
+        transports: ['websocket'],
+        reconnection: false
+      });
+      this.sockets.push(socket);
+
+      socket.on('connect', () => socket.emit('joinRoom', roomId));
+      socket.on('joinRoomSuccess', () => resolve(socket));
+      socket.on('joinRoomError', (error) => reject(new Error(error?.message || 'joinRoom failed')));
+      socket.on('connect_error', reject);
+
+      socket.on('aiMessageStart', (data) => {
+        this.metrics.startEvents++;
+        if (!this.streams.has(data.messageId)) {
+          const sent = this.mentionsSentAt.get(roomId) || [];
+          this.streams.set(data.messageId, { roomId, sentAt: sent.shift() || Date.now() });
+        }
+      });
+      socket.on('aiMessageQueued', () => {
+        this.metrics.queuedEvents++;
+      });
+      socket.on('aiMessageChunk', (data) => {
+        const now = Date.now();
+        this.metrics.chunkEvents++;
+        if (data.timestamp) {
+          this.metrics.chunkLatencies.push(now - data.timestamp);
+        }
+        const stream = this.streams.get(data.messageId);
+        if (stream && !stream.firstChunkAt) {
+          stream.firstChunkAt = now;
+          this.metrics.timeToFirstChunk.push(now - stream.sentAt);
+        }
+      });
+      socket.on('aiMessageComplete', (data) => {
+        this.metrics.completeEvents++;
+        const stream = this.streams.get(data.messageId);
+        if (stream && !stream.completedAt) {
+          stream.completedAt = Date.now();
+        }
+      });
+      socket.on('aiMessageError', (data) => {
+        this.metrics.errorEvents++;
+        const stream = this.streams.get(data.messageId);
+        if (stream && !stream.completedAt) {
+          stream.completedAt = Date.now();
+          stream.error = data.error;
+        }
+      });
+    });
+  }
+
+  async actuatorMetric(name, tag) {
+    try {
+      const query = tag ? `?tag=${encodeURIComponent(tag)}` : '';
+      const res = await axios.get(`${this.config.apiUrl}/actuator/metrics/${name}${query}`, { timeout: 2000 });
+      return res.data.measurements.find(m => m.statistic === 'VALUE')?.value || 0;
+    } catch (error) {
+      return 0;
+    }
+  }
+
+  async sampleServer() {
+    const [heap, active] = await Promise.all([
+      this.actuatorMetric('jvm.memory.used', 'area:heap'),
+      this.actuatorMetric('chat.ai.scheduler.active')
+    ]);
+    if (heap > this.metrics.peakHeap) {
+      this.metrics.peakHeap = heap;
+    }
+    if (active > this.metrics.peakActiveStreams) {
+      this.metrics.peakActiveStreams = active;
+    }
+  }
+
+  percentile(values, p) {
+    if (values.length === 0) return 0;
+    const sorted = [...values].sort((a, b) => a - b);
+    return sorted[Math.max(0, Math.ceil((p / 100) * sorted.length) - 1)];
+  }
+
+  expectedStreams() {
+    return this.config.rooms * this.config.streamsPerRoom;
+  }
+
+  finishedStreams() {
+    let finished = 0;
+    this.streams.forEach(stream => {
+      if (stream.completedAt) finished++;
+    });
+    return finished;
+  }
+
+  async run() {
+    const { rooms, members, streamsPerRoom, aiType } = this.config;
+    console.log(chalk.bold.cyan('\n=== KTB Chat AI Streaming Load Test ===\n'));
+    console.log(chalk.gray(`  Rooms:            ${rooms}`));
+    console.log(chalk.gray(`  Members/room:     ${members}`));
+    console.log(chalk.gray(`  Streams/room:     ${streamsPerRoom} (${this.expectedStreams()} concurrent)`));
+    console.log(chalk.gray(`  AI type:          ${aiType}`));
+    console.log(chalk.gray(`  API URL:          ${this.config.apiUrl}`));
+    console.log(chalk.gray(`  Socket.IO URL:    ${this.config.socketUrl}\n`));
+
+    // 1. 방 생성 및 멤버 입장
+    const senders = [];
+    for (let r = 0; r < rooms; r++) {
+      const owner = await this.login(r * members);
+      const roomId = await this.createRoom(owner, r);
+      const roomSockets = [await this.connect(owner, roomId)];
+      for (let m = 1; m < members; m++) {
+        const member = await this.login(r * members + m);
+        roomSockets.push(await this.connect(member, roomId));
+      }
+      senders.push({ roomId, socket: roomSockets[0] });
+      process.stdout.write(chalk.gray(`\r  rooms ready: ${r + 1}/${rooms}`));
+    }
+    console.log('');
+
+    // 2. 기준 heap 측정 후 모든 방에서 동시에 멘션 전송
+    await this.sleep(1000);
+    this.metrics.baselineHeap = await this.actuatorMetric('jvm.memory.used', 'area:heap');
+    const sampler = setInterval(() => this.sampleServer(), 500);
+
+    const startedAt = Date.now();
+    senders.forEach(({ roomId, socket }, r) => {
+      const sent = [];
+      for (let i = 0; i < streamsPerRoom; i++) {
+        sent.push(Date.now());
+        // 방/순번마다 질문을 달리해 응답 캐시가 켜져 있어도 매번 생성되게 함
+        socket.emit('chatMessage', {
+          room: roomId,
+          type: 'text',
+          content: `@${aiType} 부하 테스트 질문 ${r}-${i} ${startedAt}`
+        });
+      }
+      this.mentionsSentAt.set(roomId, sent);
+    });
+
+    // 3. 모든 스트림 종료 대기
+    const deadline = startedAt + this.config.timeout * 1000;
+    while (Date.now() < deadline && this.finishedStreams() < this.expectedStreams()) {
+      await this.sleep(500);
+      process.stdout.write(chalk.gray(
+        `\r  streams finished: ${this.finishedStreams()}/${this.expectedStreams()}, chunk events: ${this.metrics.chunkEvents}`));
+    }
+    clearInterval(sampler);
+    const elapsed = (Date.now() - startedAt) / 1000;
+    console.log('\n');
+
+    this.report(elapsed);
+    this.sockets.forEach(socket => socket.close());
+  }
+
+  report(elapsed) {
+    const m = this.metrics;
+    const heapDeltaMb = Math.max(0, m.peakHeap - m.baselineHeap) / (1024 * 1024);
+    const perStream = m.peakActiveStreams > 0 ? (heapDeltaMb / m.peakActiveStreams).toFixed(2) : 'n/a';
+    const failed = [...this.streams.values()].filter(s => s.error).length;
+
+    const table = new Table({
+      head: [chalk.cyan('Metric'), chalk.cyan('Value')],
+      colWidths: [36, 24]
+    });
+    table.push(
+      ['Elapsed', `${elapsed.toFixed(1)}s`],
+      ['Streams finished / expected', `${this.finishedStreams()} / ${this.expectedStreams()}`],
+      ['Streams failed (aiMessageError)', failed],
+      ['Queued notifications', m.queuedEvents],
+      ['---', '---'],
+      ['Chunk events received (all clients)', m.chunkEvents],
+      [chalk.green('Fan-out chunk events/sec'), (m.chunkEvents / elapsed).toFixed(1)],
+      ['Chunk latency avg', `${(m.chunkLatencies.reduce((a, b) => a + b, 0) / (m.chunkLatencies.length || 1)).toFixed(1)}ms`],
+      ['Chunk latency p95', `${this.percentile(m.chunkLatencies, 95)}ms`],
+      ['Chunk latency p99', `${this.percentile(m.chunkLatencies, 99)}ms`],
+      ['Time to first chunk p50', `${this.percentile(m.timeToFirstChunk, 50)}ms`],
+      ['Time to first chunk p95', `${this.percentile(m.timeToFirstChunk, 95)}ms`],
+      ['---', '---'],
+      ['Heap baseline / peak', `${(m.baselineHeap / 1048576).toFixed(1)} / ${(m.peakHeap / 1048576).toFixed(1)} MB`],
+      ['Peak active streams (server)', m.peakActiveStreams],
+      [chalk.green('Heap per active stream'), `${perStream} MB`]
+    );
+    console.log(table.toString());
+    console.log(chalk.gray('  Heap per stream includes garbage not yet collected; compare runs with the same settings.'));
+  }
+}
+
+const tester = new AiStreamTester({
+  rooms: argv.rooms,
+  members: argv.members,
+  streamsPerRoom: argv['streams-per-room'],
+  aiType: argv['ai-type'],
+  timeout: argv.timeout,
+  apiUrl: argv['api-url'],
+  socketUrl: argv['socket-url']
+});
+
+tester.run()
+  .then(() => process.exit(0))
+  .catch(error => {
+    console.error(chalk.red(`AI stream test failed: ${error.message}`));
+    process.exit(1);
+  });